@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2023 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -305,9 +305,12 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 	@Override
 	protected void initializeFileBufferContent(IProgressMonitor monitor) throws CoreException {
 		try {
-			fDocument= fManager.createEmptyDocument(getLocationOrName(), LocationKind.LOCATION);
 			cacheEncodingState();
-			setDocumentContent(fDocument, fFileStore, fEncoding, fHasBOM, monitor);
+			fDocument= fManager.createMappedDocument(getLocationOrName(), LocationKind.LOCATION, fFileStore, fEncoding, fHasBOM);
+			if (fDocument == null) {
+				fDocument= fManager.createEmptyDocument(getLocationOrName(), LocationKind.LOCATION);
+				setDocumentContent(fDocument, fFileStore, fEncoding, fHasBOM, monitor);
+			}
 		} catch (CoreException x) {
 			fDocument= fManager.createEmptyDocument(getLocationOrName(), LocationKind.LOCATION);
 			fStatus= x.getStatus();
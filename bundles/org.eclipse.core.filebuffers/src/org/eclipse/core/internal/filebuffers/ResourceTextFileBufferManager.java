@@ -130,7 +130,7 @@ public class ResourceTextFileBufferManager extends TextFileBufferManager {
 		if (documentFromFactory != null)
 			document= documentFromFactory;
 		else
-			document= new SynchronizableDocument();
+			document= createDefaultDocument(FileBuffers.getFileStoreAtLocation(file.getFullPath()));
 
 		// Set the initial line delimiter
 		if (document instanceof IDocumentExtension4) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,6 +26,8 @@ import org.eclipse.jface.text.DocumentRewriteSessionType;
 import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ISynchronizable;
+import org.eclipse.jface.text.ITextSnapshot;
+import org.eclipse.jface.text.ITextStore;
 import org.eclipse.jface.text.ITypedRegion;
 import org.eclipse.jface.text.Position;
 
@@ -42,6 +44,22 @@ public class SynchronizableDocument extends Document implements ISynchronizable
 
 	private Object fLockObject;
 
+	/**
+	 * Creates a new empty document.
+	 */
+	public SynchronizableDocument() {
+		super();
+	}
+
+	/**
+	 * Creates a new empty document which uses the given text store.
+	 *
+	 * @param textStore the text store to be used by this document
+	 */
+	public SynchronizableDocument(ITextStore textStore) {
+		super(textStore);
+	}
+
 	@Override
 	protected void updateDocumentStructures(DocumentEvent event) {
 		Object lockObject= getLockObject();
@@ -375,6 +393,17 @@ public class SynchronizableDocument extends Document implements ISynchronizable
 		}
 	}
 
+	@Override
+	public ITextSnapshot getSnapshot() {
+		Object lockObject= getLockObject();
+		if (lockObject == null) {
+			return super.getSnapshot();
+		}
+		synchronized (lockObject) {
+			return super.getSnapshot();
+		}
+	}
+
 	@Override
 	public IRegion getLineInformation(int line) throws BadLocationException {
 		Object lockObject= getLockObject();
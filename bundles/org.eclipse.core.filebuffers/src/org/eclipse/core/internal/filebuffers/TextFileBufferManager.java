@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,11 @@
  *******************************************************************************/
 package org.eclipse.core.internal.filebuffers;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -55,6 +58,8 @@ import org.eclipse.core.filebuffers.LocationKind;
 
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.MappedFileTextStore;
+import org.eclipse.jface.text.PieceTreeTextStore;
 import org.eclipse.jface.text.source.IAnnotationModel;
 
 
@@ -72,6 +77,24 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 
 	protected static final IContentType TEXT_CONTENT_TYPE= Platform.getContentTypeManager().getContentType(IContentTypeManager.CT_TEXT);
 
+	/**
+	 * The file size in bytes from which on documents that are not created by a document factory
+	 * use a {@link PieceTreeTextStore}. Can be set with the system property
+	 * <code>org.eclipse.core.filebuffers.pieceTreeThreshold</code>; a negative value disables the
+	 * piece tree text store.
+	 */
+	protected static final long PIECE_TREE_THRESHOLD= Long.getLong("org.eclipse.core.filebuffers.pieceTreeThreshold", 16 * 1024 * 1024).longValue(); //$NON-NLS-1$
+
+	/**
+	 * The file size in bytes from which on local files are memory-mapped into a
+	 * {@link MappedFileTextStore} instead of being read into the heap, if no document factory is
+	 * contributed and the encoding is supported. Only the text is kept off the heap, the line
+	 * information of the document still grows with the number of lines. Can be set with the
+	 * system property <code>org.eclipse.core.filebuffers.mappedThreshold</code>; a negative value
+	 * disables mapping.
+	 */
+	protected static final long MAPPED_THRESHOLD= Long.getLong("org.eclipse.core.filebuffers.mappedThreshold", 64 * 1024 * 1024).longValue(); //$NON-NLS-1$
+
 	private Map<IPath, AbstractFileBuffer> fFilesBuffers= new HashMap<>();
 	private Map<IFileStore, FileStoreFileBuffer> fFileStoreFileBuffers= new HashMap<>();
 	private List<IFileBufferListener> fFileBufferListeners= new ArrayList<>();
@@ -438,11 +461,61 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 		if (documentFromFactory != null)
 			document= documentFromFactory;
 		else
-			document= new SynchronizableDocument();
+			document= createDefaultDocument(getLocalFileStore(location));
 
-		if (location == null)
-			return document;
+		if (location != null)
+			setupDocument(document, location, locationKind);
+		return document;
+	}
+
+	/**
+	 * Creates a document whose content is memory-mapped from the given file store. This is only
+	 * done for local files that reach {@link #MAPPED_THRESHOLD}, whose encoding is supported by
+	 * {@link MappedFileTextStore} and for which no document factory is contributed. Otherwise
+	 * <code>null</code> is returned and the caller has to create an empty document and set its
+	 * content.
+	 *
+	 * @param location the location of the file to be connected
+	 * @param locationKind the kind of the given location
+	 * @param fileStore the file store providing the content
+	 * @param encoding the encoding of the file
+	 * @param hasBOM <code>true</code> if the file starts with a UTF-8 byte order mark
+	 * @return the document with the content of the file or <code>null</code>
+	 */
+	IDocument createMappedDocument(IPath location, LocationKind locationKind, IFileStore fileStore, String encoding, boolean hasBOM) {
+		if (MAPPED_THRESHOLD < 0 || location == null || hasDocumentFactory(location, locationKind))
+			return null;
+
+		Charset charset;
+		try {
+			charset= Charset.forName(encoding);
+		} catch (IllegalArgumentException ex) {
+			return null;
+		}
+		if (!MappedFileTextStore.isSupported(charset))
+			return null;
+
+		IDocument document;
+		try {
+			IFileInfo info= fileStore.fetchInfo();
+			if (!info.exists() || info.getLength() < MAPPED_THRESHOLD)
+				return null;
+			File file= fileStore.toLocalFile(EFS.NONE, null);
+			if (file == null)
+				return null;
+			boolean skipUTF8BOM= hasBOM && StandardCharsets.UTF_8.equals(charset);
+			long offset= skipUTF8BOM ? IContentDescription.BOM_UTF_8.length : 0;
+			document= new SynchronizableDocument(new MappedFileTextStore(file.toPath(), charset, offset));
+		} catch (CoreException | IOException ex) {
+			// fall back to reading the content into the heap
+			return null;
+		}
+
+		setupDocument(document, location, locationKind);
+		return document;
+	}
 
+	private void setupDocument(final IDocument document, final IPath location, final LocationKind locationKind) {
 		// Set the initial line delimiter
 		if (document instanceof IDocumentExtension4) {
 			String initalLineDelimiter= getLineDelimiterPreference(location, locationKind);
@@ -476,8 +549,46 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 				SafeRunner.run(runnable);
 			}
 		}
+	}
 
-		return document;
+	/**
+	 * Creates the document that is used if no document factory is contributed. Documents for files
+	 * whose size reaches {@link #PIECE_TREE_THRESHOLD} store their content in a
+	 * {@link PieceTreeTextStore}, so that neither opening nor editing them copies the whole content.
+	 *
+	 * @param fileStore the file store of the file to be connected, may be <code>null</code>
+	 * @return the created empty document
+	 */
+	protected IDocument createDefaultDocument(IFileStore fileStore) {
+		if (fileStore != null && PIECE_TREE_THRESHOLD >= 0) {
+			IFileInfo info= fileStore.fetchInfo();
+			if (info.exists() && info.getLength() >= PIECE_TREE_THRESHOLD)
+				return new SynchronizableDocument(new PieceTreeTextStore());
+		}
+		return new SynchronizableDocument();
+	}
+
+	/**
+	 * Helper to get rid of deprecation warnings.
+	 *
+	 * @param location the location of the file to be connected
+	 * @param locationKind the kind of the given location
+	 * @return <code>true</code> if a document factory is contributed for the location
+	 * @deprecated As of 3.5
+	 */
+	@Deprecated
+	private boolean hasDocumentFactory(IPath location, LocationKind locationKind) {
+		return fRegistry.getDocumentFactory(location, locationKind) != null;
+	}
+
+	private IFileStore getLocalFileStore(IPath location) {
+		if (location == null)
+			return null;
+		try {
+			return EFS.getStore(URIUtil.toURI(location));
+		} catch (CoreException ex) {
+			return null;
+		}
 	}
 
 	/**
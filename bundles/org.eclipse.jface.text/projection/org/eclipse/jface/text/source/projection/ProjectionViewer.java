@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@
 package org.eclipse.jface.text.source.projection;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 
@@ -971,7 +972,12 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 			if (commandQueue.passedRedrawCostsThreshold()) {
 				setRedraw(false);
 				try {
-					executeProjectionCommands(commandQueue, false);
+					// e.g. collapse all or expand all, rebuild the projection at once rather than region by region
+					IDocument visibleDocument= getVisibleDocument();
+					if (visibleDocument instanceof ProjectionDocument)
+						rebuildProjection((ProjectionDocument) visibleDocument);
+					else
+						executeProjectionCommands(commandQueue, false);
 				} catch (IllegalArgumentException x) {
 					reinitializeProjection();
 				} finally {
@@ -1195,30 +1201,64 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 				IDocument slave= manager.createSlaveDocument(master);
 				if (slave instanceof ProjectionDocument) {
 					projection= (ProjectionDocument) slave;
-					addMasterDocumentRange(projection, 0, master.getLength());
+					rebuildProjection(projection);
 				}
 			}
 		}
 
-		if (projection != null) {
-			Iterator<Annotation> e= fProjectionAnnotationModel.getAnnotationIterator();
-			while (e.hasNext()) {
-				ProjectionAnnotation annotation= (ProjectionAnnotation) e.next();
-				if (annotation.isCollapsed()) {
-					Position position= fProjectionAnnotationModel.getPosition(annotation);
-					if (position != null) {
-						IRegion[] regions= computeCollapsedRegions(position);
-						if (regions != null)
-							for (IRegion region : regions) {
-								removeMasterDocumentRange(projection, region.getOffset(), region.getLength());
+		replaceVisibleDocument(projection);
+	}
+
+	/**
+	 * Replaces the master ranges of the given projection document with the ranges of the master
+	 * document that are not hidden by collapsed projection annotations. The projection document
+	 * is changed at once, independent of the number of collapsed annotations. While the
+	 * modification is processed, the viewer no longer handles projection changes, as it is
+	 * causing them.
+	 *
+	 * @param projection the projection document
+	 * @throws BadLocationException in case a collapsed region is invalid
+	 */
+	private void rebuildProjection(ProjectionDocument projection) throws BadLocationException {
+		IDocument master= projection.getMasterDocument();
+
+		List<IRegion> collapsed= new ArrayList<>();
+		Iterator<Annotation> e= fProjectionAnnotationModel.getAnnotationIterator();
+		while (e.hasNext()) {
+			ProjectionAnnotation annotation= (ProjectionAnnotation) e.next();
+			if (annotation.isCollapsed()) {
+				Position position= fProjectionAnnotationModel.getPosition(annotation);
+				if (position != null) {
+					IRegion[] regions= computeCollapsedRegions(position);
+					if (regions != null) {
+						for (IRegion region : regions) {
+							// make sure the document range is strictly line based, as in removeMasterDocumentRange
+							int end= region.getOffset() + region.getLength();
+							int offset= toLineStart(master, region.getOffset(), false);
+							collapsed.add(new Region(offset, toLineStart(master, end, true) - offset));
 						}
 					}
 				}
 			}
+		}
+		collapsed.sort(Comparator.comparingInt(IRegion::getOffset));
 
+		List<IRegion> visible= new ArrayList<>();
+		int offset= 0;
+		for (IRegion region : collapsed) {
+			if (region.getOffset() > offset)
+				visible.add(new Region(offset, region.getOffset() - offset));
+			offset= Math.max(offset, region.getOffset() + region.getLength());
 		}
+		if (offset < master.getLength())
+			visible.add(new Region(offset, master.getLength() - offset));
 
-		replaceVisibleDocument(projection);
+		try {
+			fHandleProjectionChanges= false;
+			projection.replaceMasterDocumentRanges(visible.toArray(new IRegion[visible.size()]));
+		} finally {
+			fHandleProjectionChanges= true;
+		}
 	}
 
 	@Override
@@ -1733,4 +1773,24 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 
 		return -1;
 	}
+
+	@Override
+	protected int replaceAllInRange(String findString, String replaceText, boolean caseSensitive, boolean wholeWord, IRegion modelRange, boolean regExSearch) {
+
+		if (!isProjectionMode())
+			return super.replaceAllInRange(findString, replaceText, caseSensitive, wholeWord, modelRange, regExSearch);
+
+		IDocument document= getDocument();
+		if (getTextWidget() == null || document == null)
+			return 0;
+
+		// the find/replace document adapter works on the master document in projection mode
+		IRegion range= modelRange == null ? new Region(0, document.getLength()) : modelRange;
+		try {
+			return getFindReplaceDocumentAdapter().replaceAll(range.getOffset(), range.getLength(), findString, replaceText, caseSensitive, wholeWord, regExSearch);
+		} catch (BadLocationException x) {
+		}
+
+		return 0;
+	}
 }
@@ -1,5 +1,5 @@
 /**
- *  Copyright (c) 2017, 2022 Angelo ZERR.
+ *  Copyright (c) 2017, 2026 Angelo ZERR.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -14,13 +14,16 @@
 package org.eclipse.jface.internal.text.codemining;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.events.MouseEvent;
 import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
@@ -61,6 +64,26 @@ public class CodeMiningLineHeaderAnnotation extends LineHeaderAnnotation impleme
 	 */
 	private IProgressMonitor fMonitor;
 
+	/**
+	 * The labels of the minings whose height has been measured last, <code>null</code> if none
+	 */
+	private String[] fMeasuredLabels;
+
+	/**
+	 * The font used to measure the height of the labels
+	 */
+	private Font fMeasuredFont;
+
+	/**
+	 * The line spacing used to measure the height of the labels
+	 */
+	private int fMeasuredLineSpacing;
+
+	/**
+	 * The measured height of the labels
+	 */
+	private int fMeasuredHeight;
+
 	/**
 	 * Code mining annotation constructor.
 	 *
@@ -94,8 +117,29 @@ public class CodeMiningLineHeaderAnnotation extends LineHeaderAnnotation impleme
 		return hasAtLeastOneResolvedMiningNotEmpty(fMinings, fResolvedMinings) ? getMultilineHeight(null, fMinings, super.getTextWidget(), super.getHeight()) : 0;
 	}
 
+	/**
+	 * Returns the height of the annotation measured with the given graphics context. The height
+	 * is measured again only if the labels of the minings, the font or the line spacing have
+	 * changed, so that repainting or scrolling does not measure the same text again.
+	 *
+	 * @param gc the graphics context
+	 * @return the height of the annotation
+	 */
 	public int getHeight(GC gc) {
-		return hasAtLeastOneResolvedMiningNotEmpty(fMinings, fResolvedMinings) ? getMultilineHeight(gc, fMinings, super.getTextWidget(), super.getHeight()) : 0;
+		if (!hasAtLeastOneResolvedMiningNotEmpty(fMinings, fResolvedMinings)) {
+			return 0;
+		}
+		StyledText textWidget= super.getTextWidget();
+		String[] labels= fMinings.stream().map(ICodeMining::getLabel).toArray(String[]::new);
+		Font font= gc.getFont();
+		int lineSpacing= textWidget.getLineSpacing();
+		if (!Arrays.equals(labels, fMeasuredLabels) || !Objects.equals(font, fMeasuredFont) || lineSpacing != fMeasuredLineSpacing) {
+			fMeasuredHeight= getMultilineHeight(gc, fMinings, textWidget, super.getHeight());
+			fMeasuredLabels= labels;
+			fMeasuredFont= font;
+			fMeasuredLineSpacing= lineSpacing;
+		}
+		return fMeasuredHeight;
 	}
 
 	static int getMultilineHeight(GC gc, List<ICodeMining> minings, StyledText styledText, int superHeight) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@ package org.eclipse.jface.text;
 
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -30,11 +31,24 @@ import org.eclipse.core.runtime.Assert;
 /**
  * Default implementation of {@link org.eclipse.jface.text.IDocumentAdapter}.
  * <p>
+ * The adapter does not copy the document's content. The widget reads the lines it renders
+ * directly from the document, the most recently read lines are kept in a small cache as the widget
+ * asks for the same visible lines many times while painting. If document changes are not
+ * forwarded, the content the widget sees is frozen by a snapshot of the document, provided the
+ * document supports {@link IDocumentExtension5}.
+ * </p>
+ * <p>
  * <strong>Note:</strong> This adapter does not work if the widget auto-wraps the text.
  * </p>
  */
 class DefaultDocumentAdapter implements IDocumentAdapter, IDocumentListener, IDocumentAdapterExtension {
 
+	/**
+	 * The number of lines kept in the line cache, a power of two
+	 * @since 3.29
+	 */
+	private static final int LINE_CACHE_SIZE= 128;
+
 	/** The adapted document. */
 	private IDocument fDocument;
 	/**
@@ -77,6 +91,22 @@ class DefaultDocumentAdapter implements IDocumentAdapter, IDocumentListener, IDo
 	 * @since 2.1
 	 */
 	private  DocumentEvent fOriginalEvent= new DocumentEvent();
+	/**
+	 * The snapshot read instead of {@link #fActiveDocument} while change forwarding is disabled
+	 * and the document has been changed, or <code>null</code>
+	 * @since 3.29
+	 */
+	private ITextSnapshot fSnapshot;
+	/**
+	 * The numbers of the cached lines, <code>-1</code> for unused entries
+	 * @since 3.29
+	 */
+	private final int[] fCachedLineNumbers= new int[LINE_CACHE_SIZE];
+	/**
+	 * The cached lines, the entry of a line is its number modulo the size of the cache
+	 * @since 3.29
+	 */
+	private final String[] fCachedLines= new String[LINE_CACHE_SIZE];
 
 
 	/**
@@ -84,6 +114,7 @@ class DefaultDocumentAdapter implements IDocumentAdapter, IDocumentListener, IDo
 	 * any document.
 	 */
 	public DefaultDocumentAdapter() {
+		Arrays.fill(fCachedLineNumbers, -1);
 	}
 
 	/**
@@ -99,7 +130,9 @@ class DefaultDocumentAdapter implements IDocumentAdapter, IDocumentListener, IDo
 
 		fDocument= document;
 		fActiveDocument= fDocument;
+		fSnapshot= null;
 		fLineDelimiter= null;
+		clearLineCache();
 
 		if (fDocument != null)
 			fDocument.addPrenotifiedDocumentListener(this);
@@ -150,8 +183,36 @@ class DefaultDocumentAdapter implements IDocumentAdapter, IDocumentListener, IDo
 		return fActiveDocument;
 	}
 
+	/**
+	 * Discards the cached lines.
+	 */
+	private void clearLineCache() {
+		Arrays.fill(fCachedLineNumbers, -1);
+		Arrays.fill(fCachedLines, null);
+	}
+
 	@Override
 	public String getLine(int line) {
+		int entry= line & (LINE_CACHE_SIZE - 1);
+		if (line >= 0 && fCachedLineNumbers[entry] == line)
+			return fCachedLines[entry];
+
+		String content= doGetLine(line);
+		fCachedLineNumbers[entry]= line;
+		fCachedLines[entry]= content;
+		return content;
+	}
+
+	private String doGetLine(int line) {
+		if (fSnapshot != null) {
+			try {
+				IRegion r= fSnapshot.getLineInformation(line);
+				return fSnapshot.subSequence(r.getOffset(), r.getOffset() + r.getLength()).toString();
+			} catch (BadLocationException x) {
+				SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+				return null;
+			}
+		}
 
 		IDocument document= getDocumentForRead();
 		try {
@@ -170,6 +231,15 @@ class DefaultDocumentAdapter implements IDocumentAdapter, IDocumentListener, IDo
 
 	@Override
 	public int getLineAtOffset(int offset) {
+		if (fSnapshot != null) {
+			try {
+				return fSnapshot.getLineOfOffset(offset);
+			} catch (BadLocationException x) {
+				SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+				return -1;
+			}
+		}
+
 		IDocument document= getDocumentForRead();
 		try {
 			return document.getLineOfOffset(offset);
@@ -187,11 +257,22 @@ class DefaultDocumentAdapter implements IDocumentAdapter, IDocumentListener, IDo
 
 	@Override
 	public int getLineCount() {
+		if (fSnapshot != null)
+			return fSnapshot.getNumberOfLines();
 		return getDocumentForRead().getNumberOfLines();
 	}
 
 	@Override
 	public int getOffsetAtLine(int line) {
+		if (fSnapshot != null) {
+			try {
+				return fSnapshot.getLineOffset(line);
+			} catch (BadLocationException x) {
+				SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+				return -1;
+			}
+		}
+
 		IDocument document= getDocumentForRead();
 		try {
 			return document.getLineOffset(line);
@@ -209,6 +290,14 @@ class DefaultDocumentAdapter implements IDocumentAdapter, IDocumentListener, IDo
 
 	@Override
 	public String getTextRange(int offset, int length) {
+		if (fSnapshot != null) {
+			if (offset < 0 || length < 0 || offset + length > fSnapshot.length()) {
+				SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+				return null;
+			}
+			return fSnapshot.subSequence(offset, offset + length).toString();
+		}
+
 		try {
 			return getDocumentForRead().get(offset, length);
 		} catch (BadLocationException x) {
@@ -233,6 +322,8 @@ class DefaultDocumentAdapter implements IDocumentAdapter, IDocumentListener, IDo
 
 	@Override
 	public int getCharCount() {
+		if (fSnapshot != null)
+			return fSnapshot.length();
 		return getDocumentForRead().getLength();
 	}
 
@@ -245,6 +336,9 @@ class DefaultDocumentAdapter implements IDocumentAdapter, IDocumentListener, IDo
 
 	@Override
 	public void documentChanged(DocumentEvent event) {
+		if (fSnapshot == null)
+			clearLineCache();
+
 		// check whether the given event is the one which was remembered
 		if (fEvent == null || event != fEvent)
 			return;
@@ -261,9 +355,14 @@ class DefaultDocumentAdapter implements IDocumentAdapter, IDocumentListener, IDo
 
 	@Override
 	public void documentAboutToBeChanged(DocumentEvent event) {
-		if (!fIsForwarding && fDocument == fActiveDocument) {
-			fActiveDocument= new DocumentClone(fActiveDocument.get(), fActiveDocument.getLegalLineDelimiters());
+		if (!fIsForwarding && fDocument == fActiveDocument && fSnapshot == null) {
+			if (fDocument instanceof IDocumentExtension5)
+				fSnapshot= ((IDocumentExtension5) fDocument).getSnapshot();
+			else
+				fActiveDocument= new DocumentClone(fActiveDocument.get(), fActiveDocument.getLegalLineDelimiters());
 		}
+		if (fSnapshot == null)
+			clearLineCache();
 
 		fRememberedLengthOfDocument= fDocument.getLength();
 		try {
@@ -368,6 +467,8 @@ class DefaultDocumentAdapter implements IDocumentAdapter, IDocumentListener, IDo
 	public void resumeForwardingDocumentChanges() {
 		fIsForwarding= true;
 		fActiveDocument= fDocument;
+		fSnapshot= null;
+		clearLineCache();
 		fireTextSet();
 	}
 
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+/**
+ * Extension interface for {@link org.eclipse.jface.text.IFindReplaceTarget} providing a method to
+ * replace all occurrences of a string at once.
+ *
+ * @since 3.29
+ */
+public interface IFindReplaceTargetExtension5 {
+
+	/**
+	 * Replaces all occurrences of the given string in this target's scope, or in the whole
+	 * target if there is no scope, with the given text. The replacements are applied as one
+	 * change, instead of selecting and replacing each occurrence separately.
+	 * <p>
+	 * This target must be editable. Otherwise nothing happens.
+	 * </p>
+	 *
+	 * @param findString the specification of what should be replaced
+	 * @param replaceText the specification of the substitution text
+	 * @param caseSensitive <code>true</code> performs a case sensitive search, <code>false</code>
+	 *            an insensitive search
+	 * @param wholeWord if <code>true</code> only occurrences are replaced in which the findString
+	 *            stands as a word by itself. Must not be used in combination with
+	 *            <code>regExSearch</code>.
+	 * @param regExSearch if <code>true</code> findString represents a regular expression and
+	 *            replaceText may contain escapes and group references. Must not be used in
+	 *            combination with <code>wholeWord</code>.
+	 * @return the number of replaced occurrences
+	 * @throws java.util.regex.PatternSyntaxException if regExSearch is <code>true</code> and
+	 *             findString or replaceText is an invalid regular expression
+	 */
+	int replaceAll(String findString, String replaceText, boolean caseSensitive, boolean wholeWord, boolean regExSearch);
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -767,7 +767,7 @@ public class TextViewer extends Viewer implements
 	/**
 	 * This viewer's find/replace target.
 	 */
-	class FindReplaceTarget implements IFindReplaceTarget, IFindReplaceTargetExtension, IFindReplaceTargetExtension3, IFindReplaceTargetExtension4 {
+	class FindReplaceTarget implements IFindReplaceTarget, IFindReplaceTargetExtension, IFindReplaceTargetExtension3, IFindReplaceTargetExtension4, IFindReplaceTargetExtension5 {
 
 		/** The range for this target. */
 		private FindReplaceRange fRange;
@@ -853,6 +853,23 @@ public class TextViewer extends Viewer implements
 			return widgetOffset;
 		}
 
+		@Override
+		public int replaceAll(String findString, String replaceText, boolean caseSensitive, boolean wholeWord, boolean regExSearch) {
+			if (!isEditable())
+				return 0;
+
+			IRegion range= fRange == null ? null : fRange.getRange();
+			// undo all replacements at once
+			if (fUndoManager != null)
+				fUndoManager.beginCompoundChange();
+			try {
+				return TextViewer.this.replaceAllInRange(findString, replaceText, caseSensitive, wholeWord, range, regExSearch);
+			} finally {
+				if (fUndoManager != null)
+					fUndoManager.endCompoundChange();
+			}
+		}
+
 		@Override
 		public boolean canPerformFind() {
 			return TextViewer.this.canPerformFind();
@@ -4705,6 +4722,37 @@ public class TextViewer extends Viewer implements
 		return -1;
 	}
 
+	/**
+	 * Adheres to the contract of
+	 * {@link org.eclipse.jface.text.IFindReplaceTargetExtension5#replaceAll(String, String, boolean, boolean, boolean)}.
+	 *
+	 * @param findString the find string specification
+	 * @param replaceText the replace string specification
+	 * @param caseSensitive <code>true</code> if case sensitive, <code>false</code> otherwise
+	 * @param wholeWord <code>true</code> if matches must be whole words, <code>false</code> otherwise
+	 * @param modelRange the search scope or <code>null</code> to search the whole visible document
+	 * @param regExSearch <code>true</code> if <code>findString</code> is a regular expression, <code>false</code> otherwise
+	 * @return the number of replaced occurrences
+	 * @since 3.29
+	 */
+	protected int replaceAllInRange(String findString, String replaceText, boolean caseSensitive, boolean wholeWord, IRegion modelRange, boolean regExSearch) {
+		IDocument visibleDocument= getVisibleDocument();
+		if (fTextWidget == null || visibleDocument == null)
+			return 0;
+
+		IRegion widgetRange= modelRange == null ? new Region(0, visibleDocument.getLength()) : modelRange2WidgetRange(modelRange);
+		if (widgetRange == null)
+			return 0;
+
+		try {
+			return getFindReplaceDocumentAdapter().replaceAll(widgetRange.getOffset(), widgetRange.getLength(), findString, replaceText, caseSensitive, wholeWord, regExSearch);
+		} catch (BadLocationException x) {
+			if (TRACE_ERRORS)
+				System.out.println(JFaceTextMessages.getString("TextViewer.error.bad_location.findAndSelect")); //$NON-NLS-1$
+		}
+		return 0;
+	}
+
 	//---------- text presentation support
 
 	@Override
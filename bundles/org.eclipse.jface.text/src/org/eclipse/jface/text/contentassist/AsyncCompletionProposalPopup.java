@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 Red Hat Inc. and others.
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,7 +30,6 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 import org.eclipse.osgi.util.NLS;
 
@@ -61,10 +60,16 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 	private static final int MAX_WAIT_IN_MS= 50; // TODO make it a preference
 
 	/**
-	 * This is only used and set when populating the dialog is async (ie computation takes more than
-	 * MAX_WAIT_IN_MS
+	 * The placeholder shown while proposals are computed asynchronously (ie computation takes more
+	 * than MAX_WAIT_IN_MS), <code>null</code> if no computation is pending.
 	 */
-	private CompletableFuture<?> fAggregatedPopulateFuture;
+	private ComputingProposal fComputingProposal;
+
+	/**
+	 * The document events filtered while proposals are computed asynchronously, used to validate
+	 * the proposals that are computed after the user has typed.
+	 */
+	private final List<DocumentEvent> fEventsWhileComputing= new ArrayList<>();
 
 	private Collection<CompletableFuture<?>> toCancelFutures= new LinkedList<>();
 
@@ -187,21 +192,26 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 	private void computeAndPopulateProposals(int offset, Consumer<List<ICompletionProposal>> callback, boolean createSelector, boolean autoActivated, boolean autoInsert) {
 		List<CompletableFuture<List<ICompletionProposal>>> computationFutures= buildCompletionFuturesOrJobs(offset);
 		toCancelFutures.addAll(computationFutures);
-		fComputedProposals= Collections.synchronizedList(new ArrayList<>());
-		List<CompletableFuture<Void>> populateFutures= computationFutures.stream().map(future -> future.thenAccept(fComputedProposals::addAll)).collect(Collectors.toList());
-		toCancelFutures.addAll(populateFutures);
-		CompletableFuture<?> aggregatedPopulateFuture= CompletableFuture.allOf(populateFutures.toArray(new CompletableFuture[populateFutures.size()]));
-		toCancelFutures.add(aggregatedPopulateFuture);
+		fComputedProposals= new ArrayList<>();
+		fComputingProposal= null;
+		fEventsWhileComputing.clear();
+		CompletableFuture<?> aggregatedFuture= CompletableFuture.allOf(computationFutures.toArray(new CompletableFuture[computationFutures.size()]));
+		toCancelFutures.add(aggregatedFuture);
 
 		boolean useAsyncMode= false;
 		try {
-			aggregatedPopulateFuture.get(MAX_WAIT_IN_MS, TimeUnit.MILLISECONDS);
+			aggregatedFuture.get(MAX_WAIT_IN_MS, TimeUnit.MILLISECONDS);
 		} catch (TimeoutException e) {
 			useAsyncMode= true;
 		} catch (ExecutionException | InterruptedException ex) {
 			// nothing to do
 		}
 		if (!useAsyncMode) {
+			for (CompletableFuture<List<ICompletionProposal>> future : computationFutures) {
+				List<ICompletionProposal> proposals= getComputedProposals(future);
+				if (proposals != null)
+					fComputedProposals.addAll(proposals);
+			}
 			int count= fComputedProposals.size();
 			if (count == 0 && hideWhenNoProposals(autoActivated)) {
 				return;
@@ -226,60 +236,150 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 			if (createSelector) {
 				createProposalSelector();
 			}
-			ComputingProposal computingProposal= new ComputingProposal(offset, populateFutures.size());
-			fComputedProposals.add(0, computingProposal);
-			setProposals(fComputedProposals, false);
-			AtomicInteger remaining= new AtomicInteger(populateFutures.size());
+			ComputingProposal computingProposal= new ComputingProposal(offset, computationFutures.size());
 			final List<ICompletionProposal> requestSpecificProposals= fComputedProposals; //fComputedProposals can be changed/reset later
-			populateFutures= populateFutures.stream().map(future -> future.thenRun(() -> {
-				computingProposal.setRemaining(remaining.decrementAndGet());
-				if (remaining.get() == 0) {
-					requestSpecificProposals.remove(computingProposal);
+			requestSpecificProposals.add(computingProposal);
+			AtomicInteger remaining= new AtomicInteger(computationFutures.size());
+			for (CompletableFuture<List<ICompletionProposal>> future : computationFutures) {
+				if (future.isDone()) {
+					// completed before switching to async mode
+					List<ICompletionProposal> proposals= getComputedProposals(future);
+					if (proposals != null)
+						requestSpecificProposals.addAll(proposals);
+					computingProposal.setRemaining(remaining.decrementAndGet());
+					continue;
 				}
-				Control control= fContentAssistSubjectControlAdapter.getControl();
-				if (!control.isDisposed() && offset == fInvocationOffset) {
-					control.getDisplay().asyncExec(() -> {
-						// Skip if offset has changed while runnable was scheduled
-						// nor when completion "session" was modified or canceled.
-						if (offset != fInvocationOffset || fComputedProposals != requestSpecificProposals) {
-							return;
-						}
-						boolean stillComputing= fComputedProposals.contains(computingProposal);
-						if (autoInsert
-								&& !autoActivated
-								&& !stillComputing
-								&& fComputedProposals.size() == 1
-								&& remaining.get() == 0
-								&& canAutoInsert(fComputedProposals.get(0))) {
-							if (isValid(fProposalShell)) {
-								insertProposal(fComputedProposals.get(0), (char) 0, 0, offset);
-								hide();
+				// the proposals are only added in the UI thread, each processor's result as soon as it is available
+				toCancelFutures.add(future.whenComplete((proposals, error) -> {
+					Control control= fContentAssistSubjectControlAdapter.getControl();
+					if (!control.isDisposed() && offset == fInvocationOffset) {
+						control.getDisplay().asyncExec(() -> {
+							// Skip if offset has changed while runnable was scheduled
+							// nor when completion "session" was modified or canceled.
+							if (offset != fInvocationOffset || fComputedProposals != requestSpecificProposals) {
+								return;
+							}
+							// the user has typed and the displayed proposals are filtered
+							boolean filtered= fFilteredProposals != null && fFilteredProposals != requestSpecificProposals;
+							List<ICompletionProposal> computed= proposals == null ? Collections.emptyList() : proposals;
+							requestSpecificProposals.addAll(computed);
+							computingProposal.setRemaining(remaining.decrementAndGet());
+							boolean stillComputing= remaining.get() > 0;
+							if (!stillComputing) {
+								requestSpecificProposals.remove(computingProposal);
+								fComputingProposal= null;
+							}
+							if (autoInsert
+									&& !autoActivated
+									&& !filtered
+									&& !stillComputing
+									&& fComputedProposals.size() == 1
+									&& canAutoInsert(fComputedProposals.get(0))) {
+								if (isValid(fProposalShell)) {
+									insertProposal(fComputedProposals.get(0), (char) 0, 0, offset);
+									hide();
+								}
+								return;
+							}
+							if (!stillComputing && callback != null) {
+								callback.accept(fComputedProposals);
+								return;
+							}
+							List<ICompletionProposal> displayedProposals= requestSpecificProposals;
+							if (filtered) {
+								displayedProposals= addValidProposals(computed, computingProposal, stillComputing);
+								if (displayedProposals == null) {
+									// restore original behavior
+									fInvocationOffset= fFilterOffset;
+									fContentAssistant.fireSessionRestartEvent();
+									computeProposals(fInvocationOffset);
+									return;
+								}
 							}
-							return;
-						}
-						if (!stillComputing && callback != null) {
-							callback.accept(fComputedProposals);
-						} else {
-							boolean hasProposals= (stillComputing && fComputedProposals.size() > 1)
-									|| (!stillComputing && !fComputedProposals.isEmpty());
+							boolean hasProposals= (stillComputing && displayedProposals.size() > 1)
+									|| (!stillComputing && !displayedProposals.isEmpty());
 
 							if ((autoActivated && hasProposals) || !autoActivated) {
-								setProposals(fComputedProposals, false);
+								// the merged proposals are already sorted
+								fIsInitialSort= filtered;
+								setProposals(displayedProposals, filtered);
 								displayProposals(true);
-							} else if (isValid(fProposalShell) && (!fProposalShell.isVisible() || !hasProposals) && remaining.get() == 0) {
+							} else if (isValid(fProposalShell) && (!fProposalShell.isVisible() || !hasProposals) && !stillComputing) {
 								hide(); // we only tear down if the popup is not visible or it is visible but has no proposals.
 							}
-						}
-					});
-				}
-			})).collect(Collectors.toList());
-			toCancelFutures.addAll(populateFutures);
-			fAggregatedPopulateFuture= CompletableFuture.allOf(populateFutures.toArray(new CompletableFuture[populateFutures.size()]));
-			toCancelFutures.add(fAggregatedPopulateFuture);
+						});
+					}
+				}));
+			}
+			if (remaining.get() == 0) {
+				requestSpecificProposals.remove(computingProposal);
+			} else {
+				fComputingProposal= computingProposal;
+			}
+			setProposals(fComputedProposals, false);
 		}
 		displayProposals(!autoActivated);
 	}
 
+	/**
+	 * Returns the proposals computed by the given future.
+	 *
+	 * @param future the future computing the proposals
+	 * @return the proposals, or <code>null</code> if the computation is not done, failed or has
+	 *         been cancelled
+	 */
+	private static List<ICompletionProposal> getComputedProposals(CompletableFuture<List<ICompletionProposal>> future) {
+		if (!future.isDone() || future.isCompletedExceptionally())
+			return null;
+		return future.getNow(null);
+	}
+
+	/**
+	 * Adds the valid ones of the given proposals, which have been computed after the user has
+	 * filtered the displayed proposals, to the displayed proposals. Only the new proposals are
+	 * validated and sorted, then they are merged into the displayed proposals.
+	 *
+	 * @param proposals the newly computed proposals
+	 * @param computingProposal the placeholder of the computation
+	 * @param stillComputing whether other proposals are still computed
+	 * @return the proposals to display, or <code>null</code> if the new proposals cannot be
+	 *         validated and have to be computed again
+	 */
+	private List<ICompletionProposal> addValidProposals(List<ICompletionProposal> proposals, ComputingProposal computingProposal, boolean stillComputing) {
+		DocumentEvent event= null;
+		try {
+			event= TextUtilities.mergeProcessedDocumentEvents(fEventsWhileComputing);
+		} catch (BadLocationException e) {
+			// validate without event
+		}
+		List<ICompletionProposal> valid= computeValidProposals(proposals, fFilterOffset, event);
+		if (valid == null)
+			return null;
+
+		List<ICompletionProposal> displayed= new ArrayList<>(fFilteredProposals);
+		displayed.remove(computingProposal);
+		List<ICompletionProposal> merged;
+		if (fSorter != null) {
+			sortProposals(valid);
+			merged= new ArrayList<>(displayed.size() + valid.size() + 1);
+			int i= 0, j= 0;
+			while (i < displayed.size() && j < valid.size()) {
+				if (fSorter.compare(valid.get(j), displayed.get(i)) < 0)
+					merged.add(valid.get(j++));
+				else
+					merged.add(displayed.get(i++));
+			}
+			merged.addAll(displayed.subList(i, displayed.size()));
+			merged.addAll(valid.subList(j, valid.size()));
+		} else {
+			merged= displayed;
+			merged.addAll(valid);
+		}
+		if (stillComputing)
+			merged.add(0, computingProposal);
+		return merged;
+	}
+
 	@Override
 	void displayProposals(boolean showPopup) {
 		if (showPopup) {
@@ -343,14 +443,27 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 		toCancelFutures.clear();
 	}
 
+	/**
+	 * This method differs from its super as it also filters the proposals while some processors
+	 * are still computing. The proposals computed later are validated once they are available, see
+	 * {@link #addValidProposals(List, ComputingProposal, boolean)}.
+	 */
 	@Override
 	protected List<ICompletionProposal> computeFilteredProposals(int offset, DocumentEvent event) {
-		if (fAggregatedPopulateFuture != null && !fAggregatedPopulateFuture.isDone()) {
-			// user typed a char & computation still pending -> let all futures complete then invoke "filterProposals" upon completion
-			fAggregatedPopulateFuture.thenRun(this::filterProposals);
-			return fComputedProposals;
+		ComputingProposal computingProposal= fComputingProposal;
+		if (computingProposal == null) {
+			return super.computeFilteredProposals(offset, event);
+		}
+		// user typed a char & computation still pending -> filter the proposals computed so far
+		if (event != null) {
+			fEventsWhileComputing.add(event);
+		}
+		List<ICompletionProposal> filtered= super.computeFilteredProposals(offset, event);
+		if (filtered != null && filtered != fComputedProposals && computingProposal == fComputingProposal) {
+			// keep showing the progress
+			filtered.add(0, computingProposal);
 		}
-		return super.computeFilteredProposals(offset, event);
+		return filtered;
 	}
 
 	@Override
@@ -358,6 +471,8 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 		fPopupVisibleTimer.stop();
 		super.hide();
 		cancelFutures();
+		fComputingProposal= null;
+		fEventsWhileComputing.clear();
 	}
 
 	protected List<CompletableFuture<List<ICompletionProposal>>> buildCompletionFuturesOrJobs(int invocationOffset) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1558,6 +1558,30 @@ class CompletionProposalPopup implements IContentAssistListener {
 			return null;
 		}
 
+		List<ICompletionProposal> filtered= computeValidProposals(proposals, offset, event);
+		if (filtered == null) {
+			// restore original behavior
+			fIsFilteredSubset= false;
+			fInvocationOffset= offset;
+			fContentAssistant.fireSessionRestartEvent();
+			fComputedProposals= computeProposals(fInvocationOffset);
+			return fComputedProposals;
+		}
+
+		return filtered;
+	}
+
+	/**
+	 * Computes the subset of the given proposals that are still valid for the given offset.
+	 *
+	 * @param proposals the proposals to validate
+	 * @param offset the offset
+	 * @param event the merged document event, may be <code>null</code>
+	 * @return the valid proposals, or <code>null</code> if one of the proposals cannot be
+	 *         validated and the proposals have to be computed again
+	 * @since 3.29
+	 */
+	List<ICompletionProposal> computeValidProposals(List<ICompletionProposal> proposals, int offset, DocumentEvent event) {
 		IDocument document= fContentAssistSubjectControlAdapter.getDocument();
 		int length= proposals.size();
 		List<ICompletionProposal> filtered= new ArrayList<>(length);
@@ -1582,12 +1606,7 @@ class CompletionProposalPopup implements IContentAssistListener {
 					// Make sure that poorly behaved completion proposers do not break filtering.
 				}
 			} else {
-				// restore original behavior
-				fIsFilteredSubset= false;
-				fInvocationOffset= offset;
-				fContentAssistant.fireSessionRestartEvent();
-				fComputedProposals= computeProposals(fInvocationOffset);
-				return fComputedProposals;
+				return null;
 			}
 		}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,17 +14,23 @@
 
 package org.eclipse.jface.text.presentation;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
 import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.DocumentPartitioningChangedEvent;
 import org.eclipse.jface.text.IDocument;
@@ -40,11 +46,13 @@ import org.eclipse.jface.text.ITextListener;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.ITextViewerExtension5;
 import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextEvent;
 import org.eclipse.jface.text.TextPresentation;
 import org.eclipse.jface.text.TextUtilities;
 import org.eclipse.jface.text.TypedPosition;
+import org.eclipse.jface.text.TypedRegion;
 
 
 
@@ -56,6 +64,11 @@ import org.eclipse.jface.text.TypedPosition;
  * document change rather than just the portion overlapping with the viewer's
  * viewport.
  * <p>
+ * Large damages can optionally be repaired in the background, see
+ * {@link #enableBackgroundRepair(int, Executor, Map)}. The part of such a damage that is visible in
+ * the viewer's viewport is still repaired immediately.
+ * </p>
+ * <p>
  * Usually, clients instantiate this class and configure it before using it.
  * </p>
  */
@@ -82,6 +95,8 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 
 		@Override
 		public void inputDocumentAboutToBeChanged(IDocument oldDocument, IDocument newDocument) {
+			cancelBackgroundRepair();
+			fPendingRepairs.clear();
 			if (oldDocument != null) {
 				try {
 
@@ -151,6 +166,8 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		public void documentAboutToBeChanged(DocumentEvent e) {
 
 			fDocumentChanging= true;
+			// the background repair works on a copy of a chunk that is outdated by this change
+			cancelBackgroundRepair();
 			if (fCachedRedrawState) {
 				try {
 					int offset= e.getOffset() + e.getLength();
@@ -213,6 +230,8 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 
 			if (damage != null && document != null)
 				processDamage(damage, document);
+			else if (document != null)
+				scheduleBackgroundRepair(document);
 
 			fDocumentPartitioningChanged= false;
 			fChangedDocumentPartitions= null;
@@ -242,6 +261,144 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		}
 	}
 
+	/**
+	 * Repairs the pending damages chunk by chunk. The chunks are chosen and applied in the UI
+	 * thread, their presentation is created by the background repair executor with the background
+	 * repairers against a copy of the chunk's text. The repair is cancelled as soon as the
+	 * document changes, the results that are still on their way to the UI thread are discarded
+	 * then.
+	 *
+	 * @since 3.29
+	 */
+	private class BackgroundRepair implements Runnable {
+
+		/** The document whose presentation is repaired */
+		private final IDocument fDocument;
+		/** The repairers creating the presentations */
+		private final Map<String, IPresentationRepairer> fChunkRepairers;
+		/** The display of the viewer's text widget */
+		private final Display fDisplay;
+		/** The executor creating the presentations */
+		private final Executor fExecutor;
+		/** Set if the results of this repair must no longer be applied */
+		private volatile boolean fCancelled= false;
+		/** The pending damage which starts with the current chunk */
+		private Position fPendingRepair;
+		/** The current chunk */
+		private IRegion fChunk;
+		/** A copy of the text of the current chunk */
+		private IDocument fChunkDocument;
+		/** The partitioning of the current chunk, relative to the chunk */
+		private ITypedRegion[] fChunkPartitioning;
+		/** The presentation of the current chunk, <code>null</code> if none could be created */
+		private TextPresentation fPresentation;
+
+		BackgroundRepair(IDocument document, Display display, Executor executor) {
+			fDocument= document;
+			fChunkRepairers= fBackgroundRepairers;
+			fDisplay= display;
+			fExecutor= executor;
+		}
+
+		/**
+		 * Chooses the next chunk of the first pending damage and passes it to the executor. Must be
+		 * called in the UI thread.
+		 */
+		void repairNextChunk() {
+			while (!fCancelled && !fPendingRepairs.isEmpty()) {
+				Position pending= fPendingRepairs.get(0);
+				if (pending.isDeleted() || pending.getLength() == 0) {
+					removePendingRepair(fDocument, pending);
+					continue;
+				}
+				try {
+					int start= pending.getOffset();
+					int pendingEnd= start + pending.getLength();
+					int end= Math.min(start + fBackgroundChunkLength, pendingEnd);
+					if (end < pendingEnd) {
+						// chunks end at line ends, so that scanners are not restarted inside a line
+						int line= fDocument.getLineOfOffset(end);
+						end= Math.min(pendingEnd, fDocument.getLineOffset(line) + fDocument.getLineLength(line));
+					}
+					fPendingRepair= pending;
+					fChunk= new Region(start, end - start);
+					fChunkDocument= new Document(fDocument.get(start, end - start));
+					ITypedRegion[] partitioning= TextUtilities.computePartitioning(fDocument, getDocumentPartitioning(), start, end - start, false);
+					fChunkPartitioning= new ITypedRegion[partitioning.length];
+					for (int i= 0; i < partitioning.length; i++) {
+						ITypedRegion r= partitioning[i];
+						fChunkPartitioning[i]= new TypedRegion(r.getOffset() - start, r.getLength(), r.getType());
+					}
+					fPresentation= null;
+					fExecutor.execute(this);
+					return;
+				} catch (BadLocationException x) {
+					removePendingRepair(fDocument, pending);
+				}
+			}
+			if (fBackgroundRepair == this)
+				fBackgroundRepair= null;
+		}
+
+		/**
+		 * Creates the presentation of the current chunk with the background repairers and passes
+		 * it to the UI thread.
+		 */
+		@Override
+		public void run() {
+			try {
+				synchronized (fBackgroundRepairLock) {
+					if (fCancelled)
+						return;
+					for (IPresentationRepairer repairer : fChunkRepairers.values())
+						repairer.setDocument(fChunkDocument);
+					TextPresentation presentation= createPresentation(new Region(0, fChunk.getLength()), fChunkPartitioning, fChunkRepairers);
+
+					// move the presentation from the chunk's copy to the document
+					fPresentation= new TextPresentation(fChunk, presentation.getDenumerableRanges());
+					Iterator<StyleRange> e= presentation.getAllStyleRangeIterator();
+					while (e.hasNext()) {
+						StyleRange range= (StyleRange) e.next().clone();
+						range.start+= fChunk.getOffset();
+						fPresentation.addStyleRange(range);
+					}
+				}
+			} finally {
+				if (!fCancelled && !fDisplay.isDisposed())
+					fDisplay.asyncExec(this::applyPresentation);
+			}
+		}
+
+		/**
+		 * Applies the presentation of the current chunk and continues with the next one, unless
+		 * this repair has been cancelled in the meantime. Called in the UI thread.
+		 */
+		private void applyPresentation() {
+			if (fCancelled)
+				return;
+			StyledText widget= fViewer.getTextWidget();
+			if (widget == null || widget.isDisposed()) {
+				cancelBackgroundRepair();
+				return;
+			}
+
+			if (fPresentation != null)
+				applyTextRegionCollection(fPresentation);
+
+			int index= indexOfPendingRepair(fPendingRepair);
+			int end= fChunk.getOffset() + fChunk.getLength();
+			int pendingEnd= fPendingRepair.getOffset() + fPendingRepair.getLength();
+			removePendingRepair(fDocument, fPendingRepair);
+			if (end < pendingEnd)
+				addPendingRepair(fDocument, end, pendingEnd, Math.max(0, index));
+			repairNextChunk();
+		}
+
+		void cancel() {
+			fCancelled= true;
+		}
+	}
+
 	/** The map of presentation damagers. */
 	private Map<String, IPresentationDamager> fDamagers;
 	/** The map of presentation repairers. */
@@ -265,6 +422,40 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 * @since 3.0
 	 */
 	private String fPartitioning;
+	/**
+	 * The executor creating the presentation of deferred damages, <code>null</code> if every
+	 * damage is repaired at once.
+	 * @since 3.29
+	 */
+	private Executor fBackgroundRepairExecutor;
+	/**
+	 * The repairers used by the background repair executor, by content type.
+	 * @since 3.29
+	 */
+	private Map<String, IPresentationRepairer> fBackgroundRepairers;
+	/**
+	 * The lock held while the background repairers create the presentation of a chunk, as a chunk
+	 * of a cancelled repair may still be running. It is never taken by the UI thread.
+	 * @since 3.29
+	 */
+	private final Object fBackgroundRepairLock= new Object();
+	/**
+	 * The number of characters repaired at once in the background.
+	 * @since 3.29
+	 */
+	private int fBackgroundChunkLength;
+	/**
+	 * The damages that have not been repaired yet, in the order in which they are repaired. The
+	 * positions are tracked in the document's damage position category. They are compared by
+	 * identity, as equal positions may be pending at the same time.
+	 * @since 3.29
+	 */
+	private final List<Position> fPendingRepairs= new ArrayList<>();
+	/**
+	 * The running background repair, <code>null</code> if none.
+	 * @since 3.29
+	 */
+	private BackgroundRepair fBackgroundRepair;
 
 	/**
 	 * Creates a new presentation reconciler. There are no damagers or repairers
@@ -340,6 +531,71 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 			fRepairers.put(contentType, repairer);
 	}
 
+	/**
+	 * Enables the background repair of damages that are longer than the given chunk length. The
+	 * part of such a damage that is visible in the viewer's viewport is repaired immediately. The
+	 * rest is split into chunks of about the given length whose presentation is created by the
+	 * given executor and then applied one chunk at a time in the UI thread, starting with the text
+	 * below the viewport. Changing the document discards the outstanding results, the remaining
+	 * damage is repaired against the changed document.
+	 * <p>
+	 * The presentation of a chunk is created by the given repairers, which are used by the
+	 * executor only, one chunk at a time, and never by the UI thread. They must not be the
+	 * repairers set with {@link #setRepairer(IPresentationRepairer, String)}, but create the same
+	 * presentation for every content type for which one is set. A repairer works on a document
+	 * containing the text of the chunk only, which has no partitioning, so it must not depend on
+	 * the partitioning or the text outside the partition it is asked to repair. This is the case
+	 * for {@link org.eclipse.jface.text.rules.DefaultDamagerRepairer}. The presentation of the
+	 * chunks is not created by {@link #createPresentation(IRegion, IDocument)}.
+	 * </p>
+	 *
+	 * @param chunkLength the number of characters that are repaired at once, must be positive
+	 * @param executor the executor creating the presentation of the chunks, usually a background
+	 *            thread
+	 * @param repairers the repairers used by the executor, by content type
+	 * @since 3.29
+	 */
+	public void enableBackgroundRepair(int chunkLength, Executor executor, Map<String, IPresentationRepairer> repairers) {
+		Assert.isLegal(chunkLength > 0);
+		Assert.isNotNull(executor);
+		Assert.isNotNull(repairers);
+		fBackgroundChunkLength= chunkLength;
+		fBackgroundRepairExecutor= executor;
+		fBackgroundRepairers= new HashMap<>(repairers);
+	}
+
+	/**
+	 * Disables the background repair. The damages that have not been repaired yet are repaired
+	 * immediately. Must be called in the UI thread.
+	 *
+	 * @since 3.29
+	 */
+	public void disableBackgroundRepair() {
+		if (fBackgroundRepairExecutor == null)
+			return;
+		cancelBackgroundRepair();
+		fBackgroundRepairExecutor= null;
+		fBackgroundRepairers= null;
+
+		IDocument document= fViewer == null ? null : fViewer.getDocument();
+		List<Position> pending= new ArrayList<>(fPendingRepairs);
+		for (Position position : pending) {
+			removePendingRepair(document, position);
+			if (document != null && !position.isDeleted())
+				processDamage(new Region(position.getOffset(), position.getLength()), document);
+		}
+	}
+
+	/**
+	 * Tells whether there are damages which are still to be repaired in the background.
+	 *
+	 * @return <code>true</code> if a background repair is pending
+	 * @since 3.29
+	 */
+	public boolean isBackgroundRepairPending() {
+		return !fPendingRepairs.isEmpty();
+	}
+
 	@Override
 	public void install(ITextViewer viewer) {
 		Assert.isNotNull(viewer);
@@ -427,22 +683,35 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 				return presentation;
 			}
 
-			TextPresentation presentation= new TextPresentation(damage, 1000);
-
 			ITypedRegion[] partitioning= TextUtilities.computePartitioning(document, getDocumentPartitioning(), damage.getOffset(), damage.getLength(), false);
-			for (ITypedRegion r : partitioning) {
-				IPresentationRepairer repairer= getRepairer(r.getType());
-				if (repairer != null)
-					repairer.createPresentation(presentation, r);
-			}
-
-			return presentation;
+			return createPresentation(damage, partitioning, null);
 
 		} catch (BadLocationException x) {
 			return null;
 		}
 	}
 
+	/**
+	 * Constructs the "repair description" for the given damage from the given partitioning of
+	 * the damage region.
+	 *
+	 * @param damage the damage to be repaired
+	 * @param partitioning the partitioning of the damage region
+	 * @param repairers the repairers to use by content type, <code>null</code> to use
+	 *            {@link #getRepairer(String)}
+	 * @return the presentation repair description as text presentation
+	 * @since 3.29
+	 */
+	private TextPresentation createPresentation(IRegion damage, ITypedRegion[] partitioning, Map<String, IPresentationRepairer> repairers) {
+		TextPresentation presentation= new TextPresentation(damage, 1000);
+		for (ITypedRegion r : partitioning) {
+			IPresentationRepairer repairer= repairers == null ? getRepairer(r.getType()) : repairers.get(r.getType());
+			if (repairer != null)
+				repairer.createPresentation(presentation, r);
+		}
+		return presentation;
+	}
+
 
 	/**
 	 * Checks for the first and the last affected partition affected by a
@@ -546,9 +815,125 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 */
 	private void processDamage(IRegion damage, IDocument document) {
 		if (damage != null && damage.getLength() > 0) {
-			TextPresentation p= createPresentation(damage, document);
-			if (p != null)
-				applyTextRegionCollection(p);
+			if (fBackgroundRepairExecutor != null && damage.getLength() > fBackgroundChunkLength && fRepairers != null && !fRepairers.isEmpty())
+				damage= deferDamage(damage, document);
+
+			if (damage != null) {
+				TextPresentation p= createPresentation(damage, document);
+				if (p != null)
+					applyTextRegionCollection(p);
+			}
+		}
+		scheduleBackgroundRepair(document);
+	}
+
+	/**
+	 * Defers the repair of the part of the given damage that is not visible in the viewer's
+	 * viewport. The part below the viewport is repaired before the part above it.
+	 *
+	 * @param damage the damage
+	 * @param document the document whose presentation must be repaired
+	 * @return the visible part of the damage, <code>null</code> if none
+	 * @since 3.29
+	 */
+	private IRegion deferDamage(IRegion damage, IDocument document) {
+		int offset= damage.getOffset();
+		int end= offset + damage.getLength();
+		int visibleStart= Math.max(offset, fViewer.getTopIndexStartOffset());
+		int visibleEnd= Math.min(end, fViewer.getBottomIndexEndOffset() + 1);
+		if (visibleStart >= visibleEnd) {
+			addPendingRepair(document, offset, end, fPendingRepairs.size());
+			return null;
+		}
+
+		addPendingRepair(document, visibleEnd, end, fPendingRepairs.size());
+		addPendingRepair(document, offset, visibleStart, fPendingRepairs.size());
+		return new Region(visibleStart, visibleEnd - visibleStart);
+	}
+
+	/**
+	 * Adds a pending damage which is tracked in the given document.
+	 *
+	 * @param document the document
+	 * @param start the start offset of the damage
+	 * @param end the end offset of the damage
+	 * @param index the index at which the damage is added to the pending damages
+	 * @since 3.29
+	 */
+	private void addPendingRepair(IDocument document, int start, int end, int index) {
+		if (start >= end)
+			return;
+		Position position= new Position(start, end - start);
+		try {
+			document.addPosition(fPositionCategory, position);
+			fPendingRepairs.add(index, position);
+		} catch (BadLocationException x) {
+			// damage is outside the document
+		} catch (BadPositionCategoryException x) {
+			// should not happen on input documents
+		}
+	}
+
+	/**
+	 * Removes a pending damage and stops tracking it in the given document.
+	 *
+	 * @param document the document, may be <code>null</code>
+	 * @param position the position of the damage
+	 * @since 3.29
+	 */
+	private void removePendingRepair(IDocument document, Position position) {
+		int index= indexOfPendingRepair(position);
+		if (index != -1)
+			fPendingRepairs.remove(index);
+		if (document != null) {
+			try {
+				document.removePosition(fPositionCategory, position);
+			} catch (BadPositionCategoryException x) {
+				// should not happen on input documents
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the given pending damage.
+	 *
+	 * @param position the position of the damage
+	 * @return the index of the damage in the pending damages, <code>-1</code> if it is not pending
+	 * @since 3.29
+	 */
+	private int indexOfPendingRepair(Position position) {
+		for (int i= 0; i < fPendingRepairs.size(); i++) {
+			if (fPendingRepairs.get(i) == position)
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Starts to repair the pending damages in the background if this is not already happening.
+	 *
+	 * @param document the document whose presentation must be repaired
+	 * @since 3.29
+	 */
+	private void scheduleBackgroundRepair(IDocument document) {
+		if (fBackgroundRepair != null || fBackgroundRepairExecutor == null || fPendingRepairs.isEmpty())
+			return;
+		StyledText widget= fViewer.getTextWidget();
+		if (widget == null || widget.isDisposed())
+			return;
+		fBackgroundRepair= new BackgroundRepair(document, widget.getDisplay(), fBackgroundRepairExecutor);
+		fBackgroundRepair.repairNextChunk();
+	}
+
+	/**
+	 * Cancels the running background repair. The pending damages are kept.
+	 *
+	 * @since 3.29
+	 */
+	private void cancelBackgroundRepair() {
+		if (fBackgroundRepair != null) {
+			fBackgroundRepair.cancel();
+			fBackgroundRepair= null;
 		}
 	}
 
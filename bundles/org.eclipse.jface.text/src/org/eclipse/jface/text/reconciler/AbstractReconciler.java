@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,10 @@
  *******************************************************************************/
 package org.eclipse.jface.text.reconciler;
 
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.events.FocusEvent;
+import org.eclipse.swt.events.FocusListener;
+
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -41,6 +45,11 @@ import org.eclipse.jface.text.ITextViewer;
  * It is the clients responsibility to stop a reconciler using its {@link #uninstall()}
  * method. Unstopped reconcilers do not free their resources.
  * <p>
+ * By default, each reconciler runs in its own background thread. A reconciler can instead share
+ * the threads of a {@link ReconcilerScheduler} with other reconcilers, see
+ * {@link #setScheduler(ReconcilerScheduler)}.
+ * </p>
+ * <p>
  * It is subclass responsibility to specify how dirty regions are processed.
  * </p>
  *
@@ -74,8 +83,35 @@ abstract public class AbstractReconciler implements IReconciler {
 
 		private volatile Thread fThread;
 
+		/**
+		 * The task running this worker on the scheduler, <code>null</code> if the worker runs in
+		 * its own thread.
+		 * @since 3.29
+		 */
+		private final ReconcilerScheduler.Task fTask;
+		/**
+		 * Has the initial process been run by the scheduler.
+		 * @since 3.29
+		 */
+		private boolean fInitialized;
+
 		public BackgroundWorker(String name) {
 			fName= name;
+			if (fScheduler == null) {
+				fTask= null;
+			} else {
+				fTask= new ReconcilerScheduler.Task() {
+					@Override
+					void run() {
+						runScheduled();
+					}
+
+					@Override
+					boolean isUrgent() {
+						return fHasFocus;
+					}
+				};
+			}
 		}
 
 		/**
@@ -108,6 +144,22 @@ abstract public class AbstractReconciler implements IReconciler {
 			synchronized (fDirtyRegionQueue) {
 				fDirtyRegionQueue.notifyAll();
 			}
+			if (fTask != null) {
+				fScheduler.cancel(fTask);
+				fIsAlive= false;
+			}
+		}
+
+		/**
+		 * Lets the scheduler run this worker after the reconciler's delay, or right away if the
+		 * reconciler should finish as soon as possible. Does nothing if the worker runs in its own
+		 * thread or has not been started.
+		 *
+		 * @since 3.29
+		 */
+		void schedule() {
+			if (fTask != null && fStarted && !fCanceled)
+				fScheduler.schedule(fTask, waitFinish ? 0 : fDelay);
 		}
 
 		/**
@@ -158,6 +210,7 @@ abstract public class AbstractReconciler implements IReconciler {
 
 			informNotFinished();
 			reconcilerReset();
+			schedule();
 		}
 
 		/**
@@ -187,29 +240,83 @@ abstract public class AbstractReconciler implements IReconciler {
 						}
 					}
 
-					DirtyRegion r= null;
-					synchronized (fDirtyRegionQueue) {
-						r= fDirtyRegionQueue.removeNextDirtyRegion();
+					processNextDirtyRegion();
+				}
+			} finally {
+				fIsAlive= false;
+			}
+		}
+
+		/**
+		 * Removes the first change from the queue and processes it.
+		 *
+		 * @return <code>true</code> if the queue has been emptied
+		 * @since 3.29
+		 */
+		private boolean processNextDirtyRegion() {
+			DirtyRegion r= null;
+			synchronized (fDirtyRegionQueue) {
+				r= fDirtyRegionQueue.removeNextDirtyRegion();
+			}
+
+			fIsActive= true;
+
+			fProgressMonitor.setCanceled(false);
+
+			process(r);
+
+			boolean isEmpty;
+			synchronized (fDirtyRegionQueue) {
+				isEmpty= fDirtyRegionQueue.isEmpty();
+				if (isEmpty) {
+					synchronized (this) {
+						fIsDirty= fProgressMonitor.isCanceled();
 					}
+					fDirtyRegionQueue.notifyAll();
+				}
+			}
+			fIsActive= false;
+			return isEmpty;
+		}
 
-					fIsActive= true;
+		/**
+		 * The background activity when run by the scheduler. Runs the initial process the first
+		 * time and then processes all queued changes at once. Gives the thread back to the
+		 * scheduler when the reconciler is reset while working, the scheduler runs it again after
+		 * the delay.
+		 *
+		 * @since 3.29
+		 */
+		private void runScheduled() {
+			fThread= Thread.currentThread();
+			try {
+				synchronized (this) {
+					fReset= false;
+				}
 
-					fProgressMonitor.setCanceled(false);
+				if (!fInitialized) {
+					fInitialized= true;
+					initialProcess();
+				}
 
-					process(r);
+				while (!fCanceled && isDirty()) {
+					synchronized (this) {
+						if (fReset)
+							return;
+					}
 
-					synchronized (fDirtyRegionQueue) {
-						if (fDirtyRegionQueue.isEmpty()) {
-							synchronized (this) {
-								fIsDirty= fProgressMonitor.isCanceled();
-							}
-							fDirtyRegionQueue.notifyAll();
-						}
+					if (processNextDirtyRegion()) {
+						// still dirty if the processing has been canceled, try again later
+						if (isDirty())
+							fScheduler.schedule(fTask, fDelay);
+						break;
 					}
-					fIsActive= false;
 				}
+
+				if (!isDirty())
+					waitFinish= false; //signalWaitForFinish() was called but nothing todo
 			} finally {
-				fIsAlive= false;
+				fThread= null;
 			}
 		}
 
@@ -225,6 +332,10 @@ abstract public class AbstractReconciler implements IReconciler {
 			if (!fStarted) {
 				fIsAlive= true;
 				fStarted= true;
+				if (fTask != null) {
+					schedule();
+					return;
+				}
 				Job.createSystem("Delayed Reconciler startup for " + fName, m -> { //$NON-NLS-1$
 					//Until we process some code from the job, the reconciler thread is the current thread
 					fThread= Thread.currentThread();
@@ -297,10 +408,16 @@ abstract public class AbstractReconciler implements IReconciler {
 						fDirtyRegionQueue.purgeQueue();
 					}
 					if (fDocument != null && fDocument.getLength() > 0 && fWorker.isDirty() && fWorker.isAlive()) {
-						DocumentEvent e= new DocumentEvent(fDocument, 0, fDocument.getLength(), ""); //$NON-NLS-1$
-						createDirtyRegion(e);
-						fWorker.reset();
-						fWorker.suspendCallerWhileDirty();
+						if (fScheduler != null) {
+							// the caller must not wait for a shared thread, which may be busy or
+							// wait for the caller itself, so the old input is not reconciled again
+							fProgressMonitor.setCanceled(true);
+						} else {
+							DocumentEvent e= new DocumentEvent(fDocument, 0, fDocument.getLength(), ""); //$NON-NLS-1$
+							createDirtyRegion(e);
+							fWorker.reset();
+							fWorker.suspendCallerWhileDirty();
+						}
 					}
 				}
 
@@ -353,6 +470,23 @@ abstract public class AbstractReconciler implements IReconciler {
 	/** The text viewer */
 	private ITextViewer fViewer;
 
+	/**
+	 * The scheduler running this reconciler, <code>null</code> if it runs in its own thread.
+	 * @since 3.29
+	 */
+	private ReconcilerScheduler fScheduler;
+	/**
+	 * Tracks whether the text viewer has the focus, <code>null</code> if not installed on a
+	 * scheduler.
+	 * @since 3.29
+	 */
+	private FocusListener fFocusListener;
+	/**
+	 * Does the text viewer have the focus.
+	 * @since 3.29
+	 */
+	volatile boolean fHasFocus;
+
 
 	/**
 	 * Processes a dirty region. If the dirty region is <code>null</code> the whole
@@ -392,6 +526,27 @@ abstract public class AbstractReconciler implements IReconciler {
 		fDelay= delay;
 	}
 
+	/**
+	 * Tells the reconciler to run on the threads of the given scheduler instead of its own
+	 * background thread. While more reconcilers of the scheduler have work to do than the
+	 * scheduler has threads, the reconciler of the text viewer that has the focus runs first.
+	 * Must be called before the reconciler is installed.
+	 * <p>
+	 * Unlike a reconciler with its own thread, a scheduled incremental reconciler does not block
+	 * the caller until the unreconciled changes of the old document are reconciled when the input
+	 * document changes. The threads are shared and may be busy or waiting for the caller, e.g. for
+	 * the UI thread, so these changes are dropped instead.
+	 * </p>
+	 *
+	 * @param scheduler the scheduler to use, e.g. {@link ReconcilerScheduler#getDefault()}, or
+	 *            <code>null</code> to run in an own thread
+	 * @since 3.29
+	 */
+	public void setScheduler(ReconcilerScheduler scheduler) {
+		Assert.isTrue(fWorker == null);
+		fScheduler= scheduler;
+	}
+
 	/**
 	 * Tells the reconciler whether any of the available reconciling strategies
 	 * is interested in getting detailed dirty region information or just in the
@@ -489,6 +644,23 @@ abstract public class AbstractReconciler implements IReconciler {
 		fListener= new Listener();
 		fViewer.addTextInputListener(fListener);
 
+		StyledText textWidget= fViewer.getTextWidget();
+		if (fScheduler != null && textWidget != null) {
+			fFocusListener= new FocusListener() {
+				@Override
+				public void focusGained(FocusEvent e) {
+					fHasFocus= true;
+				}
+
+				@Override
+				public void focusLost(FocusEvent e) {
+					fHasFocus= false;
+				}
+			};
+			textWidget.addFocusListener(fFocusListener);
+			fHasFocus= textWidget.isFocusControl();
+		}
+
 		// see bug https://bugs.eclipse.org/bugs/show_bug.cgi?id=67046
 		// if the reconciler gets installed on a viewer that already has a document
 		// (e.g. when reusing editors), we force the listener to register
@@ -507,6 +679,10 @@ abstract public class AbstractReconciler implements IReconciler {
 		if (fListener != null) {
 
 			fViewer.removeTextInputListener(fListener);
+			StyledText textWidget= fViewer.getTextWidget();
+			if (fFocusListener != null && textWidget != null && !textWidget.isDisposed())
+				textWidget.removeFocusListener(fFocusListener);
+			fFocusListener= null;
 			if (fDocument != null) {
 				fListener.inputDocumentAboutToBeChanged(fDocument, null);
 				fListener.inputDocumentChanged(fDocument, null);
@@ -582,6 +758,9 @@ abstract public class AbstractReconciler implements IReconciler {
 			waitFinish= true;
 			fDirtyRegionQueue.notifyAll(); // notify AbstractReconciler#delay about waitFinish
 		}
+		BackgroundWorker worker= fWorker;
+		if (worker != null)
+			worker.schedule();
 	}
 
 	private void informNotFinished() {
@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.reconciler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.SafeRunner;
+
+
+/**
+ * Runs the background activity of reconcilers on a bounded number of threads shared by all
+ * reconcilers using it, instead of one thread per reconciler.
+ * <p>
+ * Each reconciler has at most one pending request to run: requests made while one is pending
+ * replace the pending one, and requests made while the reconciler runs are deferred until it has
+ * finished. Hence the pending work never exceeds one entry per reconciler, no matter how fast
+ * documents change. When more reconcilers are due than there are threads, the reconcilers whose
+ * text viewer has the keyboard focus run first, the others in the order they became due.
+ * </p>
+ * <p>
+ * Threads are created when needed and terminate after they have been idle for a while. By
+ * default they are daemon threads with minimal priority, clients may pass their own thread
+ * factory, e.g. one creating virtual threads.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed by clients.
+ * </p>
+ *
+ * @see AbstractReconciler#setScheduler(ReconcilerScheduler)
+ * @since 3.29
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class ReconcilerScheduler {
+
+	/**
+	 * The background activity of a reconciler as scheduled by a {@link ReconcilerScheduler}.
+	 */
+	abstract static class Task {
+
+		/** The time in nanoseconds at which the task is due, if it is pending */
+		private long fDueTime;
+		/** Whether the task waits to be run */
+		private boolean fPending;
+		/** Whether the task is running */
+		private boolean fRunning;
+		/** Whether the task has been scheduled while running */
+		private boolean fRescheduled;
+
+		/**
+		 * Runs the task.
+		 */
+		abstract void run();
+
+		/**
+		 * Tells whether the task should run before other due tasks.
+		 *
+		 * @return <code>true</code> if the task is urgent
+		 */
+		abstract boolean isUrgent();
+	}
+
+	/** The time in milliseconds after which an idle thread terminates */
+	private static final long KEEP_ALIVE= 30000;
+
+	/** The scheduler shared by all reconcilers that do not use a specific one */
+	private static ReconcilerScheduler fgDefault;
+
+	/** The maximal number of threads */
+	private final int fMaxThreads;
+	/** The factory of the threads or <code>null</code> to create the default threads */
+	private final ThreadFactory fThreadFactory;
+	/** The pending tasks */
+	private final List<Task> fTasks= new ArrayList<>();
+	/** The number of threads */
+	private int fThreads;
+	/** The number of threads waiting for a task */
+	private int fIdleThreads;
+	/** The number of threads created so far, used to name them */
+	private int fThreadCount;
+
+	/**
+	 * Returns the scheduler shared by the reconcilers of all text viewers. It uses at most half
+	 * of the available processors, at least one.
+	 *
+	 * @return the shared scheduler
+	 */
+	public static synchronized ReconcilerScheduler getDefault() {
+		if (fgDefault == null)
+			fgDefault= new ReconcilerScheduler(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+		return fgDefault;
+	}
+
+	/**
+	 * Creates a new scheduler that runs reconcilers on daemon threads with minimal priority.
+	 *
+	 * @param maxThreads the maximal number of threads, must be positive
+	 */
+	public ReconcilerScheduler(int maxThreads) {
+		this(maxThreads, null);
+	}
+
+	/**
+	 * Creates a new scheduler that runs reconcilers on threads created by the given factory.
+	 *
+	 * @param maxThreads the maximal number of threads, must be positive
+	 * @param threadFactory the factory of the threads, or <code>null</code> to use daemon
+	 *            threads with minimal priority
+	 */
+	public ReconcilerScheduler(int maxThreads, ThreadFactory threadFactory) {
+		Assert.isLegal(maxThreads > 0);
+		fMaxThreads= maxThreads;
+		fThreadFactory= threadFactory;
+	}
+
+	/**
+	 * Returns the maximal number of threads of this scheduler.
+	 *
+	 * @return the maximal number of threads
+	 */
+	public int getMaximalThreads() {
+		return fMaxThreads;
+	}
+
+	/**
+	 * Requests to run the given task after the given delay. Replaces a pending request of the
+	 * task. If the task is running, it is run again after it has finished and the delay has
+	 * elapsed.
+	 *
+	 * @param task the task to run
+	 * @param delay the delay in milliseconds
+	 */
+	synchronized void schedule(Task task, long delay) {
+		task.fDueTime= System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delay));
+		if (task.fRunning) {
+			task.fRescheduled= true;
+			return;
+		}
+		if (!task.fPending) {
+			task.fPending= true;
+			fTasks.add(task);
+		}
+		wakeUp();
+	}
+
+	/**
+	 * Removes the pending request of the given task, if any. Does not interrupt the task if it
+	 * is running.
+	 *
+	 * @param task the task to cancel
+	 */
+	synchronized void cancel(Task task) {
+		task.fRescheduled= false;
+		if (task.fPending) {
+			task.fPending= false;
+			fTasks.remove(task);
+		}
+	}
+
+	private void wakeUp() {
+		notifyAll();
+		if (fIdleThreads < fTasks.size() && fThreads < fMaxThreads) {
+			fThreads++;
+			Runnable worker= this::work;
+			Thread thread;
+			if (fThreadFactory != null) {
+				thread= fThreadFactory.newThread(worker);
+			} else {
+				thread= new Thread(worker, "Reconciler #" + ++fThreadCount); //$NON-NLS-1$
+				thread.setPriority(Thread.MIN_PRIORITY);
+				thread.setDaemon(true);
+			}
+			thread.start();
+		}
+	}
+
+	/**
+	 * Returns the due task to run next, urgent tasks first and among these the one that has
+	 * been due for the longest time.
+	 *
+	 * @param now the current time in nanoseconds
+	 * @return the task to run next or <code>null</code> if no task is due
+	 */
+	private Task nextDueTask(long now) {
+		Task next= null;
+		for (Task task : fTasks) {
+			if (task.fDueTime - now > 0)
+				continue;
+			if (next == null || task.isUrgent() && !next.isUrgent() || task.isUrgent() == next.isUrgent() && task.fDueTime - next.fDueTime < 0)
+				next= task;
+		}
+		return next;
+	}
+
+	/**
+	 * Returns the time in nanoseconds until the next pending task is due.
+	 *
+	 * @param now the current time in nanoseconds
+	 * @return the time until the next task is due or <code>-1</code> if there are no tasks
+	 */
+	private long timeToNextTask(long now) {
+		long time= -1;
+		for (Task task : fTasks) {
+			long remaining= task.fDueTime - now;
+			if (time == -1 || remaining < time)
+				time= remaining;
+		}
+		return time;
+	}
+
+	private synchronized Task takeTask() throws InterruptedException {
+		long idleSince= System.nanoTime();
+		while (true) {
+			long now= System.nanoTime();
+			Task task= nextDueTask(now);
+			if (task != null) {
+				fTasks.remove(task);
+				task.fPending= false;
+				task.fRunning= true;
+				return task;
+			}
+
+			long wait= timeToNextTask(now);
+			if (wait == -1) {
+				wait= TimeUnit.MILLISECONDS.toNanos(KEEP_ALIVE) - (now - idleSince);
+				if (wait <= 0)
+					return null;
+			} else {
+				idleSince= now;
+			}
+			fIdleThreads++;
+			try {
+				TimeUnit.NANOSECONDS.timedWait(this, Math.max(wait, 1));
+			} finally {
+				fIdleThreads--;
+			}
+		}
+	}
+
+	private synchronized void taskDone(Task task) {
+		task.fRunning= false;
+		if (task.fRescheduled) {
+			task.fRescheduled= false;
+			task.fPending= true;
+			fTasks.add(task);
+			notifyAll();
+		}
+	}
+
+	private void work() {
+		try {
+			Task task;
+			while ((task= takeTask()) != null) {
+				try {
+					SafeRunner.run(task::run);
+				} finally {
+					taskDone(task);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			synchronized (this) {
+				fThreads--;
+				// another thread may be needed if this one ends while tasks are pending
+				if (!fTasks.isEmpty())
+					wakeUp();
+			}
+		}
+	}
+}
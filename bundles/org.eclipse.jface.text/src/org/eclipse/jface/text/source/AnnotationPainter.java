@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,16 +14,16 @@
  *******************************************************************************/
 package org.eclipse.jface.text.source;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
@@ -564,12 +564,11 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 		Map<Annotation, Decoration> decorationsMap;
 		Map<Annotation, Decoration> highlightedDecorationsMap;
 
-		// Clone decoration maps
 		synchronized (fDecorationMapLock) {
-			decorationsMap= new HashMap<>(fDecorationsMap);
+			decorationsMap= fDecorationsMap;
 		}
 		synchronized (fHighlightedDecorationsMapLock) {
-			highlightedDecorationsMap= new HashMap<>(fHighlightedDecorationsMap);
+			highlightedDecorationsMap= fHighlightedDecorationsMap;
 		}
 
 		boolean isWorldChange= false;
@@ -589,14 +588,19 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 				drawDecoration(decoration, null, annotation, clippingRegion, document);
 			}
 
-			decorationsMap.clear();
-
-			highlightedDecorationsMap.clear();
+			// Fill new maps, they replace the current ones below
+			decorationsMap= new HashMap<>();
+			highlightedDecorationsMap= new HashMap<>();
 
 			e= fModel.getAnnotationIterator();
 
 
 		} else {
+			/*
+			 * Update the decoration maps in place so that the cost is proportional to the size of
+			 * the event rather than to the number of decorations. The maps are only modified here
+			 * and only read in the UI thread, which is the thread running this method.
+			 */
 
 			// Remove annotations
 			Annotation[] removedAnnotations= event.getRemovedAnnotations();
@@ -982,17 +986,19 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 
 	@Override
 	public void applyTextPresentation(TextPresentation tp) {
-		Set<Entry<Annotation, Decoration>> decorations;
-
 		synchronized (fHighlightedDecorationsMapLock) {
 			if (fHighlightedDecorationsMap == null || fHighlightedDecorationsMap.isEmpty())
 				return;
-
-			decorations= new HashSet<>(fHighlightedDecorationsMap.entrySet());
 		}
 
 		IRegion region= tp.getExtent();
 
+		// annotations ending at the start of the extent are considered below
+		int extentStart= Math.max(0, region.getOffset() - 1);
+		Collection<Entry<Annotation, Decoration>> decorations= getDecorations(true, extentStart, region.getOffset() + region.getLength() - extentStart);
+		if (decorations == null)
+			return;
+
 		if (DEBUG)
 			System.out.println("AP: applying text presentation offset: " + region.getOffset() + ", length= " + region.getLength()); //$NON-NLS-1$ //$NON-NLS-2$
 
@@ -1362,12 +1368,11 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 
 		final GC gc= event != null ? event.gc : null;
 
-		// Clone decorations
-		Collection<Entry<Annotation, Decoration>> decorations;
-		synchronized (fDecorationMapLock) {
-			decorations= new ArrayList<>(fDecorationsMap.size());
-			decorations.addAll(fDecorationsMap.entrySet());
-		}
+		// Clone decorations touching the clipping region
+		int clippingStart= Math.max(0, vOffset - 1);
+		Collection<Entry<Annotation, Decoration>> decorations= getDecorations(false, clippingStart, vOffset + vLength + 1 - clippingStart);
+		if (decorations == null)
+			return;
 
 		/*
 		 * Create a new list of annotations to be drawn, since removing from decorations is more
@@ -1395,6 +1400,53 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 		}
 	}
 
+	/**
+	 * Returns a copy of the decorations whose annotations touch or overlap the given region. If
+	 * the annotation model supports region queries, only the decorations of the annotations it
+	 * reports in the region are looked up, so that the cost depends on the number of annotations
+	 * in the region and not on the number of decorations in the whole document. Otherwise all
+	 * decorations are returned.
+	 *
+	 * @param highlighted <code>true</code> for the highlighted decorations, <code>false</code>
+	 *            for the drawn decorations
+	 * @param offset the offset of the region
+	 * @param length the length of the region
+	 * @return the decorations in the region or <code>null</code> if this painter is disposed
+	 * @since 3.29
+	 */
+	private Collection<Entry<Annotation, Decoration>> getDecorations(boolean highlighted, int offset, int length) {
+		Object lock= highlighted ? fHighlightedDecorationsMapLock : fDecorationMapLock;
+		IAnnotationModel model= fModel;
+		synchronized (lock) {
+			Map<Annotation, Decoration> decorations= highlighted ? fHighlightedDecorationsMap : fDecorationsMap;
+			if (decorations == null)
+				return null;
+			if (decorations.isEmpty())
+				return new ArrayList<>(0);
+			if (!(model instanceof IAnnotationModelExtension2))
+				return new ArrayList<>(decorations.entrySet());
+		}
+
+		// query the model outside of the lock, it may have to wait for the model's lock
+		List<Annotation> annotations= new ArrayList<>();
+		Iterator<Annotation> e= ((IAnnotationModelExtension2) model).getAnnotationIterator(offset, length, true, true);
+		while (e.hasNext())
+			annotations.add(e.next());
+
+		synchronized (lock) {
+			Map<Annotation, Decoration> decorations= highlighted ? fHighlightedDecorationsMap : fDecorationsMap;
+			if (decorations == null)
+				return null;
+			List<Entry<Annotation, Decoration>> result= new ArrayList<>(Math.min(annotations.size(), decorations.size()));
+			for (Annotation annotation : annotations) {
+				Decoration decoration= decorations.get(annotation);
+				if (decoration != null)
+					result.add(new SimpleImmutableEntry<>(annotation, decoration));
+			}
+			return result;
+		}
+	}
+
 	private void drawDecoration(Decoration pp, GC gc, Annotation annotation, IRegion clippingRegion, IDocument document) {
 		if (clippingRegion == null)
 			return;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -45,6 +47,7 @@ import org.eclipse.swt.widgets.ScrollBar;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextListener;
 import org.eclipse.jface.text.ITextViewer;
@@ -102,33 +105,26 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 				return;
 			}
 
-			Annotation[] annotations= event.getAddedAnnotations();
-			int length= annotations.length;
-			for (int i= 0; i < length; i++) {
-				if (!skip(annotations[i].getType())) {
-					update();
-					return;
-				}
-			}
-
-			annotations= event.getRemovedAnnotations();
-			length= annotations.length;
-			for (int i= 0; i < length; i++) {
-				if (!skip(annotations[i].getType())) {
-					update();
-					return;
-				}
-			}
+			Set<Annotation> changed= new HashSet<>();
+			addShown(event.getAddedAnnotations(), changed);
+			addShown(event.getRemovedAnnotations(), changed);
+			addShown(event.getChangedAnnotations(), changed);
+			if (!changed.isEmpty())
+				update(changed);
+		}
 
-			annotations= event.getChangedAnnotations();
-			length= annotations.length;
-			for (int i= 0; i < length; i++) {
-				if (!skip(annotations[i].getType())) {
-					update();
-					return;
-				}
+		/**
+		 * Adds the given annotations to the given set unless their type is not shown in the ruler.
+		 *
+		 * @param annotations the annotations
+		 * @param shown the set to add to
+		 * @since 3.29
+		 */
+		private void addShown(Annotation[] annotations, Set<Annotation> shown) {
+			for (Annotation annotation : annotations) {
+				if (!skip(annotation.getType()))
+					shown.add(annotation);
 			}
-
 		}
 	}
 
@@ -384,6 +380,64 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			visibleLines= bottomIndex - topIndex;
 			invisibleLines= maxLines - visibleLines;
 		}
+
+		/**
+		 * Tells whether the given infos map lines to the same locations in the ruler as these
+		 * infos.
+		 *
+		 * @param other the other infos
+		 * @return <code>true</code> if the infos describe the same geometry
+		 * @since 3.29
+		 */
+		boolean hasSameGeometry(WidgetInfos other) {
+			return maxLines == other.maxLines && thumbHeight == other.thumbHeight && visibleLines == other.visibleLines
+					&& invisibleLines == other.invisibleLines && writable == other.writable && bounds.equals(other.bounds);
+		}
+	}
+
+	/**
+	 * The rectangle drawn for an annotation, kept to redraw only the parts of the ruler affected
+	 * by a change of the annotation model.
+	 *
+	 * @since 3.29
+	 */
+	private static class Mark {
+		/**
+		 * the annotation types of {@link OverviewRuler#fAnnotationsSortedByLayer} the annotation
+		 * is drawn with
+		 */
+		final List<Object> types;
+		/**
+		 * whether the annotation is drawn as temporary annotation
+		 */
+		final boolean temporary;
+		/**
+		 * the top of the rectangle
+		 */
+		final int y;
+		/**
+		 * the height of the rectangle
+		 */
+		final int height;
+
+		Mark(List<Object> types, boolean temporary, int y, int height) {
+			this.types= types;
+			this.temporary= temporary;
+			this.y= y;
+			this.height= height;
+		}
+
+		/**
+		 * Tells whether drawing the rectangle touches the given band of the ruler. The frame of
+		 * the rectangle may be drawn one pixel above and below the filled area.
+		 *
+		 * @param top the top of the band
+		 * @param bottom the bottom of the band, exclusive
+		 * @return <code>true</code> if the band is touched
+		 */
+		boolean touches(int top, int bottom) {
+			return y - 1 < bottom && top < y + height + 1;
+		}
 	}
 
 	private static final boolean DEBUG_DRAW= false;
@@ -465,7 +519,35 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	 * The cached annotations.
 	 * @since 3.0
 	 */
-	private List<Annotation> fCachedAnnotations= new ArrayList<>();
+	private Set<Annotation> fCachedAnnotations= new LinkedHashSet<>();
+	/**
+	 * The rectangles drawn into {@link #fBuffer} by annotation, or <code>null</code> if the
+	 * buffer has to be drawn from scratch before parts of it can be redrawn.
+	 * @since 3.29
+	 */
+	private Map<Annotation, Mark> fMarks;
+	/**
+	 * The rectangles drawn into {@link #fBuffer} by the annotation type they are drawn with, in
+	 * the order in which they are drawn.
+	 * @since 3.29
+	 */
+	private Map<Object, Map<Annotation, Mark>> fMarksByType= new HashMap<>();
+	/**
+	 * The widget infos the rectangles have been computed with.
+	 * @since 3.29
+	 */
+	private WidgetInfos fMarksInfos;
+	/**
+	 * The modification stamp of the document when the rectangles were computed.
+	 * @since 3.29
+	 */
+	private long fMarksModificationStamp;
+	/**
+	 * Tells whether the next paint event only has to copy {@link #fBuffer} to the canvas
+	 * because the damaged parts of the buffer have already been redrawn.
+	 * @since 3.29
+	 */
+	private boolean fIsBufferUpToDate;
 
 	/**
 	 * Redraw runnable lock
@@ -477,15 +559,26 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	 * @since 3.3
 	 */
 	private boolean fIsRunnablePosted= false;
+	/**
+	 * The annotations that changed since the redraw runnable has been posted, or
+	 * <code>null</code> if the whole ruler has to be redrawn. Guarded by
+	 * {@link #fRunnableLock}.
+	 * @since 3.29
+	 */
+	private Set<Annotation> fChangedAnnotations;
 	/**
 	 * Redraw runnable
 	 * @since 3.3
 	 */
 	private Runnable fRunnable= () -> {
+		Set<Annotation> changed;
 		synchronized (fRunnableLock) {
 			fIsRunnablePosted= false;
+			changed= fChangedAnnotations;
+			fChangedAnnotations= new HashSet<>();
 		}
-		redraw();
+		if (changed == null || !redraw(changed))
+			redraw();
 		updateHeader();
 	};
 	/**
@@ -652,6 +745,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fBuffer.dispose();
 			fBuffer= null;
 		}
+		clearMarks();
 
 		synchronized (fRunnableLock){
 			fConfiguredAnnotationTypes.clear();
@@ -685,6 +779,8 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		}
 		if (fBuffer == null) {
 			fBuffer= new Image(fCanvas.getDisplay(), this::doPaint, size.x, size.y);
+		} else if (fIsBufferUpToDate) {
+			fIsBufferUpToDate= false;
 		} else {
 			GC gc= new GC(fBuffer);
 			try {
@@ -724,6 +820,118 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		}
 	}
 
+	/**
+	 * Computes the rectangles of all cached annotations.
+	 *
+	 * @return the widget infos the rectangles have been computed with or <code>null</code> if
+	 *         there are no rectangles
+	 * @since 3.29
+	 */
+	private WidgetInfos computeMarks() {
+		clearMarks();
+		fMarks= new HashMap<>();
+		fMarksModificationStamp= getModificationStamp();
+
+		WidgetInfos infos= null;
+		for (Annotation annotation : fCachedAnnotations) {
+			if (infos == null) {
+				// as before, the infos are only computed if there is an annotation to draw
+				infos= new WidgetInfos(fTextViewer.getTextWidget(), fCanvas);
+				fMarksInfos= infos;
+			}
+			addMark(annotation, infos);
+		}
+		return infos;
+	}
+
+	/**
+	 * Forgets the rectangles drawn into the buffer, the next redraw draws the whole ruler.
+	 *
+	 * @since 3.29
+	 */
+	private void clearMarks() {
+		fMarks= null;
+		fMarksByType.clear();
+		fMarksInfos= null;
+		fIsBufferUpToDate= false;
+	}
+
+	/**
+	 * Computes the rectangle of the given annotation and adds it to the rectangles to draw. If
+	 * the annotation already has a rectangle, the new one takes its place in the drawing order.
+	 *
+	 * @param annotation the annotation
+	 * @param infos the cached widget infos
+	 * @return the rectangle or <code>null</code> if the annotation is not drawn
+	 * @since 3.29
+	 */
+	private Mark addMark(Annotation annotation, WidgetInfos infos) {
+		List<Object> types= new ArrayList<>(1);
+		for (Object annotationType : fAnnotationsSortedByLayer) {
+			if (!skip(annotationType) && isDrawnWith(annotation, annotationType))
+				types.add(annotationType);
+		}
+		Mark mark= types.isEmpty() ? null : computeMark(annotation, types, infos);
+		if (mark == null) {
+			removeMark(annotation);
+			return null;
+		}
+
+		Mark previous= fMarks.put(annotation, mark);
+		if (previous != null) {
+			for (Object annotationType : previous.types) {
+				if (!types.contains(annotationType))
+					fMarksByType.get(annotationType).remove(annotation);
+			}
+		}
+		for (Object annotationType : types)
+			fMarksByType.computeIfAbsent(annotationType, t -> new LinkedHashMap<>()).put(annotation, mark);
+		return mark;
+	}
+
+	/**
+	 * Removes the rectangle of the given annotation from the rectangles to draw.
+	 *
+	 * @param annotation the annotation
+	 * @return the removed rectangle or <code>null</code> if there was none
+	 * @since 3.29
+	 */
+	private Mark removeMark(Annotation annotation) {
+		Mark mark= fMarks.remove(annotation);
+		if (mark != null) {
+			for (Object annotationType : mark.types)
+				fMarksByType.get(annotationType).remove(annotation);
+		}
+		return mark;
+	}
+
+	/**
+	 * Tells whether the given annotation is drawn when drawing the annotations of the given
+	 * type, see {@link FilterIterator}.
+	 *
+	 * @param annotation the annotation
+	 * @param annotationType the annotation type drawn
+	 * @return <code>true</code> if the annotation is drawn with the type
+	 * @since 3.29
+	 */
+	private boolean isDrawnWith(Annotation annotation, Object annotationType) {
+		Iterator<Annotation> e= new FilterIterator(annotationType, FilterIterator.PERSISTENT | FilterIterator.TEMPORARY, List.of(annotation).iterator());
+		return e.hasNext();
+	}
+
+	/**
+	 * Returns the modification stamp of the viewer's document.
+	 *
+	 * @return the modification stamp or {@link IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP}
+	 * @since 3.29
+	 */
+	private long getModificationStamp() {
+		IDocument document= fTextViewer.getDocument();
+		if (document instanceof IDocumentExtension4)
+			return ((IDocumentExtension4) document).getModificationStamp();
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
 	/**
 	 * Draws this overview ruler.
 	 *
@@ -731,127 +939,153 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	 */
 	private void doPaint(GC gc) {
 
-		Rectangle r= new Rectangle(0, 0, 0, 0);
-		int yy, hh= ANNOTATION_HEIGHT;
+		int yy;
+
+		StyledText textWidget= fTextViewer.getTextWidget();
+		WidgetInfos infos= computeMarks();
+		if (infos != null)
+			drawMarks(gc, 0, infos.bounds.height, infos);
+
+		if (DEBUG_DRAW) {
+			// draw debugging guides (boundaries):
+			if (infos == null)
+				infos= new WidgetInfos(textWidget, fCanvas);
+			gc.setForeground(gc.getDevice().getSystemColor(SWT.COLOR_DARK_MAGENTA));
+			yy= infos.thumbHeight / 2;
+			gc.drawLine(0, yy, infos.bounds.x/2, yy);
+			yy= infos.bounds.height - infos.thumbHeight / 2;
+			gc.drawLine(0, yy, infos.bounds.x/2, yy);
+
+			gc.setForeground(gc.getDevice().getSystemColor(SWT.COLOR_BLUE));
+			yy= 0;
+			gc.drawLine(0, yy, infos.bounds.x/2, yy);
+			yy= infos.bounds.height - 1;
+			gc.drawLine(0, yy, infos.bounds.x/2, yy);
+		}
+	}
+
+	/**
+	 * Computes the rectangle drawn for the given annotation.
+	 *
+	 * @param annotation the annotation
+	 * @param types the annotation types the annotation is drawn with
+	 * @param infos the cached widget infos
+	 * @return the rectangle or <code>null</code> if the annotation is not visible
+	 * @since 3.29
+	 */
+	private Mark computeMark(Annotation annotation, List<Object> types, WidgetInfos infos) {
+		Position p= fModel.getPosition(annotation);
+		if (p == null)
+			return null;
 
 		IDocument document= fTextViewer.getDocument();
 		StyledText textWidget= fTextViewer.getTextWidget();
-		ITextViewerExtension5 extension= null;
 		IRegion visible= null;
-		if (fTextViewer instanceof ITextViewerExtension5)
-			extension= (ITextViewerExtension5) fTextViewer;
-		else
+		if (!(fTextViewer instanceof ITextViewerExtension5)) {
 			visible= fTextViewer.getVisibleRegion(); // legacy support
+			if (!p.overlapsWith(visible.getOffset(), visible.getLength()))
+				return null;
+		}
 
-		WidgetInfos infos= null;
+		int annotationOffset= p.getOffset();
+		int annotationLength= p.getLength();
+		IRegion widgetRegion= null;
+		if (visible != null) {
+			annotationOffset= Math.max(p.getOffset(), visible.getOffset());
+			int annotationEnd= Math.min(p.getOffset() + p.getLength(), visible.getOffset() + visible.getLength());
+			annotationLength= annotationEnd - annotationOffset;
+		} else {
+			ITextViewerExtension5 extension= (ITextViewerExtension5) fTextViewer;
+			widgetRegion= extension.modelRange2WidgetRange(new Region(annotationOffset, annotationLength));
+			if (widgetRegion == null)
+				return null;
+		}
+
+		try {
+			@SuppressWarnings("null")
+			int startOffset= visible != null ? annotationOffset - visible.getOffset() : widgetRegion.getOffset();
+			int startLine= textWidget.getLineAtOffset(startOffset);
+
+			int yy= computeY(startLine, infos);
+			int hh= ANNOTATION_HEIGHT;
+
+			if (ANNOTATION_HEIGHT_SCALABLE) {
+				int numberOfLines= document.getNumberOfLines(annotationOffset, annotationLength);
+				// don't count empty trailing line
+				IRegion lastLine= document.getLineInformationOfOffset(annotationOffset + annotationLength);
+				if (lastLine.getOffset() == annotationOffset + annotationLength) {
+					numberOfLines--;
+				}
+				if (numberOfLines > 1) {
+					int yy2= computeY(startLine + numberOfLines - 1, infos);
+					hh= Math.max(yy2 - yy, ANNOTATION_HEIGHT);
+				}
+			}
+			return new Mark(types, !annotation.isPersistent(), yy, hh);
+		} catch (BadLocationException | IllegalArgumentException x) {
+			// We don't care if the widget's content is changed since the annotation was created
+			// and do not match the annotation line/offset etc
+			return null;
+		}
+	}
+
+	/**
+	 * Draws the rectangles touching the given band of the ruler, by layer.
+	 *
+	 * @param gc the GC to draw into
+	 * @param top the top of the band
+	 * @param bottom the bottom of the band, exclusive
+	 * @param infos the cached widget infos
+	 * @since 3.29
+	 */
+	private void drawMarks(GC gc, int top, int bottom, WidgetInfos infos) {
+		Rectangle r= new Rectangle(INSET, 0, infos.bounds.width - (2 * INSET), 0);
 
 		for (Object annotationType : fAnnotationsSortedByLayer) {
 			if (skip(annotationType))
 				continue;
 
-			int[] style= new int[] { FilterIterator.PERSISTENT, FilterIterator.TEMPORARY };
-			for (int element : style) {
+			Map<Annotation, Mark> marks= fMarksByType.get(annotationType);
+			if (marks == null || marks.isEmpty())
+				continue;
+
+			boolean[] temporary= new boolean[] { false, true };
+			for (boolean element : temporary) {
 				boolean areColorsComputed= false;
 				Color fill= null;
 				Color stroke= null;
 
-				Iterator<Annotation> e= new FilterIterator(annotationType, element, fCachedAnnotations.iterator());
-				while (e.hasNext()) {
-					Annotation a= e.next();
-					Position p= fModel.getPosition(a);
-
-					if (p == null)
-						continue;
-					if (visible != null && !p.overlapsWith(visible.getOffset(), visible.getLength()))
+				for (Mark mark : marks.values()) {
+					if (mark.temporary != element || !mark.touches(top, bottom))
 						continue;
 
-					int annotationOffset= p.getOffset();
-					int annotationLength= p.getLength();
-					IRegion widgetRegion= null;
-					if (visible != null) {
-						annotationOffset= Math.max(p.getOffset(), visible.getOffset());
-						int annotationEnd= Math.min(p.getOffset() + p.getLength(), visible.getOffset() + visible.getLength());
-						annotationLength= annotationEnd - annotationOffset;
-					} else {
-						ITextViewerExtension5 ext= extension;
-						widgetRegion= ext.modelRange2WidgetRange(new Region(annotationOffset, annotationLength));
-						if (widgetRegion == null)
-							continue;
+					int yy= mark.y;
+					int hh= mark.height;
+					fAnnotationHeight= hh;
+
+					if (!areColorsComputed) {
+						stroke= getStrokeColor(annotationType, element);
+						fill= fUseSaturatedColors ? stroke : getFillColor(annotationType, element);
+						areColorsComputed= true;
 					}
 
-					if (infos == null) {
-						infos= new WidgetInfos(textWidget, fCanvas);
-						r.x= INSET;
-						r.width= infos.bounds.width - (2 * INSET);
+					if (fill != null) {
+						gc.setBackground(fill);
+						gc.fillRectangle(INSET, yy, infos.bounds.width-(2*INSET), hh);
 					}
 
-					try {
-						@SuppressWarnings("null")
-						int startOffset= visible != null ? annotationOffset - visible.getOffset() : widgetRegion.getOffset();
-						int startLine= textWidget.getLineAtOffset(startOffset);
-
-						yy= computeY(startLine, infos);
-
-						if (ANNOTATION_HEIGHT_SCALABLE) {
-							int numberOfLines= document.getNumberOfLines(annotationOffset, annotationLength);
-							// don't count empty trailing line
-							IRegion lastLine= document.getLineInformationOfOffset(annotationOffset + annotationLength);
-							if (lastLine.getOffset() == annotationOffset + annotationLength) {
-								numberOfLines--;
-							}
-							if (numberOfLines > 1) {
-								int yy2= computeY(startLine + numberOfLines - 1, infos);
-								hh= Math.max(yy2 - yy, ANNOTATION_HEIGHT);
-							} else {
-								hh= ANNOTATION_HEIGHT;
-							}
-						}
-						fAnnotationHeight= hh;
-
-						if (!areColorsComputed) {
-							stroke= getStrokeColor(annotationType, element == FilterIterator.TEMPORARY);
-							fill= fUseSaturatedColors ? stroke : getFillColor(annotationType, element == FilterIterator.TEMPORARY);
-							areColorsComputed= true;
-						}
-
-						if (fill != null) {
-							gc.setBackground(fill);
-							gc.fillRectangle(INSET, yy, infos.bounds.width-(2*INSET), hh);
-						}
-
-						if (stroke != null) {
-							gc.setForeground(stroke);
-							r.y= yy;
-							if (yy + hh == infos.bounds.height)
-								r.y--;
-							r.height= hh;
-							gc.setLineWidth(0); // NOTE: 0 means width is 1 but with optimized performance
-							gc.drawRectangle(r);
-						}
-					} catch (BadLocationException | IllegalArgumentException x) {
-						// We don't care if the widget's content is changed since the annotation was created
-						// and do not match the annotation line/offset etc
+					if (stroke != null) {
+						gc.setForeground(stroke);
+						r.y= yy;
+						if (yy + hh == infos.bounds.height)
+							r.y--;
+						r.height= hh;
+						gc.setLineWidth(0); // NOTE: 0 means width is 1 but with optimized performance
+						gc.drawRectangle(r);
 					}
 				}
 			}
 		}
-
-		if (DEBUG_DRAW) {
-			// draw debugging guides (boundaries):
-			if (infos == null)
-				infos= new WidgetInfos(textWidget, fCanvas);
-			gc.setForeground(gc.getDevice().getSystemColor(SWT.COLOR_DARK_MAGENTA));
-			yy= infos.thumbHeight / 2;
-			gc.drawLine(0, yy, infos.bounds.x/2, yy);
-			yy= infos.bounds.height - infos.thumbHeight / 2;
-			gc.drawLine(0, yy, infos.bounds.x/2, yy);
-
-			gc.setForeground(gc.getDevice().getSystemColor(SWT.COLOR_BLUE));
-			yy= 0;
-			gc.drawLine(0, yy, infos.bounds.x/2, yy);
-			yy= infos.bounds.height - 1;
-			gc.drawLine(0, yy, infos.bounds.x/2, yy);
-		}
 	}
 
 	/**
@@ -895,10 +1129,24 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 
 	 @Override
 	public void update() {
+		update(null);
+	}
+
+	/**
+	 * Posts a redraw of the parts of the ruler showing the given annotations.
+	 *
+	 * @param annotations the changed annotations or <code>null</code> to redraw the whole ruler
+	 * @since 3.29
+	 */
+	private void update(Set<Annotation> annotations) {
 		if (fCanvas != null && !fCanvas.isDisposed()) {
 			Display d= fCanvas.getDisplay();
 			if (d != null) {
 				synchronized (fRunnableLock) {
+					if (annotations == null)
+						fChangedAnnotations= null;
+					else if (fChangedAnnotations != null)
+						fChangedAnnotations.addAll(annotations);
 					if (fIsRunnablePosted)
 						return;
 					fIsRunnablePosted= true;
@@ -908,6 +1156,88 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		}
 	}
 
+	/**
+	 * Redraws the parts of the ruler showing the given annotations, either before or after
+	 * their change. Only the rectangles of these annotations are recomputed, the rectangles of
+	 * the other annotations are taken from the previous drawing. This is only possible if the
+	 * document and the mapping of lines to the ruler have not changed since then.
+	 *
+	 * @param annotations the changed annotations
+	 * @return <code>true</code> if the annotations have been redrawn, <code>false</code> if
+	 *         the whole ruler has to be redrawn
+	 * @since 3.29
+	 */
+	private boolean redraw(Set<Annotation> annotations) {
+		if (fTextViewer == null || fModel == null || fCanvas == null || fCanvas.isDisposed())
+			return true;
+		if (annotations.isEmpty())
+			return true;
+		if (fMarks == null || fMarksInfos == null || fBuffer == null || annotations.size() > fMarks.size() / 2)
+			return false;
+
+		long stamp= getModificationStamp();
+		if (stamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP || stamp != fMarksModificationStamp)
+			return false;
+
+		Point size= fCanvas.getSize();
+		Rectangle bufferBounds= fBuffer.getBounds();
+		if (bufferBounds.width != size.x || bufferBounds.height != size.y)
+			return false;
+
+		WidgetInfos infos= new WidgetInfos(fTextViewer.getTextWidget(), fCanvas);
+		if (!infos.hasSameGeometry(fMarksInfos))
+			return false;
+
+		int top= Integer.MAX_VALUE;
+		int bottom= Integer.MIN_VALUE;
+		for (Annotation annotation : annotations) {
+			Mark mark= fMarks.get(annotation);
+			if (mark != null) {
+				top= Math.min(top, mark.y - 1);
+				bottom= Math.max(bottom, mark.y + mark.height + 1);
+			}
+
+			if (annotation.isMarkedDeleted() || skip(annotation.getType()) || fModel.getPosition(annotation) == null) {
+				fCachedAnnotations.remove(annotation);
+				removeMark(annotation);
+				continue;
+			}
+			// a changed annotation keeps its place, so that the annotations overlap as before
+			fCachedAnnotations.add(annotation);
+
+			mark= addMark(annotation, infos);
+			if (mark != null) {
+				top= Math.min(top, mark.y - 1);
+				bottom= Math.max(bottom, mark.y + mark.height + 1);
+			}
+		}
+
+		top= Math.max(top, 0);
+		bottom= Math.min(bottom, size.y);
+		if (top >= bottom)
+			return true;
+
+		GC gc= new GC(fBuffer);
+		try {
+			gc.setClipping(0, top, size.x, bottom - top);
+			gc.setBackground(fCanvas.getBackground());
+			gc.fillRectangle(0, top, size.x, bottom - top);
+			drawMarks(gc, top, bottom, infos);
+		} finally {
+			gc.dispose();
+		}
+
+		if (VerticalRuler.AVOID_NEW_GC) {
+			fIsBufferUpToDate= true;
+			fCanvas.redraw(0, top, size.x, bottom - top, false);
+		} else {
+			gc= new GC(fCanvas);
+			gc.drawImage(fBuffer, 0, top, size.x, bottom - top, 0, top, size.x, bottom - top);
+			gc.dispose();
+		}
+		return true;
+	}
+
 	/**
 	 * Redraws the overview ruler.
 	 */
@@ -915,6 +1245,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		if (fTextViewer == null || fModel == null)
 			return;
 
+		clearMarks();
 		if (fCanvas != null && !fCanvas.isDisposed()) {
 			if (VerticalRuler.AVOID_NEW_GC) {
 				fCanvas.redraw();
@@ -1173,6 +1504,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fConfiguredAnnotationTypes.add(annotationType);
 			fAllowedAnnotationTypes.clear();
 		}
+		clearMarks();
 	}
 
 	@Override
@@ -1181,6 +1513,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fConfiguredAnnotationTypes.remove(annotationType);
 			fAllowedAnnotationTypes.clear();
 		}
+		clearMarks();
 	}
 
 	@Override
@@ -1200,6 +1533,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fLayersSortedByLayer.add(i, layerObj);
 			fAnnotationsSortedByLayer.add(i, annotationType);
 		}
+		clearMarks();
 	}
 
 	@Override
@@ -1208,6 +1542,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fAnnotationTypes2Colors.put(annotationType, color);
 		else
 			fAnnotationTypes2Colors.remove(annotationType);
+		clearMarks();
 	}
 
 	/**
@@ -1546,5 +1881,6 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	@Override
 	public void setUseSaturatedColors(boolean useSaturatedColor) {
 		fUseSaturatedColors= useSaturatedColor;
+		clearMarks();
 	}
 }
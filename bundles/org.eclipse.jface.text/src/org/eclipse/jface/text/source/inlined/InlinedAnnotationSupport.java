@@ -1,5 +1,5 @@
 /**
- *  Copyright (c) 2017, 2018 Angelo ZERR.
+ *  Copyright (c) 2017, 2026 Angelo ZERR.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -13,11 +13,10 @@
  */
 package org.eclipse.jface.text.source.inlined;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -47,6 +46,7 @@ import org.eclipse.jface.internal.text.codemining.CodeMiningLineContentAnnotatio
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ISynchronizable;
@@ -337,6 +337,50 @@ public class InlinedAnnotationSupport {
 	 */
 	private Set<AbstractInlinedAnnotation> fInlinedAnnotations;
 
+	/**
+	 * The current inlined annotations indexed by their position, <code>null</code> if not
+	 * computed yet.
+	 */
+	private volatile PositionIndex fPositionIndex;
+
+	/**
+	 * The inlined annotations indexed by the offset and length of their position at a given
+	 * modification stamp of the document, so that the existing annotation of a code mining is found
+	 * without iterating over all annotations.
+	 */
+	private static final class PositionIndex {
+
+		private final Set<AbstractInlinedAnnotation> fAnnotations;
+
+		private final long fModificationStamp;
+
+		private final Map<Long, AbstractInlinedAnnotation> fAnnotationsByPosition;
+
+		PositionIndex(Set<AbstractInlinedAnnotation> annotations, long modificationStamp) {
+			fAnnotations= annotations;
+			fModificationStamp= modificationStamp;
+			fAnnotationsByPosition= new HashMap<>(annotations.size() * 4 / 3 + 1);
+			for (AbstractInlinedAnnotation ann : annotations) {
+				Position position= ann.getPosition();
+				if (!position.isDeleted()) {
+					fAnnotationsByPosition.putIfAbsent(key(position), ann);
+				}
+			}
+		}
+
+		boolean isValid(Set<AbstractInlinedAnnotation> annotations, long modificationStamp) {
+			return fAnnotations == annotations && fModificationStamp == modificationStamp;
+		}
+
+		AbstractInlinedAnnotation get(Position pos) {
+			return fAnnotationsByPosition.get(key(pos));
+		}
+
+		private static Long key(Position position) {
+			return Long.valueOf(((long) position.getOffset() << 32) | (position.getLength() & 0xFFFFFFFFL));
+		}
+	}
+
 	/**
 	 * The mouse tracker used to support hover, click on inlined annotation.
 	 */
@@ -436,9 +480,9 @@ public class InlinedAnnotationSupport {
 			return;
 		}
 		Map<AbstractInlinedAnnotation, Position> annotationsToAdd= new HashMap<>();
-		List<AbstractInlinedAnnotation> annotationsToRemove= fInlinedAnnotations != null
-				? new ArrayList<>(fInlinedAnnotations)
-				: Collections.emptyList();
+		Set<AbstractInlinedAnnotation> annotationsToRemove= fInlinedAnnotations != null
+				? new HashSet<>(fInlinedAnnotations)
+				: Collections.emptySet();
 		// Loop for annotations to update
 		for (AbstractInlinedAnnotation ann : annotations) {
 			if (!annotationsToRemove.remove(ann)) {
@@ -486,17 +530,40 @@ public class InlinedAnnotationSupport {
 	 */
 	@SuppressWarnings("unchecked")
 	public <T extends AbstractInlinedAnnotation> T findExistingAnnotation(Position pos) {
-		if (fInlinedAnnotations == null) {
+		Set<AbstractInlinedAnnotation> annotations= fInlinedAnnotations;
+		if (annotations == null) {
 			return null;
 		}
-		for (AbstractInlinedAnnotation ann : fInlinedAnnotations) {
-			if (pos.equals(ann.getPosition()) && !ann.getPosition().isDeleted()) {
-				try {
-					return (T) ann;
-				} catch (ClassCastException e) {
-					// Do nothing
+		IDocument document= fViewer != null ? fViewer.getDocument() : null;
+		long modificationStamp= document instanceof IDocumentExtension4
+				? ((IDocumentExtension4) document).getModificationStamp()
+				: IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		if (modificationStamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+			// cannot tell whether the positions have moved, an index would be rebuilt for every lookup
+			for (AbstractInlinedAnnotation ann : annotations) {
+				if (pos.equals(ann.getPosition()) && !ann.getPosition().isDeleted()) {
+					try {
+						return (T) ann;
+					} catch (ClassCastException e) {
+						// Do nothing
+					}
 				}
 			}
+			return null;
+		}
+		PositionIndex index= fPositionIndex;
+		if (index == null || !index.isValid(annotations, modificationStamp)) {
+			// the positions may have been moved by a document change
+			index= new PositionIndex(annotations, modificationStamp);
+			fPositionIndex= index;
+		}
+		AbstractInlinedAnnotation ann= index.get(pos);
+		if (ann != null && pos.equals(ann.getPosition()) && !ann.getPosition().isDeleted()) {
+			try {
+				return (T) ann;
+			} catch (ClassCastException e) {
+				// Do nothing
+			}
 		}
 		return null;
 	}
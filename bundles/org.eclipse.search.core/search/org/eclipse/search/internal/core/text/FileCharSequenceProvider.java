@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -48,6 +48,62 @@ public class FileCharSequenceProvider {
 		return charSequence;
 	}
 
+	/**
+	 * Returns the content of the given file, unless the raw bytes of the file show that its
+	 * content cannot match. Files that are filtered out are not decoded.
+	 *
+	 * @param file the file
+	 * @param prefilter the prefilter or <code>null</code> to always return the content
+	 * @return the content of the file or <code>null</code> if the content cannot match
+	 * @throws CoreException if the file cannot be accessed
+	 * @throws IOException if the file cannot be read
+	 */
+	public CharSequence newCharSequence(IFile file, LiteralPrefilter prefilter) throws CoreException, IOException {
+		if (prefilter == null) {
+			return newCharSequence(file);
+		}
+		String charset = file.getCharset();
+		LiteralPrefilter.Needle needle = prefilter.getNeedle(charset);
+		if (needle == null) {
+			return newCharSequence(file);
+		}
+		try (InputStream stream = file.getContents()) {
+			byte[] content = stream.readNBytes(MAX_BUFFER_LENGTH);
+			if (content.length < MAX_BUFFER_LENGTH) {
+				if (needle.indexIn(content, 0, content.length) == -1) {
+					return null;
+				}
+				String string = decode(content, charset);
+				if (string != null) {
+					return string;
+				}
+			} else if (!contains(stream, content, needle)) {
+				return null;
+			}
+		} catch (IOException e) {
+			// read again, so that the error is reported when the content is accessed
+		}
+		return getCharSequence(file);
+	}
+
+	/*
+	 * Looks for the needle in the given buffer and in the rest of the stream. The buffer is
+	 * reused to read the stream, keeping the bytes that may start an occurrence.
+	 */
+	private static boolean contains(InputStream stream, byte[] buffer, LiteralPrefilter.Needle needle) throws IOException {
+		int end = buffer.length;
+		while (needle.indexIn(buffer, 0, end) == -1) {
+			int kept = Math.min(end, needle.length() - 1);
+			System.arraycopy(buffer, end - kept, buffer, 0, kept);
+			int read = stream.readNBytes(buffer, kept, buffer.length - kept);
+			if (read == 0) {
+				return false;
+			}
+			end = kept + read;
+		}
+		return true;
+	}
+
 	private FileCharSequence getCharSequence(IFile file) throws CoreException, IOException {
 		if (fReused == null) {
 			return new FileCharSequence(file);
@@ -497,14 +553,21 @@ public class FileCharSequenceProvider {
 			if (length >= MAX_BUFFER_LENGTH) {
 				return null;
 			}
-			String charset = file.getCharset();
+			return decode(content, file.getCharset());
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	private static String decode(byte[] content, String charset) {
+		try {
 			int offset = 0;
 			if (StandardCharsets.UTF_8.name().equals(charset)) {
 				if (startsWith(content, IContentDescription.BOM_UTF_8)) {
 					offset = IContentDescription.BOM_UTF_8.length;
 				}
 			}
-			return new String(content, offset, length - offset, charset);
+			return new String(content, offset, content.length - offset, charset);
 		} catch (Exception e) {
 			return null;
 		}
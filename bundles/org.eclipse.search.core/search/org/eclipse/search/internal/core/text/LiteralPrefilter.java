@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Tells from the raw bytes of a file whether its content can match a search pattern, without
+ * decoding the bytes.
+ * <p>
+ * The prefilter looks for the longest literal every match of the pattern contains, see
+ * {@link Trigrams#requiredLiterals(Pattern)}. This is only possible for charsets where the encoded
+ * text contains the encoded literal whenever the text contains the literal, i.e. UTF-8 and the
+ * single byte charsets that extend ASCII. Files in other charsets have to be decoded and searched.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+public final class LiteralPrefilter {
+
+	/**
+	 * The encoded literal to look for in files of a given charset.
+	 */
+	public static final class Needle {
+
+		private final byte[] fBytes;
+		private final boolean fIgnoreCase;
+		/** The Horspool shifts by (folded) byte */
+		private final int[] fShifts= new int[256];
+
+		Needle(byte[] bytes, boolean ignoreCase) {
+			fIgnoreCase= ignoreCase;
+			fBytes= bytes;
+			int last= bytes.length - 1;
+			for (int i= 0; i < bytes.length; i++) {
+				bytes[i]= fold(bytes[i]);
+				if (i < last)
+					fShifts[bytes[i] & 0xFF]= last - i;
+			}
+			for (int i= 0; i < fShifts.length; i++) {
+				if (fShifts[i] == 0)
+					fShifts[i]= bytes.length;
+			}
+		}
+
+		private byte fold(byte b) {
+			return fIgnoreCase && b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+		}
+
+		/**
+		 * Returns the number of bytes of the encoded literal.
+		 *
+		 * @return the length of the needle
+		 */
+		public int length() {
+			return fBytes.length;
+		}
+
+		/**
+		 * Returns the index of the first occurrence of the encoded literal in the given range.
+		 *
+		 * @param bytes the bytes to search
+		 * @param start the index of the first byte to search
+		 * @param end the index after the last byte to search
+		 * @return the index of the first occurrence or <code>-1</code>
+		 */
+		public int indexIn(byte[] bytes, int start, int end) {
+			int last= fBytes.length - 1;
+			int i= start;
+			while (i + last < end) {
+				int j= last;
+				while (fold(bytes[i + j]) == fBytes[j]) {
+					if (j == 0)
+						return i;
+					j--;
+				}
+				i+= fShifts[fold(bytes[i + last]) & 0xFF];
+			}
+			return -1;
+		}
+	}
+
+	/** The minimal number of characters of a literal that is worth to look for */
+	private static final int MIN_LENGTH= 3;
+
+	/**
+	 * The charsets that can be filtered. Each maps ASCII to ASCII and encodes any other character
+	 * independent of its context, without bytes from the ASCII range.
+	 */
+	private static final Set<String> CHARSETS= Set.of("UTF-8", "US-ASCII", "ISO-8859-1", "windows-1252"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+	private static final Needle NO_NEEDLE= new Needle(new byte[0], false);
+
+	/**
+	 * The ASCII characters that are equal to a non-ASCII character when case is ignored the
+	 * Unicode way, e.g. 'k' and the Kelvin sign.
+	 */
+	private static final boolean[] UNICODE_CASE_VARIANTS= new boolean[128];
+
+	static {
+		for (char c= 128; c < Character.MAX_VALUE; c++) {
+			char folded= Trigrams.fold(c);
+			if (folded < 128)
+				UNICODE_CASE_VARIANTS[folded]= true;
+		}
+	}
+
+	private final String fLiteral;
+	private final boolean fIgnoreCase;
+	/** The needles by charset name, {@link #NO_NEEDLE} if files of the charset cannot be filtered */
+	private final Map<String, Needle> fNeedles= new ConcurrentHashMap<>();
+
+	private LiteralPrefilter(String literal, boolean ignoreCase) {
+		fLiteral= literal;
+		fIgnoreCase= ignoreCase;
+	}
+
+	/**
+	 * Creates the prefilter for the given pattern.
+	 *
+	 * @param pattern the search pattern
+	 * @return the prefilter or <code>null</code> if the pattern does not require a literal that is
+	 *         long enough
+	 */
+	public static LiteralPrefilter create(Pattern pattern) {
+		boolean ignoreCase= (pattern.flags() & Pattern.CASE_INSENSITIVE) != 0;
+		boolean unicodeCase= ignoreCase && (pattern.flags() & Pattern.UNICODE_CASE) != 0;
+		String longest= ""; //$NON-NLS-1$
+		for (String literal : Trigrams.requiredLiterals(pattern)) {
+			// a text may contain a Unicode case variant instead of the character of the literal
+			int start= 0;
+			for (int i= 0; i <= literal.length(); i++) {
+				if (i == literal.length() || unicodeCase && UNICODE_CASE_VARIANTS[Trigrams.fold(literal.charAt(i))]) {
+					if (i - start > longest.length())
+						longest= literal.substring(start, i);
+					start= i + 1;
+				}
+			}
+		}
+		if (longest.length() < MIN_LENGTH)
+			return null;
+		return new LiteralPrefilter(longest, ignoreCase);
+	}
+
+	/**
+	 * Returns the literal this prefilter looks for.
+	 *
+	 * @return the literal
+	 */
+	public String getLiteral() {
+		return fLiteral;
+	}
+
+	/**
+	 * Returns the needle to look for in files of the given charset.
+	 *
+	 * @param charset the name of the charset of the files
+	 * @return the needle or <code>null</code> if files of the charset cannot be filtered
+	 */
+	public Needle getNeedle(String charset) {
+		Needle needle= fNeedles.computeIfAbsent(charset, this::createNeedle);
+		return needle != NO_NEEDLE ? needle : null;
+	}
+
+	private Needle createNeedle(String charsetName) {
+		try {
+			Charset charset= Charset.forName(charsetName);
+			// decoding replaces malformed input by the replacement character
+			if (!CHARSETS.contains(charset.name()) || fLiteral.indexOf('\uFFFD') != -1 || !charset.newEncoder().canEncode(fLiteral))
+				return NO_NEEDLE;
+			return new Needle(fLiteral.getBytes(charset), fIgnoreCase);
+		} catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+			// reported when the file is decoded
+			return NO_NEEDLE;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -165,11 +167,12 @@ public class TextSearchVisitor {
 			MultiStatus multiStatus=
 					new MultiStatus(SearchCorePlugin.PLUGIN_ID, IStatus.OK,
 							SearchCoreMessages.TextSearchEngine_statusMessage, null);
-			SubMonitor subMonitor = SubMonitor.convert(inner, fileBatches.size() / jobCount); // approximate
+			SubMonitor subMonitor = SubMonitor.convert(inner, fNumberOfFilesToScan / jobCount); // approximate
 			this.fileCharSequenceProvider= new FileCharSequenceProvider();
+			Matcher matcher= fSearchPattern.pattern().isEmpty() ? null : fSearchPattern.matcher(""); //$NON-NLS-1$
 			List<IFile> sameFiles;
 			while (((sameFiles = fileBatches.poll()) != null) && !fFatalError && !fProgressMonitor.isCanceled()) {
-				IStatus status = processFile(sameFiles, subMonitor.split(1));
+				IStatus status = processFile(sameFiles, matcher, subMonitor.split(1));
 				// Only accumulate interesting status
 				if (!status.isOK())
 					multiStatus.add(status);
@@ -183,10 +186,9 @@ public class TextSearchVisitor {
 			return multiStatus;
 		}
 
-		public IStatus processFile(List<IFile> sameFiles, IProgressMonitor monitor) {
+		public IStatus processFile(List<IFile> sameFiles, Matcher matcher, IProgressMonitor monitor) {
 			// A natural cleanup after the change to use JobGroups is accepted would be to move these
 			// methods to the TextSearchJob class.
-			Matcher matcher= fSearchPattern.pattern().isEmpty() ? null : fSearchPattern.matcher(""); //$NON-NLS-1$
 			IFile file = sameFiles.remove(0);
 			monitor.setTaskName(file.getFullPath().toString());
 			try {
@@ -205,11 +207,15 @@ public class TextSearchVisitor {
 				} else {
 					try {
 						boolean reportTextOnly = !fCollector.reportBinaryFile(file);
-						if (reportTextOnly && hasBinaryContentType(file)) {
+						if (reportTextOnly && (fIsBinary.test(file) || hasBinaryContentType(file))) {
 							// fail fast for binary file types without opening the file
 							return Status.OK_STATUS;
 						}
-						charsequence = fileCharSequenceProvider.newCharSequence(file);
+						charsequence = fileCharSequenceProvider.newCharSequence(file, fPrefilter);
+						if (charsequence == null) {
+							// the file does not contain a literal every match requires
+							return Status.OK_STATUS;
+						}
 						if (reportTextOnly && hasBinaryContent(charsequence)) {
 							return Status.OK_STATUS;
 						}
@@ -267,10 +273,9 @@ public class TextSearchVisitor {
 				String message= SearchCoreMessages.TextSearchVisitor_patterntoocomplex0;
 				return new Status(IStatus.ERROR, SearchCorePlugin.PLUGIN_ID, IStatus.ERROR, message, e);
 			} finally {
-				synchronized (fLock) {
-					fCurrentFile= file;
-					fNumberOfScannedFiles++;
-				}
+				// no locking, the progress is only polled by the searching thread
+				fCurrentFile= file;
+				fNumberOfScannedFiles.increment();
 			}
 			if (monitor.isCanceled()) {
 				fFatalError = true;
@@ -288,12 +293,17 @@ public class TextSearchVisitor {
 
 	private final TextSearchRequestor fCollector;
 	private final Pattern fSearchPattern;
+	/** Filters files that cannot match before they are decoded, <code>null</code> if not possible */
+	private final LiteralPrefilter fPrefilter;
+	/** Tells which files are known to have binary content without reading them */
+	private final Predicate<IFile> fIsBinary;
 
 	private volatile IProgressMonitor fProgressMonitor;
 
-	private int fNumberOfScannedFiles;  // Protected by fLock
-	private IFile fCurrentFile;  // Protected by fLock
-	private final Object fLock = new Object();
+	private final LongAdder fNumberOfScannedFiles= new LongAdder();
+	private volatile IFile fCurrentFile;
+	private volatile int fNumberOfFilesToScan;
+	private final Object fLock = new Object(); // Notified when a job has finished
 
 	private final MultiStatus fStatus;
 	private volatile boolean fFatalError; // If true, terminates the search.
@@ -302,12 +312,27 @@ public class TextSearchVisitor {
 	private DirtyFileProvider fDirtyDiscovery;
 
 	public TextSearchVisitor(TextSearchRequestor collector, Pattern searchPattern, DirtyFileProvider dirtyDiscovery) {
+		this(collector, searchPattern, dirtyDiscovery, file -> false);
+	}
+
+	/**
+	 * Creates a visitor that skips the given binary files without reading them, unless the
+	 * requestor reports binary files.
+	 *
+	 * @param collector the requestor
+	 * @param searchPattern the pattern to search for
+	 * @param dirtyDiscovery the provider of the dirty files or <code>null</code>
+	 * @param isBinary tells which files are known to have binary content
+	 */
+	public TextSearchVisitor(TextSearchRequestor collector, Pattern searchPattern, DirtyFileProvider dirtyDiscovery, Predicate<IFile> isBinary) {
 		fCollector= collector;
+		fIsBinary= isBinary;
 		fDirtyDiscovery = dirtyDiscovery;
 		fStatus = new MultiStatus(SearchCorePlugin.PLUGIN_ID, IStatus.OK,
 				SearchCoreMessages.TextSearchEngine_statusMessage, null);
 
 		fSearchPattern= searchPattern;
+		fPrefilter= LiteralPrefilter.create(searchPattern);
 
 		fIsLightweightAutoRefresh= Platform.getPreferencesService().getBoolean(ResourcesPlugin.PI_RESOURCES, ResourcesPlugin.PREF_LIGHTWEIGHT_AUTO_REFRESH, false, null);
 		fileBatches = new ConcurrentLinkedQueue<>();
@@ -318,10 +343,8 @@ public class TextSearchVisitor {
 			return fStatus;
 		}
 		fProgressMonitor = monitor == null ? new NullProgressMonitor() : monitor;
-		synchronized (fLock) {
-			fNumberOfScannedFiles = 0;
-			fCurrentFile = null;
-		}
+		fNumberOfScannedFiles.reset();
+		fCurrentFile = null;
 		int threadsNeeded = Math.min(files.length, NUMBER_OF_LOGICAL_THREADS);
 		// All but 1 threads should search. 1 thread does the UI updates:
 		int jobCount = fCollector.canRunInParallel() && threadsNeeded > 1 ? threadsNeeded - 1 : 1;
@@ -354,6 +377,7 @@ public class TextSearchVisitor {
 				localFilesByLocation.values().forEach(fileBatches::offer);
 				remoteFilesByLocation.values().forEach(fileBatches::offer);
 				int numberOfFilesToScan = fileBatches.size();
+				fNumberOfFilesToScan = numberOfFilesToScan;
 				fProgressMonitor.beginTask(taskName, numberOfFilesToScan);
 
 				// Seed count over 1 can cause endless waits, see bug 543629
@@ -383,9 +407,9 @@ public class TextSearchVisitor {
 							fProgressMonitor.setCanceled(true);
 							break;
 						}
-						file = fCurrentFile;
-						numberOfScannedFiles = fNumberOfScannedFiles;
 					}
+					file = fCurrentFile;
+					numberOfScannedFiles = fNumberOfScannedFiles.intValue();
 					if (file != null) {
 						String fileName = file.getName();
 						Object[] args = { fileName, Integer.valueOf(numberOfScannedFiles),
@@ -419,7 +443,7 @@ public class TextSearchVisitor {
 			fProgressMonitor.done();
 			fCollector.endReporting();
 			if (TRACING) {
-				Object[] args= { Integer.valueOf(fNumberOfScannedFiles), Integer.valueOf(jobCount), Integer.valueOf(NUMBER_OF_LOGICAL_THREADS), Long.valueOf(System.currentTimeMillis() - startTime) };
+				Object[] args= { Integer.valueOf(fNumberOfScannedFiles.intValue()), Integer.valueOf(jobCount), Integer.valueOf(NUMBER_OF_LOGICAL_THREADS), Long.valueOf(System.currentTimeMillis() - startTime) };
 				System.out.println(MessageFormat.format(
 						"[TextSearch] Search duration for {0} files in {1} jobs using {2} threads: {3}ms", args)); //$NON-NLS-1$
 			}
@@ -0,0 +1,505 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The trigram index of the files of one project. For every trigram the index keeps the posting
+ * list of the files that contain it. The modification stamp, the local time stamp and the size
+ * each file had when it was indexed tell whether the index knows its current content. The
+ * modification stamp alone is not enough, as it starts again when a file is re-created.
+ * <p>
+ * Files are identified by increasing numbers, so that posting lists are sorted by appending to
+ * them. A file that changes or is removed keeps its number until the index is compacted, the
+ * number is just no longer live. The index is compacted when it has more removed than live
+ * files.
+ * </p>
+ * <p>
+ * The index is stored in a single file, which is replaced atomically when the index is saved.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+public class TrigramIndex {
+
+	/**
+	 * A growable, sorted list of file numbers. The list is kept compressed like in the storage,
+	 * as the differences between subsequent numbers in variable length encoding, and it is only
+	 * decoded while the candidates of a search are collected.
+	 */
+	private static final class PostingList {
+
+		private final int fTrigram;
+		private byte[] fData= new byte[4];
+		private int fLength;
+		private int fSize;
+		private int fLast;
+
+		PostingList(int trigram) {
+			fTrigram= trigram;
+		}
+
+		void add(int file) {
+			if (fLength + 5 > fData.length)
+				fData= Arrays.copyOf(fData, Math.max(fLength + 5, fData.length * 2));
+			int delta= file - fLast;
+			while ((delta & ~0x7F) != 0) {
+				fData[fLength++]= (byte) (delta & 0x7F | 0x80);
+				delta>>>= 7;
+			}
+			fData[fLength++]= (byte) delta;
+			fLast= file;
+			fSize++;
+		}
+
+		/**
+		 * Adds the files of this list to the given set.
+		 *
+		 * @param filter the files to add if contained in the list, <code>null</code> for all
+		 * @param files the set to add the files to
+		 */
+		void collect(BitSet filter, BitSet files) {
+			int file= 0;
+			int i= 0;
+			while (i < fLength) {
+				int delta= 0;
+				int b;
+				int shift= 0;
+				do {
+					b= fData[i++];
+					delta|= (b & 0x7F) << shift;
+					shift+= 7;
+				} while ((b & 0x80) != 0);
+				file+= delta;
+				if (filter == null || filter.get(file))
+					files.set(file);
+			}
+		}
+
+		/**
+		 * Returns a copy of this list with the files renumbered.
+		 *
+		 * @param numbers the new numbers of the files, <code>-1</code> to drop a file
+		 * @return the renumbered list or <code>null</code> if no file remains
+		 */
+		PostingList renumber(int[] numbers) {
+			BitSet files= new BitSet();
+			collect(null, files);
+			PostingList list= new PostingList(fTrigram);
+			for (int file= files.nextSetBit(0); file >= 0; file= files.nextSetBit(file + 1)) {
+				if (numbers[file] != -1)
+					list.add(numbers[file]);
+			}
+			list.trim();
+			return list.fSize > 0 ? list : null;
+		}
+
+		void trim() {
+			if (fData.length > fLength)
+				fData= Arrays.copyOf(fData, fLength);
+		}
+	}
+
+	/** Flag of files whose content is binary */
+	public static final byte BINARY= 1;
+	/** Flag of files whose content has not been indexed, e.g. because they are too large */
+	public static final byte UNINDEXED= 2;
+
+	private static final int MAGIC= 0x54524947; // "TRIG"
+	private static final int VERSION= 2;
+
+	/** The file the index is stored in or <code>null</code> if the index is not stored */
+	private final File fStorage;
+	/** The paths of the files by number, <code>null</code> if the number is no longer live */
+	private final List<String> fPaths= new ArrayList<>();
+	/** The modification stamps of the files by number */
+	private long[] fStamps= new long[16];
+	/** The local time stamps of the files by number */
+	private long[] fTimeStamps= new long[16];
+	/** The sizes of the files by number */
+	private long[] fSizes= new long[16];
+	/** The flags of the files by number */
+	private byte[] fFlags= new byte[16];
+	/** The numbers of the live files by path */
+	private final Map<String, Integer> fFiles= new HashMap<>();
+	/** The posting lists, hashed by trigram with linear probing */
+	private PostingList[] fPostings= new PostingList[64];
+	/** The number of posting lists */
+	private int fPostingCount;
+	/** The number of files that are no longer live */
+	private int fRemoved;
+	/** Whether the index has changed since it was saved */
+	private boolean fDirty;
+
+	/**
+	 * Creates a new, empty index.
+	 *
+	 * @param storage the file the index is stored in or <code>null</code>
+	 */
+	public TrigramIndex(File storage) {
+		fStorage= storage;
+	}
+
+	/**
+	 * Tells whether the given file is indexed with the given modification stamp, local time
+	 * stamp and size.
+	 *
+	 * @param path the project relative path of the file
+	 * @param stamp the current modification stamp of the file
+	 * @param timeStamp the current local time stamp of the file
+	 * @param size the current size of the file
+	 * @return <code>true</code> if the index knows the current content of the file
+	 */
+	public synchronized boolean isUpToDate(String path, long stamp, long timeStamp, long size) {
+		Integer file= fFiles.get(path);
+		if (file == null)
+			return false;
+		int number= file.intValue();
+		return fStamps[number] == stamp && fTimeStamps[number] == timeStamp && fSizes[number] == size;
+	}
+
+	/**
+	 * Returns the flags of the given file.
+	 *
+	 * @param path the project relative path of the file
+	 * @return the flags of the file or <code>0</code> if the file is not indexed
+	 */
+	public synchronized byte getFlags(String path) {
+		Integer file= fFiles.get(path);
+		return file != null ? fFlags[file.intValue()] : 0;
+	}
+
+	/**
+	 * Adds the given file to the index, replacing its previous entry if there is one.
+	 *
+	 * @param path the project relative path of the file
+	 * @param stamp the modification stamp of the indexed content
+	 * @param timeStamp the local time stamp of the indexed content
+	 * @param size the size of the indexed content
+	 * @param flags the flags of the file
+	 * @param trigrams the distinct trigrams of the file's content
+	 */
+	public synchronized void add(String path, long stamp, long timeStamp, long size, byte flags, int[] trigrams) {
+		remove(path);
+		int file= fPaths.size();
+		fPaths.add(path);
+		if (file == fStamps.length) {
+			fStamps= Arrays.copyOf(fStamps, file * 2);
+			fTimeStamps= Arrays.copyOf(fTimeStamps, file * 2);
+			fSizes= Arrays.copyOf(fSizes, file * 2);
+			fFlags= Arrays.copyOf(fFlags, file * 2);
+		}
+		fStamps[file]= stamp;
+		fTimeStamps[file]= timeStamp;
+		fSizes[file]= size;
+		fFlags[file]= flags;
+		fFiles.put(path, Integer.valueOf(file));
+		for (int trigram : trigrams) {
+			PostingList list= getPostingList(trigram);
+			if (list == null) {
+				list= new PostingList(trigram);
+				addPostingList(list);
+			}
+			list.add(file);
+		}
+		fDirty= true;
+	}
+
+	/**
+	 * Removes the given file from the index.
+	 *
+	 * @param path the project relative path of the file
+	 */
+	public synchronized void remove(String path) {
+		Integer file= fFiles.remove(path);
+		if (file == null)
+			return;
+		fPaths.set(file.intValue(), null);
+		fRemoved++;
+		fDirty= true;
+		if (fRemoved > fFiles.size())
+			compact();
+	}
+
+	/**
+	 * Removes all files in the given folder from the index.
+	 *
+	 * @param folder the project relative path of the folder, empty for the whole project
+	 */
+	public synchronized void removeAll(String folder) {
+		String prefix= folder.isEmpty() || folder.endsWith("/") ? folder : folder + '/'; //$NON-NLS-1$
+		for (String path : new ArrayList<>(fFiles.keySet())) {
+			if (path.startsWith(prefix))
+				remove(path);
+		}
+	}
+
+	/**
+	 * Returns the paths of the indexed files that contain all given trigrams.
+	 *
+	 * @param trigrams the trigrams, not empty
+	 * @return the project relative paths of the files that may match
+	 */
+	public synchronized List<String> getCandidates(int[] trigrams) {
+		PostingList[] lists= new PostingList[trigrams.length];
+		for (int i= 0; i < trigrams.length; i++) {
+			lists[i]= getPostingList(trigrams[i]);
+			if (lists[i] == null)
+				return new ArrayList<>();
+		}
+		// intersect the shortest lists first
+		Arrays.sort(lists, (l1, l2) -> Integer.compare(l1.fSize, l2.fSize));
+		BitSet files= new BitSet(fPaths.size());
+		lists[0].collect(null, files);
+		for (int i= 1; i < lists.length && !files.isEmpty(); i++) {
+			BitSet next= new BitSet(fPaths.size());
+			lists[i].collect(files, next);
+			files= next;
+		}
+		List<String> paths= new ArrayList<>(files.cardinality());
+		for (int file= files.nextSetBit(0); file >= 0; file= files.nextSetBit(file + 1)) {
+			String path= fPaths.get(file);
+			if (path != null)
+				paths.add(path);
+		}
+		return paths;
+	}
+
+	/**
+	 * Returns the number of files in the index.
+	 *
+	 * @return the number of files
+	 */
+	public synchronized int getFileCount() {
+		return fFiles.size();
+	}
+
+	/**
+	 * Renumbers the live files and drops the numbers of removed files from the posting lists.
+	 */
+	private void compact() {
+		int[] numbers= new int[fPaths.size()];
+		int live= 0;
+		for (int file= 0; file < numbers.length; file++) {
+			String path= fPaths.get(file);
+			if (path == null) {
+				numbers[file]= -1;
+				continue;
+			}
+			numbers[file]= live;
+			fPaths.set(live, path);
+			fStamps[live]= fStamps[file];
+			fTimeStamps[live]= fTimeStamps[file];
+			fSizes[live]= fSizes[file];
+			fFlags[live]= fFlags[file];
+			fFiles.put(path, Integer.valueOf(live));
+			live++;
+		}
+		fPaths.subList(live, fPaths.size()).clear();
+		PostingList[] postings= fPostings;
+		fPostings= new PostingList[postings.length];
+		fPostingCount= 0;
+		for (PostingList list : postings) {
+			PostingList renumbered= list != null ? list.renumber(numbers) : null;
+			if (renumbered != null)
+				addPostingList(renumbered);
+		}
+		fRemoved= 0;
+	}
+
+	private PostingList getPostingList(int trigram) {
+		int mask= fPostings.length - 1;
+		for (int i= hash(trigram) & mask;; i= (i + 1) & mask) {
+			PostingList list= fPostings[i];
+			if (list == null || list.fTrigram == trigram)
+				return list;
+		}
+	}
+
+	private void addPostingList(PostingList list) {
+		if (2 * (fPostingCount + 1) > fPostings.length) {
+			PostingList[] postings= fPostings;
+			fPostings= new PostingList[postings.length * 2];
+			for (PostingList existing : postings) {
+				if (existing != null)
+					insertPostingList(existing);
+			}
+		}
+		insertPostingList(list);
+		fPostingCount++;
+	}
+
+	private void insertPostingList(PostingList list) {
+		int mask= fPostings.length - 1;
+		int i= hash(list.fTrigram) & mask;
+		while (fPostings[i] != null)
+			i= (i + 1) & mask;
+		fPostings[i]= list;
+	}
+
+	private static int hash(int trigram) {
+		int hash= trigram * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Saves the index if it has changed since it was loaded or saved.
+	 *
+	 * @throws IOException if the index cannot be written
+	 */
+	public synchronized void save() throws IOException {
+		if (!fDirty || fStorage == null)
+			return;
+		if (fRemoved > 0)
+			compact();
+		File parent= fStorage.getParentFile();
+		if (parent != null)
+			parent.mkdirs();
+		File temp= new File(fStorage.getPath() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(fPaths.size());
+			for (int file= 0; file < fPaths.size(); file++) {
+				out.writeUTF(fPaths.get(file));
+				out.writeLong(fStamps[file]);
+				out.writeLong(fTimeStamps[file]);
+				out.writeLong(fSizes[file]);
+				out.writeByte(fFlags[file]);
+			}
+			out.writeInt(fPostingCount);
+			for (PostingList list : fPostings) {
+				if (list == null)
+					continue;
+				// the lists are stored in the same encoding as they are kept in memory
+				list.trim();
+				out.writeInt(list.fTrigram);
+				writeVarInt(out, list.fSize);
+				out.write(list.fData, 0, list.fLength);
+			}
+		}
+		Files.move(temp.toPath(), fStorage.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		fDirty= false;
+	}
+
+	/**
+	 * Loads the index from its storage, if the storage exists. The index is left empty if the
+	 * storage cannot be read.
+	 *
+	 * @throws IOException if the storage exists but cannot be read
+	 */
+	public synchronized void load() throws IOException {
+		if (fStorage == null || !fStorage.isFile())
+			return;
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(fStorage)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+				throw new IOException("Unknown trigram index format: " + fStorage); //$NON-NLS-1$
+			int count= in.readInt();
+			fStamps= new long[Math.max(16, count)];
+			fTimeStamps= new long[Math.max(16, count)];
+			fSizes= new long[Math.max(16, count)];
+			fFlags= new byte[Math.max(16, count)];
+			for (int file= 0; file < count; file++) {
+				String path= in.readUTF();
+				fPaths.add(path);
+				fStamps[file]= in.readLong();
+				fTimeStamps[file]= in.readLong();
+				fSizes[file]= in.readLong();
+				fFlags[file]= in.readByte();
+				fFiles.put(path, Integer.valueOf(file));
+			}
+			int trigrams= in.readInt();
+			for (int t= 0; t < trigrams; t++) {
+				int trigram= in.readInt();
+				int size= readVarInt(in);
+				if (size <= 0 || getPostingList(trigram) != null)
+					throw new IOException("Corrupt trigram index: " + fStorage); //$NON-NLS-1$
+				PostingList list= new PostingList(trigram);
+				int previous= 0;
+				for (int i= 0; i < size; i++) {
+					int delta= readVarInt(in);
+					if (delta < 0 || delta >= count - previous || delta == 0 && i > 0)
+						throw new IOException("Corrupt trigram index: " + fStorage); //$NON-NLS-1$
+					previous+= delta;
+					list.add(previous);
+				}
+				list.trim();
+				addPostingList(list);
+			}
+		} catch (IOException | RuntimeException e) {
+			clear();
+			throw e instanceof IOException ? (IOException) e : new IOException(e);
+		}
+		fDirty= false;
+	}
+
+	/**
+	 * Removes all files from the index and deletes its storage.
+	 */
+	public synchronized void delete() {
+		clear();
+		if (fStorage != null)
+			fStorage.delete();
+		fDirty= false;
+	}
+
+	private void clear() {
+		fPaths.clear();
+		fFiles.clear();
+		fPostings= new PostingList[64];
+		fPostingCount= 0;
+		fStamps= new long[16];
+		fTimeStamps= new long[16];
+		fSizes= new long[16];
+		fFlags= new byte[16];
+		fRemoved= 0;
+		fDirty= true;
+	}
+
+	private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte(value & 0x7F | 0x80);
+			value>>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readVarInt(DataInputStream in) throws IOException {
+		int value= 0;
+		for (int shift= 0; shift < 32; shift+= 7) {
+			int b= in.readUnsignedByte();
+			value|= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Malformed trigram index"); //$NON-NLS-1$
+	}
+}
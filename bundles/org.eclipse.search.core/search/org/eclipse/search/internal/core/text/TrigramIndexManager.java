@@ -0,0 +1,401 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.search.internal.core.SearchCoreMessages;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
+/**
+ * Maintains the {@link TrigramIndex} of every project searched by the
+ * {@link TrigramIndexSearchEngine}.
+ * <p>
+ * The index of a project is loaded when the project is searched the first time. Files that are
+ * not indexed with their current modification stamp, local time stamp and size are searched
+ * without consulting the index and are queued for indexing. This also covers files changed while
+ * the index was not loaded, whose resource deltas have not been followed. Once the index of a
+ * project is loaded, changed files are queued for indexing as reported by resource deltas, so that
+ * the index is mostly up to date when the next search starts. Indexing runs in a background job,
+ * which saves the changed indexes when it has finished.
+ * </p>
+ */
+public class TrigramIndexManager implements IResourceChangeListener {
+
+	/** The size in bytes up to which the content of files is indexed */
+	private static final long MAX_INDEXED_SIZE= 8 * 1024 * 1024;
+	/** The delay in milliseconds before queued files are indexed */
+	private static final long INDEXING_DELAY= 500;
+
+	private class IndexingJob extends Job {
+
+		IndexingJob() {
+			super(SearchCoreMessages.TrigramIndexManager_indexing);
+			setSystem(true);
+			setPriority(DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			IFile file;
+			while ((file= nextQueuedFile()) != null) {
+				if (monitor.isCanceled())
+					return Status.CANCEL_STATUS;
+				indexFile(file);
+			}
+			saveIndexes();
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == TrigramIndexManager.this;
+		}
+	}
+
+	/** The directory the indexes are stored in */
+	private final File fLocation;
+	/** The loaded indexes by project name */
+	private final Map<String, TrigramIndex> fIndexes= new HashMap<>();
+	/** The files to index, protected by itself */
+	private final Set<IFile> fQueue= new LinkedHashSet<>();
+	private final Job fIndexingJob= new IndexingJob();
+
+	/**
+	 * Creates a new manager and starts to listen to resource changes.
+	 *
+	 * @param location the directory the indexes are stored in
+	 */
+	public TrigramIndexManager(File location) {
+		fLocation= location;
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE | IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
+	}
+
+	/**
+	 * Stops listening to resource changes and indexing, and saves the indexes.
+	 */
+	public void shutdown() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		fIndexingJob.cancel();
+		try {
+			fIndexingJob.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		saveIndexes();
+	}
+
+	/**
+	 * Returns the index of the given project, loading it if necessary.
+	 *
+	 * @param project the project
+	 * @return the index of the project
+	 */
+	public synchronized TrigramIndex getIndex(IProject project) {
+		TrigramIndex index= fIndexes.get(project.getName());
+		if (index == null) {
+			index= new TrigramIndex(getStorage(project));
+			try {
+				index.load();
+			} catch (IOException e) {
+				SearchCorePlugin.log(e);
+				index.delete();
+			}
+			fIndexes.put(project.getName(), index);
+		}
+		return index;
+	}
+
+	private File getStorage(IProject project) {
+		return new File(fLocation, project.getName() + ".idx"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the files that may contain the given trigrams, in the order of the given files.
+	 * Files that are not indexed with their current content are candidates and are queued for
+	 * indexing. Files whose indexed content is binary are candidates as well, as only the
+	 * requestor of the search knows whether they are reported.
+	 *
+	 * @param files the files to filter
+	 * @param trigrams the trigrams every matching file contains, not empty
+	 * @param searchAlways tells which files have to be searched in any case, e.g. because they
+	 *            are open in an editor
+	 * @param binaryFiles collects the candidates whose indexed content is binary
+	 * @return the candidate files
+	 */
+	public IFile[] getCandidates(IFile[] files, int[] trigrams, Predicate<IFile> searchAlways, Set<IFile> binaryFiles) {
+		Map<IProject, Set<String>> candidatesByProject= new HashMap<>();
+		List<IFile> candidates= new ArrayList<>();
+		List<IFile> outdated= new ArrayList<>();
+		for (IFile file : files) {
+			IProject project= file.getProject();
+			TrigramIndex index= getIndex(project);
+			String path= file.getProjectRelativePath().toString();
+			if (!index.isUpToDate(path, file.getModificationStamp(), file.getLocalTimeStamp(), getSize(file))) {
+				outdated.add(file);
+				candidates.add(file);
+				continue;
+			}
+			if (searchAlways.test(file)) {
+				candidates.add(file);
+				continue;
+			}
+			byte flags= index.getFlags(path);
+			if ((flags & TrigramIndex.UNINDEXED) != 0) {
+				candidates.add(file);
+			} else if ((flags & TrigramIndex.BINARY) != 0) {
+				binaryFiles.add(file);
+				candidates.add(file);
+			} else {
+				Set<String> paths= candidatesByProject.computeIfAbsent(project, p -> new HashSet<>(index.getCandidates(trigrams)));
+				if (paths.contains(path))
+					candidates.add(file);
+			}
+		}
+		enqueue(outdated);
+		return candidates.toArray(new IFile[candidates.size()]);
+	}
+
+	private void enqueue(List<IFile> files) {
+		if (files.isEmpty())
+			return;
+		synchronized (fQueue) {
+			fQueue.addAll(files);
+		}
+		fIndexingJob.schedule(INDEXING_DELAY);
+	}
+
+	private IFile nextQueuedFile() {
+		synchronized (fQueue) {
+			Iterator<IFile> iterator= fQueue.iterator();
+			if (!iterator.hasNext())
+				return null;
+			IFile file= iterator.next();
+			iterator.remove();
+			return file;
+		}
+	}
+
+	private synchronized TrigramIndex getLoadedIndex(IProject project) {
+		return fIndexes.get(project.getName());
+	}
+
+	private void saveIndexes() {
+		List<TrigramIndex> indexes;
+		synchronized (this) {
+			indexes= new ArrayList<>(fIndexes.values());
+		}
+		for (TrigramIndex index : indexes) {
+			try {
+				index.save();
+			} catch (IOException e) {
+				SearchCorePlugin.log(e);
+			}
+		}
+	}
+
+	/**
+	 * Indexes the current content of the given file.
+	 *
+	 * @param file the file to index
+	 */
+	void indexFile(IFile file) {
+		TrigramIndex index= getLoadedIndex(file.getProject());
+		if (index == null)
+			return;
+		String path= file.getProjectRelativePath().toString();
+		if (!file.isAccessible()) {
+			index.remove(path);
+			return;
+		}
+		// read the stamps first, if the file changes while it is read it is indexed again
+		long stamp= file.getModificationStamp();
+		long timeStamp= file.getLocalTimeStamp();
+		long size= getSize(file);
+		if (index.isUpToDate(path, stamp, timeStamp, size))
+			return;
+		try {
+			if (size < 0 || size > MAX_INDEXED_SIZE) {
+				index.add(path, stamp, timeStamp, size, TrigramIndex.UNINDEXED, new int[0]);
+				return;
+			}
+			char[] content= new char[(int) Math.max(size, 16)];
+			int length= 0;
+			String charset= file.getCharset();
+			try (InputStream stream= file.getContents(); Reader reader= new InputStreamReader(stream, charset)) {
+				int read;
+				while ((read= reader.read(content, length, content.length - length)) != -1) {
+					length+= read;
+					if (length == content.length)
+						content= Arrays.copyOf(content, length * 2);
+				}
+			}
+			if (hasBinaryContent(content, length))
+				index.add(path, stamp, timeStamp, size, TrigramIndex.BINARY, new int[0]);
+			else
+				index.add(path, stamp, timeStamp, size, (byte) 0, Trigrams.of(content, length));
+		} catch (CoreException | IOException | RuntimeException e) {
+			// the file is searched without the index until it can be read
+			index.remove(path);
+		}
+	}
+
+	/**
+	 * Returns the size of the given file in the file system.
+	 *
+	 * @param file the file
+	 * @return the size of the file or <code>-1</code> if it is not known
+	 */
+	private static long getSize(IFile file) {
+		URI location= file.getLocationURI();
+		if (location == null)
+			return -1;
+		try {
+			IFileInfo info= EFS.getStore(location).fetchInfo();
+			return info.exists() ? info.getLength() : -1;
+		} catch (CoreException e) {
+			return -1;
+		}
+	}
+
+	/*
+	 * Same check as TextSearchVisitor#hasBinaryContent(CharSequence) for files that are not open.
+	 */
+	private static boolean hasBinaryContent(char[] content, int length) {
+		int limit= Math.min(length, FileCharSequenceProvider.BUFFER_SIZE);
+		for (int i= 0; i < limit; i++) {
+			if (content[i] == '\0')
+				return true;
+		}
+		return false;
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		switch (event.getType()) {
+			case IResourceChangeEvent.PRE_DELETE:
+				IProject deleted= (IProject) event.getResource();
+				TrigramIndex index;
+				synchronized (this) {
+					index= fIndexes.remove(deleted.getName());
+				}
+				if (index != null)
+					index.delete();
+				else
+					getStorage(deleted).delete();
+				break;
+			case IResourceChangeEvent.PRE_CLOSE:
+				IProject closed= (IProject) event.getResource();
+				synchronized (this) {
+					index= fIndexes.remove(closed.getName());
+				}
+				if (index != null) {
+					try {
+						index.save();
+					} catch (IOException e) {
+						SearchCorePlugin.log(e);
+					}
+				}
+				break;
+			case IResourceChangeEvent.POST_CHANGE:
+				List<IFile> changed= new ArrayList<>();
+				try {
+					event.getDelta().accept(delta -> visit(delta, changed));
+				} catch (CoreException e) {
+					SearchCorePlugin.log(e);
+				}
+				enqueue(changed);
+				break;
+			default:
+				break;
+		}
+	}
+
+	private boolean visit(IResourceDelta delta, List<IFile> changed) {
+		IResource resource= delta.getResource();
+		if (resource.getType() == IResource.ROOT)
+			return true;
+		TrigramIndex index= getLoadedIndex(resource.getProject());
+		if (index == null) {
+			// changed files are detected by their stamps when the index is loaded, but not a changed encoding
+			if (hasEncodingChange(delta))
+				deleteStoredIndex(resource.getProject());
+			return false;
+		}
+		String path= resource.getProjectRelativePath().toString();
+		if (resource.getType() != IResource.FILE) {
+			if (delta.getKind() == IResourceDelta.REMOVED || (delta.getFlags() & IResourceDelta.ENCODING) != 0)
+				index.removeAll(path);
+			return true;
+		}
+		if (delta.getKind() == IResourceDelta.REMOVED) {
+			index.remove(path);
+		} else if ((delta.getFlags() & IResourceDelta.ENCODING) != 0) {
+			// the modification stamp does not change with the encoding
+			index.remove(path);
+			changed.add((IFile) resource);
+		} else if (delta.getKind() == IResourceDelta.ADDED
+				|| (delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0) {
+			changed.add((IFile) resource);
+		}
+		return false;
+	}
+
+	private static boolean hasEncodingChange(IResourceDelta delta) {
+		if ((delta.getFlags() & IResourceDelta.ENCODING) != 0)
+			return true;
+		for (IResourceDelta child : delta.getAffectedChildren()) {
+			if (hasEncodingChange(child))
+				return true;
+		}
+		return false;
+	}
+
+	private synchronized void deleteStoredIndex(IProject project) {
+		if (!fIndexes.containsKey(project.getName()))
+			getStorage(project).delete();
+	}
+}
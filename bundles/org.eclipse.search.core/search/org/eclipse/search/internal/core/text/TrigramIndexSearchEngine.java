@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.search.core.text.TextSearchEngine;
+import org.eclipse.search.core.text.TextSearchRequestor;
+import org.eclipse.search.core.text.TextSearchScope;
+import org.eclipse.search.internal.core.SearchCoreMessages;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
+/**
+ * A {@link TextSearchEngine} that uses a trigram index of the project files to search only the
+ * files that may contain a match. The candidate files are searched like the default engine does.
+ * <p>
+ * Patterns without literal parts of at least three characters, e.g. empty patterns or patterns
+ * with alternatives, are searched by the default engine.
+ * </p>
+ */
+public class TrigramIndexSearchEngine extends TextSearchEngine {
+
+	@Override
+	public IStatus search(TextSearchScope scope, TextSearchRequestor requestor, Pattern searchPattern, IProgressMonitor monitor) {
+		int[] trigrams= Trigrams.required(searchPattern);
+		if (trigrams.length == 0)
+			return TextSearchEngine.createDefault().search(scope, requestor, searchPattern, monitor);
+
+		MultiStatus status= new MultiStatus(SearchCorePlugin.PLUGIN_ID, IStatus.OK, SearchCoreMessages.TextSearchEngine_statusMessage, null);
+		IFile[] files= scope.evaluateFilesInScope(status);
+		status.addAll(search(files, trigrams, requestor, searchPattern, monitor));
+		return status;
+	}
+
+	@Override
+	public IStatus search(IFile[] scope, TextSearchRequestor requestor, Pattern searchPattern, IProgressMonitor monitor) {
+		int[] trigrams= Trigrams.required(searchPattern);
+		if (trigrams.length == 0)
+			return TextSearchEngine.createDefault().search(scope, requestor, searchPattern, monitor);
+		return search(scope, trigrams, requestor, searchPattern, monitor);
+	}
+
+	private IStatus search(IFile[] files, int[] trigrams, TextSearchRequestor requestor, Pattern searchPattern, IProgressMonitor monitor) {
+		DirtyFileProvider discovery= SearchCorePlugin.getDefault().getDirtyFileDiscovery();
+		Map<IFile, IDocument> dirtyFiles= discovery != null ? discovery.dirtyFiles() : null;
+		Map<IFile, IDocument> documentsInEditors= dirtyFiles != null ? dirtyFiles : Collections.emptyMap();
+		ITextFileBufferManager bufferManager= FileBuffers.getTextFileBufferManager();
+		// the content of open files may differ from the indexed content
+		Predicate<IFile> isOpen= file -> documentsInEditors.containsKey(file) || bufferManager.getTextFileBuffer(file.getFullPath(), LocationKind.IFILE) != null;
+
+		// the index only tells which files are binary, the visitor asks the requestor whether to report them
+		Set<IFile> binaryFiles= new HashSet<>();
+		IFile[] candidates= SearchCorePlugin.getDefault().getTrigramIndexManager().getCandidates(files, trigrams, isOpen, binaryFiles);
+		return new TextSearchVisitor(requestor, searchPattern, discovery, binaryFiles::contains).search(candidates, monitor);
+	}
+}
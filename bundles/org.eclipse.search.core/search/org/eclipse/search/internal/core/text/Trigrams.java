@@ -0,0 +1,434 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Computes the trigrams of a text, and the literals and trigrams a text must contain to match a
+ * search pattern.
+ * <p>
+ * A trigram is a sequence of three characters. The characters are case folded and reduced to ten
+ * bits so that a trigram is encoded by a non-negative <code>int</code>. Different sequences may
+ * share the same code, the index then yields a file that does not match, which is harmless as the
+ * candidate files are searched with the pattern anyway.
+ * </p>
+ */
+public final class Trigrams {
+
+	private static final int[] NO_TRIGRAMS= new int[0];
+
+	private Trigrams() {
+		// don't instantiate
+	}
+
+	/**
+	 * Returns the case folded form of the given character. Two characters that are equal
+	 * ignoring case have the same folded form.
+	 *
+	 * @param c the character
+	 * @return the folded character
+	 */
+	public static char fold(char c) {
+		if (c < 128) {
+			return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+		}
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	/**
+	 * Returns the code of the trigram formed by the given folded characters.
+	 *
+	 * @param c1 the first character
+	 * @param c2 the second character
+	 * @param c3 the third character
+	 * @return the code of the trigram
+	 */
+	public static int trigram(char c1, char c2, char c3) {
+		return (c1 & 0x3FF) << 20 | (c2 & 0x3FF) << 10 | c3 & 0x3FF;
+	}
+
+	/**
+	 * Returns the distinct trigrams of the given text.
+	 *
+	 * @param text the text
+	 * @param length the number of characters of the text to consider
+	 * @return the sorted codes of the trigrams of the text
+	 */
+	public static int[] of(char[] text, int length) {
+		if (length < 3)
+			return NO_TRIGRAMS;
+		int[] trigrams= new int[length - 2];
+		char c1= fold(text[0]);
+		char c2= fold(text[1]);
+		for (int i= 2; i < length; i++) {
+			char c3= fold(text[i]);
+			trigrams[i - 2]= trigram(c1, c2, c3);
+			c1= c2;
+			c2= c3;
+		}
+		return sortedDistinct(trigrams, trigrams.length);
+	}
+
+	/**
+	 * Returns the trigrams every text must contain to have a match of the given pattern.
+	 * <p>
+	 * The pattern is analyzed conservatively. Only sequences of literal characters outside of
+	 * groups, classes and optional parts contribute trigrams. If the pattern has alternatives at
+	 * its top level, uses inline flags, comments or canonical equivalence, no trigrams are
+	 * required.
+	 * </p>
+	 *
+	 * @param pattern the search pattern
+	 * @return the sorted codes of the required trigrams, empty if the texts to search cannot be
+	 *         restricted
+	 */
+	public static int[] required(Pattern pattern) {
+		RequiredTrigrams collector= analyze(pattern);
+		if (collector == null)
+			return NO_TRIGRAMS;
+		return sortedDistinct(collector.fTrigrams, collector.fCount);
+	}
+
+	/**
+	 * Returns the runs of literal characters every text must contain to have a match of the given
+	 * pattern. The pattern is analyzed like {@link #required(Pattern)} does.
+	 * <p>
+	 * The literals are not case folded. The literals of a case insensitive pattern only consist of
+	 * ASCII characters.
+	 * </p>
+	 *
+	 * @param pattern the search pattern
+	 * @return the required literals, empty if the texts to search cannot be restricted
+	 */
+	public static List<String> requiredLiterals(Pattern pattern) {
+		RequiredTrigrams collector= analyze(pattern);
+		if (collector == null)
+			return new ArrayList<>();
+		return collector.fLiterals;
+	}
+
+	private static RequiredTrigrams analyze(Pattern pattern) {
+		int flags= pattern.flags();
+		if ((flags & (Pattern.COMMENTS | Pattern.CANON_EQ)) != 0)
+			return null;
+		boolean ignoreCase= (flags & Pattern.CASE_INSENSITIVE) != 0;
+		RequiredTrigrams collector= new RequiredTrigrams(ignoreCase);
+		String regex= pattern.pattern();
+		if ((flags & Pattern.LITERAL) != 0) {
+			for (int i= 0; i < regex.length(); i++)
+				collector.append(regex.charAt(i));
+		} else if (!collector.parse(regex)) {
+			return null;
+		}
+		collector.endRun();
+		return collector;
+	}
+
+	private static int[] sortedDistinct(int[] trigrams, int count) {
+		Arrays.sort(trigrams, 0, count);
+		int distinct= 0;
+		for (int i= 0; i < count; i++) {
+			if (distinct == 0 || trigrams[distinct - 1] != trigrams[i])
+				trigrams[distinct++]= trigrams[i];
+		}
+		return Arrays.copyOf(trigrams, distinct);
+	}
+
+	/**
+	 * Collects the runs of literal characters that every match of a pattern contains, and their
+	 * trigrams.
+	 */
+	private static class RequiredTrigrams {
+
+		private final boolean fIgnoreCase;
+		private final StringBuilder fRun= new StringBuilder();
+		private final List<String> fLiterals= new ArrayList<>();
+		private int[] fTrigrams= new int[16];
+		private int fCount;
+
+		RequiredTrigrams(boolean ignoreCase) {
+			fIgnoreCase= ignoreCase;
+		}
+
+		void append(char c) {
+			// case insensitive matching of non-ASCII characters does not map to a single folded form
+			if (fIgnoreCase && c >= 128) {
+				endRun();
+				return;
+			}
+			fRun.append(c);
+		}
+
+		/**
+		 * Removes the last literal character of the current run, e.g. because it turned out to be
+		 * optional, and ends the run.
+		 */
+		void dropLast() {
+			int length= fRun.length();
+			if (length > 1 && Character.isSurrogatePair(fRun.charAt(length - 2), fRun.charAt(length - 1)))
+				fRun.setLength(length - 2); // the quantifier applies to the whole code point
+			else if (length > 0)
+				fRun.setLength(length - 1);
+			endRun();
+		}
+
+		void endRun() {
+			if (fRun.length() > 0)
+				fLiterals.add(fRun.toString());
+			for (int i= 2; i < fRun.length(); i++) {
+				if (fCount == fTrigrams.length)
+					fTrigrams= Arrays.copyOf(fTrigrams, fCount * 2);
+				fTrigrams[fCount++]= trigram(fold(fRun.charAt(i - 2)), fold(fRun.charAt(i - 1)), fold(fRun.charAt(i)));
+			}
+			fRun.setLength(0);
+		}
+
+		/**
+		 * Walks the top level of the given regular expression.
+		 *
+		 * @param regex the regular expression
+		 * @return <code>false</code> if the expression cannot be analyzed
+		 */
+		boolean parse(String regex) {
+			int length= regex.length();
+			int i= 0;
+			while (i < length) {
+				char c= regex.charAt(i);
+				switch (c) {
+					case '|':
+						return false;
+					case '(':
+						if (regex.startsWith("(?", i) && i + 2 < length && ":=!<>".indexOf(regex.charAt(i + 2)) == -1) //$NON-NLS-1$ //$NON-NLS-2$
+							return false; // inline flags
+						endRun();
+						i= skipGroup(regex, i);
+						break;
+					case '[':
+						endRun();
+						i= skipClass(regex, i);
+						break;
+					case '\\':
+						i= parseEscape(regex, i);
+						break;
+					case '*':
+					case '?':
+						dropLast();
+						i= skipQuantifierSuffix(regex, i + 1);
+						continue;
+					case '+':
+						endRun();
+						i= skipQuantifierSuffix(regex, i + 1);
+						continue;
+					case '{':
+						int end= regex.indexOf('}', i);
+						if (end == -1)
+							return false;
+						if (regex.startsWith("{0", i)) //$NON-NLS-1$
+							dropLast();
+						else
+							endRun();
+						i= skipQuantifierSuffix(regex, end + 1);
+						continue;
+					case '.':
+					case '^':
+					case '$':
+						endRun();
+						i++;
+						break;
+					default:
+						append(c);
+						i++;
+						break;
+				}
+				if (i < 0)
+					return false;
+			}
+			return true;
+		}
+
+		private static int skipQuantifierSuffix(String regex, int i) {
+			if (i < regex.length() && (regex.charAt(i) == '?' || regex.charAt(i) == '+'))
+				return i + 1;
+			return i;
+		}
+
+		/**
+		 * Skips the group starting at the given index.
+		 *
+		 * @param regex the regular expression
+		 * @param start the index of the opening parenthesis
+		 * @return the index after the closing parenthesis or <code>-1</code>
+		 */
+		private static int skipGroup(String regex, int start) {
+			int depth= 0;
+			int i= start;
+			while (i < regex.length()) {
+				char c= regex.charAt(i);
+				if (c == '\\') {
+					i= skipEscape(regex, i);
+					if (i < 0)
+						return -1;
+					continue;
+				}
+				if (c == '[') {
+					i= skipClass(regex, i);
+					if (i < 0)
+						return -1;
+					continue;
+				}
+				if (c == '(') {
+					depth++;
+				} else if (c == ')') {
+					depth--;
+					if (depth == 0)
+						return i + 1;
+				}
+				i++;
+			}
+			return -1;
+		}
+
+		/**
+		 * Skips the character class starting at the given index.
+		 *
+		 * @param regex the regular expression
+		 * @param start the index of the opening bracket
+		 * @return the index after the closing bracket or <code>-1</code>
+		 */
+		private static int skipClass(String regex, int start) {
+			int depth= 0;
+			int i= start;
+			while (i < regex.length()) {
+				char c= regex.charAt(i);
+				if (c == '\\') {
+					i= skipEscape(regex, i);
+					if (i < 0)
+						return -1;
+					continue;
+				}
+				if (c == '[') {
+					depth++;
+					// a closing bracket right after the opening one is a literal
+					if (regex.startsWith("[^]", i)) //$NON-NLS-1$
+						i+= 2;
+					else if (regex.startsWith("[]", i)) //$NON-NLS-1$
+						i++;
+				} else if (c == ']') {
+					depth--;
+					if (depth == 0)
+						return i + 1;
+				}
+				i++;
+			}
+			return -1;
+		}
+
+		/**
+		 * Skips the escape sequence starting at the given index.
+		 *
+		 * @param regex the regular expression
+		 * @param start the index of the backslash
+		 * @return the index after the escape sequence or <code>-1</code>
+		 */
+		private static int skipEscape(String regex, int start) {
+			int i= start + 1;
+			if (i >= regex.length())
+				return -1;
+			char c= regex.charAt(i);
+			switch (c) {
+				case 'Q':
+					int end= regex.indexOf("\\E", i + 1); //$NON-NLS-1$
+					return end == -1 ? regex.length() : end + 2;
+				case 'p':
+				case 'P':
+				case 'N':
+				case 'x':
+					if (i + 1 < regex.length() && regex.charAt(i + 1) == '{') {
+						int close= regex.indexOf('}', i + 1);
+						return close == -1 ? -1 : close + 1;
+					}
+					if (c == 'x')
+						return i + 3;
+					// one letter property, e.g. \pL
+					return i + 2;
+				case 'k':
+					int close= regex.indexOf('>', i + 1);
+					return close == -1 ? -1 : close + 1;
+				case 'u':
+					return i + 5;
+				case 'c':
+					return i + 2;
+				case '0':
+					i++;
+					while (i < regex.length() && i < start + 5 && regex.charAt(i) >= '0' && regex.charAt(i) <= '7')
+						i++;
+					return i;
+				default:
+					i++;
+					while (c >= '1' && c <= '9' && i < regex.length() && Character.isDigit(regex.charAt(i)))
+						i++;
+					return i;
+			}
+		}
+
+		/**
+		 * Parses the escape sequence starting at the given index, appending literal characters
+		 * to the current run.
+		 *
+		 * @param regex the regular expression
+		 * @param start the index of the backslash
+		 * @return the index after the escape sequence or <code>-1</code>
+		 */
+		private int parseEscape(String regex, int start) {
+			int i= start + 1;
+			if (i >= regex.length())
+				return -1;
+			char c= regex.charAt(i);
+			if (c == 'Q') {
+				int end= regex.indexOf("\\E", i + 1); //$NON-NLS-1$
+				if (end == -1)
+					end= regex.length();
+				for (int j= i + 1; j < end; j++)
+					append(regex.charAt(j));
+				return Math.min(end + 2, regex.length());
+			}
+			switch (c) {
+				case 't':
+					append('\t');
+					return i + 1;
+				case 'n':
+					append('\n');
+					return i + 1;
+				case 'r':
+					append('\r');
+					return i + 1;
+				case 'f':
+					append('\f');
+					return i + 1;
+				default:
+					if (!Character.isLetterOrDigit(c)) {
+						append(c);
+						return i + 1;
+					}
+					// a character class, boundary, back reference or encoded character
+					endRun();
+					return skipEscape(regex, start);
+			}
+		}
+	}
+}
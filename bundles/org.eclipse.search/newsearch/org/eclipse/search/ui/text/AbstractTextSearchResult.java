@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -108,6 +108,21 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 		return Collections.emptyEnumeration();
 	}
 
+	/**
+	 * Tells whether the given match is contained in this search result. The filter state of the
+	 * match is not relevant.
+	 *
+	 * @param match
+	 *            the match to look for
+	 * @return <code>true</code> if the match has been added to this search result and has not
+	 *         been removed since
+	 * @since 3.18
+	 */
+	public boolean contains(Match match) {
+		Set<Match> matches = fElementsToMatches.get(match.getElement());
+		return matches != null && matches.contains(match);
+	}
+
 	/**
 	 * Adds a <code>Match</code> to this search result. This method does nothing if the
 	 * match is already present.
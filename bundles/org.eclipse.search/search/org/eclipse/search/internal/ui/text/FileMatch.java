@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,6 +38,7 @@ public class FileMatch extends Match {
 		super(element, offset, length);
 		Assert.isLegal(lineEntry != null);
 		fLineElement= lineEntry;
+		lineEntry.addMatch(this);
 	}
 
 	@Override
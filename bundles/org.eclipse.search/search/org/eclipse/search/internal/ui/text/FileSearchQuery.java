@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,22 +19,34 @@
 package org.eclipse.search.internal.ui.text;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.Platform;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
 
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.IFileBuffer;
+
+import org.eclipse.jface.text.IDocument;
+
 import org.eclipse.search.core.text.TextSearchEngine;
 import org.eclipse.search.core.text.TextSearchMatchAccess;
 import org.eclipse.search.core.text.TextSearchRequestor;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+import org.eclipse.search.internal.core.text.DirtyFileProvider;
 import org.eclipse.search.internal.core.text.PatternConstructor;
 import org.eclipse.search.internal.ui.Messages;
 import org.eclipse.search.internal.ui.SearchMessages;
@@ -201,7 +213,10 @@ public class FileSearchQuery implements ISearchQuery {
 	private final boolean fIsCaseSensitive;
 	private final boolean fIsWholeWord;
 	private FileSearchResult fResult;
+	private SearchResultUpdater fUpdater;
 	private boolean fSearchInBinaries;
+	/** The files the last search found modified in editors, they are searched again in any case */
+	private Set<IFile> fModifiedFiles= Collections.emptySet();
 
 
 	public FileSearchQuery(String searchText, boolean isRegEx, boolean isCaseSensitive, FileTextSearchScope scope) {
@@ -229,12 +244,91 @@ public class FileSearchQuery implements ISearchQuery {
 	@Override
 	public IStatus run(final IProgressMonitor monitor) {
 		AbstractTextSearchResult textResult= (AbstractTextSearchResult) getSearchResult();
-		textResult.removeAll();
+		Set<IFile> modifiedFiles= getModifiedFiles();
+		Set<IFile> modifiedSinceLastSearch= new HashSet<>(fModifiedFiles);
+		modifiedSinceLastSearch.addAll(modifiedFiles);
+		// when searching again, only the files that changed since the last search are searched
+		Set<IFile> changedFiles= fUpdater.searchStarting(modifiedSinceLastSearch);
 
 		Pattern searchPattern= getSearchPattern();
 
 		TextSearchResultCollector collector= new TextSearchResultCollector(textResult, isFileNameSearch(), fSearchInBinaries);
-		return TextSearchEngine.create().search(fScope, collector, searchPattern, monitor);
+		IStatus status= null;
+		try {
+			if (changedFiles == null) {
+				textResult.removeAll();
+				status= TextSearchEngine.create().search(fScope, collector, searchPattern, monitor);
+			} else {
+				MultiStatus multiStatus= new MultiStatus(NewSearchUI.PLUGIN_ID, IStatus.OK, SearchMessages.TextSearchEngine_statusMessage, null);
+				// files changed in the file system but not refreshed yet have no resource deltas
+				List<IFile> outOfSync= new ArrayList<>();
+				for (IFile file : fScope.evaluateFilesInScope(multiStatus)) {
+					if (!file.isSynchronized(IResource.DEPTH_ZERO)) {
+						outOfSync.add(file);
+					}
+				}
+				fUpdater.addSearchedFiles(outOfSync);
+
+				List<Match> obsolete= new ArrayList<>();
+				List<IFile> files= new ArrayList<>();
+				for (IFile file : changedFiles) {
+					Collections.addAll(obsolete, textResult.getMatches(file));
+					if (isInScope(file)) {
+						files.add(file);
+					}
+				}
+				textResult.removeMatches(obsolete.toArray(new Match[obsolete.size()]));
+				multiStatus.merge(TextSearchEngine.create().search(files.toArray(new IFile[files.size()]), collector, searchPattern, monitor));
+				status= multiStatus;
+			}
+		} finally {
+			fModifiedFiles= modifiedFiles;
+			fUpdater.searchFinished(status != null && status.isOK() && !monitor.isCanceled());
+		}
+		return status;
+	}
+
+	/*
+	 * Returns the files whose content in an editor differs from the file's content.
+	 */
+	private static Set<IFile> getModifiedFiles() {
+		Set<IFile> files= new HashSet<>();
+		DirtyFileProvider discovery= SearchCorePlugin.getDefault().getDirtyFileDiscovery();
+		Map<IFile, IDocument> dirtyFiles= discovery != null ? discovery.dirtyFiles() : null;
+		if (dirtyFiles != null) {
+			files.addAll(dirtyFiles.keySet());
+		}
+		for (IFileBuffer buffer : FileBuffers.getTextFileBufferManager().getFileBuffers()) {
+			if (buffer.isDirty()) {
+				IFile file= FileBuffers.getWorkspaceFileAtLocation(buffer.getLocation());
+				if (file != null) {
+					files.add(file);
+				}
+			}
+		}
+		return files;
+	}
+
+	/*
+	 * Like the scope's evaluation, a file is in the scope if the scope contains the file and all
+	 * its parents up to one of the roots.
+	 */
+	private boolean isInScope(IFile file) {
+		if (!file.isAccessible() || file.isHidden(IResource.CHECK_ANCESTORS) || file.isTeamPrivateMember(IResource.CHECK_ANCESTORS)) {
+			return false;
+		}
+		for (IResource root : fScope.getRoots()) {
+			if (root.getFullPath().isPrefixOf(file.getFullPath())) {
+				IResource resource= file;
+				while (resource != null && fScope.contains(resource.createProxy())) {
+					if (resource.equals(root)) {
+						return true;
+					}
+					resource= resource.getParent();
+				}
+			}
+		}
+		return false;
 	}
 
 	private boolean isScopeAllFileTypes() {
@@ -335,9 +429,10 @@ public class FileSearchQuery implements ISearchQuery {
 	public ISearchResult getSearchResult() {
 		if (fResult == null) {
 			fResult= new FileSearchResult(this);
-			SearchResultUpdater listener = new SearchResultUpdater(fResult);
-			NewSearchUI.addQueryListener(listener);
-			ResourcesPlugin.getWorkspace().addResourceChangeListener(listener);
+			fUpdater = new SearchResultUpdater(fResult);
+			NewSearchUI.addQueryListener(fUpdater);
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(fUpdater);
+			fResult.addListener(fUpdater);
 		}
 		return fResult;
 	}
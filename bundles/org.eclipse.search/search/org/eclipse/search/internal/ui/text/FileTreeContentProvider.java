@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,18 +17,10 @@
  *******************************************************************************/
 package org.eclipse.search.internal.ui.text;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.Spliterator;
-import java.util.Spliterators;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -246,10 +238,6 @@ public class FileTreeContentProvider implements ITreeContentProvider, IFileSearc
 		return !children.isEmpty();
 	}
 
-	static <T> Stream<T> toStream(Enumeration<T> e) {
-		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(e.asIterator(), Spliterator.ORDERED), false);
-	}
-
 	private boolean isUnfiltered(FileMatch m) {
 		MatchFilter[] filters = fResult.getActiveMatchFilters();
 		if (filters != null) {
@@ -262,6 +250,16 @@ public class FileTreeContentProvider implements ITreeContentProvider, IFileSearc
 		return true;
 	}
 
+	private boolean hasUnfilteredMatches(LineElement lineElement) {
+		boolean filtered= hasActiveMatchFilters();
+		for (FileMatch match : lineElement.getMatches(fResult)) {
+			if (!filtered || isUnfiltered(match)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 *
 	 * Update the search contents. Screen out any results that are filtered via
@@ -276,25 +274,8 @@ public class FileTreeContentProvider implements ITreeContentProvider, IFileSearc
 	@Override
 	public synchronized void elementsChanged(Object[] updatedElements) {
 		boolean singleElement = updatedElements.length == 1;
-		Set<LineElement> lineMatches = Collections.emptySet();
-		// if we have active match filters, we should only use non-filtered FileMatch
-		// objects to collect LineElements to update
-		if (hasActiveMatchFilters()) {
-			lineMatches = Arrays.stream(updatedElements).filter(LineElement.class::isInstance)
-				// only for distinct files:
-				.map(u -> ((LineElement) u).getParent()).distinct()
-				// query matches:
-				.map(fResult::getMatchSet).flatMap(FileTreeContentProvider::toStream)
-				.map(m -> ((FileMatch) m)).filter(this::isUnfiltered).map(m -> m.getLineElement())
-				.collect(Collectors.toSet());
-		} else {
-			lineMatches = Arrays.stream(updatedElements).filter(LineElement.class::isInstance)
-					// only for distinct files:
-					.map(u -> ((LineElement) u).getParent()).distinct()
-					// query matches:
-					.map(fResult::getMatchSet).flatMap(FileTreeContentProvider::toStream)
-					.map(m -> ((FileMatch) m).getLineElement()).collect(Collectors.toSet());
-		}
+		// only the matches of the updated lines are looked at, so that adding matches to a file
+		// with many matches does not check all of them again
 		try {
 			for (Object updatedElement : updatedElements) {
 				if (!(updatedElement instanceof LineElement)) {
@@ -309,7 +290,7 @@ public class FileTreeContentProvider implements ITreeContentProvider, IFileSearc
 					// change events to line elements are reported in text
 					// search
 					LineElement lineElement = (LineElement) updatedElement;
-					boolean hasMatches = lineMatches.contains(lineElement);
+					boolean hasMatches = hasUnfilteredMatches(lineElement);
 					if (hasMatches) {
 						if (singleElement && hasChild(lineElement.getParent(), lineElement)) {
 							fTreeViewer.update(new Object[] { lineElement, lineElement.getParent() }, null);
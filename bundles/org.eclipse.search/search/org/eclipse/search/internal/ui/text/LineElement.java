@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2008 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,12 +15,11 @@
 package org.eclipse.search.internal.ui.text;
 
 import java.util.ArrayList;
-import java.util.Enumeration;
+import java.util.Arrays;
 
 import org.eclipse.core.resources.IResource;
 
 import org.eclipse.search.ui.text.AbstractTextSearchResult;
-import org.eclipse.search.ui.text.Match;
 
 /**
  * Element representing a line in a file
@@ -33,6 +32,13 @@ public class LineElement {
 	private final int fLineStartOffset;
 	private final String fLineContents;
 
+	/**
+	 * The matches created on this line, so that the matches of a line are found without looking
+	 * at all matches of the file. Protected by this element.
+	 */
+	private FileMatch[] fMatches= new FileMatch[1];
+	private int fMatchCount;
+
 	public LineElement(IResource parent, int lineNumber, int lineStartOffset, String lineContents) {
 		fParent= parent;
 		fLineNumber= lineNumber;
@@ -64,12 +70,26 @@ public class LineElement {
 		return fLineContents.length();
 	}
 
+	/**
+	 * Remembers a match on this line. Called when the match is created.
+	 *
+	 * @param match the match
+	 */
+	synchronized void addMatch(FileMatch match) {
+		if (fMatchCount == fMatches.length) {
+			fMatches= Arrays.copyOf(fMatches, fMatchCount * 2);
+		}
+		fMatches[fMatchCount++]= match;
+	}
+
+	private synchronized FileMatch[] getCreatedMatches() {
+		return Arrays.copyOf(fMatches, fMatchCount);
+	}
+
 	public FileMatch[] getMatches(AbstractTextSearchResult result) {
 		ArrayList<FileMatch> res= new ArrayList<>();
-		Enumeration<Match> matches = result.getMatchSet(fParent);
-		while (matches.hasMoreElements()) {
-			FileMatch curr = (FileMatch) matches.nextElement();
-			if (curr.getLineElement() == this) {
+		for (FileMatch curr : getCreatedMatches()) {
+			if (result.contains(curr)) {
 				res.add(curr);
 			}
 		}
@@ -78,10 +98,8 @@ public class LineElement {
 
 	public int getNumberOfMatches(AbstractTextSearchResult result) {
 		int count= 0;
-		Enumeration<Match> matches = result.getMatchSet(fParent);
-		while (matches.hasMoreElements()) {
-			FileMatch curr = (FileMatch) matches.nextElement();
-			if (curr.getLineElement() == this) {
+		for (FileMatch curr : getCreatedMatches()) {
+			if (result.contains(curr)) {
 				count++;
 			}
 		}
@@ -89,10 +107,8 @@ public class LineElement {
 	}
 
 	public boolean hasMatches(AbstractTextSearchResult result) {
-		Enumeration<Match> matches = result.getMatchSet(fParent);
-		while (matches.hasMoreElements()) {
-			FileMatch curr = (FileMatch) matches.nextElement();
-			if (curr.getLineElement() == this) {
+		for (FileMatch curr : getCreatedMatches()) {
+			if (result.contains(curr)) {
 				return true;
 			}
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,13 @@
  *******************************************************************************/
 package org.eclipse.search.internal.ui.text;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.eclipse.core.runtime.CoreException;
 
 import org.eclipse.core.resources.IFile;
@@ -25,17 +32,89 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.search.internal.ui.SearchPlugin;
 import org.eclipse.search.ui.IQueryListener;
 import org.eclipse.search.ui.ISearchQuery;
+import org.eclipse.search.ui.ISearchResultListener;
 import org.eclipse.search.ui.NewSearchUI;
+import org.eclipse.search.ui.SearchResultEvent;
 import org.eclipse.search.ui.text.AbstractTextSearchResult;
 import org.eclipse.search.ui.text.Match;
+import org.eclipse.search.ui.text.MatchEvent;
+import org.eclipse.search.ui.text.RemoveAllEvent;
+
+/**
+ * Removes the matches of deleted files from a search result and tracks the files that were added
+ * or changed since the last search, so that searching again only has to search these files.
+ */
+public class SearchResultUpdater implements IResourceChangeListener, IQueryListener, ISearchResultListener {
+
+	/** The number of changed files above which searching again searches the whole scope */
+	private static final int MAX_CHANGED_FILES= 10000;
+
+	/** The changes of files that require to search them again */
+	private static final int FILE_CHANGES= IResourceDelta.CONTENT | IResourceDelta.REPLACED | IResourceDelta.ENCODING
+			| IResourceDelta.TYPE | IResourceDelta.LOCAL_CHANGED | IResourceDelta.DERIVED_CHANGED;
+	/** The changes of folders and projects that may change the content or scope of any file below */
+	private static final int CONTAINER_CHANGES= IResourceDelta.OPEN | IResourceDelta.ENCODING
+			| IResourceDelta.LOCAL_CHANGED | IResourceDelta.DERIVED_CHANGED;
 
-public class SearchResultUpdater implements IResourceChangeListener, IQueryListener {
 	private AbstractTextSearchResult fResult;
 
+	/**
+	 * The files that were added or changed since the last search started, or <code>null</code>
+	 * if the next search has to search the whole scope. Protected by this updater.
+	 */
+	private Set<IFile> fChangedFiles;
+	/**
+	 * The files the running search replaces the matches of, <code>null</code> if it searches the
+	 * whole scope. Protected by this updater.
+	 */
+	private Set<IFile> fSearchedFiles= Collections.emptySet();
+
 	public SearchResultUpdater(AbstractTextSearchResult result) {
 		fResult= result;
 	}
 
+	/**
+	 * Called when a search of the result's query starts. Starts to track the changes for the next
+	 * search.
+	 *
+	 * @param modifiedFiles files to search in any case, e.g. because they are modified in an
+	 *            editor
+	 * @return the files to search, or <code>null</code> if the whole scope has to be searched
+	 */
+	synchronized Set<IFile> searchStarting(Collection<IFile> modifiedFiles) {
+		Set<IFile> files= fChangedFiles;
+		if (files != null)
+			files.addAll(modifiedFiles);
+		fChangedFiles= new HashSet<>();
+		fSearchedFiles= files;
+		return files;
+	}
+
+	/**
+	 * Adds files to the running search, e.g. files that changed in the file system but have not
+	 * been refreshed, so that no resource delta reported them. Does nothing if the running search
+	 * searches the whole scope.
+	 *
+	 * @param files the files to search in addition, they are added to the files returned by
+	 *            {@link #searchStarting(Collection)}
+	 */
+	synchronized void addSearchedFiles(Collection<IFile> files) {
+		if (fSearchedFiles != null)
+			fSearchedFiles.addAll(files);
+	}
+
+	/**
+	 * Called when a search of the result's query has finished.
+	 *
+	 * @param complete <code>false</code> if the search has been canceled or failed, in which case
+	 *            the next search has to search the whole scope
+	 */
+	synchronized void searchFinished(boolean complete) {
+		if (!complete)
+			fChangedFiles= null;
+		fSearchedFiles= Collections.emptySet();
+	}
+
 	@Override
 	public void resourceChanged(IResourceChangeEvent event) {
 		IResourceDelta delta= event.getDelta();
@@ -45,26 +124,85 @@ public class SearchResultUpdater implements IResourceChangeListener, IQueryListe
 
 	@SuppressWarnings("incomplete-switch")
 	private void handleDelta(IResourceDelta d) {
+		List<IFile> changed= new ArrayList<>();
+		boolean[] invalidated= new boolean[1];
 		try {
 			d.accept(delta -> {
+				IResource res= delta.getResource();
 				switch (delta.getKind()) {
 					case IResourceDelta.ADDED :
-						return false;
+						if (res instanceof IFile) {
+							changed.add((IFile) res);
+						} else if ((delta.getFlags() & IResourceDelta.OPEN) != 0) {
+							// the members of an opened project are not reported
+							invalidated[0]= true;
+						}
+						break;
 					case IResourceDelta.REMOVED :
-						IResource res= delta.getResource();
 						if (res instanceof IFile) {
 							Match[] matches= fResult.getMatches(res);
 							fResult.removeMatches(matches);
 						}
 						break;
 					case IResourceDelta.CHANGED :
-						// handle changed resource
+						if (res instanceof IFile) {
+							if ((delta.getFlags() & FILE_CHANGES) != 0) {
+								changed.add((IFile) res);
+							}
+						} else if ((delta.getFlags() & CONTAINER_CHANGES) != 0) {
+							invalidated[0]= true;
+						}
 						break;
 				}
 				return true;
 			});
 		} catch (CoreException e) {
 			SearchPlugin.log(e);
+			invalidated[0]= true;
+		}
+		filesChanged(changed, invalidated[0]);
+	}
+
+	private synchronized void filesChanged(List<IFile> changed, boolean invalidated) {
+		if (fChangedFiles == null)
+			return;
+		if (invalidated) {
+			fChangedFiles= null;
+			return;
+		}
+		fChangedFiles.addAll(changed);
+		if (fChangedFiles.size() > MAX_CHANGED_FILES)
+			fChangedFiles= null;
+	}
+
+	@Override
+	public void searchResultChanged(SearchResultEvent e) {
+		if (e instanceof RemoveAllEvent) {
+			matchesRemoved(null);
+		} else if (e instanceof MatchEvent && ((MatchEvent) e).getKind() == MatchEvent.REMOVED) {
+			matchesRemoved(((MatchEvent) e).getMatches());
+		}
+	}
+
+	/*
+	 * Matches removed by the user have to be found again by the next search.
+	 */
+	private synchronized void matchesRemoved(Match[] matches) {
+		if (fChangedFiles == null || fSearchedFiles == null)
+			return; // the whole scope is searched anyway
+		if (matches == null) {
+			fChangedFiles= null;
+			return;
+		}
+		for (Match match : matches) {
+			Object element= match.getElement();
+			if (element instanceof IFile) {
+				IFile file= (IFile) element;
+				if (!file.exists() || fSearchedFiles.contains(file))
+					continue; // removed by this updater or by the running search
+			}
+			fChangedFiles= null;
+			return;
 		}
 	}
 
@@ -78,6 +216,7 @@ public class SearchResultUpdater implements IResourceChangeListener, IQueryListe
 		if (fResult.equals(query.getSearchResult())) {
 			ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
 			NewSearchUI.removeQueryListener(this);
+			fResult.removeListener(this);
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -889,4 +889,83 @@ public class ProjectionDocument extends AbstractDocument {
 			internalError();
 		}
 	}
+
+	/**
+	 * Replaces all master document ranges with the given master document ranges. Unlike adding
+	 * and removing the ranges one by one, the projection is changed at once: a single document
+	 * event is sent and the fragments and segments are computed in a single pass. Adjacent ranges
+	 * are joined and empty ranges are ignored.
+	 *
+	 * @param ranges the master document ranges, sorted by offset and not overlapping
+	 * @throws BadLocationException if one of the ranges is not valid in the master document
+	 * @throws IllegalArgumentException if the ranges are not sorted or overlap
+	 * @since 3.15
+	 */
+	public void replaceMasterDocumentRanges(IRegion[] ranges) throws BadLocationException {
+		List<Fragment> fragments= new ArrayList<>(ranges.length);
+		StringBuilder text= new StringBuilder();
+		int end= 0;
+		Fragment last= null;
+		for (IRegion range : ranges) {
+			int offset= range.getOffset();
+			int length= range.getLength();
+			if (offset < 0 || length < 0 || offset + length > fMasterDocument.getLength())
+				throw new BadLocationException();
+			if (offset < end)
+				throw new IllegalArgumentException("overlaps with previous range"); //$NON-NLS-1$
+			if (length == 0)
+				continue;
+
+			if (last != null && last.getOffset() + last.getLength() == offset) {
+				last.setLength(last.getLength() + length);
+			} else {
+				last= new Fragment(offset, length);
+				fragments.add(last);
+			}
+			text.append(fMasterDocument.get(offset, length));
+			end= offset + length;
+		}
+
+		if (fragments.isEmpty()) {
+			replaceMasterDocumentRanges(0, 0);
+			return;
+		}
+
+		try {
+
+			int offsetInMaster= fragments.get(0).getOffset();
+			ProjectionDocumentEvent event= new ProjectionDocumentEvent(this, 0, fMapping.getImageLength(), text.toString(), offsetInMaster, end - offsetInMaster);
+			super.fireDocumentAboutToBeChanged(event);
+
+			fMasterDocument.removePositionCategory(fFragmentsCategory);
+			fMasterDocument.addPositionCategory(fFragmentsCategory);
+			removePositionCategory(fSegmentsCategory);
+			addPositionCategory(fSegmentsCategory);
+
+			// positions are inserted before the positions with the same offset, hence the empty
+			// segments are added in reverse order before they are moved to their final location
+			for (int i= fragments.size() - 1; i >= 0; i--) {
+				Fragment fragment= fragments.get(i);
+				Segment segment= new Segment(0, 0);
+				segment.fragment= fragment;
+				fragment.segment= segment;
+				fMasterDocument.addPosition(fFragmentsCategory, fragment);
+				addPosition(fSegmentsCategory, segment);
+			}
+			int offset= 0;
+			for (Fragment fragment : fragments) {
+				fragment.segment.setOffset(offset);
+				fragment.segment.setLength(fragment.getLength());
+				offset += fragment.getLength();
+			}
+			fMapping.projectionChanged();
+
+			getTracker().set(event.getText());
+			fSegmentUpdater.setAdaptedEvent(event);
+			super.fireDocumentChanged(event);
+
+		} catch (BadPositionCategoryException x) {
+			internalError();
+		}
+	}
 }
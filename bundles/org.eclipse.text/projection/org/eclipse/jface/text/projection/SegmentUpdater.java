@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2007 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -35,6 +35,7 @@ class SegmentUpdater extends DefaultPositionUpdater {
 
 	private Segment fNextSegment= null;
 	private boolean fIsProjectionChange= false;
+	private DocumentEvent fAdaptedEvent= null;
 
 	/**
 	 * Creates the segment updater for the given category.
@@ -45,10 +46,26 @@ class SegmentUpdater extends DefaultPositionUpdater {
 		super(segmentCategory);
 	}
 
+	/**
+	 * Tells this updater that the segments already reflect the given event, e.g. because
+	 * they have been recomputed as a whole. The segments are left untouched when the event
+	 * is sent.
+	 *
+	 * @param event the event the segments have been adapted to
+	 * @since 3.15
+	 */
+	void setAdaptedEvent(DocumentEvent event) {
+		fAdaptedEvent= event;
+	}
+
 	@Override
 	public void update(DocumentEvent event) {
 
 		Assert.isTrue(event instanceof ProjectionDocumentEvent);
+		if (event == fAdaptedEvent) {
+			fAdaptedEvent= null;
+			return;
+		}
 		fIsProjectionChange= ((ProjectionDocumentEvent) event).getChangeType() == ProjectionDocumentEvent.PROJECTION_CHANGE;
 
 		try {
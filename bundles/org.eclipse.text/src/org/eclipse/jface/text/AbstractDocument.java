@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,7 +36,8 @@ import org.eclipse.core.runtime.SafeRunner;
  * interfaces {@link org.eclipse.jface.text.IDocumentExtension},
  * {@link org.eclipse.jface.text.IDocumentExtension2},
  * {@link org.eclipse.jface.text.IDocumentExtension3},
- * {@link org.eclipse.jface.text.IDocumentExtension4}, as well as
+ * {@link org.eclipse.jface.text.IDocumentExtension4},
+ * {@link org.eclipse.jface.text.IDocumentExtension5}, as well as
  * {@link org.eclipse.jface.text.IRepairableDocument}.
  * <p>
  *
@@ -59,7 +60,7 @@ import org.eclipse.core.runtime.SafeRunner;
  * @see org.eclipse.jface.text.ITextStore
  * @see org.eclipse.jface.text.ILineTracker
  */
-public abstract class AbstractDocument implements IDocument, IDocumentExtension, IDocumentExtension2, IDocumentExtension3, IDocumentExtension4, IRepairableDocument, IRepairableDocumentExtension {
+public abstract class AbstractDocument implements IDocument, IDocumentExtension, IDocumentExtension2, IDocumentExtension3, IDocumentExtension4, IDocumentExtension5, IRepairableDocument, IRepairableDocumentExtension {
 
 	/**
 	 * Tells whether this class is in debug mode.
@@ -102,7 +103,11 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	private final ListenerList<IDocumentListener> fPrenotifiedDocumentListeners= new ListenerList<>(ListenerList.IDENTITY);
 	/** The registered document partitioning listeners */
 	private final ListenerList<IDocumentPartitioningListener> fDocumentPartitioningListeners= new ListenerList<>(ListenerList.IDENTITY);
-	/** All positions managed by the document ordered by their start positions. */
+	/**
+	 * All positions managed by the document ordered by their start positions. The lists are
+	 * {@link GapList}s, so that positions added or removed next to each other do not shift all
+	 * following positions.
+	 */
 	private final Map<String, List<Position>> fPositions= new HashMap<>();
 	/**
 	 * All positions managed by the document ordered by their end positions.
@@ -369,8 +374,8 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 			return;
 
 		if (!containsPositionCategory(category)) {
-			fPositions.put(category, new ArrayList<>());
-			fEndPositions.put(category, new ArrayList<>());
+			fPositions.put(category, new GapList<>());
+			fEndPositions.put(category, new GapList<>());
 		}
 	}
 
@@ -594,6 +599,34 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		}
 	}
 
+	/**
+	 * Notifies the document partitioning listeners that the given partitioner changed the
+	 * partitioning of the given region on its own, i.e. not in response to a document change. This
+	 * is the case for partitioners that scan parts of the document in the background. Does nothing
+	 * if the partitioner is not installed on this document.
+	 * <p>
+	 * Must be called in the thread that modifies the document.
+	 * </p>
+	 *
+	 * @param partitioner the partitioner whose partitioning changed
+	 * @param offset the offset of the changed region
+	 * @param length the length of the changed region
+	 * @see IDocumentPartitioningListenerExtension2
+	 * @since 3.15
+	 */
+	public void partitioningChanged(IDocumentPartitioner partitioner, int offset, int length) {
+		if (fDocumentPartitioners == null)
+			return;
+
+		DocumentPartitioningChangedEvent event= new DocumentPartitioningChangedEvent(this);
+		for (Entry<String, IDocumentPartitioner> entry : fDocumentPartitioners.entrySet()) {
+			if (entry.getValue() == partitioner)
+				event.setPartitionChange(entry.getKey(), offset, length);
+		}
+		if (!event.isEmpty())
+			fireDocumentPartitioningChanged(event);
+	}
+
 	/**
 	 * Fires the given document event to all registers document listeners informing them
 	 * about the forthcoming document manipulation. Uses a robust iterator.
@@ -868,6 +901,82 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		return getTracker().getLineOffset(line);
 	}
 
+	/**
+	 * Stores the offsets of the lines <code>fromLine</code> (inclusive) to <code>toLine</code>
+	 * (exclusive) in the given array, starting at index 0. The result is the same as calling
+	 * {@link #getLineOffset(int)} for each of the lines, but does not require a lookup per line if
+	 * the line tracker implements {@link ILineTrackerExtension2}.
+	 *
+	 * @param fromLine the first line whose offset is queried
+	 * @param toLine the line following the last line whose offset is queried
+	 * @param offsets the array receiving the line offsets, its length must be at least
+	 *            <code>toLine - fromLine</code>
+	 * @throws BadLocationException if the line range is invalid in this document
+	 * @since 3.15
+	 */
+	public void getLineOffsets(int fromLine, int toLine, int[] offsets) throws BadLocationException {
+		ILineTracker tracker= getTracker();
+		if (tracker instanceof ILineTrackerExtension2) {
+			((ILineTrackerExtension2) tracker).getLineOffsets(fromLine, toLine, offsets);
+			return;
+		}
+
+		if (fromLine > toLine)
+			throw new BadLocationException();
+		for (int line= fromLine; line < toLine; line++)
+			offsets[line - fromLine]= tracker.getLineOffset(line);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * If the text store is a {@link PieceTreeTextStore} and the document uses the default line
+	 * delimiters, the snapshot shares the structure of the store and taking it does not depend on
+	 * the length of the document. Otherwise the content and the line offsets are copied.
+	 * </p>
+	 *
+	 * @since 3.15
+	 */
+	@Override
+	public ITextSnapshot getSnapshot() {
+		String[] delimiters= getLegalLineDelimiters();
+		if (isSnapshotShared())
+			return ((PieceTreeTextStore) getStore()).createSnapshot(getModificationStamp());
+
+		int[] offsets= new int[getNumberOfLines()];
+		try {
+			getLineOffsets(0, offsets.length, offsets);
+		} catch (BadLocationException x) {
+			// cannot happen, the line range is valid
+			Assert.isTrue(false);
+		}
+		return new TextSnapshot.Copy(get(), offsets, delimiters, getModificationStamp());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This is the case if the text store is a {@link PieceTreeTextStore} and the document uses the
+	 * default line delimiters.
+	 * </p>
+	 *
+	 * @since 3.15
+	 */
+	@Override
+	public boolean isSnapshotShared() {
+		return getStore() instanceof PieceTreeTextStore && hasDefaultLineDelimiters(getLegalLineDelimiters());
+	}
+
+	private static boolean hasDefaultLineDelimiters(String[] delimiters) {
+		if (delimiters.length != TextUtilities.DELIMITERS.length)
+			return false;
+		for (String delimiter : TextUtilities.DELIMITERS) {
+			if (!Arrays.asList(delimiters).contains(delimiter))
+				return false;
+		}
+		return true;
+	}
+
 	@Override
 	public IRegion getLineInformation(int line) throws BadLocationException {
 		return getTracker().getLineInformation(line);
@@ -34,7 +34,7 @@ import java.util.List;
  * This class must be subclassed.
  * </p>
  */
-public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerExtension {
+public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerExtension, ILineTrackerExtension2 {
 
 	/**
 	 * Tells whether this class is in debug mode.
@@ -188,17 +188,7 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 	 *
 	 * @since 3.2
 	 */
-	private volatile ILineTracker fDelegate= new ListLineTracker() {
-		@Override
-		public String[] getLegalLineDelimiters() {
-			return AbstractLineTracker.this.getLegalLineDelimiters();
-		}
-
-		@Override
-		protected DelimiterInfo nextDelimiterInfo(String text, int offset) {
-			return AbstractLineTracker.this.nextDelimiterInfo(text, offset);
-		}
-	};
+	private volatile ILineTracker fDelegate= createListLineTracker();
 	/**
 	 * Whether the delegate needs conversion when the line structure is modified.
 	 */
@@ -252,6 +242,12 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 		return fDelegate.getLineOffset(line);
 	}
 
+	@Override
+	public void getLineOffsets(int fromLine, int toLine, int[] offsets) throws BadLocationException {
+		checkRewriteSession();
+		((ILineTrackerExtension2) fDelegate).getLineOffsets(fromLine, toLine, offsets);
+	}
+
 	@Override
 	public int getNumberOfLines() {
 		try {
@@ -275,6 +271,8 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 			return;
 		}
 
+		resetImplementation();
+
 		fDelegate.set(text);
 	}
 
@@ -290,6 +288,44 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 		fDelegate.replace(offset, length, text);
 	}
 
+	/**
+	 * Creates the {@link ListLineTracker} used until the first modification.
+	 *
+	 * @return a new list line tracker
+	 * @since 3.15
+	 */
+	private ListLineTracker createListLineTracker() {
+		return new ListLineTracker() {
+			@Override
+			public String[] getLegalLineDelimiters() {
+				return AbstractLineTracker.this.getLegalLineDelimiters();
+			}
+
+			@Override
+			protected DelimiterInfo nextDelimiterInfo(String text, int offset) {
+				return AbstractLineTracker.this.nextDelimiterInfo(text, offset);
+			}
+
+			@Override
+			boolean usesDefaultDelimiters() {
+				return AbstractLineTracker.this.getClass() == DefaultLineTracker.class;
+			}
+		};
+	}
+
+	/**
+	 * Switches the implementation back to a {@link ListLineTracker}, which is set up faster than
+	 * a {@link TreeLineTracker} when the whole text is replaced.
+	 *
+	 * @since 3.15
+	 */
+	private synchronized void resetImplementation() {
+		if (!fNeedsConversion) {
+			fDelegate= createListLineTracker();
+			fNeedsConversion= true;
+		}
+	}
+
 	/**
 	 * Converts the implementation to be a {@link TreeLineTracker} if it isn't yet.
 	 *
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jface.text;
 
+import org.eclipse.core.runtime.Assert;
+
 
 /**
  * Default document implementation. Uses a {@link org.eclipse.jface.text.GapTextStore} wrapped
@@ -33,7 +35,8 @@ package org.eclipse.jface.text;
  * source code documents. It is not designed for very large documents of a size of several
  * megabytes. Space-saving implementations are initially used for both the text store and the line
  * tracker; the first modification after a {@link #set(String) set} incurs the cost to transform the
- * document structures to efficiently handle updates.
+ * document structures to efficiently handle updates. Use {@link #Document(ITextStore)} with a
+ * {@link PieceTreeTextStore} for very large documents.
  * </p>
  * <p>
  * See {@link GapTextStore} and <code>TreeLineTracker</code> for algorithmic behavior of the used
@@ -44,6 +47,13 @@ package org.eclipse.jface.text;
  * @see org.eclipse.jface.text.CopyOnWriteTextStore
  */
 public class Document extends AbstractDocument {
+
+	/**
+	 * The number of characters passed to the line tracker at once when the document is created
+	 * with a non-empty text store.
+	 */
+	private static final int INITIALIZATION_CHUNK_SIZE= 64 * 1024;
+
 	/**
 	 * Creates a new empty document.
 	 */
@@ -54,6 +64,27 @@ public class Document extends AbstractDocument {
 		completeInitialization();
 	}
 
+	/**
+	 * Creates a new document which stores its content in the given text store. This allows to
+	 * choose a text store that is suited for the expected content, e.g. a
+	 * {@link PieceTreeTextStore} for very large documents. If the text store is not empty, its
+	 * content becomes the initial content of the document; it is never requested as a whole, which
+	 * allows to use a store like {@link MappedFileTextStore} that keeps its content off the heap.
+	 * The line information is still kept on the heap, i.e. the memory used by the document remains
+	 * proportional to the number of lines.
+	 *
+	 * @param textStore the text store to be used by this document
+	 * @since 3.15
+	 */
+	public Document(ITextStore textStore) {
+		super();
+		Assert.isNotNull(textStore);
+		setTextStore(textStore);
+		setLineTracker(new DefaultLineTracker());
+		initializeLineTracker(textStore);
+		completeInitialization();
+	}
+
 	/**
 	 * Creates a new document with the given initial content.
 	 *
@@ -68,6 +99,30 @@ public class Document extends AbstractDocument {
 		completeInitialization();
 	}
 
+	/**
+	 * Feeds the content of the given text store to the line tracker in chunks.
+	 *
+	 * @param textStore the text store providing the initial content
+	 * @since 3.15
+	 */
+	private void initializeLineTracker(ITextStore textStore) {
+		int length= textStore.getLength();
+		int offset= 0;
+		try {
+			while (offset < length) {
+				int chunkLength= Math.min(length - offset, INITIALIZATION_CHUNK_SIZE);
+				// keep "\r\n" together
+				if (offset + chunkLength < length && textStore.get(offset + chunkLength - 1) == '\r')
+					chunkLength++;
+				getTracker().replace(offset, 0, textStore.get(offset, chunkLength));
+				offset+= chunkLength;
+			}
+		} catch (BadLocationException x) {
+			// cannot happen, the chunks are appended
+			throw new IllegalStateException(x);
+		}
+	}
+
 	@Override
 	public boolean isLineInformationRepairNeeded(int offset, int length, String text) throws BadLocationException {
 		if ((0 > offset) || (0 > length) || (offset + length > getLength()))
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,11 @@ import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.core.runtime.Assert;
 
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+
 
 /**
  * Provides search and replace operations on
@@ -70,6 +75,30 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 	 */
 	private Matcher fFindReplaceMatcher;
 
+	/**
+	 * The matcher used in findReplace for plain, not whole word searches, <code>null</code> if
+	 * {@link #fFindReplaceMatcher} is used.
+	 *
+	 * @since 3.15
+	 */
+	private LiteralMatcher fLiteralMatcher;
+
+	/**
+	 * The offset of the current match of {@link #fLiteralMatcher}, <code>-1</code> if there is
+	 * none.
+	 *
+	 * @since 3.15
+	 */
+	private int fLiteralMatchOffset= -1;
+
+	/**
+	 * The offset at which a forward search continues after a replace, or after a match of
+	 * {@link #fLiteralMatcher}.
+	 *
+	 * @since 3.15
+	 */
+	private int fSearchOffset;
+
 	/**
 	 * The match offset from the last findReplace call.
 	 */
@@ -159,50 +188,24 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 			if (startOffset < 0 || startOffset > length())
 				throw new BadLocationException();
 
-			int patternFlags= 0;
-
-			if (regExSearch) {
-				patternFlags |= Pattern.MULTILINE;
-				findString= substituteLinebreak(findString);
-			}
-
-			if (!caseSensitive)
-				patternFlags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
-
-			if (!regExSearch)
-				findString= asRegPattern(findString);
-
-			if (wholeWord)
-				findString= "\\b" + findString + "\\b"; //$NON-NLS-1$ //$NON-NLS-2$
-
 			fFindReplaceMatchOffset= startOffset;
-			if (fFindReplaceMatcher != null && fFindReplaceMatcher.pattern().pattern().equals(findString) && fFindReplaceMatcher.pattern().flags() == patternFlags) {
-				/*
-				 * Commented out for optimization:
-				 * The call is not needed since FIND_FIRST uses find(int) which resets the matcher
-				 */
-				// fFindReplaceMatcher.reset();
+			if (!regExSearch && !wholeWord && LiteralMatcher.isSupported(findString, caseSensitive)) {
+				// no need for the regular expression engine
+				if (fLiteralMatcher == null || !fLiteralMatcher.getPattern().equals(findString) || fLiteralMatcher.isCaseSensitive() != caseSensitive)
+					fLiteralMatcher= new LiteralMatcher(findString, caseSensitive);
+				fLiteralMatchOffset= -1;
 			} else {
-				Pattern pattern= Pattern.compile(findString, patternFlags);
-				fFindReplaceMatcher= pattern.matcher(this);
+				fLiteralMatcher= null;
+				fFindReplaceMatcher= createMatcher(findString, caseSensitive, wholeWord, regExSearch);
 			}
 		}
 
+		if (fLiteralMatcher != null)
+			return findReplaceLiteral(operationCode, startOffset, replaceText, forwardSearch, regExSearch);
+
 		if (operationCode == REPLACE || operationCode == REPLACE_FIND_NEXT) {
-			if (regExSearch) {
-				Pattern pattern= fFindReplaceMatcher.pattern();
-				String prevMatch= fFindReplaceMatcher.group();
-				try {
-					replaceText= interpretReplaceEscapes(replaceText, prevMatch);
-					Matcher replaceTextMatcher= pattern.matcher(prevMatch);
-					replaceText= replaceTextMatcher.replaceFirst(replaceText);
-				} catch (IndexOutOfBoundsException | IllegalArgumentException ex) {
-					// These exceptions are thrown by Matcher#replaceFirst(), capturing information about
-					// invalid regular expression patterns, such as unfinished character escape sequences
-					// at the end of the pattern
-					throw new PatternSyntaxException(ex.getLocalizedMessage(), replaceText, -1);
-				}
-			}
+			if (regExSearch)
+				replaceText= interpretReplaceText(fFindReplaceMatcher.pattern(), fFindReplaceMatcher.group(), replaceText);
 
 			int offset= fFindReplaceMatcher.start();
 			int length= fFindReplaceMatcher.group().length();
@@ -215,6 +218,7 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 
 			fDocument.replace(offset, length, replaceText);
 			fFindReplaceState= operationCode;
+			fSearchOffset= offset + replaceText.length();
 			
 			if (operationCode == REPLACE) {
 				return new Region(offset, replaceText.length());
@@ -228,6 +232,9 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 					boolean found= false;
 					if (operationCode == FIND_FIRST)
 						found= fFindReplaceMatcher.find(startOffset);
+					else if (fFindReplaceState == REPLACE || fFindReplaceState == REPLACE_FIND_NEXT)
+						// like the literal search, continue after the inserted text
+						found= fFindReplaceMatcher.find(fSearchOffset);
 					else
 						found= fFindReplaceMatcher.find();
 
@@ -267,6 +274,136 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 		return null;
 	}
 
+	/**
+	 * Returns a matcher for the given search, reusing the current matcher if it matches the same
+	 * pattern.
+	 *
+	 * @param findString the string to find
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param wholeWord indicates whether the findString should be limited by white spaces
+	 * @param regExSearch if <code>true</code> findString represents a regular expression
+	 * @return the matcher
+	 * @throws PatternSyntaxException if a regular expression has invalid syntax
+	 * @since 3.15
+	 */
+	private Matcher createMatcher(String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch) throws PatternSyntaxException {
+		int patternFlags= 0;
+
+		if (regExSearch) {
+			patternFlags |= Pattern.MULTILINE;
+			findString= substituteLinebreak(findString);
+		}
+
+		if (!caseSensitive)
+			patternFlags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+
+		if (!regExSearch)
+			findString= asRegPattern(findString);
+
+		if (wholeWord)
+			findString= "\\b" + findString + "\\b"; //$NON-NLS-1$ //$NON-NLS-2$
+
+		if (fFindReplaceMatcher != null && fFindReplaceMatcher.pattern().pattern().equals(findString) && fFindReplaceMatcher.pattern().flags() == patternFlags) {
+			/*
+			 * Commented out for optimization:
+			 * The call is not needed since FIND_FIRST uses find(int) which resets the matcher
+			 */
+			// fFindReplaceMatcher.reset();
+			return fFindReplaceMatcher;
+		}
+		Pattern pattern= Pattern.compile(findString, patternFlags);
+		return pattern.matcher(this);
+	}
+
+	/**
+	 * Executes a findReplace operation using {@link #fLiteralMatcher}. The semantics are the same
+	 * as for a quoted pattern, see
+	 * {@link #findReplace(FindReplaceOperationCode, int, String, String, boolean, boolean, boolean, boolean)}.
+	 * A forward search following a replace continues after the inserted text.
+	 *
+	 * @param operationCode specifies what kind of operation is executed
+	 * @param startOffset document offset at which a FIND_FIRST operation starts
+	 * @param replaceText the string to replace the current match
+	 * @param forwardSearch the search direction
+	 * @param regExReplace if <code>true</code> the replace text may contain escapes and group references
+	 * @return the find or replace region or <code>null</code> if there was no match
+	 * @throws BadLocationException if the document cannot be accessed
+	 * @throws IllegalStateException if a REPLACE or REPLACE_FIND operation is not preceded by a successful FIND operation
+	 * @since 3.15
+	 */
+	private IRegion findReplaceLiteral(FindReplaceOperationCode operationCode, int startOffset, String replaceText, boolean forwardSearch, boolean regExReplace) throws BadLocationException {
+		int length= fLiteralMatcher.length();
+
+		if (operationCode == REPLACE || operationCode == REPLACE_FIND_NEXT) {
+			int offset= fLiteralMatchOffset;
+			if (offset == -1 || offset + length > fDocument.getLength())
+				throw new IllegalStateException("No match available"); //$NON-NLS-1$
+
+			if (regExReplace) {
+				Pattern pattern= createMatcher(fLiteralMatcher.getPattern(), fLiteralMatcher.isCaseSensitive(), false, false).pattern();
+				replaceText= interpretReplaceText(pattern, fDocument.get(offset, length), replaceText);
+			}
+
+			if (fDocument instanceof IRepairableDocumentExtension
+					&& ((IRepairableDocumentExtension)fDocument).isLineInformationRepairNeeded(offset, length, replaceText)) {
+				String message= TextMessages.getString("FindReplaceDocumentAdapter.incompatibleLineDelimiter"); //$NON-NLS-1$
+				throw new PatternSyntaxException(message, replaceText, offset);
+			}
+
+			fDocument.replace(offset, length, replaceText);
+			fFindReplaceState= operationCode;
+			fLiteralMatchOffset= -1;
+			fSearchOffset= offset + replaceText.length();
+
+			if (operationCode == REPLACE)
+				return new Region(offset, replaceText.length());
+		}
+
+		if (forwardSearch) {
+			int from= operationCode == FIND_FIRST ? startOffset : fSearchOffset;
+			int index= fLiteralMatcher.indexOf(fDocument, from);
+			fFindReplaceState= operationCode == REPLACE_FIND_NEXT ? FIND_NEXT : operationCode;
+			fLiteralMatchOffset= index;
+			if (index == -1)
+				return null;
+			fSearchOffset= index + length;
+			return new Region(index, length);
+		}
+
+		// backward search: the match must end at or before fFindReplaceMatchOffset + 1
+		int index= fLiteralMatcher.lastIndexOf(fDocument, fFindReplaceMatchOffset + 1 - length);
+		fFindReplaceMatchOffset= index;
+		fFindReplaceState= operationCode;
+		fLiteralMatchOffset= index;
+		if (index == -1)
+			return null;
+		fSearchOffset= index + length;
+		return new Region(index, length);
+	}
+
+	/**
+	 * Interprets the given regular expression replace string for the given match.
+	 *
+	 * @param pattern the pattern that found the match
+	 * @param prevMatch the matched text
+	 * @param replaceText the replace string, may contain escapes and group references
+	 * @return the text that replaces the match
+	 * @throws PatternSyntaxException if the replace string is invalid
+	 * @since 3.15
+	 */
+	private String interpretReplaceText(Pattern pattern, String prevMatch, String replaceText) throws PatternSyntaxException {
+		try {
+			replaceText= interpretReplaceEscapes(replaceText, prevMatch);
+			Matcher replaceTextMatcher= pattern.matcher(prevMatch);
+			return replaceTextMatcher.replaceFirst(replaceText);
+		} catch (IndexOutOfBoundsException | IllegalArgumentException ex) {
+			// These exceptions are thrown by Matcher#replaceFirst(), capturing information about
+			// invalid regular expression patterns, such as unfinished character escape sequences
+			// at the end of the pattern
+			throw new PatternSyntaxException(ex.getLocalizedMessage(), replaceText, -1);
+		}
+	}
+
 	/**
 	 * Substitutes \R in a regex find pattern with {@code (?>\r\n?|\n)}
 	 *
@@ -612,6 +749,129 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 		return findReplace(REPLACE, -1, null, text, false, false, false, regExReplace);
 	}
 
+	/**
+	 * Replaces all occurrences of the given string in the given range of the document. Each
+	 * search continues at the end of the previous match, for plain strings as well as for regular
+	 * expressions. Like {@link Matcher#replaceAll(String)}, empty matches of regular expressions,
+	 * e.g. of <code>^</code>, are replaced as well and the search continues one character after
+	 * them. A match must be completely inside the range, while regular expressions can look at the
+	 * text around the range, e.g. for <code>^</code> or <code>\b</code>.
+	 * <p>
+	 * All matches are searched first and then replaced by a single {@link MultiTextEdit}. If the
+	 * document supports rewrite sessions, the edit is applied inside a
+	 * {@link DocumentRewriteSession}, so that listeners which defer their work until the end of the
+	 * session process the changes only once. Consecutive replacements that are not separated by a
+	 * start or end of a document position are applied as a single document change.
+	 * </p>
+	 * <p>
+	 * The find state of this adapter is reset, i.e. a subsequent {@link #replace(String, boolean)}
+	 * must be preceded by a find operation.
+	 * </p>
+	 *
+	 * @param offset the offset of the range to search
+	 * @param length the length of the range to search
+	 * @param findString the string to find
+	 * @param replaceText the string to replace each match with
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param wholeWord indicates whether the findString should be limited by white spaces as
+	 *            defined by Character.isWhiteSpace. Must not be used in combination with
+	 *            <code>regExSearch</code>.
+	 * @param regExSearch if <code>true</code> findString represents a regular expression and
+	 *            replaceText may contain escapes and group references
+	 * @return the number of replaced matches
+	 * @throws BadLocationException if the range is not inside the document
+	 * @throws PatternSyntaxException if a regular expression has invalid syntax or if a
+	 *             replacement would require to repair the line information
+	 * @throws IllegalStateException if the document is already in a rewrite session
+	 * @since 3.15
+	 */
+	public int replaceAll(int offset, int length, String findString, String replaceText, boolean caseSensitive, boolean wholeWord, boolean regExSearch) throws BadLocationException {
+		Assert.isTrue(!(regExSearch && wholeWord));
+		if (offset < 0 || length < 0 || offset + length > length())
+			throw new BadLocationException();
+
+		// the matches are replaced as a whole, there is no current match afterwards
+		fFindReplaceState= null;
+		fLiteralMatchOffset= -1;
+		if (findString == null || findString.isEmpty())
+			return 0;
+
+		int end= offset + length;
+		MultiTextEdit root= new MultiTextEdit();
+		if (!regExSearch && !wholeWord && LiteralMatcher.isSupported(findString, caseSensitive)) {
+			LiteralMatcher matcher= new LiteralMatcher(findString, caseSensitive);
+			int matchLength= matcher.length();
+			int index= matcher.indexOf(fDocument, offset);
+			while (index != -1 && index + matchLength <= end) {
+				addReplaceEdit(root, index, matchLength, replaceText);
+				index= matcher.indexOf(fDocument, index + matchLength);
+			}
+		} else {
+			Matcher matcher= createMatcher(findString, caseSensitive, wholeWord, regExSearch);
+			try {
+				boolean found= matcher.find(offset);
+				// the position up to which the matcher appended the document to the replacement
+				int appendPosition= 0;
+				StringBuilder replacement= new StringBuilder();
+				// like Matcher.replaceAll, empty matches are replaced as well, the next find starts after them
+				while (found && matcher.end() <= end) {
+					String text= replaceText;
+					if (regExSearch) {
+						// group references and anchors refer to the match in the document
+						replacement.setLength(0);
+						appendReplacement(matcher, replacement, replaceText);
+						text= replacement.substring(matcher.start() - appendPosition);
+						appendPosition= matcher.end();
+					}
+					addReplaceEdit(root, matcher.start(), matcher.end() - matcher.start(), text);
+					found= matcher.find();
+				}
+			} catch (StackOverflowError e) {
+				String message= TextMessages.getString("FindReplaceDocumentAdapter.patternTooComplex"); //$NON-NLS-1$
+				throw new PatternSyntaxException(message, findString, -1);
+			}
+		}
+
+		if (!root.hasChildren())
+			return 0;
+		try {
+			new RewriteSessionEditProcessor(fDocument, root, TextEdit.NONE).performEdits();
+		} catch (MalformedTreeException e) {
+			// cannot happen, the matches do not overlap and there is at most one empty match per offset
+			throw new IllegalStateException(e);
+		}
+		return root.getChildrenSize();
+	}
+
+	/**
+	 * Appends the document from the last append position up to the current match of the given
+	 * matcher and the interpreted replace string to the given builder.
+	 *
+	 * @param matcher the matcher, positioned at a match
+	 * @param builder the builder to append to
+	 * @param replaceText the replace string, may contain escapes and group references
+	 * @throws PatternSyntaxException if the replace string is invalid
+	 */
+	private void appendReplacement(Matcher matcher, StringBuilder builder, String replaceText) throws PatternSyntaxException {
+		String text= interpretReplaceEscapes(replaceText, matcher.group());
+		try {
+			matcher.appendReplacement(builder, text);
+		} catch (IndexOutOfBoundsException | IllegalArgumentException ex) {
+			// thrown for invalid group references and unfinished escape sequences, as in
+			// interpretReplaceText(Pattern, String, String)
+			throw new PatternSyntaxException(ex.getLocalizedMessage(), text, -1);
+		}
+	}
+
+	private void addReplaceEdit(MultiTextEdit root, int offset, int length, String text) throws BadLocationException {
+		if (fDocument instanceof IRepairableDocumentExtension
+				&& ((IRepairableDocumentExtension)fDocument).isLineInformationRepairNeeded(offset, length, text)) {
+			String message= TextMessages.getString("FindReplaceDocumentAdapter.incompatibleLineDelimiter"); //$NON-NLS-1$
+			throw new PatternSyntaxException(message, text, offset);
+		}
+		root.addChild(new ReplaceEdit(offset, length, text));
+	}
+
 	// ---------- CharSequence implementation ----------
 
 	@Override
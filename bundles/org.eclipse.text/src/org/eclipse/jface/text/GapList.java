@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+
+/**
+ * A random access list that keeps a gap of unused slots at the location of the last insertion or
+ * removal, see {@link GapTextStore} for the same technique applied to text.
+ * <p>
+ * <strong>Performance:</strong> {@link #get(int)} and {@link #set(int, Object)} perform in
+ * <i>O(1)</i>. Inserting or removing an element at index <var>i</var> performs in <i>O(d)</i>,
+ * where <var>d</var> is the distance between <var>i</var> and the index of the previous insertion
+ * or removal. Sequences of modifications at nearby indices, like the ones caused by typing or by
+ * adding many positions in document order, therefore perform in amortized <i>O(1)</i>, whereas an
+ * {@link java.util.ArrayList} shifts all trailing elements on each of them.
+ * </p>
+ *
+ * @param <E> the type of the elements
+ */
+final class GapList<E> extends AbstractList<E> implements RandomAccess {
+
+	/** The minimal capacity allocated when the list grows */
+	private static final int MIN_CAPACITY= 16;
+
+	/** The elements, the slots from {@link #fGapStart} to {@link #fGapEnd} are unused */
+	private Object[] fElements= new Object[0];
+	/** The index of the first unused slot */
+	private int fGapStart= 0;
+	/** The index of the first used slot after the gap */
+	private int fGapEnd= 0;
+
+	/**
+	 * Creates a new empty list.
+	 */
+	GapList() {
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E get(int index) {
+		checkIndex(index, size());
+		return (E) fElements[index < fGapStart ? index : index + fGapEnd - fGapStart];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E set(int index, E element) {
+		checkIndex(index, size());
+		int slot= index < fGapStart ? index : index + fGapEnd - fGapStart;
+		E previous= (E) fElements[slot];
+		fElements[slot]= element;
+		return previous;
+	}
+
+	@Override
+	public int size() {
+		return fElements.length - (fGapEnd - fGapStart);
+	}
+
+	@Override
+	public void add(int index, E element) {
+		checkIndex(index, size() + 1);
+		if (fGapStart == fGapEnd)
+			grow(index);
+		else
+			moveGap(index);
+		fElements[fGapStart++]= element;
+		modCount++;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E remove(int index) {
+		checkIndex(index, size());
+		moveGap(index);
+		E removed= (E) fElements[fGapEnd];
+		fElements[fGapEnd++]= null;
+		modCount++;
+		return removed;
+	}
+
+	@Override
+	public void clear() {
+		fElements= new Object[0];
+		fGapStart= 0;
+		fGapEnd= 0;
+		modCount++;
+	}
+
+	@Override
+	public Object[] toArray() {
+		return toArray(new Object[size()]);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T[] toArray(T[] array) {
+		int size= size();
+		if (array.length < size)
+			array= (T[]) Array.newInstance(array.getClass().getComponentType(), size);
+		System.arraycopy(fElements, 0, array, 0, fGapStart);
+		System.arraycopy(fElements, fGapEnd, array, fGapStart, fElements.length - fGapEnd);
+		if (array.length > size)
+			array[size]= null;
+		return array;
+	}
+
+	/**
+	 * Moves the gap so that it starts at the given index.
+	 *
+	 * @param index the new start of the gap
+	 */
+	private void moveGap(int index) {
+		int gapLength= fGapEnd - fGapStart;
+		if (index < fGapStart) {
+			System.arraycopy(fElements, index, fElements, index + gapLength, fGapStart - index);
+			Arrays.fill(fElements, index, Math.min(index + gapLength, fGapStart), null);
+		} else if (index > fGapStart) {
+			System.arraycopy(fElements, fGapEnd, fElements, fGapStart, index - fGapStart);
+			Arrays.fill(fElements, Math.max(fGapEnd, index), index + gapLength, null);
+		}
+		fGapStart= index;
+		fGapEnd= index + gapLength;
+	}
+
+	/**
+	 * Re-allocates the elements such that a new gap starts at the given index. Must only be called
+	 * if the current gap is empty.
+	 *
+	 * @param index the start of the new gap
+	 */
+	private void grow(int index) {
+		int size= size();
+		Object[] elements= new Object[Math.max(MIN_CAPACITY, size + (size >> 1))];
+		int gapEnd= elements.length - (size - index);
+		System.arraycopy(fElements, 0, elements, 0, index);
+		System.arraycopy(fElements, index, elements, gapEnd, size - index);
+		fElements= elements;
+		fGapStart= index;
+		fGapEnd= gapEnd;
+	}
+
+	private static void checkIndex(int index, int bound) {
+		if (index < 0 || index >= bound)
+			throw new IndexOutOfBoundsException("index: " + index + ", bound: " + bound); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
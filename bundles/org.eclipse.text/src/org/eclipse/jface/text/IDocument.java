@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -91,6 +91,9 @@ package org.eclipse.jface.text;
  *      concept of rewrite sessions. A rewrite session is a sequence of document replace operations
  *      that form a semantic unit. It also introduces a modification stamp and the ability to
  *      set the initial line delimiter and to query the default line delimiter.</li>
+ * <li> {@link org.eclipse.jface.text.IDocumentExtension5} since version 3.15 introducing
+ *      immutable snapshots of the document's content and line information that can be read
+ *      by background jobs.</li>
  * </ul>
  * <p>
  * Clients may implement this interface and its extension interfaces or use the default
@@ -100,6 +103,7 @@ package org.eclipse.jface.text;
  * @see org.eclipse.jface.text.IDocumentExtension2
  * @see org.eclipse.jface.text.IDocumentExtension3
  * @see org.eclipse.jface.text.IDocumentExtension4
+ * @see org.eclipse.jface.text.IDocumentExtension5
  * @see org.eclipse.jface.text.Position
  * @see org.eclipse.jface.text.IPositionUpdater
  * @see org.eclipse.jface.text.IDocumentPartitioner
@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+
+/**
+ * Extension interface for {@link org.eclipse.jface.text.IDocument}. It adds the concept of
+ * immutable snapshots of the document's content and line structure that can be read by
+ * background jobs, e.g. reconcilers, while the document is being modified.
+ *
+ * @see ITextSnapshot
+ * @since 3.15
+ */
+public interface IDocumentExtension5 {
+
+	/**
+	 * Returns an immutable snapshot of this document's content and line information.
+	 * <p>
+	 * Depending on the text store of the document, taking a snapshot either shares the
+	 * structure of the store and is independent of the length of the document, or copies the
+	 * content.
+	 * </p>
+	 *
+	 * @return the snapshot of this document
+	 */
+	ITextSnapshot getSnapshot();
+
+	/**
+	 * Tells whether {@link #getSnapshot()} shares the structure of this document's text store,
+	 * i.e. whether taking a snapshot is independent of the length of the document. If not, taking
+	 * a snapshot copies the content and the line information, which is more expensive than just
+	 * copying the content.
+	 *
+	 * @return <code>true</code> if taking a snapshot does not copy the content
+	 */
+	boolean isSnapshotShared();
+}
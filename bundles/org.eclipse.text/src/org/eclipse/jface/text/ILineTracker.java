@@ -29,6 +29,8 @@ package org.eclipse.jface.text;
  * <ul>
  * <li> {@link org.eclipse.jface.text.ILineTrackerExtension} since version 3.1 introducing the concept
  *      of rewrite sessions.</li>
+ * <li> {@link org.eclipse.jface.text.ILineTrackerExtension2} since version 3.15 introducing bulk
+ *      queries of line offsets.</li>
  * </ul>
  * <p>
  * Clients may implement this interface or use the standard implementation
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+/**
+ * Extension interface for {@link org.eclipse.jface.text.ILineTracker}. Allows to query the
+ * offsets of a range of lines at once, e.g. for all lines visible in a viewer, without creating
+ * an object per line.
+ *
+ * @since 3.15
+ */
+public interface ILineTrackerExtension2 {
+
+	/**
+	 * Stores the offsets of the lines <code>fromLine</code> (inclusive) to <code>toLine</code>
+	 * (exclusive) in the given array, starting at index 0. The result is the same as calling
+	 * {@link ILineTracker#getLineOffset(int)} for each of the lines.
+	 *
+	 * @param fromLine the first line whose offset is queried
+	 * @param toLine the line following the last line whose offset is queried
+	 * @param offsets the array receiving the line offsets, its length must be at least
+	 *            <code>toLine - fromLine</code>
+	 * @exception BadLocationException if the line range is invalid in this tracker's line
+	 *                structure
+	 */
+	void getLineOffsets(int fromLine, int toLine, int[] offsets) throws BadLocationException;
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+
+/**
+ * An immutable view of the content and the line structure of a document at a given point in time.
+ * A snapshot never changes when the document is modified afterwards and may be read from any
+ * thread without locking the document.
+ * <p>
+ * The line information is based on the document's legal line delimiters, e.g.
+ * {@link #getLineOffset(int)} returns the same value as {@link IDocument#getLineOffset(int)} for
+ * a document with the content of the snapshot.
+ * </p>
+ * <p>
+ * This interface is not intended to be implemented by clients.
+ * </p>
+ *
+ * @see IDocumentExtension5
+ * @since 3.15
+ * @noimplement This interface is not intended to be implemented by clients.
+ */
+public interface ITextSnapshot extends CharSequence {
+
+	/**
+	 * Returns the modification stamp the document had when this snapshot was taken.
+	 *
+	 * @return the modification stamp of the document or
+	 *         {@link IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP}
+	 */
+	long getModificationStamp();
+
+	/**
+	 * Returns the number of lines of this snapshot.
+	 *
+	 * @return the number of lines
+	 * @see IDocument#getNumberOfLines()
+	 */
+	int getNumberOfLines();
+
+	/**
+	 * Returns the offset of the given line.
+	 *
+	 * @param line the line of interest
+	 * @return the offset of the line
+	 * @throws BadLocationException if the line is invalid in this snapshot
+	 * @see IDocument#getLineOffset(int)
+	 */
+	int getLineOffset(int line) throws BadLocationException;
+
+	/**
+	 * Returns the length of the given line including the line's delimiter.
+	 *
+	 * @param line the line of interest
+	 * @return the length of the line
+	 * @throws BadLocationException if the line is invalid in this snapshot
+	 * @see IDocument#getLineLength(int)
+	 */
+	int getLineLength(int line) throws BadLocationException;
+
+	/**
+	 * Returns the number of the line at which the character of the specified position is
+	 * located. The first line has the line number 0.
+	 *
+	 * @param offset the offset, <code>0 &lt;= offset &lt;= length()</code>
+	 * @return the number of the line
+	 * @throws BadLocationException if the offset is invalid in this snapshot
+	 * @see IDocument#getLineOfOffset(int)
+	 */
+	int getLineOfOffset(int offset) throws BadLocationException;
+
+	/**
+	 * Describes the given line by its offset and its length excluding the line's delimiter.
+	 *
+	 * @param line the line of interest
+	 * @return the line's description
+	 * @throws BadLocationException if the line is invalid in this snapshot
+	 * @see IDocument#getLineInformation(int)
+	 */
+	IRegion getLineInformation(int line) throws BadLocationException;
+}
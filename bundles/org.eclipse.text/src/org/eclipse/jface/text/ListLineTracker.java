@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,8 +13,9 @@
  *******************************************************************************/
 package org.eclipse.jface.text;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 import org.eclipse.jface.text.AbstractLineTracker.DelimiterInfo;
 
@@ -30,14 +31,122 @@ import org.eclipse.jface.text.AbstractLineTracker.DelimiterInfo;
  * <li> "a\nb" -&gt; [0,2], [2,1]
  * <li> "a\nbc\n" -&gt; [0,2], [2,3], [5,0]
  * </ul>
+ * The lines are stored in primitive arrays. If the tracker uses the
+ * {@linkplain DefaultLineTracker#DELIMITERS default delimiters}, the lines of large texts are
+ * computed in parallel.
+ * <p>
  * This class must be subclassed.
+ * </p>
  *
  * @since 3.2
  */
-abstract class ListLineTracker implements ILineTracker {
+abstract class ListLineTracker implements ILineTracker, ILineTrackerExtension2 {
 
-	/** The line information */
-	private final List<Line> fLines= new ArrayList<>();
+	/** Marks a line without delimiter in {@link #fDelimiters}. */
+	private static final byte NO_DELIMITER= -1;
+	/** The minimal number of characters scanned by one task of the parallel scan. */
+	private static final int PARALLEL_SCAN_THRESHOLD= 1 << 20;
+
+	/**
+	 * Scans a range of a text for the {@linkplain DefaultLineTracker#DELIMITERS default
+	 * delimiters}. Large ranges are split in two halves which are scanned in parallel, a
+	 * <code>"\r\n"</code> delimiter is never split.
+	 */
+	private static final class DelimiterScan extends RecursiveAction {
+
+		private static final long serialVersionUID= 1L;
+
+		private final String fText;
+		private final int fStart;
+		private final int fEnd;
+
+		/** The scans of the two halves, <code>null</code> if the range was scanned directly */
+		private DelimiterScan fFirst, fSecond;
+		/** The offsets following the found delimiters */
+		private int[] fEnds;
+		/** The indices of the found delimiters in {@link DefaultLineTracker#DELIMITERS} */
+		private byte[] fKinds;
+		/** The number of found delimiters */
+		private int fCount;
+
+		DelimiterScan(String text, int start, int end) {
+			fText= text;
+			fStart= start;
+			fEnd= end;
+		}
+
+		@Override
+		protected void compute() {
+			if (fEnd - fStart > 2 * PARALLEL_SCAN_THRESHOLD) {
+				int middle= (fStart + fEnd) >>> 1;
+				if (fText.charAt(middle - 1) == '\r' && fText.charAt(middle) == '\n')
+					middle++;
+				fFirst= new DelimiterScan(fText, fStart, middle);
+				fSecond= new DelimiterScan(fText, middle, fEnd);
+				ForkJoinTask.invokeAll(fFirst, fSecond);
+				fCount= fFirst.fCount + fSecond.fCount;
+				return;
+			}
+
+			int[] ends= new int[Math.max(16, (fEnd - fStart) >> 5)];
+			byte[] kinds= new byte[ends.length];
+			int count= 0;
+			for (int i= fStart; i < fEnd; i++) {
+				char ch= fText.charAt(i);
+				if (ch != '\r' && ch != '\n')
+					continue;
+
+				byte kind;
+				if (ch == '\n') {
+					kind= 1;
+				} else if (i + 1 < fEnd && fText.charAt(i + 1) == '\n') {
+					kind= 2;
+					i++;
+				} else {
+					kind= 0;
+				}
+				if (count == ends.length) {
+					ends= Arrays.copyOf(ends, 2 * count);
+					kinds= Arrays.copyOf(kinds, 2 * count);
+				}
+				ends[count]= i + 1;
+				kinds[count]= kind;
+				count++;
+			}
+			fEnds= ends;
+			fKinds= kinds;
+			fCount= count;
+		}
+
+		/**
+		 * Copies the found lines into the given arrays.
+		 *
+		 * @param offsets the array receiving the line offsets, the offset following the delimiter
+		 *            of line <code>i</code> is stored at <code>i + 1</code>
+		 * @param kinds the array receiving the delimiter indices
+		 * @param line the index of the first line to copy
+		 * @return the index of the line following the last copied line
+		 */
+		int copyTo(int[] offsets, byte[] kinds, int line) {
+			if (fFirst != null)
+				return fSecond.copyTo(offsets, kinds, fFirst.copyTo(offsets, kinds, line));
+			System.arraycopy(fEnds, 0, offsets, line + 1, fCount);
+			System.arraycopy(fKinds, 0, kinds, line, fCount);
+			return line + fCount;
+		}
+	}
+
+	/** The number of lines */
+	private int fLineCount;
+	/**
+	 * The offsets of the lines, followed by the length of the text. Only the first
+	 * <code>fLineCount + 1</code> elements are used.
+	 */
+	private int[] fOffsets= new int[1];
+	/** The indices of the line delimiters in {@link #fDelimiterTable} or {@link #NO_DELIMITER} */
+	private byte[] fDelimiters= new byte[0];
+	/** The distinct line delimiters */
+	private String[] fDelimiterTable= new String[0];
 	/** The length of the tracked text */
 	private int fTextLength;
 
@@ -47,6 +156,18 @@ abstract class ListLineTracker implements ILineTracker {
 	protected ListLineTracker() {
 	}
 
+	/**
+	 * Tells whether {@link #nextDelimiterInfo(String, int)} detects exactly the
+	 * {@linkplain DefaultLineTracker#DELIMITERS default delimiters} as
+	 * {@link DefaultLineTracker} does. If so, the text is scanned directly and large texts are
+	 * scanned in parallel.
+	 *
+	 * @return <code>true</code> if the default delimiters are used
+	 */
+	boolean usesDefaultDelimiters() {
+		return false;
+	}
+
 	/**
 	 * Binary search for the line at a given offset.
 	 *
@@ -54,39 +175,20 @@ abstract class ListLineTracker implements ILineTracker {
 	 * @return the line of the offset
 	 */
 	private int findLine(int offset) {
-
-		if (fLines.isEmpty())
+		if (fLineCount == 0)
 			return -1;
 
-		int left= 0;
-		int right= fLines.size() - 1;
-		int mid= 0;
-		Line line= null;
-
-		while (left < right) {
-
-			mid= (left + right) / 2;
-
-			line= fLines.get(mid);
-			if (offset < line.offset) {
-				if (left == mid)
-					right= left;
-				else
-					right= mid - 1;
-			} else if (offset > line.offset) {
-				if (right == mid)
-					left= right;
-				else
-					left= mid + 1;
-			} else if (offset == line.offset) {
-				left= right= mid;
-			}
-		}
+		int line= Arrays.binarySearch(fOffsets, 0, fLineCount, offset);
+		return line >= 0 ? line : -line - 2;
+	}
+
+	private int lineLength(int line) {
+		return fOffsets[line + 1] - fOffsets[line];
+	}
 
-		line= fLines.get(left);
-		if (line.offset > offset)
-			--left;
-		return left;
+	private String delimiter(int line) {
+		byte delimiter= fDelimiters[line];
+		return delimiter == NO_DELIMITER ? null : fDelimiterTable[delimiter];
 	}
 
 	/**
@@ -105,15 +207,14 @@ abstract class ListLineTracker implements ILineTracker {
 
 		int target= offset + length;
 
-		Line l= fLines.get(startLine);
-
-		if (l.delimiter == null)
+		if (fDelimiters[startLine] == NO_DELIMITER)
 			return 1;
 
-		if (l.offset + l.length > target)
+		int end= fOffsets[startLine + 1];
+		if (end > target)
 			return 1;
 
-		if (l.offset + l.length == target)
+		if (end == target)
 			return 2;
 
 		return getLineNumberOfOffset(target) - startLine + 1;
@@ -121,7 +222,7 @@ abstract class ListLineTracker implements ILineTracker {
 
 	@Override
 	public final int getLineLength(int line) throws BadLocationException {
-		int lines= fLines.size();
+		int lines= fLineCount;
 
 		if (line < 0 || line > lines)
 			throw new BadLocationException();
@@ -129,8 +230,7 @@ abstract class ListLineTracker implements ILineTracker {
 		if (lines == 0 || lines == line)
 			return 0;
 
-		Line l= fLines.get(line);
-		return l.length;
+		return lineLength(line);
 	}
 
 	@Override
@@ -143,12 +243,11 @@ abstract class ListLineTracker implements ILineTracker {
 
 		if (position == fTextLength) {
 
-			int lastLine= fLines.size() - 1;
+			int lastLine= fLineCount - 1;
 			if (lastLine < 0)
 				return 0;
 
-			Line l= fLines.get(lastLine);
-			return (l.delimiter != null ? lastLine + 1 : lastLine);
+			return (fDelimiters[lastLine] != NO_DELIMITER ? lastLine + 1 : lastLine);
 		}
 
 		return findLine(position);
@@ -160,11 +259,11 @@ abstract class ListLineTracker implements ILineTracker {
 			throw new BadLocationException("Offset > length: " + position + " > " + fTextLength);  //$NON-NLS-1$//$NON-NLS-2$
 
 		if (position == fTextLength) {
-			int size= fLines.size();
+			int size= fLineCount;
 			if (size == 0)
 				return new Region(0, 0);
-			Line l= fLines.get(size - 1);
-			return (l.delimiter != null ? new Line(fTextLength, 0) : new Line(fTextLength - l.length, l.length));
+			int length= lineLength(size - 1);
+			return (fDelimiters[size - 1] != NO_DELIMITER ? new Line(fTextLength, 0) : new Line(fTextLength - length, length));
 		}
 
 		return getLineInformation(findLine(position));
@@ -172,7 +271,7 @@ abstract class ListLineTracker implements ILineTracker {
 
 	@Override
 	public final IRegion getLineInformation(int line) throws BadLocationException {
-		int lines= fLines.size();
+		int lines= fLineCount;
 
 		if (line < 0 || line > lines)
 			throw new BadLocationException();
@@ -180,18 +279,17 @@ abstract class ListLineTracker implements ILineTracker {
 		if (lines == 0)
 			return new Line(0, 0);
 
-		if (line == lines) {
-			Line l= fLines.get(line - 1);
-			return new Line(l.offset + l.length, 0);
-		}
+		if (line == lines)
+			return new Line(fOffsets[line], 0);
 
-		Line l= fLines.get(line);
-		return (l.delimiter != null ? new Line(l.offset, l.length - l.delimiter.length()) : l);
+		String delimiter= delimiter(line);
+		int length= lineLength(line);
+		return new Line(fOffsets[line], delimiter != null ? length - delimiter.length() : length);
 	}
 
 	@Override
 	public final int getLineOffset(int line) throws BadLocationException {
-		int lines= fLines.size();
+		int lines= fLineCount;
 
 		if (line < 0 || line > lines)
 			throw new BadLocationException();
@@ -200,25 +298,38 @@ abstract class ListLineTracker implements ILineTracker {
 			return 0;
 
 		if (line == lines) {
-			Line l= fLines.get(line - 1);
-			if (l.delimiter != null)
-				return l.offset + l.length;
+			if (fDelimiters[line - 1] != NO_DELIMITER)
+				return fOffsets[line];
 			throw new BadLocationException();
 		}
 
-		Line l= fLines.get(line);
-		return l.offset;
+		return fOffsets[line];
+	}
+
+	@Override
+	public final void getLineOffsets(int fromLine, int toLine, int[] offsets) throws BadLocationException {
+		if (fromLine < 0 || toLine < fromLine || toLine > getNumberOfLines())
+			throw new BadLocationException();
+		if (offsets.length < toLine - fromLine)
+			throw new IllegalArgumentException();
+
+		if (fLineCount == 0) {
+			if (toLine > fromLine)
+				offsets[0]= 0;
+			return;
+		}
+		// the offset of the trailing empty line is stored as the text length
+		System.arraycopy(fOffsets, fromLine, offsets, 0, toLine - fromLine);
 	}
 
 	@Override
 	public final int getNumberOfLines() {
-		int lines= fLines.size();
+		int lines= fLineCount;
 
 		if (lines == 0)
 			return 1;
 
-		Line l= fLines.get(lines - 1);
-		return (l.delimiter != null ? lines + 1 : lines);
+		return (fDelimiters[lines - 1] != NO_DELIMITER ? lines + 1 : lines);
 	}
 
 	@Override
@@ -248,7 +359,7 @@ abstract class ListLineTracker implements ILineTracker {
 
 	@Override
 	public final String getLineDelimiter(int line) throws BadLocationException {
-		int lines= fLines.size();
+		int lines= fLineCount;
 
 		if (line < 0 || line > lines)
 			throw new BadLocationException();
@@ -259,8 +370,7 @@ abstract class ListLineTracker implements ILineTracker {
 		if (line == lines)
 			return null;
 
-		Line l= fLines.get(line);
-		return l.delimiter;
+		return delimiter(line);
 	}
 
 	/**
@@ -274,49 +384,79 @@ abstract class ListLineTracker implements ILineTracker {
 	protected abstract DelimiterInfo nextDelimiterInfo(String text, int offset);
 
 	/**
-	 * Creates the line structure for the given text. Newly created lines are inserted into the line
-	 * structure starting at the given position. Returns the number of newly created lines.
+	 * Creates the line structure for the given text using {@link #nextDelimiterInfo(String, int)}.
 	 *
 	 * @param text the text for which to create a line structure
-	 * @param insertPosition the position at which the newly created lines are inserted into the
-	 *        tracker's line structure
-	 * @param offset the offset of all newly created lines
-	 * @return the number of newly created lines
 	 */
-	private int createLines(String text, int insertPosition, int offset) {
-
-		int count= 0;
+	private void createLines(String text) {
 		int start= 0;
 		DelimiterInfo delimiterInfo= nextDelimiterInfo(text, 0);
 
 		while (delimiterInfo != null && delimiterInfo.delimiterIndex > -1) {
+			int end= delimiterInfo.delimiterIndex + delimiterInfo.delimiterLength;
+			addLine(start, delimiterIndex(delimiterInfo.delimiter));
+			start= end;
+			delimiterInfo= nextDelimiterInfo(text, start);
+		}
 
-			int index= delimiterInfo.delimiterIndex + (delimiterInfo.delimiterLength - 1);
+		if (start < text.length())
+			addLine(start, NO_DELIMITER);
+	}
 
-			if (insertPosition + count >= fLines.size())
-				fLines.add(new Line(offset + start, offset + index, delimiterInfo.delimiter));
-			else
-				fLines.add(insertPosition + count, new Line(offset + start, offset + index, delimiterInfo.delimiter));
+	/**
+	 * Creates the line structure for the given text which uses the
+	 * {@linkplain DefaultLineTracker#DELIMITERS default delimiters}. Large texts are scanned in
+	 * parallel.
+	 *
+	 * @param text the text for which to create a line structure
+	 */
+	private void createDefaultLines(String text) {
+		DelimiterScan scan= new DelimiterScan(text, 0, text.length());
+		if (text.length() > 2 * PARALLEL_SCAN_THRESHOLD)
+			scan.invoke();
+		else
+			scan.compute();
+
+		int count= scan.fCount;
+		boolean incompleteLastLine= count == 0 || lastEnd(scan) < text.length();
+		int lines= incompleteLastLine ? count + 1 : count;
+		int[] offsets= new int[lines + 1];
+		byte[] kinds= new byte[lines];
+		scan.copyTo(offsets, kinds, 0);
+		if (incompleteLastLine)
+			kinds[lines - 1]= NO_DELIMITER;
+
+		fDelimiterTable= DefaultLineTracker.DELIMITERS;
+		fOffsets= offsets;
+		fDelimiters= kinds;
+		fLineCount= text.isEmpty() ? 0 : lines;
+	}
 
-			++count;
-			start= index + 1;
-			delimiterInfo= nextDelimiterInfo(text, start);
-		}
+	private static int lastEnd(DelimiterScan scan) {
+		while (scan.fFirst != null)
+			scan= scan.fSecond.fCount > 0 ? scan.fSecond : scan.fFirst;
+		return scan.fEnds[scan.fCount - 1];
+	}
 
-		if (start < text.length()) {
-			if (insertPosition + count < fLines.size()) {
-				// there is a line below the current
-				Line l= fLines.get(insertPosition + count);
-				int delta= text.length() - start;
-				l.offset-= delta;
-				l.length+= delta;
-			} else {
-				fLines.add(new Line(offset + start, offset + text.length() - 1, null));
-				++count;
-			}
+	private int delimiterIndex(String delimiter) {
+		for (int i= 0; i < fDelimiterTable.length; i++) {
+			if (fDelimiterTable[i].equals(delimiter))
+				return i;
 		}
+		fDelimiterTable= Arrays.copyOf(fDelimiterTable, fDelimiterTable.length + 1);
+		fDelimiterTable[fDelimiterTable.length - 1]= delimiter;
+		return fDelimiterTable.length - 1;
+	}
 
-		return count;
+	private void addLine(int offset, int delimiter) {
+		if (fLineCount + 1 >= fOffsets.length) {
+			int capacity= Math.max(16, 2 * fOffsets.length);
+			fOffsets= Arrays.copyOf(fOffsets, capacity);
+			fDelimiters= Arrays.copyOf(fDelimiters, capacity);
+		}
+		fOffsets[fLineCount]= offset;
+		fDelimiters[fLineCount]= (byte) delimiter;
+		fLineCount++;
 	}
 
 	@Override
@@ -326,22 +466,51 @@ abstract class ListLineTracker implements ILineTracker {
 
 	@Override
 	public final void set(String text) {
-		fLines.clear();
+		fLineCount= 0;
+		fOffsets= new int[1];
+		fDelimiters= new byte[0];
+		fDelimiterTable= new String[0];
 		if (text != null) {
 			fTextLength= text.length();
-			createLines(text, 0, 0);
+			if (usesDefaultDelimiters())
+				createDefaultLines(text);
+			else
+				createLines(text);
 		} else {
 			fTextLength= 0;
 		}
+		fOffsets[fLineCount]= fTextLength;
+	}
+
+	/**
+	 * Returns the number of lines stored by this tracker, a trailing empty line is not stored.
+	 * Used only by {@link TreeLineTracker#TreeLineTracker(ListLineTracker)}.
+	 *
+	 * @return the number of stored lines
+	 */
+	final int getStoredLineCount() {
+		return fLineCount;
+	}
+
+	/**
+	 * Returns the length of the given stored line including its delimiter. Used only by
+	 * {@link TreeLineTracker#TreeLineTracker(ListLineTracker)}.
+	 *
+	 * @param line the index of a stored line
+	 * @return the length of the line
+	 */
+	final int getStoredLineLength(int line) {
+		return lineLength(line);
 	}
 
 	/**
-	 * Returns the internal data structure, a {@link List} of {@link Line}s. Used only by
+	 * Returns the delimiter of the given stored line. Used only by
 	 * {@link TreeLineTracker#TreeLineTracker(ListLineTracker)}.
 	 *
-	 * @return the internal list of lines.
+	 * @param line the index of a stored line
+	 * @return the delimiter of the line or <code>null</code>
 	 */
-	final List<Line> getLines() {
-		return fLines;
+	final String getStoredLineDelimiter(int line) {
+		return delimiter(line);
 	}
 }
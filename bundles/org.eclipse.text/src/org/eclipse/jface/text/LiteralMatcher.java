@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+
+/**
+ * Finds a constant string in a document using the Boyer-Moore-Horspool algorithm. The document
+ * is read in chunks, so that neither the whole content is copied nor every character is fetched
+ * individually.
+ * <p>
+ * Case-insensitive matching folds each character with
+ * <code>Character.toLowerCase(Character.toUpperCase(ch))</code>, as
+ * {@link java.util.regex.Pattern} does for {@link java.util.regex.Pattern#CASE_INSENSITIVE} and
+ * {@link java.util.regex.Pattern#UNICODE_CASE}.
+ * </p>
+ *
+ * @see FindReplaceDocumentAdapter
+ */
+final class LiteralMatcher {
+
+	/** The number of characters read from the document at once */
+	private static final int CHUNK_SIZE= 64 * 1024;
+	/** The size of the shift tables, characters are mapped by their low byte */
+	private static final int TABLE_SIZE= 256;
+
+	/** The original pattern */
+	private final String fPattern;
+	/** The folded pattern characters */
+	private final char[] fChars;
+	private final boolean fCaseSensitive;
+	/** The shift of the search window per last character for searching forward */
+	private final int[] fForwardShift= new int[TABLE_SIZE];
+	/** The shift of the search window per first character for searching backward */
+	private final int[] fBackwardShift= new int[TABLE_SIZE];
+
+	/**
+	 * Creates a new matcher.
+	 *
+	 * @param pattern the non-empty string to find, must be {@linkplain #isSupported(String, boolean)
+	 *            supported}
+	 * @param caseSensitive <code>true</code> if the case has to match
+	 */
+	LiteralMatcher(String pattern, boolean caseSensitive) {
+		fPattern= pattern;
+		fCaseSensitive= caseSensitive;
+		int length= pattern.length();
+		fChars= new char[length];
+		for (int i= 0; i < length; i++)
+			fChars[i]= fold(pattern.charAt(i));
+
+		for (int i= 0; i < TABLE_SIZE; i++) {
+			fForwardShift[i]= length;
+			fBackwardShift[i]= length;
+		}
+		// characters sharing a low byte get the smallest of their shifts
+		for (int i= 0; i < length - 1; i++)
+			fForwardShift[fChars[i] & 0xFF]= length - 1 - i;
+		for (int i= length - 1; i > 0; i--)
+			fBackwardShift[fChars[i] & 0xFF]= i;
+	}
+
+	/**
+	 * Tells whether the given string can be searched with a literal matcher such that the result
+	 * is the same as searching for the quoted string with {@link java.util.regex.Pattern}. This is
+	 * not the case for case-insensitive searches for strings containing surrogate characters, which
+	 * the regular expression engine folds per code point.
+	 *
+	 * @param pattern the string to find
+	 * @param caseSensitive <code>true</code> if the case has to match
+	 * @return <code>true</code> if a literal matcher can be used
+	 */
+	static boolean isSupported(String pattern, boolean caseSensitive) {
+		if (pattern.isEmpty())
+			return false;
+		if (caseSensitive)
+			return true;
+		for (int i= 0; i < pattern.length(); i++) {
+			if (Character.isSurrogate(pattern.charAt(i)))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the string searched by this matcher.
+	 *
+	 * @return the string to find
+	 */
+	String getPattern() {
+		return fPattern;
+	}
+
+	/**
+	 * Returns the length of the matches.
+	 *
+	 * @return the length of the string to find
+	 */
+	int length() {
+		return fChars.length;
+	}
+
+	boolean isCaseSensitive() {
+		return fCaseSensitive;
+	}
+
+	/**
+	 * Returns the offset of the first match that starts at or after the given offset.
+	 *
+	 * @param document the document to search
+	 * @param from the offset at which the search starts
+	 * @return the offset of the match, <code>-1</code> if there is none
+	 * @throws BadLocationException if the document cannot be read
+	 */
+	int indexOf(IDocument document, int from) throws BadLocationException {
+		int length= fChars.length;
+		int end= document.getLength();
+		int position= Math.max(0, from);
+		while (end - position >= length) {
+			int chunkLength= Math.min(CHUNK_SIZE + length - 1, end - position);
+			String chunk= document.get(position, chunkLength);
+			int index= indexOf(chunk);
+			if (index >= 0)
+				return position + index;
+			position+= chunkLength - length + 1;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the offset of the last match that starts at or before the given offset.
+	 *
+	 * @param document the document to search
+	 * @param from the largest offset at which a match may start
+	 * @return the offset of the match, <code>-1</code> if there is none
+	 * @throws BadLocationException if the document cannot be read
+	 */
+	int lastIndexOf(IDocument document, int from) throws BadLocationException {
+		int length= fChars.length;
+		if (from < 0)
+			return -1;
+		int end= Math.min(document.getLength(), from + length);
+		while (end >= length) {
+			int start= Math.max(0, end - (CHUNK_SIZE + length - 1));
+			String chunk= document.get(start, end - start);
+			int index= lastIndexOf(chunk);
+			if (index >= 0)
+				return start + index;
+			end= start + length - 1;
+		}
+		return -1;
+	}
+
+	private int indexOf(String text) {
+		char[] chars= fChars;
+		int last= chars.length - 1;
+		int[] shift= fForwardShift;
+		int i= 0;
+		int limit= text.length() - chars.length;
+		while (i <= limit) {
+			char ch= fold(text.charAt(i + last));
+			if (ch == chars[last] && matches(text, i))
+				return i;
+			i+= shift[ch & 0xFF];
+		}
+		return -1;
+	}
+
+	private int lastIndexOf(String text) {
+		char[] chars= fChars;
+		int[] shift= fBackwardShift;
+		int i= text.length() - chars.length;
+		while (i >= 0) {
+			char ch= fold(text.charAt(i));
+			if (ch == chars[0] && matches(text, i))
+				return i;
+			i-= shift[ch & 0xFF];
+		}
+		return -1;
+	}
+
+	private boolean matches(String text, int offset) {
+		char[] chars= fChars;
+		for (int j= 0; j < chars.length; j++) {
+			if (fold(text.charAt(offset + j)) != chars[j])
+				return false;
+		}
+		return true;
+	}
+
+	private char fold(char ch) {
+		if (fCaseSensitive)
+			return ch;
+		return Character.toLowerCase(Character.toUpperCase(ch));
+	}
+}
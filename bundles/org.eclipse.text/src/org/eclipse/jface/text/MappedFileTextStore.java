@@ -0,0 +1,316 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+
+/**
+ * A {@link PieceTreeTextStore} whose initial content is a file that is kept off the heap. The file
+ * is copied once into a private temporary file, which is memory-mapped and decoded lazily in
+ * chunks; only the chunk index and a small number of decoded chunks are kept on the heap.
+ * Modifications are recorded as pieces on top of the mapped content, i.e. neither file is ever
+ * written by the store.
+ * <p>
+ * Since the store maps its own copy, the original file can be changed, truncated, replaced or
+ * deleted at any time without affecting the content of the store. The copy is deleted when it is
+ * no longer mapped, i.e. after the store has been detached or garbage collected.
+ * </p>
+ * <p>
+ * Opening a file copies it and decodes it once to build the chunk index, unless the charset is a
+ * single-byte charset in which case character and byte offsets are identical and no decoding is
+ * needed.
+ * </p>
+ * <p>
+ * Only files of at most {@link Integer#MAX_VALUE} bytes and charsets for which
+ * {@link #isSupported(Charset)} answers <code>true</code> can be mapped.
+ * </p>
+ * <p>
+ * Calling {@link #set(String)} replaces the mapped content.
+ * </p>
+ *
+ * @since 3.15
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class MappedFileTextStore extends PieceTreeTextStore {
+
+	/**
+	 * The lazily decoded content of a mapped file.
+	 */
+	private static final class MappedContent implements CharSequence {
+
+		/** The number of characters per decoded chunk */
+		private static final int CHUNK_SIZE= 64 * 1024;
+		/** The number of decoded chunks that are cached */
+		private static final int CACHE_SIZE= 8;
+
+		private final MappedByteBuffer fBytes;
+		private final Charset fCharset;
+		/** <code>true</code> if each byte decodes to exactly one character */
+		private final boolean fSingleByte;
+		/** The character offsets at which the chunks start, followed by the total length */
+		private final int[] fChunkOffsets;
+		/** The byte offsets at which the chunks start, followed by the total byte length */
+		private final int[] fChunkByteOffsets;
+		private final int fLength;
+
+		/** The indices of the cached chunks, -1 for unused slots */
+		private final int[] fCachedChunkIndices= new int[CACHE_SIZE];
+		/** The decoded cached chunks */
+		private final char[][] fCachedChunks= new char[CACHE_SIZE][];
+		/** The next cache slot to be replaced */
+		private int fNextCacheSlot= 0;
+
+		MappedContent(MappedByteBuffer bytes, Charset charset) throws CharacterCodingException {
+			fBytes= bytes;
+			fCharset= charset;
+			fSingleByte= isSingleByte(charset);
+			Arrays.fill(fCachedChunkIndices, -1);
+
+			if (fSingleByte) {
+				fLength= bytes.limit();
+				fChunkOffsets= null;
+				fChunkByteOffsets= null;
+				return;
+			}
+
+			// decode once to find the chunk boundaries
+			int chunkCount= 0;
+			int[] offsets= new int[16];
+			int[] byteOffsets= new int[16];
+			CharsetDecoder decoder= newDecoder(charset);
+			ByteBuffer in= bytes.duplicate();
+			CharBuffer out= CharBuffer.allocate(CHUNK_SIZE);
+			int length= 0;
+			while (true) {
+				if (chunkCount + 1 >= offsets.length) {
+					offsets= Arrays.copyOf(offsets, 2 * offsets.length);
+					byteOffsets= Arrays.copyOf(byteOffsets, 2 * byteOffsets.length);
+				}
+				offsets[chunkCount]= length;
+				byteOffsets[chunkCount]= in.position();
+				chunkCount++;
+
+				out.clear();
+				CoderResult result= decoder.decode(in, out, true);
+				if (result.isError())
+					result.throwException();
+				if (result.isUnderflow())
+					result= decoder.flush(out);
+				length+= out.position();
+				if (!in.hasRemaining() && result.isUnderflow())
+					break;
+			}
+			offsets[chunkCount]= length;
+			byteOffsets[chunkCount]= in.position();
+			fLength= length;
+			fChunkOffsets= Arrays.copyOf(offsets, chunkCount + 1);
+			fChunkByteOffsets= Arrays.copyOf(byteOffsets, chunkCount + 1);
+		}
+
+		@Override
+		public int length() {
+			return fLength;
+		}
+
+		@Override
+		public char charAt(int index) {
+			if (index < 0 || index >= fLength)
+				throw new IndexOutOfBoundsException(index);
+			if (fSingleByte)
+				return getChunk(index / CHUNK_SIZE)[index % CHUNK_SIZE];
+
+			int chunk= findChunk(index);
+			return getChunk(chunk)[index - fChunkOffsets[chunk]];
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			if (start < 0 || end > fLength || start > end)
+				throw new IndexOutOfBoundsException("start: " + start + ", end: " + end); //$NON-NLS-1$ //$NON-NLS-2$
+
+			char[] result= new char[end - start];
+			int position= start;
+			while (position < end) {
+				int chunk= fSingleByte ? position / CHUNK_SIZE : findChunk(position);
+				int chunkOffset= fSingleByte ? chunk * CHUNK_SIZE : fChunkOffsets[chunk];
+				char[] chars= getChunk(chunk);
+				int count= Math.min(chars.length - (position - chunkOffset), end - position);
+				System.arraycopy(chars, position - chunkOffset, result, position - start, count);
+				position+= count;
+			}
+			return new String(result);
+		}
+
+		@Override
+		public String toString() {
+			return subSequence(0, fLength).toString();
+		}
+
+		private int findChunk(int index) {
+			int chunk= Arrays.binarySearch(fChunkOffsets, index);
+			if (chunk < 0)
+				return -chunk - 2;
+			// skip empty chunks
+			while (fChunkOffsets[chunk + 1] == index)
+				chunk++;
+			return chunk;
+		}
+
+		/**
+		 * Returns the decoded characters of the given chunk, decoding it if it is not cached.
+		 *
+		 * @param chunk the index of the chunk
+		 * @return the characters of the chunk
+		 */
+		private synchronized char[] getChunk(int chunk) {
+			for (int i= 0; i < CACHE_SIZE; i++) {
+				if (fCachedChunkIndices[i] == chunk)
+					return fCachedChunks[i];
+			}
+
+			char[] chars= decodeChunk(chunk);
+			fCachedChunkIndices[fNextCacheSlot]= chunk;
+			fCachedChunks[fNextCacheSlot]= chars;
+			fNextCacheSlot= (fNextCacheSlot + 1) % CACHE_SIZE;
+			return chars;
+		}
+
+		private char[] decodeChunk(int chunk) {
+			int byteStart, byteEnd, length;
+			if (fSingleByte) {
+				byteStart= chunk * CHUNK_SIZE;
+				byteEnd= Math.min(byteStart + CHUNK_SIZE, fLength);
+				length= byteEnd - byteStart;
+			} else {
+				byteStart= fChunkByteOffsets[chunk];
+				byteEnd= fChunkByteOffsets[chunk + 1];
+				length= fChunkOffsets[chunk + 1] - fChunkOffsets[chunk];
+			}
+
+			char[] chars= new char[length];
+			ByteBuffer in= fBytes.duplicate();
+			in.limit(byteEnd).position(byteStart);
+			CharBuffer out= CharBuffer.wrap(chars);
+			CharsetDecoder decoder= newDecoder(fCharset);
+			// chunks start and end at character boundaries
+			decoder.decode(in, out, true);
+			decoder.flush(out);
+			return chars;
+		}
+	}
+
+	/** The mapped content, <code>null</code> if detached */
+	private MappedContent fMappedContent;
+
+	/**
+	 * Creates a new text store whose content is the given file decoded with the given charset. The
+	 * file is copied, later changes of the file do not affect the store.
+	 *
+	 * @param file the file to map
+	 * @param charset the charset of the file, must be {@linkplain #isSupported(Charset) supported}
+	 * @param offset the byte offset of the content in the file, e.g. to skip a byte order mark
+	 * @throws IOException if the file cannot be copied, mapped or decoded
+	 */
+	public MappedFileTextStore(Path file, Charset charset, long offset) throws IOException {
+		if (!isSupported(charset))
+			throw new IllegalArgumentException("unsupported charset: " + charset); //$NON-NLS-1$
+
+		Path copy= Files.createTempFile("text", ".mapped"); //$NON-NLS-1$ //$NON-NLS-2$
+		try (FileChannel source= FileChannel.open(file, StandardOpenOption.READ);
+				// the copy is deleted once the channel is closed and the mapping is released
+				FileChannel channel= FileChannel.open(copy, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+			long size= source.size() - offset;
+			if (offset < 0 || size < 0 || size > Integer.MAX_VALUE)
+				throw new IOException("file cannot be mapped: " + file); //$NON-NLS-1$
+			long copied= 0;
+			while (copied < size) {
+				long count= source.transferTo(offset + copied, size - copied, channel);
+				if (count <= 0)
+					throw new IOException("file changed while it was read: " + file); //$NON-NLS-1$
+				copied+= count;
+			}
+			// the mapping stays valid after the channel is closed
+			fMappedContent= new MappedContent(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), charset);
+		} finally {
+			// in case the copy could not be opened with DELETE_ON_CLOSE
+			if (fMappedContent == null)
+				Files.deleteIfExists(copy);
+		}
+		setOriginal(fMappedContent);
+	}
+
+	/**
+	 * Tells whether the given charset can be used to decode a mapped file. This is the case for
+	 * UTF-8 and for single-byte charsets, where decoding can start at any character boundary.
+	 *
+	 * @param charset the charset to check
+	 * @return <code>true</code> if the charset is supported
+	 */
+	public static boolean isSupported(Charset charset) {
+		return StandardCharsets.UTF_8.equals(charset) || isSingleByte(charset);
+	}
+
+	private static boolean isSingleByte(Charset charset) {
+		if (!charset.canEncode())
+			return false;
+		CharsetEncoder encoder= charset.newEncoder();
+		CharsetDecoder decoder= charset.newDecoder();
+		return encoder.maxBytesPerChar() == 1f && decoder.maxCharsPerByte() == 1f && decoder.averageCharsPerByte() == 1f;
+	}
+
+	private static CharsetDecoder newDecoder(Charset charset) {
+		return charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	/**
+	 * Tells whether this store still references the mapped copy of the file.
+	 *
+	 * @return <code>true</code> if the copy is still mapped
+	 */
+	public boolean isMapped() {
+		return fMappedContent != null && getOriginal() == fMappedContent;
+	}
+
+	/**
+	 * Copies the current content onto the heap and releases the reference to the mapped copy of
+	 * the file. The content of this store does not change.
+	 */
+	public void detach() {
+		if (isMapped())
+			super.set(get(0, getLength()));
+		fMappedContent= null;
+	}
+
+	@Override
+	public void set(String text) {
+		super.set(text);
+		fMappedContent= null;
+	}
+}
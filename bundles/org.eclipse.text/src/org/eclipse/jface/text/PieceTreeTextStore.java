@@ -0,0 +1,755 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.Arrays;
+
+/**
+ * Implements a piece tree text store. The content is described by a sequence of <em>pieces</em>,
+ * each of which references a range of either the original text or of an append-only buffer that
+ * receives all inserted text. The pieces are kept in a balanced binary tree (a treap) that is
+ * ordered by offset and where every node knows the length of the text in its subtree.
+ * <p>
+ * <strong>Performance:</strong> {@link #set(String)} does not copy the given text, it is simply
+ * referenced as the original text. Let <var>n</var> be the number of pieces, then
+ * {@linkplain #replace(int, int, String) replace} performs in <i>O(log n + length of the inserted
+ * text)</i> independent of the location of the change and of the length of the content,
+ * {@link #get(int)} performs in <i>O(log n)</i> and {@linkplain #get(int, int) get(int,
+ * <var>length</var>)} in <i>O(k log n + length)</i>, where <var>k</var> is the number of pieces
+ * spanned by the range. Consecutive typing at the end of the last insertion extends the previous
+ * piece instead of creating a new one.
+ * </p>
+ * <p>
+ * The tree nodes are immutable, modifications create new nodes along the affected paths only.
+ * Together with the append-only buffers this allows to take {@linkplain #createSnapshot(long)
+ * snapshots} in constant time. The line structure of a snapshot is computed from an index of the
+ * line delimiters in each buffer and from line counts that are memoized in the tree nodes, such
+ * that a snapshot of a modified tree only counts the lines of the new nodes.
+ * </p>
+ * <p>
+ * This store is best suited for very large documents where the re-allocation and copying done by
+ * {@link GapTextStore} becomes noticeable.
+ * </p>
+ *
+ * @see GapTextStore
+ * @since 3.15
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class PieceTreeTextStore implements ITextStore {
+
+	/**
+	 * A node of the piece tree. Each node describes one piece of the text and the total length of
+	 * the text described by the subtree rooted at the node.
+	 */
+	static final class Piece {
+		/** <code>true</code> if the piece references the add buffer, <code>false</code> for the original text */
+		final boolean fAdded;
+		/** The start of the piece in its buffer */
+		final int fStart;
+		/** The length of the piece */
+		final int fLength;
+		/** The heap priority of the node */
+		final int fPriority;
+		/** The left subtree, may be <code>null</code> */
+		final Piece fLeft;
+		/** The right subtree, may be <code>null</code> */
+		final Piece fRight;
+		/** The length of the text described by this subtree */
+		final int fTotalLength;
+		/** The line structure of this subtree, computed when first needed by a snapshot */
+		LineSummary fLines;
+
+		Piece(boolean added, int start, int length, int priority, Piece left, Piece right) {
+			fAdded= added;
+			fStart= start;
+			fLength= length;
+			fPriority= priority;
+			fLeft= left;
+			fRight= right;
+			fTotalLength= totalLength(left) + length + totalLength(right);
+		}
+
+		Piece with(Piece left, Piece right) {
+			return new Piece(fAdded, fStart, fLength, fPriority, left, right);
+		}
+	}
+
+	/**
+	 * The line structure of the text described by a subtree: the number of line breaks and the
+	 * first and last character. A trailing <code>'\r'</code> is counted as a line break, it is up
+	 * to the enclosing tree to recognize that it is followed by <code>'\n'</code>.
+	 */
+	static final class LineSummary {
+		final int fBreaks;
+		final char fFirst;
+		final char fLast;
+
+		LineSummary(int breaks, char first, char last) {
+			fBreaks= breaks;
+			fFirst= first;
+			fLast= last;
+		}
+	}
+
+	/**
+	 * The sorted positions of the line delimiter characters in a buffer. The arrays are shared
+	 * with the buffer's index, which only ever appends beyond the given counts.
+	 */
+	static final class LineBreaks {
+		/** The positions of all <code>'\r'</code> and <code>'\n'</code> characters */
+		final int[] fDelimiters;
+		final int fDelimiterCount;
+		/** The positions of the <code>'\r'</code> characters that are followed by <code>'\n'</code> */
+		final int[] fPairs;
+		final int fPairCount;
+
+		LineBreaks(int[] delimiters, int delimiterCount, int[] pairs, int pairCount) {
+			fDelimiters= delimiters;
+			fDelimiterCount= delimiterCount;
+			fPairs= pairs;
+			fPairCount= pairCount;
+		}
+
+		/**
+		 * Returns the number of line delimiter characters before the given position.
+		 *
+		 * @param position the buffer position
+		 * @return the number of delimiter characters before <code>position</code>
+		 */
+		int delimitersBefore(int position) {
+			return indexOf(fDelimiters, fDelimiterCount, position);
+		}
+
+		/**
+		 * Returns the number of <code>"\r\n"</code> pairs that start before the given position.
+		 *
+		 * @param position the buffer position
+		 * @return the number of pairs starting before <code>position</code>
+		 */
+		int pairsBefore(int position) {
+			return indexOf(fPairs, fPairCount, position);
+		}
+
+		private static int indexOf(int[] positions, int count, int position) {
+			int low= 0;
+			int high= count;
+			while (low < high) {
+				int mid= (low + high) >>> 1;
+				if (positions[mid] < position)
+					low= mid + 1;
+				else
+					high= mid;
+			}
+			return low;
+		}
+	}
+
+	/**
+	 * The lazily computed {@link LineBreaks} of an original text. The original text is only
+	 * scanned if a snapshot needs its line structure.
+	 */
+	static final class OriginalLineBreaks {
+		private final CharSequence fText;
+		private LineBreaks fLineBreaks;
+
+		OriginalLineBreaks(CharSequence text) {
+			fText= text;
+		}
+
+		synchronized LineBreaks get() {
+			if (fLineBreaks == null) {
+				int length= fText.length();
+				int[] delimiters= new int[16];
+				int delimiterCount= 0;
+				int[] pairs= new int[16];
+				int pairCount= 0;
+				for (int i= 0; i < length; i++) {
+					char ch= fText.charAt(i);
+					if (ch != '\r' && ch != '\n')
+						continue;
+					if (delimiterCount == delimiters.length)
+						delimiters= Arrays.copyOf(delimiters, 2 * delimiterCount);
+					delimiters[delimiterCount++]= i;
+					if (ch == '\n' && i > 0 && fText.charAt(i - 1) == '\r') {
+						if (pairCount == pairs.length)
+							pairs= Arrays.copyOf(pairs, 2 * pairCount);
+						pairs[pairCount++]= i - 1;
+					}
+				}
+				fLineBreaks= new LineBreaks(delimiters, delimiterCount, pairs, pairCount);
+			}
+			return fLineBreaks;
+		}
+	}
+
+	/**
+	 * An immutable snapshot of the store. It references the tree and the buffers at the time it
+	 * was taken, which are never modified afterwards.
+	 */
+	static final class Snapshot extends TextSnapshot {
+
+		/** The piece containing the last accessed character and the offset of the piece */
+		private static final class Cursor {
+			final Piece fPiece;
+			final int fOffset;
+
+			Cursor(Piece piece, int offset) {
+				fPiece= piece;
+				fOffset= offset;
+			}
+		}
+
+		private final Piece fRoot;
+		private final CharSequence fOriginal;
+		private final OriginalLineBreaks fOriginalLineBreaks;
+		private final char[] fAdd;
+		private final LineBreaks fAddLineBreaks;
+		/** Speeds up sequential character access, immutable and thus safe to share */
+		private volatile Cursor fCursor;
+
+		Snapshot(PieceTreeTextStore store, long modificationStamp) {
+			super(TextUtilities.DELIMITERS, modificationStamp);
+			fRoot= store.fRoot;
+			fOriginal= store.fOriginal;
+			fOriginalLineBreaks= store.fOriginalLineBreaks;
+			fAdd= store.fAdd;
+			fAddLineBreaks= new LineBreaks(store.fAddDelimiters, store.fAddDelimiterCount, store.fAddPairs, store.fAddPairCount);
+		}
+
+		@Override
+		public int length() {
+			return totalLength(fRoot);
+		}
+
+		@Override
+		public char charAt(int index) {
+			Cursor cursor= fCursor;
+			if (cursor != null && index >= cursor.fOffset && index < cursor.fOffset + cursor.fPiece.fLength)
+				return charAt(cursor.fPiece, cursor.fPiece.fStart + index - cursor.fOffset);
+			if (index < 0 || index >= length())
+				throw new IndexOutOfBoundsException(index);
+
+			Piece piece= fRoot;
+			int offset= index;
+			while (true) {
+				int leftLength= totalLength(piece.fLeft);
+				if (offset < leftLength) {
+					piece= piece.fLeft;
+				} else {
+					offset-= leftLength;
+					if (offset < piece.fLength)
+						break;
+					offset-= piece.fLength;
+					piece= piece.fRight;
+				}
+			}
+			fCursor= new Cursor(piece, index - offset);
+			return charAt(piece, piece.fStart + offset);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			if (start < 0 || start > end || end > length())
+				throw new IndexOutOfBoundsException("start: " + start + ", end: " + end); //$NON-NLS-1$ //$NON-NLS-2$
+			return getText(fRoot, fOriginal, fAdd, start, end - start);
+		}
+
+		@Override
+		public String toString() {
+			return getText(fRoot, fOriginal, fAdd, 0, length());
+		}
+
+		@Override
+		public int getNumberOfLines() {
+			return fRoot == null ? 1 : getSummary(fRoot).fBreaks + 1;
+		}
+
+		@Override
+		public int getLineOffset(int line) throws BadLocationException {
+			if (line < 0 || line >= getNumberOfLines())
+				throw new BadLocationException();
+			if (line == 0)
+				return 0;
+
+			// find the end of the line-th line break
+			int remaining= line;
+			int offset= 0;
+			int next= -1;
+			Piece piece= fRoot;
+			while (true) {
+				int start= piece.fStart;
+				char first= charAt(piece, start);
+				if (piece.fLeft != null) {
+					LineSummary left= getSummary(piece.fLeft);
+					int leftBreaks= left.fBreaks - (isPair(left.fLast, first) ? 1 : 0);
+					if (remaining <= leftBreaks) {
+						next= first;
+						piece= piece.fLeft;
+						continue;
+					}
+					remaining-= leftBreaks;
+					offset+= piece.fLeft.fTotalLength;
+				}
+
+				int end= start + piece.fLength;
+				int following= piece.fRight != null ? getSummary(piece.fRight).fFirst : next;
+				int breaks= countBreaks(piece, start, end) - (isPair(charAt(piece, end - 1), following) ? 1 : 0);
+				if (remaining <= breaks)
+					return offset + getBreakEnd(piece, remaining) - start;
+				remaining-= breaks;
+				offset+= piece.fLength;
+				piece= piece.fRight;
+			}
+		}
+
+		@Override
+		public int getLineOfOffset(int offset) throws BadLocationException {
+			if (offset < 0 || offset > length())
+				throw new BadLocationException();
+
+			// count the line breaks that end at or before the offset
+			int line= 0;
+			int remaining= offset;
+			int next= -1;
+			Piece piece= fRoot;
+			while (piece != null) {
+				int start= piece.fStart;
+				char first= charAt(piece, start);
+				int leftLength= totalLength(piece.fLeft);
+				if (remaining <= leftLength) {
+					next= first;
+					piece= piece.fLeft;
+					continue;
+				}
+				if (piece.fLeft != null) {
+					LineSummary left= getSummary(piece.fLeft);
+					line+= left.fBreaks - (isPair(left.fLast, first) ? 1 : 0);
+					remaining-= leftLength;
+				}
+
+				int end= start + piece.fLength;
+				int following= piece.fRight != null ? getSummary(piece.fRight).fFirst : next;
+				if (remaining <= piece.fLength) {
+					int to= start + remaining;
+					if (to < end)
+						following= charAt(piece, to);
+					return line + countBreaks(piece, start, to) - (isPair(charAt(piece, to - 1), following) ? 1 : 0);
+				}
+				line+= countBreaks(piece, start, end) - (isPair(charAt(piece, end - 1), following) ? 1 : 0);
+				remaining-= piece.fLength;
+				piece= piece.fRight;
+			}
+			return line;
+		}
+
+		private char charAt(Piece piece, int index) {
+			return piece.fAdded ? fAdd[index] : fOriginal.charAt(index);
+		}
+
+		private LineBreaks getLineBreaks(Piece piece) {
+			return piece.fAdded ? fAddLineBreaks : fOriginalLineBreaks.get();
+		}
+
+		/**
+		 * Returns the line summary of the given subtree, computing and memoizing it if needed.
+		 *
+		 * @param piece the root of the subtree
+		 * @return the line summary of the subtree
+		 */
+		private LineSummary getSummary(Piece piece) {
+			LineSummary summary= piece.fLines;
+			if (summary != null)
+				return summary;
+
+			int start= piece.fStart;
+			int end= start + piece.fLength;
+			char first= charAt(piece, start);
+			char last= charAt(piece, end - 1);
+			int breaks= countBreaks(piece, start, end);
+			if (piece.fLeft != null) {
+				LineSummary left= getSummary(piece.fLeft);
+				breaks+= left.fBreaks - (isPair(left.fLast, first) ? 1 : 0);
+				first= left.fFirst;
+			}
+			if (piece.fRight != null) {
+				LineSummary right= getSummary(piece.fRight);
+				breaks+= right.fBreaks - (isPair(last, right.fFirst) ? 1 : 0);
+				last= right.fLast;
+			}
+			summary= new LineSummary(breaks, first, last);
+			// the summary only depends on immutable state, concurrent computations are harmless
+			piece.fLines= summary;
+			return summary;
+		}
+
+		/**
+		 * Returns the number of line breaks in the given range of a piece's buffer, counting a
+		 * trailing <code>'\r'</code> as a line break.
+		 *
+		 * @param piece the piece
+		 * @param from the start of the range in the buffer
+		 * @param to the end of the range in the buffer
+		 * @return the number of line breaks
+		 */
+		private int countBreaks(Piece piece, int from, int to) {
+			LineBreaks lineBreaks= getLineBreaks(piece);
+			int delimiters= lineBreaks.delimitersBefore(to) - lineBreaks.delimitersBefore(from);
+			if (delimiters == 0)
+				return 0;
+			return delimiters - (lineBreaks.pairsBefore(to - 1) - lineBreaks.pairsBefore(from));
+		}
+
+		/**
+		 * Returns the buffer position following the <code>n</code>-th line break of the given
+		 * piece. The piece must contain at least <code>n</code> line breaks.
+		 *
+		 * @param piece the piece
+		 * @param n the number of the line break, starting at 1
+		 * @return the end of the line break in the piece's buffer
+		 */
+		private int getBreakEnd(Piece piece, int n) {
+			LineBreaks lineBreaks= getLineBreaks(piece);
+			int start= piece.fStart;
+			int end= start + piece.fLength;
+			int first= lineBreaks.delimitersBefore(start);
+			int pairs= lineBreaks.pairsBefore(start);
+			int low= first;
+			int high= lineBreaks.delimitersBefore(end) - 1;
+			// the first delimiter character up to which there are n line breaks
+			while (low < high) {
+				int mid= (low + high) >>> 1;
+				int breaks= mid - first + 1 - (lineBreaks.pairsBefore(lineBreaks.fDelimiters[mid]) - pairs);
+				if (breaks >= n)
+					high= mid;
+				else
+					low= mid + 1;
+			}
+			int position= lineBreaks.fDelimiters[low];
+			if (position + 1 < end && isPair(charAt(piece, position), charAt(piece, position + 1)))
+				return position + 2;
+			return position + 1;
+		}
+
+		private static boolean isPair(int first, int second) {
+			return first == '\r' && second == '\n';
+		}
+	}
+
+	/** The original text as passed to {@link #set(String)}, never copied */
+	private CharSequence fOriginal= ""; //$NON-NLS-1$
+	/** The line delimiters of {@link #fOriginal} */
+	private OriginalLineBreaks fOriginalLineBreaks= new OriginalLineBreaks(fOriginal);
+	/** The append-only buffer receiving all inserted text */
+	private char[] fAdd= new char[0];
+	/** The number of used characters in {@link #fAdd} */
+	private int fAddLength= 0;
+	/** The positions of the line delimiter characters in {@link #fAdd} */
+	private int[] fAddDelimiters= new int[0];
+	/** The number of used entries in {@link #fAddDelimiters} */
+	private int fAddDelimiterCount= 0;
+	/** The positions of the <code>'\r'</code> characters in {@link #fAdd} that are followed by <code>'\n'</code> */
+	private int[] fAddPairs= new int[0];
+	/** The number of used entries in {@link #fAddPairs} */
+	private int fAddPairCount= 0;
+	/** The root of the piece tree, <code>null</code> if the store is empty */
+	private Piece fRoot= null;
+	/** The state of the priority generator */
+	private int fSeed= 0x2545F491;
+
+	/** Result holder for {@link #split(Piece, int)}: the left part */
+	private Piece fSplitLeft;
+	/** Result holder for {@link #split(Piece, int)}: the right part */
+	private Piece fSplitRight;
+
+	/**
+	 * Creates a new empty piece tree text store.
+	 */
+	public PieceTreeTextStore() {
+	}
+
+	@Override
+	public char get(int offset) {
+		if (offset < 0 || offset >= getLength())
+			throw new IndexOutOfBoundsException(offset);
+
+		Piece piece= fRoot;
+		while (true) {
+			int leftLength= totalLength(piece.fLeft);
+			if (offset < leftLength) {
+				piece= piece.fLeft;
+			} else {
+				offset-= leftLength;
+				if (offset < piece.fLength)
+					return charAt(piece, piece.fStart + offset);
+				offset-= piece.fLength;
+				piece= piece.fRight;
+			}
+		}
+	}
+
+	@Override
+	public String get(int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > getLength())
+			throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length); //$NON-NLS-1$ //$NON-NLS-2$
+		return getText(fRoot, fOriginal, fAdd, offset, length);
+	}
+
+	private static String getText(Piece root, CharSequence original, char[] add, int offset, int length) {
+		if (length == 0)
+			return ""; //$NON-NLS-1$
+
+		char[] result= null;
+		int copied= 0;
+		while (copied < length) {
+			int position= offset + copied;
+			Piece piece= root;
+			while (true) {
+				int leftLength= totalLength(piece.fLeft);
+				if (position < leftLength) {
+					piece= piece.fLeft;
+				} else {
+					position-= leftLength;
+					if (position < piece.fLength)
+						break;
+					position-= piece.fLength;
+					piece= piece.fRight;
+				}
+			}
+
+			int count= Math.min(piece.fLength - position, length - copied);
+			int start= piece.fStart + position;
+			if (result == null && count == length && !piece.fAdded)
+				return original.subSequence(start, start + count).toString();
+			if (result == null)
+				result= new char[length];
+			if (piece.fAdded)
+				System.arraycopy(add, start, result, copied, count);
+			else if (original instanceof String)
+				((String) original).getChars(start, start + count, result, copied);
+			else
+				original.subSequence(start, start + count).toString().getChars(0, count, result, copied);
+			copied+= count;
+		}
+		return new String(result);
+	}
+
+	@Override
+	public int getLength() {
+		return totalLength(fRoot);
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) {
+		if (offset < 0 || length < 0 || offset + length > getLength())
+			throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length); //$NON-NLS-1$ //$NON-NLS-2$
+
+		split(fRoot, offset);
+		Piece left= fSplitLeft;
+		split(fSplitRight, length);
+		Piece right= fSplitRight;
+		fSplitLeft= null;
+		fSplitRight= null;
+
+		int textLength= text == null ? 0 : text.length();
+		if (textLength > 0) {
+			int start= append(text);
+			if (endsWithAddPiece(left, start))
+				left= extendLast(left, textLength);
+			else
+				left= merge(left, new Piece(true, start, textLength, nextPriority(), null, null));
+		}
+		fRoot= merge(left, right);
+	}
+
+	@Override
+	public void set(String text) {
+		setOriginal(text == null ? "" : text); //$NON-NLS-1$
+	}
+
+	/**
+	 * Replaces the content of this store with the given character sequence without copying it.
+	 * The sequence must not change afterwards.
+	 *
+	 * @param original the new content of this store
+	 */
+	void setOriginal(CharSequence original) {
+		fOriginal= original;
+		fOriginalLineBreaks= new OriginalLineBreaks(original);
+		fAdd= new char[0];
+		fAddLength= 0;
+		fAddDelimiters= new int[0];
+		fAddDelimiterCount= 0;
+		fAddPairs= new int[0];
+		fAddPairCount= 0;
+		fRoot= original.length() == 0 ? null : new Piece(false, 0, original.length(), nextPriority(), null, null);
+	}
+
+	/**
+	 * Returns an immutable snapshot of the content of this store. The snapshot shares the tree
+	 * and the buffers with this store, taking it does not depend on the length of the content.
+	 * The line structure of the snapshot is the one of {@link DefaultLineTracker}.
+	 *
+	 * @param modificationStamp the modification stamp of the document
+	 * @return the snapshot
+	 */
+	ITextSnapshot createSnapshot(long modificationStamp) {
+		return new Snapshot(this, modificationStamp);
+	}
+
+	/**
+	 * Returns the original content of this store. For internal use only.
+	 *
+	 * @return the original content
+	 */
+	CharSequence getOriginal() {
+		return fOriginal;
+	}
+
+	/**
+	 * Returns the number of pieces currently describing the content. For internal use only.
+	 *
+	 * @return the number of pieces
+	 */
+	int getPieceCount() {
+		return count(fRoot);
+	}
+
+	private static int count(Piece piece) {
+		if (piece == null)
+			return 0;
+		return count(piece.fLeft) + 1 + count(piece.fRight);
+	}
+
+	private char charAt(Piece piece, int index) {
+		return piece.fAdded ? fAdd[index] : fOriginal.charAt(index);
+	}
+
+	/**
+	 * Appends the given text to the add buffer, growing it if needed, and records the positions
+	 * of its line delimiters.
+	 *
+	 * @param text the text to append
+	 * @return the start of the appended text in the add buffer
+	 */
+	private int append(String text) {
+		int start= fAddLength;
+		int newLength= start + text.length();
+		if (newLength > fAdd.length) {
+			char[] newAdd= new char[Math.max(newLength, Math.max(256, 2 * fAdd.length))];
+			System.arraycopy(fAdd, 0, newAdd, 0, fAddLength);
+			fAdd= newAdd;
+		}
+		text.getChars(0, text.length(), fAdd, start);
+		fAddLength= newLength;
+
+		// existing entries are never changed as snapshots share the arrays
+		for (int i= start; i < newLength; i++) {
+			char ch= fAdd[i];
+			if (ch != '\r' && ch != '\n')
+				continue;
+			if (fAddDelimiterCount == fAddDelimiters.length)
+				fAddDelimiters= Arrays.copyOf(fAddDelimiters, Math.max(16, 2 * fAddDelimiterCount));
+			fAddDelimiters[fAddDelimiterCount++]= i;
+			if (ch == '\n' && i > 0 && fAdd[i - 1] == '\r') {
+				if (fAddPairCount == fAddPairs.length)
+					fAddPairs= Arrays.copyOf(fAddPairs, Math.max(16, 2 * fAddPairCount));
+				fAddPairs[fAddPairCount++]= i - 1;
+			}
+		}
+		return start;
+	}
+
+	/**
+	 * Tells whether the last piece of the given tree references the add buffer and ends at
+	 * <code>addOffset</code>, i.e. whether text appended at that position can extend the piece.
+	 *
+	 * @param tree the tree to check
+	 * @param addOffset the offset in the add buffer
+	 * @return <code>true</code> if the last piece can be extended
+	 */
+	private static boolean endsWithAddPiece(Piece tree, int addOffset) {
+		if (tree == null)
+			return false;
+		while (tree.fRight != null)
+			tree= tree.fRight;
+		return tree.fAdded && tree.fStart + tree.fLength == addOffset;
+	}
+
+	private static Piece extendLast(Piece tree, int delta) {
+		if (tree.fRight == null)
+			return new Piece(tree.fAdded, tree.fStart, tree.fLength + delta, tree.fPriority, tree.fLeft, null);
+		return tree.with(tree.fLeft, extendLast(tree.fRight, delta));
+	}
+
+	/**
+	 * Splits the given tree at <code>offset</code>. The result is stored in {@link #fSplitLeft}
+	 * which describes the text before <code>offset</code> and {@link #fSplitRight} which
+	 * describes the remaining text. A piece spanning <code>offset</code> is split in two.
+	 *
+	 * @param tree the tree to split, may be <code>null</code>
+	 * @param offset the split offset
+	 */
+	private void split(Piece tree, int offset) {
+		if (tree == null) {
+			fSplitLeft= null;
+			fSplitRight= null;
+			return;
+		}
+
+		int leftLength= totalLength(tree.fLeft);
+		if (offset <= leftLength) {
+			split(tree.fLeft, offset);
+			fSplitRight= tree.with(fSplitRight, tree.fRight);
+		} else if (offset >= leftLength + tree.fLength) {
+			split(tree.fRight, offset - leftLength - tree.fLength);
+			fSplitLeft= tree.with(tree.fLeft, fSplitLeft);
+		} else {
+			int cut= offset - leftLength;
+			// both halves keep the priority of the split node, which preserves the heap order
+			fSplitLeft= new Piece(tree.fAdded, tree.fStart, cut, tree.fPriority, tree.fLeft, null);
+			fSplitRight= new Piece(tree.fAdded, tree.fStart + cut, tree.fLength - cut, tree.fPriority, null, tree.fRight);
+		}
+	}
+
+	/**
+	 * Concatenates two trees.
+	 *
+	 * @param left the tree describing the leading text, may be <code>null</code>
+	 * @param right the tree describing the trailing text, may be <code>null</code>
+	 * @return the merged tree
+	 */
+	private static Piece merge(Piece left, Piece right) {
+		if (left == null)
+			return right;
+		if (right == null)
+			return left;
+		if (left.fPriority >= right.fPriority)
+			return left.with(left.fLeft, merge(left.fRight, right));
+		return right.with(merge(left, right.fLeft), right.fRight);
+	}
+
+	private int nextPriority() {
+		// xorshift
+		int seed= fSeed;
+		seed^= seed << 13;
+		seed^= seed >>> 17;
+		seed^= seed << 5;
+		fSeed= seed;
+		return seed;
+	}
+
+	static int totalLength(Piece piece) {
+		return piece == null ? 0 : piece.fTotalLength;
+	}
+}
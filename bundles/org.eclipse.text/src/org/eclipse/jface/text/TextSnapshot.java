@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.Arrays;
+
+
+/**
+ * Base class of the {@link ITextSnapshot} implementations. Derives the line lengths and the
+ * line information from the line offsets.
+ *
+ * @since 3.15
+ */
+abstract class TextSnapshot implements ITextSnapshot {
+
+	/**
+	 * A snapshot that holds a copy of the document's content and line offsets. Used for text
+	 * stores that cannot share their structure.
+	 */
+	static final class Copy extends TextSnapshot {
+
+		private final String fText;
+		/** The offsets of all lines, the last one may be equal to the length of the text */
+		private final int[] fLineOffsets;
+
+		/**
+		 * Creates a new snapshot.
+		 *
+		 * @param text the content of the document
+		 * @param lineOffsets the offsets of the document's lines, not copied
+		 * @param delimiters the legal line delimiters of the document
+		 * @param modificationStamp the modification stamp of the document
+		 */
+		Copy(String text, int[] lineOffsets, String[] delimiters, long modificationStamp) {
+			super(delimiters, modificationStamp);
+			fText= text;
+			fLineOffsets= lineOffsets;
+		}
+
+		@Override
+		public int length() {
+			return fText.length();
+		}
+
+		@Override
+		public char charAt(int index) {
+			return fText.charAt(index);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return fText.substring(start, end);
+		}
+
+		@Override
+		public String toString() {
+			return fText;
+		}
+
+		@Override
+		public int getNumberOfLines() {
+			return fLineOffsets.length;
+		}
+
+		@Override
+		public int getLineOffset(int line) throws BadLocationException {
+			if (line < 0 || line >= fLineOffsets.length)
+				throw new BadLocationException();
+			return fLineOffsets[line];
+		}
+
+		@Override
+		public int getLineOfOffset(int offset) throws BadLocationException {
+			if (offset < 0 || offset > fText.length())
+				throw new BadLocationException();
+			int index= Arrays.binarySearch(fLineOffsets, offset);
+			return index >= 0 ? index : -index - 2;
+		}
+	}
+
+	private final String[] fDelimiters;
+	private final long fModificationStamp;
+
+	/**
+	 * Creates a new snapshot.
+	 *
+	 * @param delimiters the legal line delimiters of the document
+	 * @param modificationStamp the modification stamp of the document
+	 */
+	TextSnapshot(String[] delimiters, long modificationStamp) {
+		fDelimiters= delimiters;
+		fModificationStamp= modificationStamp;
+	}
+
+	@Override
+	public long getModificationStamp() {
+		return fModificationStamp;
+	}
+
+	@Override
+	public int getLineLength(int line) throws BadLocationException {
+		int offset= getLineOffset(line);
+		int end= line + 1 < getNumberOfLines() ? getLineOffset(line + 1) : length();
+		return end - offset;
+	}
+
+	@Override
+	public IRegion getLineInformation(int line) throws BadLocationException {
+		int offset= getLineOffset(line);
+		if (line + 1 == getNumberOfLines())
+			return new Region(offset, length() - offset);
+
+		int end= getLineOffset(line + 1);
+		int delimiterLength= 0;
+		for (String delimiter : fDelimiters) {
+			int length= delimiter.length();
+			if (length > delimiterLength && length <= end - offset && endsWith(end, delimiter))
+				delimiterLength= length;
+		}
+		return new Region(offset, end - offset - delimiterLength);
+	}
+
+	private boolean endsWith(int end, String delimiter) {
+		int start= end - delimiter.length();
+		for (int i= 0; i < delimiter.length(); i++) {
+			if (charAt(start + i) != delimiter.charAt(i))
+				return false;
+		}
+		return true;
+	}
+}
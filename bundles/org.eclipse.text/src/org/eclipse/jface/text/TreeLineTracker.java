@@ -46,7 +46,7 @@ import org.eclipse.jface.text.AbstractLineTracker.DelimiterInfo;
  *
  * @since 3.2
  */
-abstract class TreeLineTracker implements ILineTracker {
+abstract class TreeLineTracker implements ILineTracker, ILineTrackerExtension2 {
 	/*
 	 * Differential Balanced Binary Tree
 	 *
@@ -173,25 +173,22 @@ abstract class TreeLineTracker implements ILineTracker {
 	 * @param tracker the list line tracker
 	 */
 	TreeLineTracker(ListLineTracker tracker) {
-		final List<Line> lines= tracker.getLines();
-		final int n= lines.size();
+		final int n= tracker.getStoredLineCount();
 		if (n == 0)
 			return;
 
-		Line line= lines.get(0);
-		String delim= line.delimiter;
+		String delim= tracker.getStoredLineDelimiter(0);
 		if (delim == null)
 			delim= NO_DELIM;
-		int length= line.length;
+		int length= tracker.getStoredLineLength(0);
 		fRoot= new Node(length, delim);
 		Node node= fRoot;
 
 		for (int i= 1; i < n; i++) {
-			line= lines.get(i);
-			delim= line.delimiter;
+			delim= tracker.getStoredLineDelimiter(i);
 			if (delim == null)
 				delim= NO_DELIM;
-			length= line.length;
+			length= tracker.getStoredLineLength(i);
 			node= insertAfter(node, length, delim);
 		}
 
@@ -1101,6 +1098,24 @@ abstract class TreeLineTracker implements ILineTracker {
 		return offsetByLine(line);
 	}
 
+	@Override
+	public final void getLineOffsets(int fromLine, int toLine, int[] offsets) throws BadLocationException {
+		if (fromLine < 0 || toLine < fromLine || toLine > getNumberOfLines())
+			throw new BadLocationException();
+		if (offsets.length < toLine - fromLine)
+			throw new IllegalArgumentException();
+		if (fromLine == toLine)
+			return;
+
+		int offset= offsetByLine(fromLine);
+		Node node= nodeByLine(fromLine);
+		for (int i= 0; i < toLine - fromLine; i++) {
+			offsets[i]= offset;
+			offset+= node.length;
+			node= successor(node);
+		}
+	}
+
 	@Override
 	public final int getLineLength(int line) throws BadLocationException {
 		Node node= nodeByLine(line);
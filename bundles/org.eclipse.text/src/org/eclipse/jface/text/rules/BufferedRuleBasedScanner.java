@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -129,6 +129,24 @@ public class BufferedRuleBasedScanner extends RuleBasedScanner {
 		--fOffset;
 		fColumn= UNDEFINED;
 	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @since 3.15
+	 */
+	@Override
+	public int charAt(int offset) {
+		if (offset < 0 || offset >= fRangeEnd)
+			return EOF;
+
+		if (offset >= fEnd)
+			shiftBuffer(offset);
+		else if (offset < fStart)
+			shiftBuffer(Math.max(0, offset - (fBufferSize / 2)));
+
+		return fBuffer[offset - fStart];
+	}
 }
 
 
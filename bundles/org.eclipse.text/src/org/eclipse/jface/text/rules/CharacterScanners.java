@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.rules;
+
+
+/**
+ * Helpers for rules which access the characters of a scanner through
+ * {@link ICharacterScannerExtension}.
+ *
+ * @since 3.15
+ */
+final class CharacterScanners {
+
+	private CharacterScanners() {
+		// do not instantiate
+	}
+
+	/**
+	 * Returns the extension through which the characters of the given scanner can be accessed.
+	 *
+	 * @param scanner the scanner
+	 * @return the extension or <code>null</code> if the characters must be read one by one
+	 */
+	static ICharacterScannerExtension getExtension(ICharacterScanner scanner) {
+		if (scanner instanceof RuleBasedScanner) {
+			RuleBasedScanner ruleBasedScanner= (RuleBasedScanner) scanner;
+			return ruleBasedScanner.isDirectAccessSupported() ? ruleBasedScanner : null;
+		}
+		if (scanner instanceof ICharacterScannerExtension)
+			return (ICharacterScannerExtension) scanner;
+		return null;
+	}
+
+	/**
+	 * Tells whether the given class or one of its super classes below the given declaring class
+	 * overrides a method of the declaring class.
+	 *
+	 * @param type the class to check
+	 * @param declaringClass the class declaring the method, a super class of <code>type</code>
+	 * @param name the name of the method
+	 * @param parameterTypes the parameter types of the method
+	 * @return <code>true</code> if the method is overridden
+	 */
+	static boolean isOverridden(Class<?> type, Class<?> declaringClass, String name, Class<?>... parameterTypes) {
+		for (Class<?> c= type; c != null && c != declaringClass; c= c.getSuperclass()) {
+			try {
+				c.getDeclaredMethod(name, parameterTypes);
+				return true;
+			} catch (NoSuchMethodException e) {
+				// continue with the super class
+			}
+		}
+		return false;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,16 +16,20 @@ package org.eclipse.jface.text.rules;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.Platform;
 
+import org.eclipse.jface.text.AbstractDocument;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
 import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.DocumentRewriteSession;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension5;
 import org.eclipse.jface.text.IDocumentPartitioner;
 import org.eclipse.jface.text.IDocumentPartitionerExtension;
 import org.eclipse.jface.text.IDocumentPartitionerExtension2;
@@ -54,6 +58,13 @@ import org.eclipse.jface.text.TypedRegion;
  * {@link #clearPositionCache()} after modifying the partitioner's positions.
  * The cached positions may be accessed through {@link #getPositions()}.
  * </p>
+ * <p>
+ * By default, a document change is handled by re-scanning the document from the start of the
+ * damaged partition until the partitioning is in sync again, which may be the end of the
+ * document. If {@linkplain #enableBackgroundScanning(int, Executor, Executor) background
+ * scanning} is enabled, only a bounded window behind the change is scanned synchronously and the
+ * rest is scanned on a snapshot of the document in the background.
+ * </p>
  *
  * Originally since 3.1, but moved to org.eclipse.text in 3.14
  *
@@ -99,9 +110,143 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 * someone requests partition information.
 	 */
 	private Position[] fCachedPositions= null;
+	/**
+	 * The number of characters behind a change that are scanned synchronously, <code>-1</code> if
+	 * background scanning is disabled.
+	 */
+	private int fScanWindow= -1;
+	/**
+	 * The executor that runs background scans.
+	 */
+	private Executor fScanExecutor;
+	/**
+	 * The executor that runs tasks in the thread that modifies the document.
+	 */
+	private Executor fDocumentExecutor;
+	/**
+	 * Guards the use of the scanner while a background scan is running.
+	 */
+	private final Object fScannerLock= new Object();
+	/**
+	 * The current background scan, <code>null</code> if none.
+	 */
+	private BackgroundScan fBackgroundScan;
+	/**
+	 * The offset of the first partition that may be out of date, <code>-1</code> if all
+	 * partitions are up to date.
+	 */
+	private int fPendingOffset= -1;
+	/**
+	 * The offset behind which the partitions are known to be up to date, only valid if
+	 * {@link #fPendingOffset} is not <code>-1</code>.
+	 */
+	private int fPendingEnd;
 	/** Debug option for cache consistency checking. */
 	private static final boolean CHECK_CACHE_CONSISTENCY= "true".equalsIgnoreCase(Platform.getDebugOption("org.eclipse.jface.text/debug/FastPartitioner/PositionCache"));  //$NON-NLS-1$//$NON-NLS-2$;
 
+	/**
+	 * Scans a snapshot of the document from a partition boundary until the partitioning is in sync
+	 * with partitions that are known to be up to date.
+	 */
+	private final class BackgroundScan implements Runnable {
+		/** The document content when the scan was scheduled */
+		private final CharSequence fText;
+		/** The offset at which the scan starts */
+		private final int fOffset;
+		/**
+		 * The partitions of the document when the scan was scheduled. They are not copied, a
+		 * document change updates them only after it has cancelled the scan.
+		 */
+		private final Position[] fOldPartitions;
+		/** The index of the first partition that is known to be up to date */
+		private final int fFirst;
+		/** The executor that applies the result */
+		private final Executor fResultExecutor= fDocumentExecutor;
+		/** The scanned partitions */
+		private final List<TypedPosition> fPartitions= new ArrayList<>();
+		/** The offset at which the scan is in sync with the known partitions */
+		private int fEnd;
+		/** Set when the scan is no longer needed, guarded by {@link FastPartitioner#fScannerLock} */
+		private boolean fCancelled;
+
+		/**
+		 * Creates a new scan.
+		 *
+		 * @param text the content of the document, e.g. a snapshot
+		 * @param offset the partition boundary at which to start
+		 * @param partitions the partitions of the document, not copied
+		 * @param first the index of the first partition that is known to be up to date
+		 */
+		BackgroundScan(CharSequence text, int offset, Position[] partitions, int first) {
+			fText= text;
+			fOffset= offset;
+			fOldPartitions= partitions;
+			fFirst= first;
+			fEnd= text.length();
+		}
+
+		@Override
+		public void run() {
+			if (scan())
+				fResultExecutor.execute(() -> applyBackgroundScan(this));
+		}
+
+		/**
+		 * Performs the scan.
+		 *
+		 * @return <code>false</code> if the scan has been cancelled
+		 */
+		boolean scan() {
+			// the content is copied in the scanning thread
+			IDocument snapshot= new Document(fText.toString());
+			synchronized (fScannerLock) {
+				if (fCancelled)
+					return false;
+				fScanner.setPartialRange(snapshot, fOffset, snapshot.getLength() - fOffset, IDocument.DEFAULT_CONTENT_TYPE, fOffset);
+			}
+
+			int old= fFirst;
+			while (true) {
+				IToken token;
+				int start, length;
+				synchronized (fScannerLock) {
+					if (fCancelled)
+						return false;
+					token= fScanner.nextToken();
+					start= fScanner.getTokenOffset();
+					length= fScanner.getTokenLength();
+				}
+				if (token.isEOF())
+					break;
+
+				String contentType= getTokenContentType(token);
+				if (!isSupportedContentType(contentType))
+					continue;
+
+				boolean known;
+				synchronized (fScannerLock) {
+					// the partitions are only valid as long as the scan has not been cancelled
+					if (fCancelled)
+						return false;
+					while (old < fOldPartitions.length && fOldPartitions[old].offset < start)
+						++ old;
+					known= old < fOldPartitions.length && isSamePartition((TypedPosition) fOldPartitions[old], start, length, contentType);
+				}
+				if (known) {
+					// the remaining partitions are known
+					fEnd= start;
+					break;
+				}
+				fPartitions.add(new TypedPosition(start, length, contentType));
+			}
+			return true;
+		}
+
+		private boolean isSamePartition(TypedPosition partition, int offset, int length, String type) {
+			return partition.offset == offset && partition.length == length && partition.getType().equals(type);
+		}
+	}
+
 	/**
 	 * Creates a new partitioner that uses the given scanner and may return
 	 * partitions of the given legal content types.
@@ -161,6 +306,8 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 */
 	protected void initialize() {
 		fIsInitialized= true;
+		cancelBackgroundScan();
+		fPendingOffset= -1;
 		clearPositionCache();
 		fScanner.setRange(fDocument, 0, fDocument.getLength());
 
@@ -195,6 +342,8 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 
 		Assert.isTrue(fDocument.containsPositionCategory(fPositionCategory));
 
+		cancelBackgroundScan();
+		fPendingOffset= -1;
 		try {
 			fDocument.removePositionCategory(fPositionCategory);
 		} catch (BadPositionCategoryException x) {
@@ -214,6 +363,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 
 			Assert.isTrue(e.getDocument() == fDocument);
 
+			cancelBackgroundScan();
 			fPreviousDocumentLength= e.getDocument().getLength();
 			fStartOffset= -1;
 			fEndOffset= -1;
@@ -305,6 +455,12 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 			String contentType= null;
 			int newLength= e.getText() == null ? 0 : e.getText().length();
 
+			// with background scanning, scan up to the end of the window as if the document ended there
+			int rangeEnd= fDocument.getLength();
+			if (fScanWindow != -1 && rangeEnd - (e.getOffset() + newLength) > fScanWindow)
+				rangeEnd= e.getOffset() + newLength + fScanWindow;
+			boolean truncated= rangeEnd < fDocument.getLength();
+
 			int first= fDocument.computeIndexInCategory(fPositionCategory, reparseStart);
 			if (first > 0)	{
 				TypedPosition partition= (TypedPosition) category[first - 1];
@@ -338,7 +494,12 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 			clearPositionCache();
 			category= getPositions();
 
-			fScanner.setPartialRange(fDocument, reparseStart, fDocument.getLength() - reparseStart, contentType, partitionStart);
+			if (fPendingOffset != -1) {
+				fPendingOffset= Math.min(updatePendingOffset(fPendingOffset, e, newLength), partitionStart);
+				fPendingEnd= updatePendingOffset(fPendingEnd, e, newLength);
+			}
+
+			fScanner.setPartialRange(fDocument, reparseStart, rangeEnd - reparseStart, contentType, partitionStart);
 
 			int behindLastScannedPosition= reparseStart;
 			IToken token= fScanner.nextToken();
@@ -393,6 +554,20 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 				token= fScanner.nextToken();
 			}
 
+			if (truncated) {
+				// the scan did not resync within the window, the partitions in the window are
+				// preliminary until they are verified in the background
+				if (fPendingOffset == -1) {
+					fPendingOffset= partitionStart;
+					fPendingEnd= rangeEnd;
+				} else {
+					fPendingEnd= Math.max(fPendingEnd, rangeEnd);
+				}
+			} else if (fPendingOffset >= partitionStart) {
+				// the rest of the document has been scanned
+				fPendingOffset= -1;
+			}
+
 			first= fDocument.computeIndexInCategory(fPositionCategory, behindLastScannedPosition);
 
 			clearPositionCache();
@@ -400,6 +575,8 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 			TypedPosition p;
 			while (first < category.length) {
 				p= (TypedPosition) category[first++];
+				if (truncated && p.offset >= rangeEnd)
+					break;
 				fDocument.removePosition(fPositionCategory, p);
 				rememberRegion(p.offset, p.length);
 			}
@@ -409,11 +586,178 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 		} catch (BadLocationException x) {
 		} finally {
 			clearPositionCache();
+			if (fPendingOffset != -1)
+				scheduleBackgroundScan();
 		}
 
 		return createRegion();
 	}
 
+	/**
+	 * Returns the given offset after the given document change.
+	 *
+	 * @param offset the offset before the change
+	 * @param e the document event
+	 * @param newLength the length of the inserted text
+	 * @return the offset after the change
+	 */
+	private static int updatePendingOffset(int offset, DocumentEvent e, int newLength) {
+		if (offset <= e.getOffset())
+			return offset;
+		if (offset >= e.getOffset() + e.getLength())
+			return offset + newLength - e.getLength();
+		return e.getOffset() + newLength;
+	}
+
+	/**
+	 * Enables scanning in the background. After a document change, only the partitions up to
+	 * <code>windowLength</code> characters behind the change are updated immediately. If the
+	 * partitioning is not in sync with the previous partitioning by then, the rest of the document
+	 * is scanned on a snapshot using <code>scanExecutor</code>, and the result is applied by a task
+	 * passed to <code>documentExecutor</code>. If the document changes in the meantime, the scan
+	 * is discarded and a new one is scheduled after the change. Once the partitioning has been
+	 * updated, the document's partitioning listeners are notified if the document is an
+	 * {@link AbstractDocument}, see
+	 * {@link AbstractDocument#partitioningChanged(IDocumentPartitioner, int, int)}.
+	 * <p>
+	 * Until the background scan has been applied, the partitions behind the window may be out of
+	 * date, see {@link #isBackgroundScanPending()}. The scanner must not be used by clients other
+	 * than this partitioner, since it is accessed by the background scan.
+	 * </p>
+	 *
+	 * @param windowLength the number of characters behind a change that are always scanned
+	 *            synchronously
+	 * @param scanExecutor the executor that runs the background scans
+	 * @param documentExecutor the executor that runs tasks in the thread that modifies the document,
+	 *            e.g. asynchronously in the display thread. It must not run a task while a
+	 *            document change is being processed.
+	 * @since 3.15
+	 */
+	public void enableBackgroundScanning(int windowLength, Executor scanExecutor, Executor documentExecutor) {
+		Assert.isLegal(windowLength >= 0);
+		Assert.isNotNull(scanExecutor);
+		Assert.isNotNull(documentExecutor);
+		fScanWindow= windowLength;
+		fScanExecutor= scanExecutor;
+		fDocumentExecutor= documentExecutor;
+	}
+
+	/**
+	 * Disables scanning in the background. A pending background scan is discarded, instead the
+	 * remaining partitions are updated immediately.
+	 *
+	 * @since 3.15
+	 */
+	public void disableBackgroundScanning() {
+		cancelBackgroundScan();
+		fScanWindow= -1;
+		fScanExecutor= null;
+		fDocumentExecutor= null;
+		if (fPendingOffset != -1) {
+			// scan the pending partitions now
+			BackgroundScan scan= createBackgroundScan();
+			fBackgroundScan= scan;
+			if (scan != null && scan.scan())
+				applyBackgroundScan(scan);
+			fBackgroundScan= null;
+			fPendingOffset= -1;
+		}
+	}
+
+	/**
+	 * Tells whether some partitions are not up to date because a background scan has not been
+	 * applied yet.
+	 *
+	 * @return <code>true</code> if a background scan is pending
+	 * @since 3.15
+	 */
+	public boolean isBackgroundScanPending() {
+		return fPendingOffset != -1;
+	}
+
+	/**
+	 * Schedules a background scan of the pending partitions.
+	 */
+	private void scheduleBackgroundScan() {
+		fBackgroundScan= createBackgroundScan();
+		if (fBackgroundScan != null)
+			fScanExecutor.execute(fBackgroundScan);
+	}
+
+	/**
+	 * Creates a scan of the pending partitions on a snapshot of the document.
+	 *
+	 * @return the scan or <code>null</code> if the partitions cannot be accessed
+	 */
+	private BackgroundScan createBackgroundScan() {
+		try {
+			Position[] category= getPositions();
+			int first= fDocument.computeIndexInCategory(fPositionCategory, fPendingEnd);
+			CharSequence text;
+			if (fDocument instanceof IDocumentExtension5 && ((IDocumentExtension5) fDocument).isSnapshotShared())
+				text= ((IDocumentExtension5) fDocument).getSnapshot();
+			else
+				text= fDocument.get();
+			return new BackgroundScan(text, fPendingOffset, category, first);
+		} catch (BadPositionCategoryException | BadLocationException x) {
+			// should never happen on connected documents
+			return null;
+		}
+	}
+
+	/**
+	 * Discards the current background scan, if any. The scanner is no longer used by the scan
+	 * when this method returns.
+	 */
+	private void cancelBackgroundScan() {
+		synchronized (fScannerLock) {
+			if (fBackgroundScan != null) {
+				fBackgroundScan.fCancelled= true;
+				fBackgroundScan= null;
+			}
+		}
+	}
+
+	/**
+	 * Replaces the partitions covered by the given background scan with the scanned ones, unless
+	 * the document has changed since the scan was scheduled. Notifies the document's partitioning
+	 * listeners if the partitioning changed.
+	 *
+	 * @param scan the finished background scan
+	 */
+	private void applyBackgroundScan(BackgroundScan scan) {
+		if (scan != fBackgroundScan)
+			return;
+		fBackgroundScan= null;
+		fPendingOffset= -1;
+
+		boolean changed= false;
+		try {
+			Position[] category= getPositions();
+			int first= fDocument.computeIndexInCategory(fPositionCategory, scan.fOffset);
+			int end= first;
+			while (end < category.length && category[end].offset < scan.fEnd)
+				++ end;
+			List<TypedPosition> partitions= scan.fPartitions;
+			changed= end - first != partitions.size();
+			for (int i= first; i < end && !changed; i++)
+				changed= !partitions.get(i - first).equals(category[i]);
+			if (changed) {
+				for (int i= first; i < end; i++)
+					fDocument.removePosition(fPositionCategory, category[i]);
+				for (TypedPosition p : partitions)
+					fDocument.addPosition(fPositionCategory, p);
+			}
+		} catch (BadPositionCategoryException | BadLocationException x) {
+			// should never happen on connected documents
+		} finally {
+			clearPositionCache();
+		}
+
+		if (changed && fDocument instanceof AbstractDocument)
+			((AbstractDocument) fDocument).partitioningChanged(this, scan.fOffset, scan.fEnd - scan.fOffset);
+	}
+
 	/**
 	 * Returns the position in the partitoner's position category which is
 	 * close to the given offset. This is, the position has either an offset which
@@ -742,6 +1086,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	public void startRewriteSession(DocumentRewriteSession session) throws IllegalStateException {
 		if (fActiveRewriteSession != null)
 			throw new IllegalStateException();
+		cancelBackgroundScan();
 		fActiveRewriteSession= session;
 	}
 
@@ -773,6 +1118,8 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 */
 	protected final void flushRewriteSession() {
 		fActiveRewriteSession= null;
+		cancelBackgroundScan();
+		fPendingOffset= -1;
 
 		// remove all position belonging to the partitioner position category
 		try {
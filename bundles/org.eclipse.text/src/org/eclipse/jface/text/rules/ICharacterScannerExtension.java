@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.rules;
+
+
+/**
+ * Extension interface for {@link ICharacterScanner}. Gives rules random access to the characters
+ * of the scanned range, so that they can examine a sequence of characters without reading and
+ * unreading each of them, and move the scanner in one step.
+ * <p>
+ * The characters are addressed by their offset in the scanned document. Reading the character at
+ * the scanner's offset and then calling {@link #setOffset(int)} with the next offset has the same
+ * effect as calling {@link ICharacterScanner#read()}.
+ * </p>
+ * <p>
+ * The rules provided by this package use this extension if the scanner implements it, unless a
+ * subclass of {@link RuleBasedScanner} overrides {@link ICharacterScanner#read()} or
+ * {@link ICharacterScanner#unread()}.
+ * </p>
+ *
+ * @see ICharacterScanner
+ * @since 3.15
+ */
+public interface ICharacterScannerExtension {
+
+	/**
+	 * Returns the document offset of the next character to be read.
+	 *
+	 * @return the offset of the scanner
+	 */
+	int getOffset();
+
+	/**
+	 * Moves the scanner such that the next character to be read is the one at the given
+	 * document offset.
+	 *
+	 * @param offset the new offset of the scanner
+	 */
+	void setOffset(int offset);
+
+	/**
+	 * Returns the character at the given document offset without moving the scanner.
+	 *
+	 * @param offset the document offset of the character
+	 * @return the character or {@link ICharacterScanner#EOF} if the offset is not inside the
+	 *         scanned range
+	 */
+	int charAt(int offset);
+}
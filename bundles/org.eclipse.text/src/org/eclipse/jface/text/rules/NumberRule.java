@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2007 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -59,6 +59,18 @@ public class NumberRule implements IRule {
 
 	@Override
 	public IToken evaluate(ICharacterScanner scanner) {
+		ICharacterScannerExtension extension= CharacterScanners.getExtension(scanner);
+		if (extension != null) {
+			int offset= extension.getOffset();
+			if (!Character.isDigit((char) extension.charAt(offset)) || fColumn != UNDEFINED && fColumn != scanner.getColumn())
+				return Token.UNDEFINED;
+			do {
+				offset++;
+			} while (Character.isDigit((char) extension.charAt(offset)));
+			extension.setOffset(offset);
+			return fToken;
+		}
+
 		int c= scanner.read();
 		if (Character.isDigit((char)c)) {
 			if (fColumn == UNDEFINED || (fColumn == scanner.getColumn() - 1)) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,10 @@ import org.eclipse.core.runtime.Assert;
  * the pattern can be constrained to begin in a certain column. The rule can also
  * be used to check whether the text to scan covers half of the pattern, i.e. contains
  * the end sequence required by the rule.
+ * <p>
+ * If the scanner implements {@link ICharacterScannerExtension}, the end sequence is searched
+ * without reading the characters one by one.
+ * </p>
  * Originally since unknown version, but moved to org.eclipse.text in 3.14
  *
  * @since 3.14
@@ -46,6 +50,20 @@ public class PatternRule implements IPredicateRule {
 		}
 	}
 
+	/**
+	 * Tells per rule class whether the end sequence may be searched through
+	 * {@link ICharacterScannerExtension}, which is not the case if
+	 * {@link #sequenceDetected(ICharacterScanner, char[], boolean)} is overridden.
+	 *
+	 * @since 3.15
+	 */
+	private static final ClassValue<Boolean> DIRECT_ACCESS= new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			return Boolean.valueOf(!CharacterScanners.isOverridden(type, PatternRule.class, "sequenceDetected", ICharacterScanner.class, char[].class, boolean.class)); //$NON-NLS-1$
+		}
+	};
+
 	/** Internal setting for the un-initialized column constraint */
 	protected static final int UNDEFINED= -1;
 
@@ -84,6 +102,11 @@ public class PatternRule implements IPredicateRule {
 	 * @since 3.1
 	 */
 	private char[][] fSortedLineDelimiters;
+	/**
+	 * Tells whether the end sequence may be searched through {@link ICharacterScannerExtension}.
+	 * @since 3.15
+	 */
+	private final boolean fDirectAccess= DIRECT_ACCESS.get(getClass()).booleanValue();
 
 	/**
 	 * Creates a rule for the given starting and ending sequence.
@@ -238,6 +261,10 @@ public class PatternRule implements IPredicateRule {
 			Arrays.sort(fSortedLineDelimiters, fLineDelimiterComparator);
 		}
 
+		ICharacterScannerExtension extension= fDirectAccess ? CharacterScanners.getExtension(scanner) : null;
+		if (extension != null)
+			return endSequenceDetected(extension);
+
 		int readCount= 1;
 		int c;
 		while ((c= scanner.read()) != ICharacterScanner.EOF) {
@@ -275,6 +302,90 @@ public class PatternRule implements IPredicateRule {
 		return false;
 	}
 
+	/**
+	 * Searches the end sequence like {@link #endSequenceDetected(ICharacterScanner)}, but
+	 * examines the characters through the given scanner extension and moves the scanner once,
+	 * to the same offset at which reading the characters one by one would leave it.
+	 *
+	 * @param extension the extension of the scanner
+	 * @return <code>true</code> if the end sequence has been detected
+	 * @since 3.15
+	 */
+	private boolean endSequenceDetected(ICharacterScannerExtension extension) {
+		int offset= extension.getOffset();
+		int readCount= 1;
+		int c;
+		while ((c= extension.charAt(offset++)) != ICharacterScanner.EOF) {
+			if (c == fEscapeCharacter) {
+				// Skip escaped character(s)
+				if (fEscapeContinuesLine) {
+					c= extension.charAt(offset++);
+					for (char[] fSortedLineDelimiter : fSortedLineDelimiters) {
+						if (c == fSortedLineDelimiter[0]) {
+							int end= sequenceEnd(extension, offset, fSortedLineDelimiter, fBreaksOnEOF);
+							if (end != -1) {
+								offset= end;
+								break;
+							}
+						}
+					}
+				} else
+					offset++;
+
+			} else if (fEndSequence.length > 0 && c == fEndSequence[0]) {
+				// Check if the specified end sequence has been found.
+				int end= sequenceEnd(extension, offset, fEndSequence, fBreaksOnEOF);
+				if (end != -1) {
+					extension.setOffset(end);
+					return true;
+				}
+			} else if (fBreaksOnEOL) {
+				// Check for end of line since it can be used to terminate the pattern.
+				for (char[] fSortedLineDelimiter : fSortedLineDelimiters) {
+					if (c == fSortedLineDelimiter[0]) {
+						int end= sequenceEnd(extension, offset, fSortedLineDelimiter, fBreaksOnEOF);
+						if (end != -1) {
+							extension.setOffset(end);
+							return true;
+						}
+					}
+				}
+			}
+			readCount++;
+		}
+
+		if (fBreaksOnEOF) {
+			extension.setOffset(offset);
+			return true;
+		}
+
+		extension.setOffset(offset - readCount);
+		return false;
+	}
+
+	/**
+	 * Tells whether the characters at the given offset match the given sequence except for its
+	 * first character, see {@link #sequenceDetected(ICharacterScanner, char[], boolean)}.
+	 *
+	 * @param extension the extension of the scanner
+	 * @param offset the offset of the character following the first character of the sequence
+	 * @param sequence the sequence to be detected
+	 * @param eofAllowed indicated whether EOF terminates the pattern
+	 * @return the offset after the detected sequence or <code>-1</code> if the sequence has not
+	 *         been detected
+	 * @since 3.15
+	 */
+	private static int sequenceEnd(ICharacterScannerExtension extension, int offset, char[] sequence, boolean eofAllowed) {
+		for (int i= 1; i < sequence.length; i++) {
+			int c= extension.charAt(offset++);
+			if (c == ICharacterScanner.EOF && eofAllowed)
+				return offset;
+			if (c != sequence[i])
+				return -1;
+		}
+		return offset;
+	}
+
 	/**
 	 * Returns whether the next characters to be read by the character scanner
 	 * are an exact match with the given sequence. No escape characters are allowed
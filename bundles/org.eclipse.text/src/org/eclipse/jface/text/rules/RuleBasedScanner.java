@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,10 @@
 package org.eclipse.jface.text.rules;
 
 
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jface.text.BadLocationException;
@@ -30,13 +34,33 @@ import org.eclipse.jface.text.IDocument;
  * which returns <code>true</code> when calling <code>isOther</code>, unless the end
  * of the file is reached. In this case the token returns <code>true</code> when calling
  * <code>isEOF</code>.
+ * <p>
+ * The scanner implements {@link ICharacterScannerExtension} so that rules can examine the
+ * characters without reading them one by one. Besides returning tokens, the scanner can return
+ * indices into a table of the tokens it has returned so far, see {@link #nextTokenIndex()}.
+ * </p>
  *
  * Originally since unknown version, but moved to org.eclipse.text in 3.14
  *
  * @since 3.14
  * @see IRule
  */
-public class RuleBasedScanner implements ICharacterScanner, ITokenScanner {
+public class RuleBasedScanner implements ICharacterScanner, ICharacterScannerExtension, ITokenScanner {
+
+	/**
+	 * Tells per scanner class whether rules may access the characters through
+	 * {@link ICharacterScannerExtension}, which is not the case if a subclass changes how
+	 * characters are read.
+	 *
+	 * @since 3.15
+	 */
+	private static final ClassValue<Boolean> DIRECT_ACCESS= new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			Class<?> declaringClass= BufferedRuleBasedScanner.class.isAssignableFrom(type) ? BufferedRuleBasedScanner.class : RuleBasedScanner.class;
+			return Boolean.valueOf(!CharacterScanners.isOverridden(type, declaringClass, "read") && !CharacterScanners.isOverridden(type, declaringClass, "unread")); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	};
 
 	/** The list of rules of this scanner */
 	protected IRule[] fRules;
@@ -56,6 +80,26 @@ public class RuleBasedScanner implements ICharacterScanner, ITokenScanner {
 	protected int fColumn;
 	/** Internal setting for the un-initialized column cache. */
 	protected static final int UNDEFINED= -1;
+	/**
+	 * Tells whether rules may access the characters through {@link ICharacterScannerExtension}.
+	 * @since 3.15
+	 */
+	private final boolean fDirectAccess= DIRECT_ACCESS.get(getClass()).booleanValue();
+	/**
+	 * The tokens returned by {@link #nextTokenIndex()} so far, <code>null</code> if none.
+	 * @since 3.15
+	 */
+	private IToken[] fTokenTable;
+	/**
+	 * The number of tokens in the token table.
+	 * @since 3.15
+	 */
+	private int fTokenCount;
+	/**
+	 * The indices of the tokens in the token table.
+	 * @since 3.15
+	 */
+	private Map<IToken, Integer> fTokenIndices;
 
 	/**
 	 * Creates a new rule based scanner which does not have any rule.
@@ -178,6 +222,57 @@ public class RuleBasedScanner implements ICharacterScanner, ITokenScanner {
 		return fDefaultReturnToken;
 	}
 
+	/**
+	 * Returns the next token in the document as an index into the token table of this scanner.
+	 * A token is added to the table when it is returned for the first time, so that each token
+	 * is identified by the same index for the lifetime of this scanner.
+	 *
+	 * @return the index of the next token in the {@linkplain #getTokenTable() token table}
+	 * @see #nextToken()
+	 * @since 3.15
+	 */
+	public int nextTokenIndex() {
+		return getTokenIndex(nextToken());
+	}
+
+	/**
+	 * Returns the index of the given token in the token table of this scanner, adding the token
+	 * to the table if it has not been returned before. Tokens are compared by identity.
+	 *
+	 * @param token the token
+	 * @return the index of the token in the {@linkplain #getTokenTable() token table}
+	 * @since 3.15
+	 */
+	public int getTokenIndex(IToken token) {
+		if (fTokenIndices == null) {
+			fTokenIndices= new IdentityHashMap<>();
+			fTokenTable= new IToken[8];
+		}
+		Integer index= fTokenIndices.get(token);
+		if (index != null)
+			return index.intValue();
+
+		if (fTokenCount == fTokenTable.length)
+			fTokenTable= Arrays.copyOf(fTokenTable, 2 * fTokenCount);
+		fTokenTable[fTokenCount]= token;
+		fTokenIndices.put(token, Integer.valueOf(fTokenCount));
+		return fTokenCount++;
+	}
+
+	/**
+	 * Returns the token table of this scanner. The token at index <code>i</code> of the returned
+	 * array is the one identified by index <code>i</code>.
+	 *
+	 * @return a copy of the token table
+	 * @see #nextTokenIndex()
+	 * @since 3.15
+	 */
+	public IToken[] getTokenTable() {
+		if (fTokenTable == null)
+			return new IToken[0];
+		return Arrays.copyOf(fTokenTable, fTokenCount);
+	}
+
 	@Override
 	public int read() {
 
@@ -203,6 +298,55 @@ public class RuleBasedScanner implements ICharacterScanner, ITokenScanner {
 		--fOffset;
 		fColumn= UNDEFINED;
 	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @since 3.15
+	 */
+	@Override
+	public int getOffset() {
+		return fOffset;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @since 3.15
+	 */
+	@Override
+	public void setOffset(int offset) {
+		fOffset= offset;
+		fColumn= UNDEFINED;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @since 3.15
+	 */
+	@Override
+	public int charAt(int offset) {
+		if (offset < fRangeEnd) {
+			try {
+				return fDocument.getChar(offset);
+			} catch (BadLocationException e) {
+			}
+		}
+		return EOF;
+	}
+
+	/**
+	 * Tells whether rules may access the characters of this scanner through
+	 * {@link ICharacterScannerExtension}. This is not the case if a subclass overrides
+	 * {@link #read()} or {@link #unread()}.
+	 *
+	 * @return <code>true</code> if the characters can be accessed directly
+	 * @since 3.15
+	 */
+	boolean isDirectAccessSupported() {
+		return fDirectAccess;
+	}
 }
 
 
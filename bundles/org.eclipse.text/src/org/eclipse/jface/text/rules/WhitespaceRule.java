@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -72,6 +72,18 @@ public class WhitespaceRule implements IRule {
 	 */
 	@Override
 	public IToken evaluate(ICharacterScanner scanner) {
+		ICharacterScannerExtension extension= CharacterScanners.getExtension(scanner);
+		if (extension != null) {
+			int offset= extension.getOffset();
+			if (!fDetector.isWhitespace((char) extension.charAt(offset)))
+				return Token.UNDEFINED;
+			do {
+				offset++;
+			} while (fDetector.isWhitespace((char) extension.charAt(offset)));
+			extension.setOffset(offset);
+			return fWhitespaceToken;
+		}
+
 		int c= scanner.read();
 		if (fDetector.isWhitespace((char) c)) {
 			do {
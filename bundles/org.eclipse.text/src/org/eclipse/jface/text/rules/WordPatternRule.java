@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2007 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -29,10 +29,29 @@ import org.eclipse.core.runtime.Assert;
  */
 public class WordPatternRule extends SingleLineRule {
 
+	/**
+	 * Tells per rule class whether the word may be examined through
+	 * {@link ICharacterScannerExtension}, which is not the case if
+	 * {@link #unreadBuffer(ICharacterScanner)} is overridden.
+	 *
+	 * @since 3.15
+	 */
+	private static final ClassValue<Boolean> DIRECT_ACCESS= new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			return Boolean.valueOf(!CharacterScanners.isOverridden(type, WordPatternRule.class, "unreadBuffer", ICharacterScanner.class)); //$NON-NLS-1$
+		}
+	};
+
 	/** The word detector used by this rule */
 	protected IWordDetector fDetector;
 	/** The internal buffer used for pattern detection */
 	private StringBuilder fBuffer= new StringBuilder();
+	/**
+	 * Tells whether the word may be examined through {@link ICharacterScannerExtension}.
+	 * @since 3.15
+	 */
+	private final boolean fDirectAccess= DIRECT_ACCESS.get(getClass()).booleanValue();
 
 	/**
 	 * Creates a rule for the given starting and ending word
@@ -78,6 +97,10 @@ public class WordPatternRule extends SingleLineRule {
 	 */
 	@Override
 	protected boolean endSequenceDetected(ICharacterScanner scanner) {
+		ICharacterScannerExtension extension= fDirectAccess ? CharacterScanners.getExtension(scanner) : null;
+		if (extension != null)
+			return endSequenceDetected(extension);
+
 		fBuffer.setLength(0);
 		int c= scanner.read();
 		while (fDetector.isWordPart((char) c)) {
@@ -100,6 +123,35 @@ public class WordPatternRule extends SingleLineRule {
 		return false;
 	}
 
+	/**
+	 * Detects the end sequence like {@link #endSequenceDetected(ICharacterScanner)}, but examines
+	 * the word through the given scanner extension.
+	 *
+	 * @param extension the extension of the scanner
+	 * @return <code>true</code> if the word ends on the given end sequence
+	 * @since 3.15
+	 */
+	private boolean endSequenceDetected(ICharacterScannerExtension extension) {
+		int start= extension.getOffset();
+		int end= start;
+		while (fDetector.isWordPart((char) extension.charAt(end)))
+			end++;
+
+		if (end - start >= fEndSequence.length) {
+			int i= fEndSequence.length - 1;
+			while (i >= 0 && fEndSequence[i] == extension.charAt(end - fEndSequence.length + i))
+				i--;
+			if (i < 0) {
+				extension.setOffset(end);
+				return true;
+			}
+		}
+
+		// return the characters of the start sequence except the first one, see unreadBuffer
+		extension.setOffset(start - fStartSequence.length + 1);
+		return false;
+	}
+
 	/**
 	 * Returns the characters in the buffer to the scanner.
 	 * Note that the rule must also return the characters
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,14 @@
  *******************************************************************************/
 package org.eclipse.jface.text.rules;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import org.eclipse.core.runtime.Assert;
 
@@ -25,6 +31,10 @@ import org.eclipse.core.runtime.Assert;
  * associate a token to a word. That is, not only can the rule be used to provide tokens for exact
  * matches, but also for the generalized notion of a word in the context in which it is used. A word
  * rule uses a word detector to determine what a word is.
+ * <p>
+ * If the scanner implements {@link ICharacterScannerExtension}, the predefined words are looked up
+ * in a trie while the word is being examined, so that no string has to be created for it.
+ * </p>
  *
  * Originally since unknown version, but moved to org.eclipse.text in 3.14
  *
@@ -33,6 +43,154 @@ import org.eclipse.core.runtime.Assert;
  */
 public class WordRule implements IRule {
 
+	/**
+	 * A node of the trie of predefined words.
+	 *
+	 * @since 3.15
+	 */
+	private static final class Node {
+
+		/** The characters leading to the children, in ascending order */
+		private char[] fChars= new char[0];
+		/** The children */
+		private Node[] fChildren= new Node[0];
+		/** The predefined word ending at this node, <code>null</code> if none */
+		private String fWord;
+
+		Node getChild(char ch) {
+			int index= Arrays.binarySearch(fChars, ch);
+			return index >= 0 ? fChildren[index] : null;
+		}
+
+		Node addChild(char ch) {
+			int index= Arrays.binarySearch(fChars, ch);
+			if (index >= 0)
+				return fChildren[index];
+
+			index= -index - 1;
+			int length= fChars.length;
+			char[] chars= new char[length + 1];
+			Node[] children= new Node[length + 1];
+			System.arraycopy(fChars, 0, chars, 0, index);
+			System.arraycopy(fChildren, 0, children, 0, index);
+			System.arraycopy(fChars, index, chars, index + 1, length - index);
+			System.arraycopy(fChildren, index, children, index + 1, length - index);
+			Node child= new Node();
+			chars[index]= ch;
+			children[index]= child;
+			fChars= chars;
+			fChildren= children;
+			return child;
+		}
+	}
+
+	/**
+	 * The table of predefined words created by the rule, which counts the changes that may add or
+	 * remove words, so that the trie can be rebuilt. Obtaining a view of the table counts as a
+	 * change, as the view may be used to remove words.
+	 *
+	 * @since 3.15
+	 */
+	private static final class WordTable extends HashMap<String, IToken> {
+
+		private static final long serialVersionUID= 1L;
+
+		/** The number of changes */
+		int fModificationCount;
+
+		@Override
+		public IToken put(String key, IToken value) {
+			fModificationCount++;
+			return super.put(key, value);
+		}
+
+		@Override
+		public void putAll(Map<? extends String, ? extends IToken> m) {
+			fModificationCount++;
+			super.putAll(m);
+		}
+
+		@Override
+		public IToken putIfAbsent(String key, IToken value) {
+			fModificationCount++;
+			return super.putIfAbsent(key, value);
+		}
+
+		@Override
+		public IToken remove(Object key) {
+			fModificationCount++;
+			return super.remove(key);
+		}
+
+		@Override
+		public boolean remove(Object key, Object value) {
+			fModificationCount++;
+			return super.remove(key, value);
+		}
+
+		@Override
+		public IToken computeIfAbsent(String key, Function<? super String, ? extends IToken> mappingFunction) {
+			fModificationCount++;
+			return super.computeIfAbsent(key, mappingFunction);
+		}
+
+		@Override
+		public IToken computeIfPresent(String key, BiFunction<? super String, ? super IToken, ? extends IToken> remappingFunction) {
+			fModificationCount++;
+			return super.computeIfPresent(key, remappingFunction);
+		}
+
+		@Override
+		public IToken compute(String key, BiFunction<? super String, ? super IToken, ? extends IToken> remappingFunction) {
+			fModificationCount++;
+			return super.compute(key, remappingFunction);
+		}
+
+		@Override
+		public IToken merge(String key, IToken value, BiFunction<? super IToken, ? super IToken, ? extends IToken> remappingFunction) {
+			fModificationCount++;
+			return super.merge(key, value, remappingFunction);
+		}
+
+		@Override
+		public void clear() {
+			fModificationCount++;
+			super.clear();
+		}
+
+		@Override
+		public Set<String> keySet() {
+			fModificationCount++;
+			return super.keySet();
+		}
+
+		@Override
+		public Collection<IToken> values() {
+			fModificationCount++;
+			return super.values();
+		}
+
+		@Override
+		public Set<Map.Entry<String, IToken>> entrySet() {
+			fModificationCount++;
+			return super.entrySet();
+		}
+	}
+
+	/**
+	 * Tells per rule class whether the words may be examined through
+	 * {@link ICharacterScannerExtension}, which is not the case if
+	 * {@link #unreadBuffer(ICharacterScanner)} is overridden.
+	 *
+	 * @since 3.15
+	 */
+	private static final ClassValue<Boolean> DIRECT_ACCESS= new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			return Boolean.valueOf(!CharacterScanners.isOverridden(type, WordRule.class, "unreadBuffer", ICharacterScanner.class)); //$NON-NLS-1$
+		}
+	};
+
 	/** Internal setting for the un-initialized column constraint. */
 	protected static final int UNDEFINED= -1;
 
@@ -43,7 +201,7 @@ public class WordRule implements IRule {
 	/** The column constraint. */
 	protected int fColumn= UNDEFINED;
 	/** The table of predefined words and token for this rule. */
-	protected Map<String, IToken> fWords= new HashMap<>();
+	protected Map<String, IToken> fWords= new WordTable();
 	/** Buffer used for pattern detection. */
 	private StringBuilder fBuffer= new StringBuilder();
 	/**
@@ -51,6 +209,37 @@ public class WordRule implements IRule {
 	 * @since 3.3
 	 */
 	private boolean fIgnoreCase= false;
+	/**
+	 * Tells whether the words may be examined through {@link ICharacterScannerExtension}.
+	 * @since 3.15
+	 */
+	private final boolean fDirectAccess= DIRECT_ACCESS.get(getClass()).booleanValue();
+	/**
+	 * The root of the trie of the predefined words, <code>null</code> if it has to be built.
+	 * @since 3.15
+	 */
+	private Node fTrie;
+	/**
+	 * The table of predefined words from which the trie has been built.
+	 * @since 3.15
+	 */
+	private WordTable fTrieWords;
+	/**
+	 * The modification count of {@link #fTrieWords} when the trie has been built.
+	 * @since 3.15
+	 */
+	private int fTrieModificationCount;
+	/**
+	 * The lower case of the ASCII characters in {@link #fLocale}, <code>null</code> if a character
+	 * has no single character lower case.
+	 * @since 3.15
+	 */
+	private char[] fLowerCase;
+	/**
+	 * The default locale when {@link #fLowerCase} has been computed.
+	 * @since 3.15
+	 */
+	private Locale fLocale;
 
 
 	/**
@@ -115,6 +304,7 @@ public class WordRule implements IRule {
 		if (fIgnoreCase)
 			word= word.toLowerCase();
 		fWords.put(word, token);
+		fTrie= null;
 	}
 
 	/**
@@ -133,6 +323,10 @@ public class WordRule implements IRule {
 
 	@Override
 	public IToken evaluate(ICharacterScanner scanner) {
+		ICharacterScannerExtension extension= fDirectAccess ? CharacterScanners.getExtension(scanner) : null;
+		if (extension != null)
+			return evaluate(scanner, extension);
+
 		int c= scanner.read();
 		if (c != ICharacterScanner.EOF && fDetector.isWordStart((char) c)) {
 			if (fColumn == UNDEFINED || (fColumn == scanner.getColumn() - 1)) {
@@ -165,6 +359,117 @@ public class WordRule implements IRule {
 		return Token.UNDEFINED;
 	}
 
+	/**
+	 * Evaluates this rule by examining the characters through the given scanner extension.
+	 *
+	 * @param scanner the scanner
+	 * @param extension the extension of the scanner
+	 * @return the token resulting from this evaluation
+	 * @since 3.15
+	 */
+	private IToken evaluate(ICharacterScanner scanner, ICharacterScannerExtension extension) {
+		int start= extension.getOffset();
+		int c= extension.charAt(start);
+		if (c == ICharacterScanner.EOF || !fDetector.isWordStart((char) c) || fColumn != UNDEFINED && fColumn != scanner.getColumn())
+			return Token.UNDEFINED;
+
+		int end= start + 1;
+		while ((c= extension.charAt(end)) != ICharacterScanner.EOF && fDetector.isWordPart((char) c))
+			end++;
+
+		IToken token= findWord(extension, start, end);
+		if (token == null) {
+			if (fDefaultToken.isUndefined())
+				return fDefaultToken;
+			token= fDefaultToken;
+		}
+		extension.setOffset(end);
+		return token;
+	}
+
+	/**
+	 * Returns the token of the predefined word between the given offsets.
+	 *
+	 * @param extension the scanner extension providing the characters
+	 * @param start the start offset of the word
+	 * @param end the end offset of the word
+	 * @return the token of the word or <code>null</code> if it is not predefined
+	 * @since 3.15
+	 */
+	private IToken findWord(ICharacterScannerExtension extension, int start, int end) {
+		if (!(fWords instanceof WordTable table))
+			// the changes of a table set by a subclass cannot be tracked
+			return findWordInTable(extension, start, end);
+		if (fTrie == null || fTrieWords != table || fTrieModificationCount != table.fModificationCount || fIgnoreCase && fLocale != Locale.getDefault())
+			buildTrie(table);
+
+		Node node= fTrie;
+		for (int i= start; i < end && node != null; i++) {
+			char ch= (char) extension.charAt(i);
+			if (fIgnoreCase) {
+				if (fLowerCase == null || ch >= fLowerCase.length)
+					return findWordInTable(extension, start, end);
+				ch= fLowerCase[ch];
+			}
+			node= node.getChild(ch);
+		}
+		// the table is authoritative, the trie only tells which words it contains
+		return node == null || node.fWord == null ? null : fWords.get(node.fWord);
+	}
+
+	/**
+	 * Returns the token of the predefined word between the given offsets by looking the word up
+	 * in the table of predefined words.
+	 *
+	 * @param extension the scanner extension providing the characters
+	 * @param start the start offset of the word
+	 * @param end the end offset of the word
+	 * @return the token of the word or <code>null</code> if it is not predefined
+	 * @since 3.15
+	 */
+	private IToken findWordInTable(ICharacterScannerExtension extension, int start, int end) {
+		fBuffer.setLength(0);
+		for (int i= start; i < end; i++)
+			fBuffer.append((char) extension.charAt(i));
+		String buffer= fBuffer.toString();
+		if (fIgnoreCase)
+			buffer= buffer.toLowerCase();
+		return fWords.get(buffer);
+	}
+
+	/**
+	 * Builds the trie of the predefined words.
+	 *
+	 * @param table the table of predefined words
+	 * @since 3.15
+	 */
+	private void buildTrie(WordTable table) {
+		Node root= new Node();
+		for (String word : table.keySet()) {
+			Node node= root;
+			for (int i= 0; i < word.length(); i++)
+				node= node.addChild(word.charAt(i));
+			node.fWord= word;
+		}
+		fTrie= root;
+		fTrieWords= table;
+		fTrieModificationCount= table.fModificationCount;
+
+		if (fIgnoreCase) {
+			// String.toLowerCase() is locale sensitive, but maps ASCII characters independent of their context
+			fLocale= Locale.getDefault();
+			fLowerCase= new char[128];
+			for (char ch= 0; ch < fLowerCase.length; ch++) {
+				String lowerCase= String.valueOf(ch).toLowerCase();
+				if (lowerCase.length() != 1) {
+					fLowerCase= null;
+					break;
+				}
+				fLowerCase[ch]= lowerCase.charAt(0);
+			}
+		}
+	}
+
 	/**
 	 * Returns the characters in the buffer to the scanner.
 	 *
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.source;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.jface.text.Position;
+
+
+/**
+ * An interval index over the positions of an annotation model. The positions are kept sorted by
+ * their offset and form an implicit balanced tree in which every node knows the largest end offset
+ * of its subtree, so that the positions inside a region are found in
+ * <code>O(log n + k)</code>.
+ * <p>
+ * The index does not observe the positions. The model reports when positions are added or
+ * removed and when the document may have moved them, and the index is rebuilt on the next query.
+ * As the document keeps the relative order of the positions mostly intact, rebuilding after a
+ * document change sorts an almost sorted array and is linear in most cases.
+ * </p>
+ *
+ * @since 3.15
+ */
+final class AnnotationIndex {
+
+	private static final Comparator<Position> OFFSET_ORDER= Comparator.comparingInt(Position::getOffset);
+
+	/** The positions indexed, owned by the annotation model */
+	private final Set<Position> fSource;
+	/** The indexed positions sorted by offset */
+	private Position[] fPositions= new Position[0];
+	/** The largest end offset of the subtree whose root is the position with the same index */
+	private int[] fMaxEnds= new int[0];
+	/** Whether positions have been added or removed since the last rebuild */
+	private boolean fStale= true;
+	/** Whether positions may have been moved since the last rebuild */
+	private boolean fUnsorted;
+
+	/**
+	 * Creates a new index.
+	 *
+	 * @param source the positions to index, the index reads them when it is rebuilt
+	 */
+	AnnotationIndex(Set<Position> source) {
+		fSource= source;
+	}
+
+	/**
+	 * Tells this index that positions have been added or removed.
+	 */
+	synchronized void positionsChanged() {
+		fStale= true;
+	}
+
+	/**
+	 * Tells this index that the offsets or lengths of positions may have changed.
+	 */
+	synchronized void positionsMoved() {
+		fUnsorted= true;
+	}
+
+	/**
+	 * Returns the indexed positions inside the given region, ordered by offset. See
+	 * {@link IAnnotationModelExtension2} for a definition of inside.
+	 *
+	 * @param offset the start of the region
+	 * @param length the length of the region
+	 * @param canStartBefore include positions starting before the region
+	 * @param canEndAfter include positions ending after the region
+	 * @return the positions inside the region
+	 */
+	synchronized Position[] getPositions(int offset, int length, boolean canStartBefore, boolean canEndAfter) {
+		update();
+		List<Position> result= new ArrayList<>();
+		collect(0, fPositions.length, new Position(offset, length), canStartBefore, canEndAfter, result);
+		return result.toArray(new Position[result.size()]);
+	}
+
+	private void update() {
+		if (fStale) {
+			fPositions= fSource.toArray(new Position[fSource.size()]);
+			fMaxEnds= new int[fPositions.length];
+		} else if (!fUnsorted) {
+			return;
+		}
+		fStale= false;
+		fUnsorted= false;
+		Arrays.sort(fPositions, OFFSET_ORDER);
+		computeMaxEnds(0, fPositions.length);
+	}
+
+	private int computeMaxEnds(int low, int high) {
+		if (low >= high)
+			return Integer.MIN_VALUE;
+		int mid= (low + high) >>> 1;
+		Position position= fPositions[mid];
+		int maxEnd= Math.max(position.getOffset() + position.getLength(), Math.max(computeMaxEnds(low, mid), computeMaxEnds(mid + 1, high)));
+		fMaxEnds[mid]= maxEnd;
+		return maxEnd;
+	}
+
+	/*
+	 * Every position inside the region in one of the modes starts at or before the end of the
+	 * region and ends at or after its start, subtrees outside of these bounds are skipped.
+	 */
+	private void collect(int low, int high, Position region, boolean canStartBefore, boolean canEndAfter, List<Position> result) {
+		int regionEnd= region.getOffset() + region.getLength();
+		while (low < high) {
+			int mid= (low + high) >>> 1;
+			if (fMaxEnds[mid] < region.getOffset())
+				return;
+			collect(low, mid, region, canStartBefore, canEndAfter, result);
+			Position position= fPositions[mid];
+			if (position.getOffset() > regionEnd)
+				return;
+			if (isWithinRegion(region, position, canStartBefore, canEndAfter))
+				result.add(position);
+			low= mid + 1;
+		}
+	}
+
+	/*
+	 * Same as AbstractDocument#isWithinRegion(Position, Position, boolean, boolean), which
+	 * defined the positions of a connected model inside a region before.
+	 */
+	private static boolean isWithinRegion(Position region, Position position, boolean canStartBefore, boolean canEndAfter) {
+		if (canStartBefore && canEndAfter) {
+			return region.overlapsWith(position.getOffset(), position.getLength());
+		} else if (canStartBefore) {
+			return region.includes(position.getOffset() + position.getLength() - 1);
+		} else if (canEndAfter) {
+			return region.includes(position.getOffset());
+		} else {
+			int start= position.getOffset();
+			return region.includes(start) && region.includes(start + position.getLength() - 1);
+		}
+	}
+}
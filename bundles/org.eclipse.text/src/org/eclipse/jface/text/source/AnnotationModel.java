@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,20 +16,20 @@
 package org.eclipse.jface.text.source;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Comparator;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jface.text.AbstractDocument;
 import org.eclipse.jface.text.BadLocationException;
-import org.eclipse.jface.text.BadPositionCategoryException;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentListener;
@@ -238,6 +238,87 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 		}
 	}
 
+	/**
+	 * Iterator that merges the annotations returned by the region iterators of several models
+	 * by the offsets of their positions. The merged annotations are ordered by offset if the
+	 * annotations of each model are.
+	 *
+	 * @since 3.15
+	 */
+	private static final class MergeIterator implements Iterator<Annotation> {
+
+		/**
+		 * The next annotation of one of the merged iterators.
+		 */
+		private static final class Head {
+
+			private final Iterator<Annotation> fIterator;
+			private final IAnnotationModel fModel;
+			private Annotation fAnnotation;
+			private int fOffset;
+
+			Head(Iterator<Annotation> iterator, IAnnotationModel model) {
+				fIterator= iterator;
+				fModel= model;
+			}
+
+			/**
+			 * Moves to the next annotation of the iterator.
+			 *
+			 * @return <code>false</code> if the iterator is exhausted
+			 */
+			boolean advance() {
+				if (!fIterator.hasNext())
+					return false;
+				fAnnotation= fIterator.next();
+				Position position= fModel.getPosition(fAnnotation);
+				// annotations removed in the meantime are still returned, but do not delay the others
+				fOffset= position != null ? position.getOffset() : Integer.MAX_VALUE;
+				return true;
+			}
+		}
+
+		private final PriorityQueue<Head> fHeads;
+
+		/**
+		 * Creates a new iterator merging the given iterators.
+		 *
+		 * @param iterators the iterators to merge
+		 * @param models the models whose positions the annotations of the iterator with the
+		 *            same index have
+		 */
+		public MergeIterator(List<Iterator<Annotation>> iterators, List<IAnnotationModel> models) {
+			fHeads= new PriorityQueue<>(iterators.size(), Comparator.comparingInt((Head head) -> head.fOffset));
+			for (int i= 0; i < iterators.size(); i++) {
+				Head head= new Head(iterators.get(i), models.get(i));
+				if (head.advance())
+					fHeads.add(head);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !fHeads.isEmpty();
+		}
+
+		@Override
+		public Annotation next() {
+			Head head= fHeads.poll();
+			if (head == null)
+				throw new NoSuchElementException();
+
+			Annotation result= head.fAnnotation;
+			if (head.advance())
+				fHeads.add(head);
+			return result;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
 	/**
 	 * Internal annotation model listener for forwarding annotation model changes from the attached models to the
 	 * registered listeners of the outer most annotation model.
@@ -268,6 +349,11 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 	 * @since 3.4
 	 **/
 	private IdentityHashMap<Position, Annotation> fPositions;
+	/**
+	 * The interval index over the positions of this model's annotations.
+	 * @since 3.15
+	 */
+	private final AnnotationIndex fIndex;
 	/** The list of annotation model listeners */
 	protected ArrayList<IAnnotationModelListener> fAnnotationModelListeners;
 	/** The document connected with this model */
@@ -306,17 +392,22 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 	public AnnotationModel() {
 		fAnnotations= new AnnotationMap(10);
 		fPositions= new IdentityHashMap<>(10);
+		fIndex= new AnnotationIndex(fPositions.keySet());
 		fAnnotationModelListeners= new ArrayList<>(2);
 
 		fDocumentListener= new IDocumentListener() {
 
 			@Override
 			public void documentAboutToBeChanged(DocumentEvent event) {
+				// the positions are updated before any document listener is told about the change
+				fIndex.positionsMoved();
 			}
 
 			@Override
 			public void documentChanged(DocumentEvent event) {
 				fDocumentChanged= true;
+				// the index may have been rebuilt from the old positions in between
+				fIndex.positionsMoved();
 			}
 		};
 	}
@@ -427,6 +518,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 			addPosition(fDocument, position);
 			annotations.put(annotation, position);
 			fPositions.put(position, annotation);
+			fIndex.positionsChanged();
 			synchronized (getLockObject()) {
 				getAnnotationModelEvent().annotationAdded(annotation);
 			}
@@ -695,17 +787,18 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 			return regionIterator;
 
 		List<Iterator<Annotation>> iterators= new ArrayList<>(fAttachments.size() + 1);
+		List<IAnnotationModel> models= new ArrayList<>(fAttachments.size() + 1);
 		iterators.add(regionIterator);
-		Iterator<Object> it= fAttachments.keySet().iterator();
-		while (it.hasNext()) {
-			IAnnotationModel attachment= fAttachments.get(it.next());
+		models.add(this);
+		for (IAnnotationModel attachment : fAttachments.values()) {
 			if (attachment instanceof IAnnotationModelExtension2)
 				iterators.add(((IAnnotationModelExtension2) attachment).getAnnotationIterator(offset, length, canStartBefore, canEndAfter));
 			else
 				iterators.add(new RegionIterator(attachment.getAnnotationIterator(), attachment, offset, length, canStartBefore, canEndAfter));
+			models.add(attachment);
 		}
 
-		return new MetaIterator<>(iterators.iterator());
+		return new MergeIterator(iterators, models);
 	}
 
 	/**
@@ -723,16 +816,10 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 		if (!(fDocument instanceof AbstractDocument))
 			return new RegionIterator(getAnnotationIterator(true), this, offset, length, canStartBefore, canEndAfter);
 
-		AbstractDocument document= (AbstractDocument) fDocument;
 		cleanup(true);
 
-		try {
-			Position[] positions= document.getPositions(IDocument.DEFAULT_CATEGORY, offset, length, canStartBefore, canEndAfter);
-			return new AnnotationsInterator(positions, fPositions);
-		} catch (BadPositionCategoryException e) {
-			// can happen if e.g. the document doesn't contain such a category, or when removed in a different thread
-			return Collections.<Annotation>emptyList().iterator();
-		}
+		Position[] positions= fIndex.getPositions(offset, length, canStartBefore, canEndAfter);
+		return new AnnotationsInterator(positions, fPositions);
 	}
 
 	/**
@@ -815,6 +902,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 
 		annotations.clear();
 		fPositions.clear();
+		fIndex.positionsChanged();
 
 		if (fireModelChanged)
 			fireModelChanged();
@@ -845,6 +933,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 
 			annotations.remove(annotation);
 			fPositions.remove(p);
+			fIndex.positionsChanged();
 			synchronized (getLockObject()) {
 				getAnnotationModelEvent().annotationRemoved(annotation, p);
 			}
@@ -886,6 +975,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 					fDocument.removePosition(p);
 					p.setOffset(position.getOffset());
 					p.setLength(position.getLength());
+					fIndex.positionsMoved();
 					try {
 						fDocument.addPosition(p);
 					} catch (BadLocationException e) {
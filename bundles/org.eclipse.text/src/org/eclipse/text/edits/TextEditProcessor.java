@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,12 +14,20 @@
 package org.eclipse.text.edits;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BadPositionCategoryException;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension3;
+import org.eclipse.jface.text.IDocumentPartitioner;
+import org.eclipse.jface.text.IDocumentPartitionerExtension2;
+import org.eclipse.jface.text.Position;
 
 
 /**
@@ -193,7 +201,8 @@ public class TextEditProcessor {
 			if (createUndo())
 				collector.connect(fDocument);
 			computeSources();
-			fRoot.traverseDocumentUpdating(this, fDocument);
+			if (!performFlatDocumentUpdating(createUndo() ? collector : null))
+				fRoot.traverseDocumentUpdating(this, fDocument);
 			if (updateRegions()) {
 				fRoot.traverseRegionUpdating(this, fDocument, 0, false);
 			}
@@ -203,6 +212,165 @@ public class TextEditProcessor {
 		return collector.undo;
 	}
 
+	/**
+	 * Performs the document updating of a flat edit tree, i.e. a multi text edit whose children
+	 * are replace, insert and delete edits without children, as formatters and many refactorings
+	 * produce them. Instead of changing the document once per edit, consecutive edits are combined
+	 * into a single document change as long as no position of the document starts or ends between
+	 * them. Such a combined change affects the positions, the text and the lines of the document
+	 * the same way as the individual edits, but the document, its positions and its listeners are
+	 * only updated once. Positions managed by partitioners are not considered, as partitioners
+	 * recompute their positions for any change.
+	 *
+	 * @param collector the collector of the undo edits, or <code>null</code> if no undo is created
+	 * @return <code>true</code> if the edit tree is flat and has been performed,
+	 *         <code>false</code> otherwise
+	 * @throws BadLocationException if the document cannot be updated
+	 */
+	private boolean performFlatDocumentUpdating(UndoCollector collector) throws BadLocationException {
+		if (fRoot.getClass() != MultiTextEdit.class || !considerEdit(fRoot))
+			return false;
+		List<TextEdit> children= fRoot.internalGetChildren();
+		if (children == null || children.size() < 2)
+			return false;
+		for (TextEdit child : children) {
+			Class<?> type= child.getClass();
+			if (type != ReplaceEdit.class && type != InsertEdit.class && type != DeleteEdit.class || child.hasChildren() || !considerEdit(child))
+				return false;
+		}
+
+		int size= children.size();
+		int[] boundaries= computePositionBoundaries(children.get(0).getOffset(), children.get(size - 1).getExclusiveEnd());
+		int delta= 0;
+		// the edits are performed from the end of the document, the group ends before index end
+		int end= size;
+		// the offset of the last performed group. The boundaries before it are still valid, but
+		// performing the group may have moved any boundary behind it onto this offset.
+		int performed= Integer.MAX_VALUE;
+		for (int i= size - 1; i >= 0; i--) {
+			int groupEnd= children.get(end - 1).getExclusiveEnd();
+			if (i > 0 && groupEnd < performed && !containsBoundary(boundaries, children.get(i - 1).getOffset(), groupEnd))
+				continue;
+			delta+= performDocumentUpdating(children, i, end, collector);
+			performed= children.get(i).getOffset();
+			end= i;
+		}
+
+		if (delta != 0)
+			fRoot.adjustLength(delta);
+		fRoot.performDocumentUpdating(fDocument);
+		return true;
+	}
+
+	/**
+	 * Replaces the range of the document covered by the given edits in a single step. The undo
+	 * still consists of one edit per given edit, so that undoing it updates the positions of the
+	 * document the same way as undoing the individual edits.
+	 *
+	 * @param edits the edits, sorted by offset and not overlapping
+	 * @param start the index of the first edit
+	 * @param end the index after the last edit
+	 * @param collector the collector of the undo edits, or <code>null</code> if no undo is created
+	 * @return the change of the document length
+	 * @throws BadLocationException if the document cannot be updated
+	 */
+	private int performDocumentUpdating(List<TextEdit> edits, int start, int end, UndoCollector collector) throws BadLocationException {
+		int offset= edits.get(start).getOffset();
+		StringBuilder text= new StringBuilder();
+		for (int i= start; i < end; i++) {
+			TextEdit edit= edits.get(i);
+			if (i > start) {
+				int previousEnd= edits.get(i - 1).getExclusiveEnd();
+				text.append(fDocument.get(previousEnd, edit.getOffset() - previousEnd));
+			}
+			text.append(getText(edit));
+		}
+		if (collector != null && end - start > 1) {
+			// the individual edits would be performed from the last one, each at its own offset
+			List<ReplaceEdit> undo= new ArrayList<>(end - start);
+			for (int i= end - 1; i >= start; i--) {
+				TextEdit edit= edits.get(i);
+				undo.add(new ReplaceEdit(edit.getOffset(), getText(edit).length(), fDocument.get(edit.getOffset(), edit.getLength())));
+			}
+			collector.setNextUndo(undo);
+		}
+		fDocument.replace(offset, edits.get(end - 1).getExclusiveEnd() - offset, text.toString());
+
+		int delta= 0;
+		for (int i= start; i < end; i++) {
+			TextEdit edit= edits.get(i);
+			edit.fDelta= getText(edit).length() - edit.getLength();
+			if (edit.fDelta != 0)
+				edit.adjustLength(edit.fDelta);
+			delta+= edit.fDelta;
+		}
+		return delta;
+	}
+
+	private static String getText(TextEdit edit) {
+		if (edit instanceof ReplaceEdit)
+			return ((ReplaceEdit) edit).getText();
+		if (edit instanceof InsertEdit)
+			return ((InsertEdit) edit).getText();
+		return ""; //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the sorted start and end offsets of the positions of the document inside the given
+	 * range. Positions managed by the partitioners of the document are excluded.
+	 *
+	 * @param from the start of the range
+	 * @param to the end of the range, inclusive
+	 * @return the sorted offsets
+	 */
+	private int[] computePositionBoundaries(int from, int to) {
+		Set<String> partitionerCategories= new HashSet<>();
+		if (fDocument instanceof IDocumentExtension3) {
+			IDocumentExtension3 extension= (IDocumentExtension3) fDocument;
+			for (String partitioning : extension.getPartitionings()) {
+				IDocumentPartitioner partitioner= extension.getDocumentPartitioner(partitioning);
+				if (partitioner instanceof IDocumentPartitionerExtension2) {
+					String[] categories= ((IDocumentPartitionerExtension2) partitioner).getManagingPositionCategories();
+					if (categories != null)
+						partitionerCategories.addAll(Arrays.asList(categories));
+				}
+			}
+		}
+
+		int[] boundaries= new int[16];
+		int size= 0;
+		for (String category : fDocument.getPositionCategories()) {
+			if (partitionerCategories.contains(category))
+				continue;
+			try {
+				for (Position position : fDocument.getPositions(category)) {
+					if (position.isDeleted())
+						continue;
+					int start= position.getOffset();
+					int end= start + position.getLength();
+					if (size + 2 > boundaries.length)
+						boundaries= Arrays.copyOf(boundaries, boundaries.length * 2);
+					if (from <= start && start <= to)
+						boundaries[size++]= start;
+					if (from <= end && end <= to)
+						boundaries[size++]= end;
+				}
+			} catch (BadPositionCategoryException e) {
+				// the category has been removed meanwhile
+			}
+		}
+		boundaries= Arrays.copyOf(boundaries, size);
+		Arrays.sort(boundaries);
+		return boundaries;
+	}
+
+	private static boolean containsBoundary(int[] boundaries, int from, int to) {
+		int index= Arrays.binarySearch(boundaries, from);
+		if (index < 0)
+			index= -index - 1;
+		return index < boundaries.length && boundaries[index] <= to;
+	}
+
 	private void computeSources() {
 		for (List<TextEdit> list : fSourceEdits) {
 			if (list != null) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.text.edits;
 
+import java.util.List;
+
 import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jface.text.BadLocationException;
@@ -32,6 +34,8 @@ class UndoCollector implements IDocumentListener {
 	 */
 	private String fLastCurrentText;
 
+	private List<ReplaceEdit> fNextUndo;
+
 	public UndoCollector(TextEdit root) {
 		fOffset= root.getOffset();
 		fLength= root.getLength();
@@ -49,6 +53,17 @@ class UndoCollector implements IDocumentListener {
 		}
 	}
 
+	/**
+	 * Sets the edits undoing the next document change. They are recorded instead of the single
+	 * edit undoing the change, e.g. if several edits are performed in one document change but
+	 * are to be undone one by one.
+	 *
+	 * @param edits the edits undoing the next change, in the order they were performed
+	 */
+	void setNextUndo(List<ReplaceEdit> edits) {
+		fNextUndo= edits;
+	}
+
 	@Override
 	public void documentChanged(DocumentEvent event) {
 		fLength+= getDelta(event);
@@ -61,6 +76,13 @@ class UndoCollector implements IDocumentListener {
 
 	@Override
 	public void documentAboutToBeChanged(DocumentEvent event) {
+		if (fNextUndo != null) {
+			for (ReplaceEdit edit : fNextUndo)
+				undo.add(edit);
+			fNextUndo= null;
+			return;
+		}
+
 		int offset= event.getOffset();
 		int currentLength= event.getLength();
 		String currentText= null;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2019 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,13 @@
  *******************************************************************************/
 package org.eclipse.text.undo;
 
+import java.io.ByteArrayOutputStream;
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.core.commands.operations.AbstractOperation;
@@ -57,6 +62,9 @@ import org.eclipse.jface.text.TextUtilities;
  * were promoted from inner types to their own classes in order to support
  * reassignment to a different undo manager.</p>
  * <p>
+ * Besides the number of undo levels, the memory held by the undo history is limited, see
+ * {@link #setMaximalUndoMemory(long)}. Large texts are kept compressed in the history.</p>
+ * <p>
  * This class is not intended to be subclassed.
  * </p>
  *
@@ -69,6 +77,135 @@ import org.eclipse.jface.text.TextUtilities;
  */
 public class DocumentUndoManager implements IDocumentUndoManager {
 
+	/**
+	 * The default maximal number of bytes held by the undo history.
+	 *
+	 * @see #setMaximalUndoMemory(long)
+	 * @since 3.15
+	 */
+	public static final long DEFAULT_MAXIMAL_UNDO_MEMORY= 64L * 1024 * 1024;
+
+	/**
+	 * The length from which the texts of a text change are compressed.
+	 *
+	 * @since 3.15
+	 */
+	private static final int COMPRESSION_THRESHOLD= 64 * 1024;
+
+	/**
+	 * The estimated number of bytes used by a text change in addition to its texts.
+	 *
+	 * @since 3.15
+	 */
+	private static final int CHANGE_OVERHEAD= 128;
+
+	/**
+	 * The number of characters by which the current change may grow before the undo history is
+	 * trimmed again.
+	 *
+	 * @since 3.15
+	 */
+	private static final int TRIM_INTERVAL= 64 * 1024;
+
+	/**
+	 * A text of a text change that is kept compressed in order to reduce the memory held by the
+	 * undo history. The characters are compressed as they are, such that any string is restored
+	 * unchanged. The restored text is softly cached, as an undo or redo needs it several times.
+	 *
+	 * @since 3.15
+	 */
+	private static final class CompressedText {
+
+		/** The number of characters that are passed to the compressor at once */
+		private static final int CHUNK_SIZE= 8 * 1024;
+
+		private final byte[] fBytes;
+		private final int fLength;
+		/** The last restored text, if it is still available */
+		private SoftReference<String> fText;
+
+		private CompressedText(byte[] bytes, int length) {
+			fBytes= bytes;
+			fLength= length;
+		}
+
+		/**
+		 * Compresses the given text.
+		 *
+		 * @param text the text to compress
+		 * @return the compressed text or <code>null</code> if compressing does not save memory
+		 */
+		static CompressedText compress(String text) {
+			int length= text.length();
+			Deflater deflater= new Deflater(Deflater.BEST_SPEED);
+			try {
+				ByteArrayOutputStream out= new ByteArrayOutputStream(length / 4);
+				byte[] input= new byte[2 * CHUNK_SIZE];
+				byte[] output= new byte[2 * CHUNK_SIZE];
+				for (int start= 0; start < length; start+= CHUNK_SIZE) {
+					int end= Math.min(length, start + CHUNK_SIZE);
+					int count= 0;
+					for (int i= start; i < end; i++) {
+						char c= text.charAt(i);
+						input[count++]= (byte) (c >> 8);
+						input[count++]= (byte) c;
+					}
+					deflater.setInput(input, 0, count);
+					while (!deflater.needsInput())
+						out.write(output, 0, deflater.deflate(output));
+				}
+				deflater.finish();
+				while (!deflater.finished())
+					out.write(output, 0, deflater.deflate(output));
+
+				if (out.size() >= length)
+					return null;
+				return new CompressedText(out.toByteArray(), length);
+			} finally {
+				deflater.end();
+			}
+		}
+
+		/**
+		 * Restores the compressed text.
+		 *
+		 * @return the text
+		 */
+		String decompress() {
+			String text= fText == null ? null : fText.get();
+			if (text != null)
+				return text;
+
+			Inflater inflater= new Inflater();
+			try {
+				inflater.setInput(fBytes);
+				byte[] bytes= new byte[2 * fLength];
+				int count= 0;
+				while (count < bytes.length && !inflater.finished())
+					count+= inflater.inflate(bytes, count, bytes.length - count);
+
+				char[] chars= new char[fLength];
+				for (int i= 0; i < fLength; i++)
+					chars[i]= (char) ((bytes[2 * i] & 0xFF) << 8 | bytes[2 * i + 1] & 0xFF);
+				text= new String(chars);
+				fText= new SoftReference<>(text);
+				return text;
+			} catch (DataFormatException x) {
+				throw new IllegalStateException(x);
+			} finally {
+				inflater.end();
+			}
+		}
+
+		int length() {
+			return fLength;
+		}
+
+		long getMemory() {
+			return fBytes.length;
+		}
+	}
+
 
 	/**
 	 * Represents an undo-able text change, described as the
@@ -91,6 +228,30 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		/** The replaced text. */
 		protected String fPreservedText;
 
+		/**
+		 * The newly inserted text if it is stored compressed, <code>fText</code> is
+		 * <code>null</code> then.
+		 *
+		 * @since 3.15
+		 */
+		protected CompressedText fCompressedText;
+
+		/**
+		 * The replaced text if it is stored compressed, <code>fPreservedText</code> is
+		 * <code>null</code> then.
+		 *
+		 * @since 3.15
+		 */
+		protected CompressedText fCompressedPreservedText;
+
+		/**
+		 * Tells whether the texts of this change are still held by the text buffers of the undo
+		 * manager, see {@link #pretendCommit()}.
+		 *
+		 * @since 3.15
+		 */
+		protected boolean fBuffered;
+
 		/** The undo modification stamp. */
 		protected long fUndoModificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 
@@ -117,6 +278,8 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		protected void reinitialize() {
 			fStart= fEnd= -1;
 			fText= fPreservedText= null;
+			fCompressedText= fCompressedPreservedText= null;
+			fBuffered= false;
 			fUndoModificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 			fRedoModificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 		}
@@ -132,6 +295,8 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			fEnd= end;
 			fText= null;
 			fPreservedText= null;
+			fCompressedText= fCompressedPreservedText= null;
+			fBuffered= false;
 		}
 
 		@Override
@@ -145,11 +310,11 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		protected void undoTextChange() {
 			try {
 				if (fDocumentUndoManager.fDocument instanceof IDocumentExtension4) {
-					((IDocumentExtension4) fDocumentUndoManager.fDocument).replace(fStart, fText
-							.length(), fPreservedText, fUndoModificationStamp);
+					((IDocumentExtension4) fDocumentUndoManager.fDocument).replace(fStart, getTextLength(),
+							getPreservedText(), fUndoModificationStamp);
 				} else {
-					fDocumentUndoManager.fDocument.replace(fStart, fText.length(),
-							fPreservedText);
+					fDocumentUndoManager.fDocument.replace(fStart, getTextLength(),
+							getPreservedText());
 				}
 			} catch (BadLocationException x) {
 			}
@@ -258,10 +423,12 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		@Override
 		public IStatus undo(IProgressMonitor monitor, IAdaptable uiInfo) {
 			if (isValid()) {
-				fDocumentUndoManager.fireDocumentUndo(fStart, fPreservedText, fText, uiInfo, DocumentUndoEvent.ABOUT_TO_UNDO, false);
+				String text= getText();
+				String preservedText= getPreservedText();
+				fDocumentUndoManager.fireDocumentUndo(fStart, preservedText, text, uiInfo, DocumentUndoEvent.ABOUT_TO_UNDO, false);
 				undoTextChange();
 				fDocumentUndoManager.resetProcessChangeState();
-				fDocumentUndoManager.fireDocumentUndo(fStart, fPreservedText, fText, uiInfo, DocumentUndoEvent.UNDONE, false);
+				fDocumentUndoManager.fireDocumentUndo(fStart, preservedText, text, uiInfo, DocumentUndoEvent.UNDONE, false);
 				return Status.OK_STATUS;
 			}
 			return IOperationHistory.OPERATION_INVALID_STATUS;
@@ -273,9 +440,9 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		protected void redoTextChange() {
 			try {
 				if (fDocumentUndoManager.fDocument instanceof IDocumentExtension4) {
-					((IDocumentExtension4) fDocumentUndoManager.fDocument).replace(fStart, fEnd - fStart, fText, fRedoModificationStamp);
+					((IDocumentExtension4) fDocumentUndoManager.fDocument).replace(fStart, fEnd - fStart, getText(), fRedoModificationStamp);
 				} else {
-					fDocumentUndoManager.fDocument.replace(fStart, fEnd - fStart, fText);
+					fDocumentUndoManager.fDocument.replace(fStart, fEnd - fStart, getText());
 				}
 			} catch (BadLocationException x) {
 			}
@@ -292,10 +459,12 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		@Override
 		public IStatus redo(IProgressMonitor monitor, IAdaptable uiInfo) {
 			if (isValid()) {
-				fDocumentUndoManager.fireDocumentUndo(fStart, fText, fPreservedText, uiInfo, DocumentUndoEvent.ABOUT_TO_REDO, false);
+				String text= getText();
+				String preservedText= getPreservedText();
+				fDocumentUndoManager.fireDocumentUndo(fStart, text, preservedText, uiInfo, DocumentUndoEvent.ABOUT_TO_REDO, false);
 				redoTextChange();
 				fDocumentUndoManager.resetProcessChangeState();
-				fDocumentUndoManager.fireDocumentUndo(fStart, fText, fPreservedText, uiInfo, DocumentUndoEvent.REDONE, false);
+				fDocumentUndoManager.fireDocumentUndo(fStart, text, preservedText, uiInfo, DocumentUndoEvent.REDONE, false);
 				return Status.OK_STATUS;
 			}
 			return IOperationHistory.OPERATION_INVALID_STATUS;
@@ -306,10 +475,23 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		 */
 
 		protected void updateTextChange() {
+			fBuffered= false;
 			fText= fDocumentUndoManager.fTextBuffer.toString();
 			fDocumentUndoManager.fTextBuffer.setLength(0);
 			fPreservedText= fDocumentUndoManager.fPreservedTextBuffer.toString();
 			fDocumentUndoManager.fPreservedTextBuffer.setLength(0);
+			fCompressedText= fCompressedPreservedText= null;
+
+			if (fText.length() >= COMPRESSION_THRESHOLD) {
+				fCompressedText= CompressedText.compress(fText);
+				if (fCompressedText != null)
+					fText= null;
+			}
+			if (fPreservedText.length() >= COMPRESSION_THRESHOLD) {
+				fCompressedPreservedText= CompressedText.compress(fPreservedText);
+				if (fCompressedPreservedText != null)
+					fPreservedText= null;
+			}
 		}
 
 		/**
@@ -344,15 +526,90 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 
 		/**
 		 * Updates the text from the buffers without resetting the buffers or adding
-		 * anything to the stack.
+		 * anything to the stack. The texts are not copied, they are read from the buffers
+		 * when needed, so that typing does not copy the whole typed text on every keystroke.
 		 */
 		protected void pretendCommit() {
 			if (fStart > -1) {
+				fBuffered= true;
+				fText= fPreservedText= null;
+				fCompressedText= fCompressedPreservedText= null;
+			}
+		}
+
+		/**
+		 * Copies the texts of this change out of the buffers of the undo manager, e.g. before the
+		 * buffers become unavailable.
+		 *
+		 * @since 3.15
+		 */
+		protected void detachFromBuffers() {
+			if (fBuffered) {
 				fText= fDocumentUndoManager.fTextBuffer.toString();
 				fPreservedText= fDocumentUndoManager.fPreservedTextBuffer.toString();
+				fBuffered= false;
 			}
 		}
 
+		/**
+		 * Returns the newly inserted text.
+		 *
+		 * @return the inserted text or <code>null</code> if this change is not valid
+		 * @since 3.15
+		 */
+		protected String getText() {
+			if (fBuffered)
+				return fDocumentUndoManager.fTextBuffer.toString();
+			if (fCompressedText != null)
+				return fCompressedText.decompress();
+			return fText;
+		}
+
+		/**
+		 * Returns the length of the newly inserted text.
+		 *
+		 * @return the length of the inserted text
+		 * @since 3.15
+		 */
+		protected int getTextLength() {
+			if (fBuffered)
+				return fDocumentUndoManager.fTextBuffer.length();
+			if (fCompressedText != null)
+				return fCompressedText.length();
+			return fText.length();
+		}
+
+		/**
+		 * Returns the replaced text.
+		 *
+		 * @return the replaced text or <code>null</code> if this change is not valid
+		 * @since 3.15
+		 */
+		protected String getPreservedText() {
+			if (fBuffered)
+				return fDocumentUndoManager.fPreservedTextBuffer.toString();
+			if (fCompressedPreservedText != null)
+				return fCompressedPreservedText.decompress();
+			return fPreservedText;
+		}
+
+		/**
+		 * Returns the estimated number of bytes held by this change.
+		 *
+		 * @return the memory used by this change
+		 * @since 3.15
+		 */
+		protected long getMemory() {
+			long memory= CHANGE_OVERHEAD;
+			if (fBuffered) {
+				memory+= 2L * (fDocumentUndoManager.fTextBuffer.length() + fDocumentUndoManager.fPreservedTextBuffer.length());
+			} else {
+				memory+= fCompressedText != null ? fCompressedText.getMemory() : fText != null ? 2L * fText.length() : 0;
+				memory+= fCompressedPreservedText != null ? fCompressedPreservedText.getMemory() : fPreservedText != null ? 2L * fPreservedText.length() : 0;
+			}
+			return memory;
+		}
+
 		/**
 		 * Attempt a commit of this change and answer true if a new fCurrent was
 		 * created as a result of the commit.
@@ -375,7 +632,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		 * @return <code>true</code> if the change is valid for undo or redo
 		 */
 		protected boolean isValid() {
-			return fStart > -1 && fEnd > -1 && fText != null;
+			return fStart > -1 && fEnd > -1 && (fText != null || fCompressedText != null || fBuffered);
 		}
 
 		@Override
@@ -395,11 +652,11 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			text.append(fEnd);
 			text.append(delimiter);
 			text.append("text: '"); //$NON-NLS-1$
-			text.append(fText);
+			text.append(getText());
 			text.append('\'');
 			text.append(delimiter);
 			text.append("preservedText: '"); //$NON-NLS-1$
-			text.append(fPreservedText);
+			text.append(getPreservedText());
 			text.append('\'');
 			return text.toString();
 		}
@@ -459,7 +716,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 				UndoableTextChange c;
 
 				c= fChanges.get(0);
-				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.fPreservedText, c.fText, uiInfo, DocumentUndoEvent.ABOUT_TO_UNDO, size > 1);
+				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.getPreservedText(), c.getText(), uiInfo, DocumentUndoEvent.ABOUT_TO_UNDO, size > 1);
 
 				DocumentRewriteSession rewriteSession= null;
 				if (size > 25 && fDocumentUndoManager.fDocument instanceof IDocumentExtension4
@@ -477,7 +734,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 					((IDocumentExtension4) fDocumentUndoManager.fDocument).stopRewriteSession(rewriteSession);
 				}
 				fDocumentUndoManager.resetProcessChangeState();
-				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.fPreservedText, c.fText, uiInfo,
+				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.getPreservedText(), c.getText(), uiInfo,
 						DocumentUndoEvent.UNDONE, size > 1);
 			}
 			return Status.OK_STATUS;
@@ -491,7 +748,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 
 				UndoableTextChange c;
 				c= fChanges.get(size - 1);
-				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.fText, c.fPreservedText, uiInfo, DocumentUndoEvent.ABOUT_TO_REDO, size > 1);
+				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.getText(), c.getPreservedText(), uiInfo, DocumentUndoEvent.ABOUT_TO_REDO, size > 1);
 
 				DocumentRewriteSession rewriteSession= null;
 				if (size > 25 && fDocumentUndoManager.fDocument instanceof IDocumentExtension4
@@ -509,7 +766,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 					((IDocumentExtension4) fDocumentUndoManager.fDocument).stopRewriteSession(rewriteSession);
 				}
 				fDocumentUndoManager.resetProcessChangeState();
-				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.fText, c.fPreservedText, uiInfo, DocumentUndoEvent.REDONE, size > 1);
+				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.getText(), c.getPreservedText(), uiInfo, DocumentUndoEvent.REDONE, size > 1);
 			}
 
 			return Status.OK_STATUS;
@@ -526,6 +783,8 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			c.fEnd= fEnd;
 			c.fText= fText;
 			c.fPreservedText= fPreservedText;
+			c.fCompressedText= fCompressedText;
+			c.fCompressedPreservedText= fCompressedPreservedText;
 			c.fUndoModificationStamp= fUndoModificationStamp;
 			c.fRedoModificationStamp= fRedoModificationStamp;
 			add(c);
@@ -560,6 +819,14 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			return fStart > -1 || !fChanges.isEmpty();
 		}
 
+		@Override
+		protected long getMemory() {
+			long memory= super.getMemory();
+			for (UndoableTextChange change : fChanges)
+				memory+= change.getMemory();
+			return memory;
+		}
+
 		@Override
 		protected long getUndoModificationStamp() {
 			if (fStart > -1) {
@@ -626,6 +893,10 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			// change.
 			fCurrent.pretendCommit();
 
+			fGrowthSinceTrim+= event.getLength() + (event.getText() == null ? 0 : event.getText().length());
+			if (fGrowthSinceTrim >= TRIM_INTERVAL)
+				trimUndoHistory();
+
 			if (op == fCurrent) {
 				// if the document change did not cause a new fCurrent to be
 				// created, then we should
@@ -773,6 +1044,20 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 	/** The list of clients connected. */
 	private List<Object> fConnected;
 
+	/**
+	 * The maximal number of bytes held by the undo history, not positive if unlimited.
+	 *
+	 * @since 3.15
+	 */
+	private long fMaximalUndoMemory= DEFAULT_MAXIMAL_UNDO_MEMORY;
+
+	/**
+	 * The number of characters inserted or replaced since the undo history has last been trimmed.
+	 *
+	 * @since 3.15
+	 */
+	private long fGrowthSinceTrim;
+
 	/**
 	 *
 	 * Create a DocumentUndoManager for the given document.
@@ -895,6 +1180,62 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		fHistory.setLimit(fUndoContext, undoLimit);
 	}
 
+	/**
+	 * Sets the maximal number of bytes the undo history of this manager may hold. If the history
+	 * exceeds the limit, the oldest changes are removed from it. The most recent change is always
+	 * kept. The default is {@link #DEFAULT_MAXIMAL_UNDO_MEMORY}.
+	 *
+	 * @param maximalMemory the maximal number of bytes, not positive for no limit
+	 * @since 3.15
+	 */
+	public void setMaximalUndoMemory(long maximalMemory) {
+		fMaximalUndoMemory= maximalMemory;
+		trimUndoHistory();
+	}
+
+	/**
+	 * Returns the estimated number of bytes held by the undo and redo history of this manager.
+	 *
+	 * @return the memory held by the undo history
+	 * @since 3.15
+	 */
+	public long getUndoMemory() {
+		long memory= 0;
+		for (IUndoableOperation operation : fHistory.getUndoHistory(fUndoContext))
+			memory+= getMemory(operation);
+		for (IUndoableOperation operation : fHistory.getRedoHistory(fUndoContext))
+			memory+= getMemory(operation);
+		return memory;
+	}
+
+	private static long getMemory(IUndoableOperation operation) {
+		return operation instanceof UndoableTextChange ? ((UndoableTextChange) operation).getMemory() : 0;
+	}
+
+	/**
+	 * Removes the oldest changes from the undo history until it holds no more than the maximal
+	 * undo memory. The redo history is left alone. An operation shared with other contexts only
+	 * loses this manager's context, like when the history enforces its limit.
+	 *
+	 * @since 3.15
+	 */
+	private void trimUndoHistory() {
+		fGrowthSinceTrim= 0;
+		if (fMaximalUndoMemory <= 0 || fUndoContext == null)
+			return;
+
+		IUndoableOperation[] operations= fHistory.getUndoHistory(fUndoContext);
+		long memory= getUndoMemory();
+		for (int i= 0; memory > fMaximalUndoMemory && i < operations.length - 1; i++) {
+			IUndoableOperation operation= operations[i];
+			memory-= getMemory(operation);
+			if (operation.getContexts().length > 1)
+				operation.removeContext(fUndoContext);
+			else
+				fHistory.replaceOperation(operation, new IUndoableOperation[0]);
+		}
+	}
+
 	/**
 	 * Fires a document undo event to all registered document undo listeners.
 	 * Uses a robust iterator.
@@ -944,6 +1285,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 				|| edit instanceof UndoableCompoundTextChange) {
 			fHistory.add(edit);
 			fLastAddedTextEdit= edit;
+			trimUndoHistory();
 		}
 	}
 
@@ -1220,6 +1562,11 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 	private void shutdown() {
 		removeListeners();
 
+		// the buffers are released, operations that outlive the history must not refer to them
+		if (fCurrent != null) {
+			fCurrent.detachFromBuffers();
+		}
+
 		fCurrent= null;
 		fPreviousDelete= null;
 		fTextBuffer= null;
@@ -1257,6 +1604,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			}
 			// Now update the manager that owns the text edit.
 			if (op instanceof UndoableTextChange) {
+				((UndoableTextChange)op).detachFromBuffers();
 				((UndoableTextChange)op).fDocumentUndoManager= this;
 			}
 		}
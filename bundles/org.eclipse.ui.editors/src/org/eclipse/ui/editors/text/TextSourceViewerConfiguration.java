@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -46,6 +46,7 @@ import org.eclipse.jface.text.quickassist.QuickAssistAssistant;
 import org.eclipse.jface.text.reconciler.IReconciler;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
 import org.eclipse.jface.text.reconciler.MonoReconciler;
+import org.eclipse.jface.text.reconciler.ReconcilerScheduler;
 import org.eclipse.jface.text.source.Annotation;
 import org.eclipse.jface.text.source.DefaultAnnotationHover;
 import org.eclipse.jface.text.source.IAnnotationHover;
@@ -375,8 +376,10 @@ public class TextSourceViewerConfiguration extends SourceViewerConfiguration {
 	/**
 	 * Returns the reconciler ready to be used with the given source viewer.
 	 * <p>
-	 * This implementation currently returns a {@link MonoReconciler} which
-	 * is responsible for spell checking. In the future a different reconciler
+	 * This implementation currently returns an incremental {@link MonoReconciler}
+	 * which is responsible for spell checking, i.e. only the lines changed since
+	 * the last check are checked again. It runs on the threads of
+	 * {@link ReconcilerScheduler#getDefault()}. In the future a different reconciler
 	 * taking over more responsibilities might be returned.</p>
 	 *
 	 * @see org.eclipse.jface.text.source.SourceViewerConfiguration#getReconciler(org.eclipse.jface.text.source.ISourceViewer)
@@ -392,8 +395,10 @@ public class TextSourceViewerConfiguration extends SourceViewerConfiguration {
 			return null;
 
 		IReconcilingStrategy strategy= new SpellingReconcileStrategy(sourceViewer, spellingService);
-		MonoReconciler reconciler= new MonoReconciler(strategy, false);
+		MonoReconciler reconciler= new MonoReconciler(strategy, true);
 		reconciler.setDelay(500);
+		// an input change cancels the pending check instead of waiting until the whole document is checked
+		reconciler.setScheduler(ReconcilerScheduler.getDefault());
 		return reconciler;
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2021 Red Hat Inc. and others.
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -75,6 +75,7 @@ import org.eclipse.jface.text.quickassist.QuickAssistAssistant;
 import org.eclipse.jface.text.reconciler.IReconciler;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
 import org.eclipse.jface.text.reconciler.Reconciler;
+import org.eclipse.jface.text.reconciler.ReconcilerScheduler;
 import org.eclipse.jface.text.source.ISourceViewer;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.IEditorInput;
@@ -289,7 +290,9 @@ public final class ExtensionBasedTextViewerConfiguration extends TextSourceViewe
 		if (!highlightReconcilers.isEmpty()) {
 			reconcilers.addAll(highlightReconcilers);
 		} else if (highlightReconcilingStrategies.isEmpty()) {
-			reconcilers.add(new DefaultWordHighlightReconciler());
+			DefaultWordHighlightReconciler highlightReconciler = new DefaultWordHighlightReconciler();
+			highlightReconciler.setScheduler(ReconcilerScheduler.getDefault());
+			reconcilers.add(highlightReconciler);
 		}
 		reconcilingStrategies.addAll(highlightReconcilingStrategies);
 
@@ -300,7 +303,9 @@ public final class ExtensionBasedTextViewerConfiguration extends TextSourceViewe
 		if (!foldingReconcilers.isEmpty()) {
 			reconcilers.addAll(foldingReconcilers);
 		} else if (foldingReconcilingStrategies.isEmpty()) {
-			reconcilers.add(new DefaultFoldingReconciler());
+			DefaultFoldingReconciler foldingReconciler = new DefaultFoldingReconciler();
+			foldingReconciler.setScheduler(ReconcilerScheduler.getDefault());
+			reconcilers.add(foldingReconciler);
 		}
 
 		reconcilingStrategies.addAll(foldingReconcilingStrategies);
@@ -308,6 +313,7 @@ public final class ExtensionBasedTextViewerConfiguration extends TextSourceViewe
 		if (!reconcilingStrategies.isEmpty()) {
 			// Create the main Reconciler of the generic editor
 			Reconciler reconciler = new Reconciler();
+			reconciler.setScheduler(ReconcilerScheduler.getDefault());
 			reconciler.setReconcilingStrategy(new CompositeReconcilerStrategy(reconcilingStrategies),
 					IDocument.DEFAULT_CONTENT_TYPE);
 			reconcilers.add(0, reconciler);
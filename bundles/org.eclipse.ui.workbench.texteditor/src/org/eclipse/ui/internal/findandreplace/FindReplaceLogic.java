@@ -28,6 +28,7 @@ import org.eclipse.jface.text.IFindReplaceTarget;
 import org.eclipse.jface.text.IFindReplaceTargetExtension;
 import org.eclipse.jface.text.IFindReplaceTargetExtension3;
 import org.eclipse.jface.text.IFindReplaceTargetExtension4;
+import org.eclipse.jface.text.IFindReplaceTargetExtension5;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Region;
 
@@ -355,6 +356,14 @@ public class FindReplaceLogic implements IFindReplaceLogic {
 			return 0;
 		}
 
+		if (target instanceof IFindReplaceTargetExtension5 replaceAllTarget) {
+			// the target replaces all occurrences in a single change
+			boolean regexSearch = isAvailableAndActive(SearchOptions.REGEX);
+			return replaceAllTarget.replaceAll(findString, replaceString,
+					isAvailableAndActive(SearchOptions.CASE_SENSITIVE),
+					!regexSearch && isAvailableAndActive(SearchOptions.WHOLE_WORD), regexSearch);
+		}
+
 		List<Point> replacements = new ArrayList<>();
 		executeInForwardMode(() -> {
 			executeWithReplaceAllEnabled(() -> {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,10 +38,12 @@ import org.eclipse.jface.text.DocumentRewriteSessionEvent;
 import org.eclipse.jface.text.DocumentRewriteSessionType;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IDocumentExtension5;
 import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IDocumentRewriteSessionListener;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ISynchronizable;
+import org.eclipse.jface.text.ITextSnapshot;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.source.Annotation;
 import org.eclipse.jface.text.source.AnnotationModelEvent;
@@ -596,15 +598,22 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 
 				if (lock != null) {
 					// a) if we can, acquire locks in proper order and copy
-					// the document
+					// the document. If the document can take a snapshot without copying
+					// its content, only take one under the locks and copy it afterwards
+					ITextSnapshot snapshot= null;
+					IDocument copy= null;
 					synchronized (lock) {
 						synchronized (DocumentLineDiffer.this) {
 							if (isCanceled(monitor))
 								return Status.CANCEL_STATUS;
 							fStoredEvents.clear();
-							actual= createUnprotectedCopy(right);
+							if (right instanceof IDocumentExtension5 && ((IDocumentExtension5) right).isSnapshotShared())
+								snapshot= ((IDocumentExtension5) right).getSnapshot();
+							else
+								copy= createUnprotectedCopy(right);
 						}
 					}
+					actual= snapshot != null ? new Document(snapshot.toString()) : copy;
 				} else {
 					// b) cannot lock the document
 					// Now this is fun. The reference documents may be PartiallySynchronizedDocuments
@@ -1055,18 +1064,15 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 
 		// replace changed diff range
 		synchronized (fDifferences) {
-			final ListIterator<QuickDiffRangeDifference> it= fDifferences.listIterator();
+			// search for consistentBefore
+			int index= QuickDiffRangeDifference.indexOfIdentical(fDifferences, consistentBefore);
+			Assert.isTrue(index != -1);
+			final ListIterator<QuickDiffRangeDifference> it= fDifferences.listIterator(index);
 			Iterator<QuickDiffRangeDifference> newIt= diffs.iterator();
-			QuickDiffRangeDifference current;
+			QuickDiffRangeDifference current= it.next();
 			boolean changed= false;
 
 			// replace regions from consistentBefore to consistentAfter with new diffs
-
-			// search for consistentBefore
-			do {
-				Assert.isTrue(it.hasNext());
-				current= it.next();
-			} while (current != consistentBefore);
 			Assert.isTrue(current == consistentBefore);
 
 			fChanged.clear();
@@ -1163,20 +1169,20 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 	 * @return the first range found, or the first range in the differ if none can be found
 	 */
 	private QuickDiffRangeDifference findConsistentRangeBeforeLeft(int line, int size) {
-		QuickDiffRangeDifference found= null;
-
-		for (ListIterator<QuickDiffRangeDifference> it= fDifferences.listIterator(); it.hasNext();) {
-			QuickDiffRangeDifference difference= it.next();
-			if (found == null || difference.kind() == RangeDifference.NOCHANGE
+		if (fDifferences.isEmpty())
+			return null;
+
+		// search backwards from the range containing line
+		int last= Math.min(QuickDiffRangeDifference.indexAfter(fDifferences, line - 1, QuickDiffRangeDifference::leftEnd), fDifferences.size() - 1);
+		for (int i= last; i > 0; i--) {
+			QuickDiffRangeDifference difference= fDifferences.get(i);
+			if (difference.kind() == RangeDifference.NOCHANGE
 					&& (difference.leftEnd() < line && difference.leftLength() >= size
 							|| difference.leftEnd() >= line && line - difference.leftStart() >= size))
-				found= difference;
-
-			if (difference.leftEnd() >= line)
-				break;
+				return difference;
 		}
 
-		return found;
+		return fDifferences.get(0);
 	}
 
 	/**
@@ -1187,21 +1193,20 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 	 * @return the first range found, or the last range in the differ if none can be found
 	 */
 	private QuickDiffRangeDifference findConsistentRangeAfterLeft(int line, int size) {
-		QuickDiffRangeDifference found= null;
-
-		for (ListIterator<QuickDiffRangeDifference> it= fDifferences.listIterator(fDifferences.size()); it.hasPrevious();) {
-			QuickDiffRangeDifference difference= it.previous();
-			if (found == null || difference.kind() == RangeDifference.NOCHANGE
+		if (fDifferences.isEmpty())
+			return null;
+
+		// search forwards from the range containing line
+		int first= Math.max(QuickDiffRangeDifference.indexAfter(fDifferences, line, QuickDiffRangeDifference::leftStart) - 1, 0);
+		for (int i= first, n= fDifferences.size() - 1; i < n; i++) {
+			QuickDiffRangeDifference difference= fDifferences.get(i);
+			if (difference.kind() == RangeDifference.NOCHANGE
 					&& (difference.leftStart() > line && difference.leftLength() >= size
 							|| difference.leftStart() <= line && difference.leftEnd() - line >= size))
-				found= difference;
-
-			if (difference.leftStart() <= line)
-				break;
-
+				return difference;
 		}
 
-		return found;
+		return fDifferences.get(fDifferences.size() - 1);
 	}
 
 	/**
@@ -1212,24 +1217,21 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 	 * @return the first range found, or the first range in the differ if none can be found
 	 */
 	private QuickDiffRangeDifference findConsistentRangeBeforeRight(int line, int size) {
-		QuickDiffRangeDifference found= null;
-
-		int unchanged= -1; // the number of unchanged lines before line
-		for (ListIterator<QuickDiffRangeDifference> it= fDifferences.listIterator(); it.hasNext();) {
-			QuickDiffRangeDifference difference= it.next();
-			if (found == null)
-				found= difference;
-			else if (difference.kind() == RangeDifference.NOCHANGE) {
-				unchanged= Math.min(line, difference.rightEnd()) - difference.rightStart();
+		if (fDifferences.isEmpty())
+			return null;
+
+		// search backwards from the range containing line
+		int last= Math.min(QuickDiffRangeDifference.indexAfter(fDifferences, line - 1, QuickDiffRangeDifference::rightEnd), fDifferences.size() - 1);
+		for (int i= last; i > 0; i--) {
+			QuickDiffRangeDifference difference= fDifferences.get(i);
+			if (difference.kind() == RangeDifference.NOCHANGE) {
+				int unchanged= Math.min(line, difference.rightEnd()) - difference.rightStart(); // the number of unchanged lines before line
 				if (unchanged >= size)
-					found= difference;
+					return difference;
 			}
-
-			if (difference.rightEnd() >= line)
-				break;
 		}
 
-		return found;
+		return fDifferences.get(0);
 	}
 
 	/**
@@ -1240,24 +1242,21 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 	 * @return the first range found, or the last range in the differ if none can be found
 	 */
 	private QuickDiffRangeDifference findConsistentRangeAfterRight(int line, int size) {
-		QuickDiffRangeDifference found= null;
-
-		int unchanged= -1; // the number of unchanged lines after line
-		for (ListIterator<QuickDiffRangeDifference> it= fDifferences.listIterator(fDifferences.size()); it.hasPrevious();) {
-			QuickDiffRangeDifference difference= it.previous();
-			if (found == null)
-				found= difference;
-			else if (difference.kind() == RangeDifference.NOCHANGE) {
-				unchanged= difference.rightEnd() - Math.max(line + 1, difference.rightStart()); // + 1 to step over the changed line
+		if (fDifferences.isEmpty())
+			return null;
+
+		// search forwards from the range containing line
+		int first= Math.max(QuickDiffRangeDifference.indexAfter(fDifferences, line, QuickDiffRangeDifference::rightStart) - 1, 0);
+		for (int i= first, n= fDifferences.size() - 1; i < n; i++) {
+			QuickDiffRangeDifference difference= fDifferences.get(i);
+			if (difference.kind() == RangeDifference.NOCHANGE) {
+				int unchanged= difference.rightEnd() - Math.max(line + 1, difference.rightStart()); // + 1 to step over the changed line
 				if (unchanged >= size)
-					found= difference;
+					return difference;
 			}
-
-			if (difference.rightStart() <= line)
-				break;
 		}
 
-		return found;
+		return fDifferences.get(fDifferences.size() - 1);
 	}
 
 	/**
@@ -1367,10 +1366,12 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 	 * @return the corresponding RangeDifference, or <code>null</code>
 	 */
 	private QuickDiffRangeDifference getRangeDifferenceForLeftLine(int leftLine) {
-		for (QuickDiffRangeDifference d : fDifferences) {
-			if (leftLine >= d.leftStart() && leftLine < d.leftEnd()) {
+		final List<QuickDiffRangeDifference> differences= fDifferences;
+		int index= QuickDiffRangeDifference.indexAfter(differences, leftLine, QuickDiffRangeDifference::leftEnd);
+		if (index < differences.size()) {
+			QuickDiffRangeDifference d= differences.get(index);
+			if (leftLine >= d.leftStart())
 				return d;
-			}
 		}
 		return null;
 	}
@@ -1384,10 +1385,11 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 	private QuickDiffRangeDifference getRangeDifferenceForRightLine(int rightLine) {
 		final List<QuickDiffRangeDifference> differences= fDifferences;
 		synchronized (differences) {
-			for (QuickDiffRangeDifference d : differences) {
-				if (rightLine >= d.rightStart() && rightLine < d.rightEnd()) {
+			int index= QuickDiffRangeDifference.indexAfter(differences, rightLine, QuickDiffRangeDifference::rightEnd);
+			if (index < differences.size()) {
+				QuickDiffRangeDifference d= differences.get(index);
+				if (rightLine >= d.rightStart())
 					return d;
-				}
 			}
 		}
 		return null;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.ui.internal.texteditor.quickdiff;
 
 import java.util.List;
+import java.util.function.ToIntFunction;
 
 import org.eclipse.core.runtime.Assert;
 
@@ -125,5 +126,81 @@ public class QuickDiffRangeDifference extends org.eclipse.compare.rangedifferenc
 			fRegion= new DiffRegion(this, 0, differences, source);
 		return fRegion;
 	}
+
+	/**
+	 * Returns the index of the first difference whose bound is greater than the given line. The
+	 * differences of a differ are sorted and cover both documents without gaps, so their starts
+	 * and ends ascend on either side and the index is found by binary search.
+	 *
+	 * @param differences the differences of a differ
+	 * @param line the line
+	 * @param bound the start or end of a difference on one side, ascending in
+	 *            <code>differences</code>
+	 * @return the index of the first difference whose bound is greater than <code>line</code>,
+	 *         or the size of the list if there is none
+	 * @since 3.19
+	 */
+	static int indexAfter(List<QuickDiffRangeDifference> differences, int line, ToIntFunction<QuickDiffRangeDifference> bound) {
+		int low= 0;
+		int high= differences.size();
+		while (low < high) {
+			int mid= (low + high) >>> 1;
+			if (bound.applyAsInt(differences.get(mid)) > line)
+				high= mid;
+			else
+				low= mid + 1;
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the index of the first difference equal to the given one in the differences of a
+	 * differ.
+	 *
+	 * @param differences the differences of a differ
+	 * @param difference the difference to search
+	 * @return the index of the difference or <code>-1</code> if there is no equal difference
+	 * @since 3.19
+	 */
+	static int indexOf(List<QuickDiffRangeDifference> differences, QuickDiffRangeDifference difference) {
+		int start= difference.rightStart();
+		// differences ending before start cannot be equal, empty ones ending at start can
+		for (int i= indexAfter(differences, start - 1, QuickDiffRangeDifference::rightEnd), n= differences.size(); i < n; i++) {
+			QuickDiffRangeDifference d= differences.get(i);
+			if (d.rightStart() > start)
+				break;
+			if (d.equals(difference))
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the index of the given difference in the differences of a differ. Unlike
+	 * {@link #indexOf(List, QuickDiffRangeDifference)}, the difference itself is searched and
+	 * not an equal one.
+	 *
+	 * @param differences the differences of a differ
+	 * @param difference the difference to search
+	 * @return the index of the difference or <code>-1</code> if it is not in the list
+	 * @since 3.19
+	 */
+	static int indexOfIdentical(List<QuickDiffRangeDifference> differences, QuickDiffRangeDifference difference) {
+		int start= difference.rightStart();
+		int n= differences.size();
+		for (int i= indexAfter(differences, start - 1, QuickDiffRangeDifference::rightEnd); i < n; i++) {
+			QuickDiffRangeDifference d= differences.get(i);
+			if (d == difference)
+				return i;
+			if (d.rightStart() > start)
+				break;
+		}
+		// not where its bounds place it, e.g. while the list is being updated
+		for (int i= 0; i < n; i++) {
+			if (differences.get(i) == difference)
+				return i;
+		}
+		return -1;
+	}
 }
 
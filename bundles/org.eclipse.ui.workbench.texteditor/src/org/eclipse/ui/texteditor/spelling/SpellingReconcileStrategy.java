@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2008 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,12 @@ package org.eclipse.ui.texteditor.spelling;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -38,6 +40,7 @@ import org.eclipse.jface.text.reconciler.IReconcilingStrategyExtension;
 import org.eclipse.jface.text.source.Annotation;
 import org.eclipse.jface.text.source.IAnnotationModel;
 import org.eclipse.jface.text.source.IAnnotationModelExtension;
+import org.eclipse.jface.text.source.IAnnotationModelExtension2;
 import org.eclipse.jface.text.source.ISourceViewer;
 
 
@@ -63,6 +66,9 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 		/** Lock object for modifying the annotations. */
 		private Object fLockObject;
 
+		/** The checked regions or <code>null</code> if the whole document is checked. */
+		private IRegion[] fRegions;
+
 		/**
 		 * Initializes this collector with the given annotation model.
 		 *
@@ -77,6 +83,17 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 				fLockObject= fAnnotationModel;
 		}
 
+		/**
+		 * Sets the regions checked in the next collecting session. Only the spelling annotations
+		 * overlapping these regions are replaced by the collected problems.
+		 *
+		 * @param regions the checked regions or <code>null</code> if all spelling annotations
+		 *            are replaced
+		 */
+		void setRegions(IRegion[] regions) {
+			fRegions= regions;
+		}
+
 		@Override
 		public void accept(SpellingProblem problem) {
 			fAddAnnotations.put(new SpellingAnnotation(problem), new Position(problem.getOffset(), problem.getLength()));
@@ -90,18 +107,41 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 		@Override
 		public void endCollecting() {
 
+			// index the collected problems by position to keep the annotations that are still valid
+			Map<Position, SpellingAnnotation> added= new HashMap<>();
+			for (Entry<Annotation, Position> entry : fAddAnnotations.entrySet())
+				added.put(entry.getValue(), (SpellingAnnotation) entry.getKey());
+
 			List<Annotation> toRemove= new ArrayList<>();
 
 			synchronized (fLockObject) {
-				Iterator<Annotation> iter= fAnnotationModel.getAnnotationIterator();
-				while (iter.hasNext()) {
-					Annotation annotation= iter.next();
-					if (SpellingAnnotation.TYPE.equals(annotation.getType()))
+				Set<Annotation> existing= new HashSet<>();
+				if (fRegions == null) {
+					collectSpellingAnnotations(fAnnotationModel.getAnnotationIterator(), existing);
+				} else {
+					for (IRegion region : fRegions) {
+						if (fAnnotationModel instanceof IAnnotationModelExtension2)
+							collectSpellingAnnotations(((IAnnotationModelExtension2)fAnnotationModel).getAnnotationIterator(region.getOffset(), region.getLength(), true, true), existing);
+						else
+							collectSpellingAnnotations(fAnnotationModel.getAnnotationIterator(), region, existing);
+					}
+				}
+
+				for (Annotation annotation : existing) {
+					Position position= fAnnotationModel.getPosition(annotation);
+					SpellingAnnotation same= position != null ? added.get(position) : null;
+					if (same != null && annotation instanceof SpellingAnnotation && isSameProblem(same, (SpellingAnnotation) annotation)) {
+						added.remove(position);
+						fAddAnnotations.remove(same);
+					} else {
 						toRemove.add(annotation);
+					}
 				}
 				Annotation[] annotationsToRemove= toRemove.toArray(new Annotation[toRemove.size()]);
 
-				if (fAnnotationModel instanceof IAnnotationModelExtension)
+				if (annotationsToRemove.length == 0 && fAddAnnotations.isEmpty()) {
+					// nothing changed
+				} else if (fAnnotationModel instanceof IAnnotationModelExtension)
 					((IAnnotationModelExtension)fAnnotationModel).replaceAnnotations(annotationsToRemove, fAddAnnotations);
 				else {
 					for (Annotation element : annotationsToRemove) {
@@ -115,6 +155,52 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 
 			fAddAnnotations= null;
 		}
+
+		/**
+		 * Adds the spelling annotations of the given iterator to the given set.
+		 *
+		 * @param iter the annotation iterator
+		 * @param result the set to which the spelling annotations are added
+		 */
+		private void collectSpellingAnnotations(Iterator<Annotation> iter, Set<Annotation> result) {
+			while (iter.hasNext()) {
+				Annotation annotation= iter.next();
+				if (SpellingAnnotation.TYPE.equals(annotation.getType()))
+					result.add(annotation);
+			}
+		}
+
+		/**
+		 * Adds the spelling annotations of the given iterator that overlap the given region to
+		 * the given set.
+		 *
+		 * @param iter the annotation iterator
+		 * @param region the region
+		 * @param result the set to which the spelling annotations are added
+		 */
+		private void collectSpellingAnnotations(Iterator<Annotation> iter, IRegion region, Set<Annotation> result) {
+			while (iter.hasNext()) {
+				Annotation annotation= iter.next();
+				if (SpellingAnnotation.TYPE.equals(annotation.getType())) {
+					Position position= fAnnotationModel.getPosition(annotation);
+					if (position != null && position.overlapsWith(region.getOffset(), region.getLength()))
+						result.add(annotation);
+				}
+			}
+		}
+
+		/**
+		 * Tells whether the given annotations report the same spelling problem.
+		 *
+		 * @param annotation1 the first annotation
+		 * @param annotation2 the second annotation
+		 * @return <code>true</code> if both annotations have the same message
+		 */
+		private boolean isSameProblem(SpellingAnnotation annotation1, SpellingAnnotation annotation2) {
+			String message1= annotation1.getSpellingProblem().getMessage();
+			String message2= annotation2.getSpellingProblem().getMessage();
+			return message1 == null ? message2 == null : message1.equals(message2);
+		}
 	}
 
 
@@ -143,6 +229,12 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 	 */
 	private IRegion[] fRegions= new IRegion[1];
 
+	/**
+	 * Tells whether {@link #reconcile(IRegion)} is called for a dirty region, in which case only
+	 * the spelling annotations of the checked region are updated.
+	 */
+	private boolean fIsReconcilingDirtyRegion;
+
 
 	/**
 	 * Creates a new comment reconcile strategy.
@@ -168,17 +260,26 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 	@Override
 	public void reconcile(DirtyRegion dirtyRegion, IRegion subRegion) {
 		try {
-			IRegion startLineInfo= fDocument.getLineInformationOfOffset(subRegion.getOffset());
-			IRegion endLineInfo= fDocument.getLineInformationOfOffset(subRegion.getOffset() + Math.max(0, subRegion.getLength() - 1));
+			// the text of a removed region is no longer in the document
+			int offset= Math.min(subRegion.getOffset(), fDocument.getLength());
+			int length= DirtyRegion.REMOVE.equals(dirtyRegion.getType()) ? 0 : Math.min(subRegion.getLength(), fDocument.getLength() - offset);
+			IRegion startLineInfo= fDocument.getLineInformationOfOffset(offset);
+			IRegion endLineInfo= fDocument.getLineInformationOfOffset(offset + Math.max(0, length - 1));
 			if (startLineInfo.getOffset() == endLineInfo.getOffset())
 				subRegion= startLineInfo;
 			else
-				subRegion= new Region(startLineInfo.getOffset(), endLineInfo.getOffset() + Math.max(0, endLineInfo.getLength() - 1) - startLineInfo.getOffset());
+				subRegion= new Region(startLineInfo.getOffset(), endLineInfo.getOffset() + endLineInfo.getLength() - startLineInfo.getOffset());
 
 		} catch (BadLocationException e) {
 			subRegion= new Region(0, fDocument.getLength());
 		}
-		reconcile(subRegion);
+		// only the spelling annotations of the checked lines are updated
+		fIsReconcilingDirtyRegion= true;
+		try {
+			reconcile(subRegion);
+		} finally {
+			fIsReconcilingDirtyRegion= false;
+		}
 	}
 
 	@Override
@@ -187,6 +288,10 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 			return;
 
 		fRegions[0]= region;
+		if (fSpellingProblemCollector instanceof SpellingProblemCollector) {
+			boolean isWholeDocument= region.getOffset() == 0 && region.getLength() >= fDocument.getLength();
+			((SpellingProblemCollector) fSpellingProblemCollector).setRegions(fIsReconcilingDirtyRegion && !isWholeDocument ? fRegions : null);
+		}
 		fSpellingService.check(fDocument, fRegions, fSpellingContext, fSpellingProblemCollector, fProgressMonitor);
 	}
 
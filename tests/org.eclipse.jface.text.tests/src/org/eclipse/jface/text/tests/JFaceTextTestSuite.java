@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,13 +27,19 @@ import org.eclipse.jface.text.tests.contentassist.FilteringAsyncContentAssistTes
 import org.eclipse.jface.text.tests.contentassist.IncrementalAsyncContentAssistTests;
 import org.eclipse.jface.text.tests.reconciler.AbstractReconcilerTest;
 import org.eclipse.jface.text.tests.reconciler.FastAbstractReconcilerTest;
+import org.eclipse.jface.text.tests.reconciler.ScheduledAbstractReconcilerTest;
+import org.eclipse.jface.text.tests.rules.FastPartitionerBackgroundScanTest;
 import org.eclipse.jface.text.tests.rules.FastPartitionerTest;
 import org.eclipse.jface.text.tests.rules.FastPartitionerZeroLengthTest;
 import org.eclipse.jface.text.tests.rules.ScannerColumnTest;
+import org.eclipse.jface.text.tests.rules.ScannerDirectAccessTest;
 import org.eclipse.jface.text.tests.rules.WordRuleTest;
+import org.eclipse.jface.text.tests.source.AnnotationPainterTest;
 import org.eclipse.jface.text.tests.source.AnnotationRulerColumnTest;
 import org.eclipse.jface.text.tests.source.LineNumberRulerColumnTest;
+import org.eclipse.jface.text.tests.source.OverviewRulerTest;
 import org.eclipse.jface.text.tests.source.inlined.AnnotationOnTabTest;
+import org.eclipse.jface.text.tests.source.inlined.InlinedAnnotationSupportTest;
 import org.eclipse.jface.text.tests.source.inlined.LineContentBoundsDrawingTest;
 import org.eclipse.jface.text.tests.templates.persistence.TemplatePersistenceDataTest;
 
@@ -47,9 +53,12 @@ import org.eclipse.jface.text.tests.templates.persistence.TemplatePersistenceDat
 @SuiteClasses({
 		AnnotationRulerColumnTest.class,
 		LineNumberRulerColumnTest.class,
+		OverviewRulerTest.class,
+		AnnotationPainterTest.class,
 		HTML2TextReaderTest.class,
 		TextHoverPopupTest.class,
 		TextPresentationTest.class,
+		PresentationReconcilerBackgroundRepairTest.class,
 		DefaultUndoManagerTest.class,
 		TextViewerTest.class,
 		TextViewerUndoManagerTest.class,
@@ -63,15 +72,19 @@ import org.eclipse.jface.text.tests.templates.persistence.TemplatePersistenceDat
 
 		AbstractReconcilerTest.class,
 		FastAbstractReconcilerTest.class,
+		ScheduledAbstractReconcilerTest.class,
 
 		FastPartitionerZeroLengthTest.class,
 		FastPartitionerTest.class,
+		FastPartitionerBackgroundScanTest.class,
 		ScannerColumnTest.class,
+		ScannerDirectAccessTest.class,
 		WordRuleTest.class,
 
 		TemplatePersistenceDataTest.class,
 		LineContentBoundsDrawingTest.class,
 		AnnotationOnTabTest.class,
+		InlinedAnnotationSupportTest.class,
 		CodeMiningTest.class,
 		CodeMiningLineHeaderAnnotationTest.class,
 		CodeMiningProjectionViewerTest.class,
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.TextAttribute;
+import org.eclipse.jface.text.TextViewer;
+import org.eclipse.jface.text.presentation.PresentationReconciler;
+import org.eclipse.jface.text.rules.DefaultDamagerRepairer;
+import org.eclipse.jface.text.rules.IRule;
+import org.eclipse.jface.text.rules.RuleBasedScanner;
+import org.eclipse.jface.text.rules.SingleLineRule;
+import org.eclipse.jface.text.rules.Token;
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+/**
+ * Tests the background repair of {@link PresentationReconciler}.
+ */
+public class PresentationReconcilerBackgroundRepairTest {
+
+	private static final String LINE= "key= \"value\";\n";
+	private static final int LINES= 5000;
+
+	private Shell fShell;
+	private TextViewer fViewer;
+	private PresentationReconciler fReconciler;
+	private Color fColor;
+	/** The tasks passed to the executor, they are run by the test */
+	private final List<Runnable> fTasks= new ArrayList<>();
+	/** The documents set to the repairer used in the UI thread */
+	private final List<IDocument> fRepairerDocuments= new ArrayList<>();
+
+	@Before
+	public void setUp() {
+		fShell= new Shell();
+		fShell.setLayout(new FillLayout());
+		fShell.setSize(500, 200);
+		fViewer= new TextViewer(fShell, SWT.NONE);
+		fShell.open();
+		fColor= fShell.getDisplay().getSystemColor(SWT.COLOR_RED);
+
+		DefaultDamagerRepairer dr= new DefaultDamagerRepairer(createScanner()) {
+			@Override
+			public void setDocument(IDocument document) {
+				fRepairerDocuments.add(document);
+				super.setDocument(document);
+			}
+		};
+		fReconciler= new PresentationReconciler();
+		fReconciler.setDamager(dr, IDocument.DEFAULT_CONTENT_TYPE);
+		fReconciler.setRepairer(dr, IDocument.DEFAULT_CONTENT_TYPE);
+		fReconciler.enableBackgroundRepair(1000, fTasks::add, Map.of(IDocument.DEFAULT_CONTENT_TYPE, new DefaultDamagerRepairer(createScanner())));
+		fReconciler.install(fViewer);
+	}
+
+	private RuleBasedScanner createScanner() {
+		RuleBasedScanner scanner= new RuleBasedScanner();
+		scanner.setRules(new IRule[] { new SingleLineRule("\"", "\"", new Token(new TextAttribute(fColor))) });
+		return scanner;
+	}
+
+	@After
+	public void tearDown() {
+		fReconciler.uninstall();
+		fShell.dispose();
+	}
+
+	private void runBackgroundRepair() {
+		for (int i= 0; i < 10000 && fReconciler.isBackgroundRepairPending(); i++) {
+			List<Runnable> tasks= new ArrayList<>(fTasks);
+			fTasks.clear();
+			for (Runnable task : tasks)
+				task.run();
+			DisplayHelper.driveEventQueue(fShell.getDisplay());
+		}
+		assertFalse(fReconciler.isBackgroundRepairPending());
+	}
+
+	private void assertColored(int offset) {
+		StyleRange range= fViewer.getTextWidget().getStyleRangeAtOffset(offset);
+		assertNotNull(range);
+		assertEquals(fColor, range.foreground);
+	}
+
+	@Test
+	public void testVisibleRangeFirst() {
+		Document document= new Document(LINE.repeat(LINES));
+		fViewer.setDocument(document);
+		StyledText widget= fViewer.getTextWidget();
+		int last= (LINES - 1) * LINE.length() + 5;
+
+		assertTrue(fReconciler.isBackgroundRepairPending());
+		assertColored(5);
+		assertNull(widget.getStyleRangeAtOffset(last));
+
+		runBackgroundRepair();
+		assertColored(5);
+		assertColored(last);
+		assertColored(LINES / 2 * LINE.length() + 5);
+
+		// the background repair does not use the repairer of the UI thread
+		for (IDocument repairerDocument : fRepairerDocuments)
+			assertSame(document, repairerDocument);
+	}
+
+	@Test
+	public void testChangeDiscardsRepair() throws Exception {
+		Document document= new Document(LINE.repeat(LINES));
+		fViewer.setDocument(document);
+		assertEquals(1, fTasks.size());
+
+		document.replace(0, 0, LINE);
+		// the outdated chunk is discarded, the remaining damage is repaired against the changed document
+		runBackgroundRepair();
+		assertColored(5);
+		assertColored(LINE.length() + 5);
+		assertColored(LINES * LINE.length() + 5);
+	}
+
+	@Test
+	public void testDisable() {
+		Document document= new Document(LINE.repeat(LINES));
+		fViewer.setDocument(document);
+		assertTrue(fReconciler.isBackgroundRepairPending());
+
+		fReconciler.disableBackgroundRepair();
+		assertFalse(fReconciler.isBackgroundRepairPending());
+		assertColored((LINES - 1) * LINE.length() + 5);
+
+		// the outdated chunk has no effect
+		for (Runnable task : fTasks)
+			task.run();
+		DisplayHelper.driveEventQueue(fShell.getDisplay());
+		assertColored((LINES - 1) * LINE.length() + 5);
+	}
+}
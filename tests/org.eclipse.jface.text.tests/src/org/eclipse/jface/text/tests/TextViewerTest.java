@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2024 Google, Inc and others.
+ * Copyright (c) 2014, 2026 Google, Inc and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeNotNull;
+import static org.junit.Assume.assumeTrue;
 
 import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -58,6 +59,7 @@ import org.eclipse.jface.text.BlockTextSelection;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentAdapter;
+import org.eclipse.jface.text.IDocumentAdapterExtension;
 import org.eclipse.jface.text.IDocumentExtension3;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextOperationTarget;
@@ -278,6 +280,35 @@ public class TextViewerTest {
 		assertEquals("Wrong offset for line.", 0, content.getOffsetAtLine(0));
 	}
 
+	/**
+	 * Test that the lines served by {@link TextViewer}s default {@link IDocumentAdapter} follow
+	 * document changes and stay unchanged while document changes are not forwarded.
+	 */
+	@Test
+	public void testDefaultContentLines() throws Exception {
+		final TextViewer textViewer= new TextViewer(fShell, SWT.NONE);
+		final Document document= new Document("a\nbb\nccc");
+		textViewer.setDocument(document);
+		final StyledTextContent content= textViewer.getTextWidget().getContent();
+		assumeTrue(content instanceof IDocumentAdapterExtension);
+
+		assertEquals("Adapter returned wrong content.", "bb", content.getLine(1));
+		document.replace(2, 2, "xyz");
+		assertEquals("Adapter returned stale content.", "xyz", content.getLine(1));
+
+		((IDocumentAdapterExtension) content).stopForwardingDocumentChanges();
+		document.replace(0, 0, "new\n");
+		assertEquals("Adapter returned changed content.", "xyz", content.getLine(1));
+		assertEquals("Adapter returned changed line count.", 3, content.getLineCount());
+		assertEquals("Adapter returned changed content length.", 9, content.getCharCount());
+		assertEquals("Wrong offset for line.", 6, content.getOffsetAtLine(2));
+
+		((IDocumentAdapterExtension) content).resumeForwardingDocumentChanges();
+		assertEquals("Adapter returned stale content.", "a", content.getLine(1));
+		assertEquals("Adapter returned stale line count.", 4, content.getLineCount());
+		assertEquals("Widget returned stale text.", document.get(), textViewer.getTextWidget().getText());
+	}
+
 	public static void ctrlEnd(ITextViewer viewer) {
 		postKeyEvent(viewer.getTextWidget(), SWT.END, SWT.CTRL, SWT.KeyDown);
 	}
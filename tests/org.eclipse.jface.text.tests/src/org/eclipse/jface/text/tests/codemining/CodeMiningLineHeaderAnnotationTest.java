@@ -10,7 +10,9 @@
  *******************************************************************************/
 package org.eclipse.jface.text.tests.codemining;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 
@@ -21,6 +23,9 @@ import org.junit.Test;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
@@ -88,4 +93,51 @@ public class CodeMiningLineHeaderAnnotationTest {
 		// https: //github.com/eclipse-platform/eclipse.platform.ui/issues/2786
 		assertNotEquals(0, cut.getHeight()); // getHeight should not return 0, otherwise editor content starts jumping around
 	}
+
+	@Test
+	public void testGetHeightWithGCFollowsLabelsFontAndLineSpacing() throws Exception {
+		var cut= new CodeMiningLineHeaderAnnotation(new Position(0, 0), fViewer);
+		var s= new InlinedAnnotationSupport();
+		s.install(fViewer, new AnnotationPainter(fViewer, null));
+		var m= AbstractInlinedAnnotation.class.getDeclaredMethod("setSupport", InlinedAnnotationSupport.class);
+		m.setAccessible(true);
+		m.invoke(cut, s);
+		String[] label= { "mining" };
+		cut.update(Arrays.asList(new LineHeaderCodeMining(0, document, null) {
+			@Override
+			public String getLabel() {
+				return label[0];
+			}
+		}), null);
+
+		StyledText textWidget= fViewer.getTextWidget();
+		GC gc= new GC(textWidget);
+		Font font= null;
+		try {
+			int oneLine= cut.getHeight(gc);
+			assertNotEquals(0, oneLine);
+			assertEquals(oneLine, cut.getHeight(gc));
+
+			// the height measured for the previous labels must not be reused
+			label[0]= "first\nsecond";
+			int twoLines= cut.getHeight(gc);
+			assertTrue(twoLines > oneLine);
+			label[0]= "mining";
+			assertEquals(oneLine, cut.getHeight(gc));
+
+			textWidget.setLineSpacing(textWidget.getLineSpacing() + 10);
+			assertEquals(oneLine + 10, cut.getHeight(gc));
+
+			FontData[] fontData= gc.getFont().getFontData();
+			for (FontData data : fontData)
+				data.setHeight(data.getHeight() * 3);
+			font= new Font(textWidget.getDisplay(), fontData);
+			gc.setFont(font);
+			assertTrue(cut.getHeight(gc) > oneLine + 10);
+		} finally {
+			gc.dispose();
+			if (font != null)
+				font.dispose();
+		}
+	}
 }
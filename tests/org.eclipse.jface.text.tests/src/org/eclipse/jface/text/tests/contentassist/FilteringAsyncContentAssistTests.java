@@ -24,7 +24,6 @@ import java.util.function.Predicate;
 
 import org.junit.After;
 import org.junit.Before;
-import org.junit.Ignore;
 import org.junit.Test;
 
 import org.eclipse.swt.SWT;
@@ -283,11 +282,9 @@ public class FilteringAsyncContentAssistTests {
 	 * initially. Invoke CA, verify 1 proposal shows right away, type `a` before
 	 * delayed proposal calculated, verify immediate proposal filtered out
 	 *
-	 * Bug: filtering only applied after all CA processors have completed
-	 *
 	 * @throws Exception exception
 	 */
-	@Test @Ignore
+	@Test
 	public void testFastCompletionsNotFilteredUntilLongComplitionsCalculated() throws Exception {
 		IDocument document = viewer.getDocument();
 
@@ -319,6 +316,50 @@ public class FilteringAsyncContentAssistTests {
 		assertTrue(filteredProposals == null || filteredProposals.isEmpty());
 	}
 
+	/**
+	 * CA with filtering with 1 immediate and 1 delayed CA processors. Empty text
+	 * initially. Invoke CA, type `a` before delayed proposals calculated, verify
+	 * only the delayed proposal matching `a` is added once calculated
+	 *
+	 * @throws Exception exception
+	 */
+	@Test
+	public void testLateCompletionsFilteredWhenCalculated() throws Exception {
+		IDocument document = viewer.getDocument();
+
+		ca.addContentAssistProcessor(new ImmediateContentAssistProcessor("xxxx"), IDocument.DEFAULT_CONTENT_TYPE);
+		ca.addContentAssistProcessor(new DelayedContentAssistProcessor(Arrays.asList("abcd", "yyyy"), 1000, false),
+				IDocument.DEFAULT_CONTENT_TYPE);
+
+		ca.install(viewer);
+
+		viewer.setSelectedRange(0, 0);
+
+		ca.showPossibleCompletions();
+
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+
+		new InsertEdit(0, "a").apply(document);
+		viewer.setSelectedRange(1, 0);
+
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+
+		List<ICompletionProposal> filteredProposals = getFilteredProposals(ca,
+				p -> p instanceof IncompleteCompletionProposal);
+		assertNotNull(filteredProposals);
+		assertTrue(filteredProposals.isEmpty());
+
+		DisplayHelper.sleep(shell.getDisplay(), 1500);
+
+		filteredProposals = getFilteredProposals(ca, p -> p instanceof IncompleteCompletionProposal);
+		assertNotNull(filteredProposals);
+		assertEquals(1, filteredProposals.size());
+
+		((ICompletionProposalExtension) filteredProposals.get(0)).apply(document, (char) 0,
+				viewer.getSelectedRange().x);
+		assertEquals("abcd", document.get());
+	}
+
 	@Test
 	public void testProposalValidation() throws Exception {
 		IDocument document= viewer.getDocument();
@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.reconciler;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.reconciler.AbstractReconciler;
+import org.eclipse.jface.text.reconciler.DirtyRegion;
+import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
+import org.eclipse.jface.text.reconciler.ReconcilerScheduler;
+import org.eclipse.jface.text.tests.TestTextViewer;
+
+/**
+ * Runs the reconciler tests with a reconciler that shares the threads of a
+ * {@link ReconcilerScheduler}.
+ */
+public class ScheduledAbstractReconcilerTest extends AbstractReconcilerTest {
+
+	@Override
+	ReconcilerScheduler getScheduler() {
+		return new ReconcilerScheduler(1);
+	}
+
+	@Test
+	public void testInputChangeDoesNotWaitForBusyThread() throws Exception {
+		ReconcilerScheduler scheduler= new ReconcilerScheduler(1);
+		CountDownLatch blocking= new CountDownLatch(1);
+		CountDownLatch release= new CountDownLatch(1);
+		AbstractReconciler blocker= new AbstractReconciler() {
+			@Override
+			protected void initialProcess() {
+			}
+
+			@Override
+			protected void process(DirtyRegion dirtyRegion) {
+				blocking.countDown();
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					// ignore
+				}
+			}
+
+			@Override
+			protected void reconcilerDocumentChanged(IDocument newDocument) {
+			}
+
+			@Override
+			public IReconcilingStrategy getReconcilingStrategy(String contentType) {
+				return null;
+			}
+		};
+		CountDownLatch initialized= new CountDownLatch(1);
+		AbstractReconciler reconciler= new AbstractReconciler() {
+			@Override
+			protected void initialProcess() {
+				initialized.countDown();
+			}
+
+			@Override
+			protected void process(DirtyRegion dirtyRegion) {
+			}
+
+			@Override
+			protected void reconcilerDocumentChanged(IDocument newDocument) {
+			}
+
+			@Override
+			public IReconcilingStrategy getReconcilingStrategy(String contentType) {
+				return null;
+			}
+		};
+		blocker.setIsIncrementalReconciler(false);
+		blocker.setDelay(10);
+		blocker.setScheduler(scheduler);
+		reconciler.setIsIncrementalReconciler(true);
+		reconciler.setDelay(10);
+		reconciler.setScheduler(scheduler);
+		TestTextViewer blockerViewer= new TestTextViewer();
+		TestTextViewer viewer= new TestTextViewer();
+		blocker.install(blockerViewer);
+		reconciler.install(viewer);
+		try {
+			IDocument document= new Document("foo");
+			viewer.setDocument(document);
+			assertTrue(initialized.await(5, TimeUnit.SECONDS));
+
+			// occupy the only thread, then leave changes that the reconciler cannot process
+			IDocument blockerDocument= new Document("foo");
+			blockerViewer.setDocument(blockerDocument);
+			blockerDocument.replace(0, 0, "bar");
+			assertTrue(blocking.await(5, TimeUnit.SECONDS));
+			document.replace(0, 0, "bar");
+
+			Thread thread= new Thread(() -> viewer.setDocument(new Document("baz")));
+			thread.start();
+			thread.join(5000);
+			assertFalse(thread.isAlive());
+		} finally {
+			release.countDown();
+			reconciler.uninstall();
+			blocker.uninstall();
+		}
+	}
+
+	@Test
+	public void testSharedThreads() throws Exception {
+		ReconcilerScheduler scheduler= new ReconcilerScheduler(2);
+		AtomicInteger running= new AtomicInteger();
+		AtomicInteger maxRunning= new AtomicInteger();
+		int count= 6;
+		CountDownLatch initialized= new CountDownLatch(count);
+		CountDownLatch processed= new CountDownLatch(count);
+		List<AbstractReconciler> reconcilers= new ArrayList<>();
+		List<IDocument> documents= new ArrayList<>();
+		for (int i= 0; i < count; i++) {
+			AbstractReconciler reconciler= new AbstractReconciler() {
+				private void work(CountDownLatch latch) {
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					try {
+						Thread.sleep(20);
+					} catch (InterruptedException e) {
+						// ignore
+					}
+					running.decrementAndGet();
+					latch.countDown();
+				}
+
+				@Override
+				protected void initialProcess() {
+					work(initialized);
+				}
+
+				@Override
+				protected void process(DirtyRegion dirtyRegion) {
+					work(processed);
+				}
+
+				@Override
+				protected void reconcilerDocumentChanged(IDocument newDocument) {
+				}
+
+				@Override
+				public IReconcilingStrategy getReconcilingStrategy(String contentType) {
+					return null;
+				}
+			};
+			reconciler.setIsIncrementalReconciler(false);
+			reconciler.setDelay(10);
+			reconciler.setScheduler(scheduler);
+			TestTextViewer viewer= new TestTextViewer();
+			reconciler.install(viewer);
+			IDocument document= new Document("foo");
+			viewer.setDocument(document);
+			reconcilers.add(reconciler);
+			documents.add(document);
+		}
+		try {
+			assertTrue(initialized.await(5, TimeUnit.SECONDS));
+			for (IDocument document : documents)
+				document.replace(0, 0, "bar");
+			assertTrue(processed.await(5, TimeUnit.SECONDS));
+			assertTrue(maxRunning.get() <= scheduler.getMaximalThreads());
+		} finally {
+			for (AbstractReconciler reconciler : reconcilers)
+				reconciler.uninstall();
+		}
+	}
+}
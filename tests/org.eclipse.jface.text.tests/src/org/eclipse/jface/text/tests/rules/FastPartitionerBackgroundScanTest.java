@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.rules;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentPartitioningChangedEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension3;
+import org.eclipse.jface.text.IDocumentPartitioningListener;
+import org.eclipse.jface.text.IDocumentPartitioningListenerExtension2;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.TypedRegion;
+import org.eclipse.jface.text.rules.FastPartitioner;
+import org.eclipse.jface.text.rules.IPartitionTokenScanner;
+import org.eclipse.jface.text.rules.IPredicateRule;
+import org.eclipse.jface.text.rules.MultiLineRule;
+import org.eclipse.jface.text.rules.RuleBasedPartitionScanner;
+import org.eclipse.jface.text.rules.SingleLineRule;
+import org.eclipse.jface.text.rules.Token;
+
+/**
+ * Tests {@link FastPartitioner} with background scanning enabled.
+ *
+ * @since 3.15
+ */
+public class FastPartitionerBackgroundScanTest {
+
+	private static final String COMMENT= "comment";
+	private static final String STRING= "string";
+	private static final int WINDOW= 200;
+
+	private final Queue<Runnable> fScans= new ArrayDeque<>();
+	private final Queue<Runnable> fDocumentTasks= new ArrayDeque<>();
+	private final List<IRegion> fChanges= new ArrayList<>();
+	private IDocument fDoc;
+	private FastPartitioner fPartitioner;
+
+	private static FastPartitioner createPartitioner() {
+		IPartitionTokenScanner scanner= new RuleBasedPartitionScanner() {
+			{
+				setPredicateRules(new IPredicateRule[] {
+						new MultiLineRule("/*", "*/", new Token(COMMENT), (char) 0, true),
+						new SingleLineRule("\"", "\"", new Token(STRING), '\\') });
+			}
+		};
+		return new FastPartitioner(scanner, new String[] { IDocument.DEFAULT_CONTENT_TYPE, COMMENT, STRING });
+	}
+
+	@Before
+	public void setUp() {
+		fDoc= new Document("x= \"a\"; y= 1;\n".repeat(2000));
+		fPartitioner= createPartitioner();
+		fPartitioner.enableBackgroundScanning(WINDOW, fScans::add, fDocumentTasks::add);
+		fDoc.setDocumentPartitioner(fPartitioner);
+		fPartitioner.connect(fDoc);
+		fDoc.addDocumentPartitioningListener(new Listener());
+	}
+
+	private class Listener implements IDocumentPartitioningListener, IDocumentPartitioningListenerExtension2 {
+		@Override
+		public void documentPartitioningChanged(IDocument document) {
+		}
+
+		@Override
+		public void documentPartitioningChanged(DocumentPartitioningChangedEvent event) {
+			fChanges.add(event.getChangedRegion(IDocumentExtension3.DEFAULT_PARTITIONING));
+		}
+	}
+
+	private void runBackgroundTasks() {
+		while (!fScans.isEmpty() || !fDocumentTasks.isEmpty()) {
+			while (!fScans.isEmpty())
+				fScans.remove().run();
+			while (!fDocumentTasks.isEmpty())
+				fDocumentTasks.remove().run();
+		}
+	}
+
+	private void assertPartitioning() {
+		IDocument expected= new Document(fDoc.get());
+		FastPartitioner partitioner= createPartitioner();
+		partitioner.connect(expected);
+		assertArrayEquals(partitioner.computePartitioning(0, expected.getLength()), fPartitioner.computePartitioning(0, fDoc.getLength()));
+	}
+
+	@Test
+	public void testUnclosedComment() throws Exception {
+		fDoc.replace(0, 0, "/*");
+		assertTrue(fPartitioner.isBackgroundScanPending());
+		ITypedRegion partition= fPartitioner.getPartition(0);
+		assertEquals(COMMENT, partition.getType());
+		assertTrue(partition.getLength() >= WINDOW);
+		assertEquals(1, fScans.size());
+
+		fChanges.clear();
+		runBackgroundTasks();
+		assertFalse(fPartitioner.isBackgroundScanPending());
+		assertEquals(1, fChanges.size());
+		assertEquals(fDoc.getLength(), fChanges.get(0).getOffset() + fChanges.get(0).getLength());
+		assertEquals(new TypedRegion(0, fDoc.getLength(), COMMENT), fPartitioner.getPartition(0));
+		assertPartitioning();
+
+		fDoc.replace(0, 2, "");
+		runBackgroundTasks();
+		assertPartitioning();
+	}
+
+	@Test
+	public void testLocalChange() throws Exception {
+		fDoc.replace(100, 0, "/* new */");
+		assertPartitioning();
+		// the scan resyncs within the window, nothing is left to verify
+		assertFalse(fPartitioner.isBackgroundScanPending());
+		assertTrue(fScans.isEmpty());
+
+		fDoc.replace(fDoc.getLength() - 10, 0, "/* end */");
+		assertFalse(fPartitioner.isBackgroundScanPending());
+		assertTrue(fScans.isEmpty());
+		assertPartitioning();
+	}
+
+	@Test
+	public void testChangeDiscardsScan() throws Exception {
+		fDoc.replace(0, 0, "/*");
+		assertEquals(1, fScans.size());
+		fDoc.replace(fDoc.getLength(), 0, "z");
+		// the first scan has been discarded, the second one covers its range
+		assertEquals(2, fScans.size());
+		fScans.remove().run();
+		assertTrue(fDocumentTasks.isEmpty());
+		runBackgroundTasks();
+		assertPartitioning();
+	}
+
+	@Test
+	public void testRandomEdits() throws Exception {
+		Random random= new Random(11);
+		String[] texts= { "", "/*", "*/", "\"", "a", "\n", "/* x */" };
+		for (int i= 0; i < 300; i++) {
+			int offset= random.nextInt(fDoc.getLength() + 1);
+			int length= Math.min(random.nextInt(5), fDoc.getLength() - offset);
+			fDoc.replace(offset, length, texts[random.nextInt(texts.length)]);
+			if (random.nextInt(3) == 0)
+				runBackgroundTasks();
+			if (!fPartitioner.isBackgroundScanPending())
+				assertPartitioning();
+		}
+		runBackgroundTasks();
+		assertFalse(fPartitioner.isBackgroundScanPending());
+		assertPartitioning();
+	}
+
+	@Test
+	public void testDisable() throws Exception {
+		fDoc.replace(0, 0, "/*");
+		assertTrue(fPartitioner.isBackgroundScanPending());
+		fPartitioner.disableBackgroundScanning();
+		assertFalse(fPartitioner.isBackgroundScanPending());
+		assertPartitioning();
+		runBackgroundTasks();
+		assertPartitioning();
+
+		fDoc.replace(0, 2, "");
+		assertFalse(fPartitioner.isBackgroundScanPending());
+		assertPartitioning();
+	}
+}
@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.rules;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.rules.BufferedRuleBasedScanner;
+import org.eclipse.jface.text.rules.EndOfLineRule;
+import org.eclipse.jface.text.rules.IRule;
+import org.eclipse.jface.text.rules.IToken;
+import org.eclipse.jface.text.rules.IWhitespaceDetector;
+import org.eclipse.jface.text.rules.IWordDetector;
+import org.eclipse.jface.text.rules.MultiLineRule;
+import org.eclipse.jface.text.rules.NumberRule;
+import org.eclipse.jface.text.rules.PatternRule;
+import org.eclipse.jface.text.rules.RuleBasedScanner;
+import org.eclipse.jface.text.rules.SingleLineRule;
+import org.eclipse.jface.text.rules.Token;
+import org.eclipse.jface.text.rules.WhitespaceRule;
+import org.eclipse.jface.text.rules.WordPatternRule;
+import org.eclipse.jface.text.rules.WordRule;
+
+/**
+ * Tests that the rules produce the same tokens whether they access the characters of the scanner
+ * through {@link org.eclipse.jface.text.rules.ICharacterScannerExtension} or read them one by one.
+ */
+public class ScannerDirectAccessTest {
+
+	/**
+	 * A scanner that overrides {@link #read()}, so that rules read the characters one by one.
+	 */
+	private static class ReadingScanner extends RuleBasedScanner {
+		@Override
+		public int read() {
+			return super.read();
+		}
+	}
+
+	private static class WordDetector implements IWordDetector {
+		@Override
+		public boolean isWordStart(char c) {
+			return Character.isJavaIdentifierStart(c);
+		}
+
+		@Override
+		public boolean isWordPart(char c) {
+			return Character.isJavaIdentifierPart(c);
+		}
+	}
+
+	private static final IToken KEYWORD= new Token("keyword");
+	private static final IToken OTHER_KEYWORD= new Token("other keyword");
+	private static final IToken WORD= new Token("word");
+	private static final IToken STRING= new Token("string");
+	private static final IToken COMMENT= new Token("comment");
+	private static final IToken LINE_COMMENT= new Token("line comment");
+	private static final IToken NUMBER= new Token("number");
+	private static final IToken TAG= new Token("tag");
+	private static final IToken WHITESPACE= new Token("whitespace");
+
+	private static final String[] FRAGMENTS= { "if", "IF", "iF", "while", "whilex", "wh", "x", "\"", "\\", "'", "/*", "*/", "*", "//",
+			"<a>", "<ab", "<", ">", "0", "42", " ", "\t", "\n", "\r\n", "\r", "é", "É", "+", "is", "I" };
+
+	private IRule[] createRules(boolean ignoreCase) {
+		WordRule keywords= new WordRule(new WordDetector(), WORD, ignoreCase);
+		keywords.addWord("if", KEYWORD);
+		keywords.addWord("while", KEYWORD);
+		keywords.addWord("is", OTHER_KEYWORD);
+		keywords.addWord("été", OTHER_KEYWORD);
+		WordRule undefinedDefault= new WordRule(new WordDetector());
+		undefinedDefault.addWord("x", OTHER_KEYWORD);
+		WordRule columnConstrained= new WordRule(new WordDetector(), WORD);
+		columnConstrained.setColumnConstraint(0);
+		columnConstrained.addWord("wh", KEYWORD);
+		IWhitespaceDetector whitespace= Character::isWhitespace;
+		return new IRule[] {
+				new MultiLineRule("/*", "*/", COMMENT, (char) 0, true),
+				new EndOfLineRule("//", LINE_COMMENT),
+				new SingleLineRule("\"", "\"", STRING, '\\'),
+				new PatternRule("'", "'", STRING, '\\', true, true, true),
+				new WordPatternRule(new WordDetector(), "<", ">", TAG),
+				new NumberRule(NUMBER),
+				new WhitespaceRule(whitespace, WHITESPACE),
+				columnConstrained,
+				undefinedDefault,
+				keywords,
+		};
+	}
+
+	private List<String> scan(RuleBasedScanner scanner, IDocument document, int offset, int length) {
+		List<String> tokens= new ArrayList<>();
+		scanner.setRange(document, offset, length);
+		IToken token;
+		do {
+			token= scanner.nextToken();
+			tokens.add(token.getData() + "@" + scanner.getTokenOffset() + ":" + scanner.getTokenLength());
+		} while (!token.isEOF());
+		return tokens;
+	}
+
+	private void assertSameTokens(String text, boolean ignoreCase, Random random) {
+		IDocument document= new Document(text);
+		int offset= random.nextInt(text.length() / 4 + 1);
+		int length= text.length() - offset - random.nextInt(text.length() / 4 + 1);
+
+		RuleBasedScanner expectedScanner= new ReadingScanner();
+		expectedScanner.setRules(createRules(ignoreCase));
+		List<String> expected= scan(expectedScanner, document, offset, length);
+
+		RuleBasedScanner scanner= new RuleBasedScanner();
+		scanner.setRules(createRules(ignoreCase));
+		assertEquals(text, expected, scan(scanner, document, offset, length));
+
+		BufferedRuleBasedScanner bufferedScanner= new BufferedRuleBasedScanner(7);
+		bufferedScanner.setRules(createRules(ignoreCase));
+		assertEquals(text, expected, scan(bufferedScanner, document, offset, length));
+	}
+
+	@Test
+	public void testRandomText() {
+		Random random= new Random(17);
+		for (int i= 0; i < 500; i++) {
+			StringBuilder text= new StringBuilder();
+			int count= random.nextInt(60);
+			for (int j= 0; j < count; j++)
+				text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+			assertSameTokens(text.toString(), i % 2 == 0, random);
+		}
+	}
+
+	@Test
+	public void testKeywords() {
+		IDocument document= new Document("if IF whilex is while");
+		RuleBasedScanner scanner= new RuleBasedScanner();
+		scanner.setRules(createRules(true));
+		assertEquals(List.of("word@0:2", "whitespace@2:1", "keyword@3:2", "whitespace@5:1", "word@6:6", "whitespace@12:1", "other keyword@13:2",
+				"whitespace@15:1", "keyword@16:5", "null@21:0"), scan(scanner, document, 0, document.getLength()));
+	}
+
+	@Test
+	public void testWordAddedToTable() {
+		WordRule rule= new WordRule(new WordDetector(), WORD) {
+			{
+				fWords.put("added", KEYWORD);
+			}
+		};
+		RuleBasedScanner scanner= new RuleBasedScanner();
+		scanner.setRules(rule);
+		scanner.setRange(new Document("added"), 0, 5);
+		assertSame(KEYWORD, scanner.nextToken());
+
+		rule.addWord("later", OTHER_KEYWORD);
+		scanner.setRange(new Document("later"), 0, 5);
+		assertSame(OTHER_KEYWORD, scanner.nextToken());
+	}
+
+	@Test
+	public void testWordReplacedInTable() {
+		class ReplacingWordRule extends WordRule {
+			ReplacingWordRule() {
+				super(new WordDetector(), WORD);
+				addWord("old", KEYWORD);
+			}
+
+			void replace(String word, String newWord) {
+				fWords.put(newWord, fWords.remove(word));
+			}
+		}
+		ReplacingWordRule rule= new ReplacingWordRule();
+		RuleBasedScanner scanner= new RuleBasedScanner();
+		scanner.setRules(rule);
+		scanner.setRange(new Document("old"), 0, 3);
+		assertSame(KEYWORD, scanner.nextToken());
+
+		// the number of words stays the same
+		rule.replace("old", "new");
+		scanner.setRange(new Document("new"), 0, 3);
+		assertSame(KEYWORD, scanner.nextToken());
+		scanner.setRange(new Document("old"), 0, 3);
+		assertSame(WORD, scanner.nextToken());
+
+		rule.replace("new", "old");
+		scanner.setRange(new Document("new"), 0, 3);
+		assertSame(WORD, scanner.nextToken());
+	}
+
+	@Test
+	public void testTableSetBySubclass() {
+		WordRule rule= new WordRule(new WordDetector(), WORD) {
+			{
+				fWords= new HashMap<>();
+				fWords.put("added", KEYWORD);
+			}
+		};
+		RuleBasedScanner scanner= new RuleBasedScanner();
+		scanner.setRules(rule);
+		scanner.setRange(new Document("added"), 0, 5);
+		assertSame(KEYWORD, scanner.nextToken());
+
+		rule.addWord("later", OTHER_KEYWORD);
+		scanner.setRange(new Document("later"), 0, 5);
+		assertSame(OTHER_KEYWORD, scanner.nextToken());
+	}
+
+	@Test
+	public void testTokenTable() {
+		IDocument document= new Document("if 42 x if");
+		RuleBasedScanner scanner= new RuleBasedScanner();
+		scanner.setRules(createRules(false));
+		scanner.setRange(document, 0, document.getLength());
+		int[] indices= new int[8];
+		for (int i= 0; i < indices.length; i++)
+			indices[i]= scanner.nextTokenIndex();
+
+		// the column constraint makes the first word a plain word
+		assertArrayEquals(new int[] { 0, 1, 2, 1, 3, 1, 4, 5 }, indices);
+		assertArrayEquals(new IToken[] { WORD, WHITESPACE, NUMBER, OTHER_KEYWORD, KEYWORD, Token.EOF }, scanner.getTokenTable());
+	}
+}
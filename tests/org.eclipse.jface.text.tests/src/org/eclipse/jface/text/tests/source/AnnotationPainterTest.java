@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.source;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.TextPresentation;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.AnnotationPainter;
+import org.eclipse.jface.text.source.IAnnotationAccess;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+/**
+ * Tests that the annotation painter, which asks the annotation model for the annotations in the
+ * damaged region, highlights the annotations of that region after they have been added, removed
+ * or changed.
+ */
+public class AnnotationPainterTest {
+
+	private static final String TYPE= "org.eclipse.jface.text.tests.highlight"; //$NON-NLS-1$
+
+	private Shell fShell;
+
+	private SourceViewer fViewer;
+
+	private AnnotationModel fModel;
+
+	private IDocument fDocument;
+
+	private AnnotationPainter fPainter;
+
+	private Color fColor;
+
+	private Annotation fFirst;
+
+	private Annotation fSpanning;
+
+	private Annotation fLast;
+
+	@Before
+	public void setUp() throws Exception {
+		fShell= new Shell();
+		fShell.setLayout(new FillLayout());
+		fColor= fShell.getDisplay().getSystemColor(SWT.COLOR_RED);
+
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < 10; i++)
+			text.append("line ").append(i).append('\n'); //$NON-NLS-1$
+		fDocument= new Document(text.toString());
+		fModel= new AnnotationModel();
+
+		fViewer= new SourceViewer(fShell, null, SWT.NONE);
+		fViewer.setDocument(fDocument, fModel);
+
+		fPainter= new AnnotationPainter(fViewer, new TestAnnotationAccess());
+		fPainter.addHighlightAnnotationType(TYPE);
+		fPainter.setAnnotationTypeColor(TYPE, fColor);
+		fViewer.addPainter(fPainter);
+		fShell.open();
+
+		fFirst= addAnnotation(linePosition(1, 1));
+		fSpanning= addAnnotation(linePosition(2, 4));
+		fLast= addAnnotation(linePosition(8, 8));
+		waitForHighlights(0, fDocument.getLength(), 3);
+	}
+
+	@After
+	public void tearDown() {
+		fShell.dispose();
+	}
+
+	@Test
+	public void testRegionQuery() throws Exception {
+		List<StyleRange> ranges= getHighlights(line(3));
+		assertEquals(1, ranges.size());
+		assertEquals(fDocument.getLineOffset(3), ranges.get(0).start);
+		assertEquals(fDocument.getLineLength(3), ranges.get(0).length);
+
+		assertEquals(1, getHighlights(line(1)).size());
+		assertEquals(0, getHighlights(line(0)).size());
+		assertEquals(0, getHighlights(line(6)).size());
+		assertEquals(2, getHighlights(new Region(fDocument.getLineOffset(1), fDocument.getLineOffset(3) - fDocument.getLineOffset(1))).size());
+	}
+
+	@Test
+	public void testAddAnnotation() throws Exception {
+		addAnnotation(linePosition(6, 6));
+		waitForHighlights(0, fDocument.getLength(), 4);
+
+		assertEquals(1, getHighlights(line(6)).size());
+		assertEquals(0, getHighlights(line(7)).size());
+	}
+
+	@Test
+	public void testRemoveAnnotation() throws Exception {
+		fModel.removeAnnotation(fFirst);
+		waitForHighlights(0, fDocument.getLength(), 2);
+
+		assertEquals(0, getHighlights(line(1)).size());
+		assertEquals(1, getHighlights(line(2)).size());
+	}
+
+	@Test
+	public void testChangeAnnotation() throws Exception {
+		fModel.modifyAnnotationPosition(fLast, linePosition(6, 6));
+		IRegion line6= line(6);
+		waitForHighlights(line6.getOffset(), line6.getLength(), 1);
+
+		assertEquals(0, getHighlights(line(8)).size());
+		assertEquals(1, getHighlights(line(6)).size());
+
+		fModel.modifyAnnotationPosition(fSpanning, linePosition(3, 3));
+		IRegion line2= line(2);
+		waitForHighlights(line2.getOffset(), line2.getLength(), 0);
+
+		assertEquals(1, getHighlights(line(3)).size());
+		assertEquals(0, getHighlights(line(4)).size());
+	}
+
+	private Annotation addAnnotation(Position position) {
+		Annotation annotation= new Annotation(TYPE, false, null);
+		fModel.addAnnotation(annotation, position);
+		return annotation;
+	}
+
+	/**
+	 * Returns the position covering the given lines without the delimiter of the last line, so
+	 * that it does not touch the next line.
+	 *
+	 * @param firstLine the first line
+	 * @param lastLine the last line
+	 * @return the position
+	 * @throws BadLocationException if the lines do not exist
+	 */
+	private Position linePosition(int firstLine, int lastLine) throws BadLocationException {
+		int offset= fDocument.getLineOffset(firstLine);
+		IRegion last= fDocument.getLineInformation(lastLine);
+		return new Position(offset, last.getOffset() + last.getLength() - offset);
+	}
+
+	private IRegion line(int line) throws BadLocationException {
+		return fDocument.getLineInformation(line);
+	}
+
+	private void waitForHighlights(int offset, int length, int count) {
+		Region region= new Region(offset, length);
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return getHighlights(region).size() == count;
+			}
+		}.waitForCondition(fShell.getDisplay(), 2000));
+	}
+
+	private List<StyleRange> getHighlights(IRegion region) {
+		TextPresentation presentation= new TextPresentation(region, 10);
+		fPainter.applyTextPresentation(presentation);
+		List<StyleRange> ranges= new ArrayList<>();
+		for (Iterator<StyleRange> e= presentation.getAllStyleRangeIterator(); e.hasNext();) {
+			StyleRange range= e.next();
+			if (range.length > 0 && fColor.equals(range.background))
+				ranges.add(range);
+		}
+		return ranges;
+	}
+
+	private static class TestAnnotationAccess implements IAnnotationAccess {
+
+		@Override
+		public Object getType(Annotation annotation) {
+			return annotation.getType();
+		}
+
+		@Override
+		public boolean isMultiLine(Annotation annotation) {
+			return true;
+		}
+
+		@Override
+		public boolean isTemporary(Annotation annotation) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,306 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.source;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.IAnnotationAccess;
+import org.eclipse.jface.text.source.ISharedTextColors;
+import org.eclipse.jface.text.source.OverviewRuler;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+/**
+ * Tests that the overview ruler, which only redraws the parts showing the annotations of an
+ * annotation model event, paints the same as if it had been redrawn completely.
+ */
+public class OverviewRulerTest {
+
+	private static final String TYPE= "org.eclipse.jface.text.tests.overview"; //$NON-NLS-1$
+
+	private static final String OTHER_TYPE= "org.eclipse.jface.text.tests.overview.other"; //$NON-NLS-1$
+
+	private static final int LINES= 200;
+
+	private Shell fShell;
+
+	private SourceViewer fViewer;
+
+	private OverviewRuler fRuler;
+
+	private AnnotationModel fModel;
+
+	private IDocument fDocument;
+
+	private TestSharedTextColors fColors;
+
+	@Before
+	public void setUp() {
+		fShell= new Shell();
+		fShell.setSize(400, 300);
+		fShell.setLayout(new FillLayout());
+
+		fColors= new TestSharedTextColors(fShell.getDisplay());
+		fRuler= new OverviewRuler(new TestAnnotationAccess(), 12, fColors);
+		fRuler.addAnnotationType(TYPE);
+		fRuler.setAnnotationTypeLayer(TYPE, 1);
+		fRuler.setAnnotationTypeColor(TYPE, fColors.getColor(new RGB(255, 0, 0)));
+		fRuler.addAnnotationType(OTHER_TYPE);
+		fRuler.setAnnotationTypeLayer(OTHER_TYPE, 2);
+		fRuler.setAnnotationTypeColor(OTHER_TYPE, fColors.getColor(new RGB(0, 0, 255)));
+
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < LINES; i++)
+			text.append("line ").append(i).append('\n'); //$NON-NLS-1$
+		fDocument= new Document(text.toString());
+		fModel= new AnnotationModel();
+
+		fViewer= new SourceViewer(fShell, null, fRuler, true, SWT.V_SCROLL | SWT.H_SCROLL);
+		fViewer.setDocument(fDocument, fModel);
+		fShell.open();
+	}
+
+	@After
+	public void tearDown() {
+		fShell.dispose();
+		fColors.dispose();
+	}
+
+	@Test
+	public void testAddAnnotation() throws Exception {
+		addAnnotations(20, TYPE);
+		ImageData before= paintCompletely();
+
+		Annotation added= new Annotation(TYPE, false, null);
+		fModel.addAnnotation(added, linePosition(LINES - 10));
+		ImageData partial= paintChanges();
+
+		assertFalse(paintedRows(before).equals(paintedRows(partial)));
+		assertImageEquals(paintCompletely(), partial);
+	}
+
+	@Test
+	public void testRemoveAnnotation() throws Exception {
+		List<Annotation> annotations= addAnnotations(20, TYPE);
+		ImageData before= paintCompletely();
+
+		fModel.removeAnnotation(annotations.get(5));
+		ImageData partial= paintChanges();
+
+		assertFalse(paintedRows(before).equals(paintedRows(partial)));
+		assertImageEquals(paintCompletely(), partial);
+	}
+
+	@Test
+	public void testChangeAnnotation() throws Exception {
+		List<Annotation> annotations= addAnnotations(20, TYPE);
+		ImageData before= paintCompletely();
+
+		fModel.modifyAnnotationPosition(annotations.get(3), linePosition(LINES - 5));
+		ImageData partial= paintChanges();
+
+		assertFalse(paintedRows(before).equals(paintedRows(partial)));
+		assertImageEquals(paintCompletely(), partial);
+	}
+
+	@Test
+	public void testChangeAnnotationKeepsDrawingOrder() throws Exception {
+		// overlapping rectangles of the same type: the last one drawn hides the border of the others
+		List<Annotation> annotations= new ArrayList<>();
+		for (int i= 0; i < 10; i++) {
+			Annotation annotation= new Annotation(TYPE, false, null);
+			fModel.addAnnotation(annotation, linePosition(100 + i % 2));
+			annotations.add(annotation);
+		}
+		addAnnotations(20, OTHER_TYPE);
+		paintCompletely();
+
+		Annotation changed= annotations.get(0);
+		changed.setText("changed"); //$NON-NLS-1$
+		fModel.modifyAnnotationPosition(changed, fModel.getPosition(changed));
+		ImageData partial= paintChanges();
+
+		assertImageEquals(paintCompletely(), partial);
+	}
+
+	@Test
+	public void testChangeAnnotationType() throws Exception {
+		List<Annotation> annotations= addAnnotations(20, TYPE);
+		ImageData before= paintCompletely();
+
+		Annotation changed= annotations.get(7);
+		changed.setType(OTHER_TYPE);
+		fModel.modifyAnnotationPosition(changed, fModel.getPosition(changed));
+		ImageData partial= paintChanges();
+
+		assertEquals(paintedRows(before), paintedRows(partial));
+		assertFalse(imageEquals(before, partial));
+		assertImageEquals(paintCompletely(), partial);
+	}
+
+	private List<Annotation> addAnnotations(int count, String type) throws Exception {
+		List<Annotation> annotations= new ArrayList<>(count);
+		for (int i= 0; i < count; i++) {
+			Annotation annotation= new Annotation(type, false, null);
+			fModel.addAnnotation(annotation, linePosition(i * (LINES / count)));
+			annotations.add(annotation);
+		}
+		return annotations;
+	}
+
+	private Position linePosition(int line) throws Exception {
+		return new Position(fDocument.getLineOffset(line), fDocument.getLineLength(line));
+	}
+
+	/**
+	 * Lets the ruler process the pending annotation model events and returns what it shows.
+	 *
+	 * @return the ruler's pixels
+	 */
+	private ImageData paintChanges() {
+		Display display= fShell.getDisplay();
+		DisplayHelper.sleep(display, 200);
+		return capture();
+	}
+
+	/**
+	 * Forces the ruler to compute all rectangles again and returns what it shows.
+	 *
+	 * @return the ruler's pixels
+	 */
+	private ImageData paintCompletely() {
+		// changing the configuration discards all rectangles computed so far
+		fRuler.setAnnotationTypeColor(TYPE, fColors.getColor(new RGB(255, 0, 0)));
+		fRuler.update();
+		Display display= fShell.getDisplay();
+		DisplayHelper.sleep(display, 200);
+		return capture();
+	}
+
+	private ImageData capture() {
+		Control control= fRuler.getControl();
+		Point size= control.getSize();
+		Image image= new Image(control.getDisplay(), size.x, size.y);
+		GC gc= new GC(control);
+		try {
+			gc.copyArea(image, 0, 0);
+			return image.getImageData();
+		} finally {
+			gc.dispose();
+			image.dispose();
+		}
+	}
+
+	private List<Integer> paintedRows(ImageData data) {
+		RGB background= fRuler.getControl().getBackground().getRGB();
+		List<Integer> rows= new ArrayList<>();
+		for (int y= 0; y < data.height; y++) {
+			for (int x= 0; x < data.width; x++) {
+				if (!data.palette.getRGB(data.getPixel(x, y)).equals(background)) {
+					rows.add(Integer.valueOf(y));
+					break;
+				}
+			}
+		}
+		return rows;
+	}
+
+	private static boolean imageEquals(ImageData expected, ImageData actual) {
+		for (int y= 0; y < expected.height; y++) {
+			for (int x= 0; x < expected.width; x++) {
+				if (!expected.palette.getRGB(expected.getPixel(x, y)).equals(actual.palette.getRGB(actual.getPixel(x, y))))
+					return false;
+			}
+		}
+		return true;
+	}
+
+	private static void assertImageEquals(ImageData expected, ImageData actual) {
+		assertEquals(expected.width, actual.width);
+		assertEquals(expected.height, actual.height);
+		for (int y= 0; y < expected.height; y++) {
+			for (int x= 0; x < expected.width; x++) {
+				RGB expectedPixel= expected.palette.getRGB(expected.getPixel(x, y));
+				RGB actualPixel= actual.palette.getRGB(actual.getPixel(x, y));
+				assertEquals("pixel (" + x + ", " + y + ")", expectedPixel, actualPixel); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+		}
+	}
+
+	private static class TestSharedTextColors implements ISharedTextColors {
+
+		private final Display fDisplay;
+
+		private final Map<RGB, Color> fColorTable= new HashMap<>();
+
+		TestSharedTextColors(Display display) {
+			fDisplay= display;
+		}
+
+		@Override
+		public Color getColor(RGB rgb) {
+			return fColorTable.computeIfAbsent(rgb, c -> new Color(fDisplay, c));
+		}
+
+		@Override
+		public void dispose() {
+			fColorTable.clear();
+		}
+	}
+
+	private static class TestAnnotationAccess implements IAnnotationAccess {
+
+		@Override
+		public Object getType(Annotation annotation) {
+			return annotation.getType();
+		}
+
+		@Override
+		public boolean isMultiLine(Annotation annotation) {
+			return true;
+		}
+
+		@Override
+		public boolean isTemporary(Annotation annotation) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.source.inlined;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.source.inlined.AbstractInlinedAnnotation;
+import org.eclipse.jface.text.source.inlined.InlinedAnnotationSupport;
+import org.eclipse.jface.text.source.inlined.LineContentAnnotation;
+import org.eclipse.jface.text.tests.source.inlined.LineContentBoundsDrawingTest.AccessAllAnnoations;
+import org.eclipse.jface.text.tests.source.inlined.LineContentBoundsDrawingTest.TestAnnotationPainter;
+
+/**
+ * Tests {@link InlinedAnnotationSupport#findExistingAnnotation(Position)}, which looks the
+ * annotations up by their position.
+ */
+public class InlinedAnnotationSupportTest {
+
+	private Shell fParent;
+
+	@Before
+	public void setUp() {
+		fParent= new Shell();
+		fParent.setLayout(new FillLayout());
+	}
+
+	@After
+	public void tearDown() {
+		fParent.dispose();
+		fParent= null;
+	}
+
+	@Test
+	public void testFindExistingAnnotation() throws Exception {
+		checkFindExistingAnnotation(new Document("aaa\nbbb\nccc\n"));
+	}
+
+	@Test
+	public void testFindExistingAnnotationWithoutModificationStamp() throws Exception {
+		checkFindExistingAnnotation(new Document("aaa\nbbb\nccc\n") {
+			@Override
+			public long getModificationStamp() {
+				return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+			}
+		});
+	}
+
+	private void checkFindExistingAnnotation(Document document) throws Exception {
+		SourceViewer viewer= new SourceViewer(fParent, null, SWT.NONE);
+		viewer.setDocument(document, new AnnotationModel());
+		InlinedAnnotationSupport support= new InlinedAnnotationSupport();
+		TestAnnotationPainter painter= new TestAnnotationPainter(viewer, new AccessAllAnnoations());
+		viewer.addPainter(painter);
+		support.install(viewer, painter);
+
+		LineContentAnnotation first= new LineContentAnnotation(new Position(0, 1), viewer);
+		LineContentAnnotation second= new LineContentAnnotation(new Position(4, 1), viewer);
+		LineContentAnnotation third= new LineContentAnnotation(new Position(8, 1), viewer);
+		Set<AbstractInlinedAnnotation> annotations= new HashSet<>();
+		annotations.add(first);
+		annotations.add(second);
+		annotations.add(third);
+		support.updateAnnotations(annotations);
+
+		assertSame(first, support.findExistingAnnotation(new Position(0, 1)));
+		assertSame(second, support.findExistingAnnotation(new Position(4, 1)));
+		assertSame(third, support.findExistingAnnotation(new Position(8, 1)));
+		assertNull(support.findExistingAnnotation(new Position(4, 2)));
+		assertNull(support.findExistingAnnotation(new Position(5, 1)));
+
+		// the positions move with the document
+		document.replace(0, 0, "xx");
+		assertSame(first, support.findExistingAnnotation(new Position(2, 1)));
+		assertSame(second, support.findExistingAnnotation(new Position(6, 1)));
+		assertSame(third, support.findExistingAnnotation(new Position(10, 1)));
+		assertNull(support.findExistingAnnotation(new Position(4, 1)));
+
+		// the annotations are replaced
+		LineContentAnnotation fourth= new LineContentAnnotation(new Position(0, 1), viewer);
+		annotations= new HashSet<>();
+		annotations.add(third);
+		annotations.add(fourth);
+		support.updateAnnotations(annotations);
+
+		assertSame(fourth, support.findExistingAnnotation(new Position(0, 1)));
+		assertSame(third, support.findExistingAnnotation(new Position(10, 1)));
+		assertNull(support.findExistingAnnotation(new Position(2, 1)));
+		assertNull(support.findExistingAnnotation(new Position(6, 1)));
+	}
+}
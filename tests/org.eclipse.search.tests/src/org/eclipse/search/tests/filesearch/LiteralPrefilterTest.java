@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import org.eclipse.search.internal.core.text.LiteralPrefilter;
+import org.eclipse.search.internal.core.text.PatternConstructor;
+
+public class LiteralPrefilterTest {
+
+	private static int indexIn(LiteralPrefilter prefilter, String charset, String text) {
+		byte[] bytes= text.getBytes(Charset.forName(charset));
+		return prefilter.getNeedle(charset).indexIn(bytes, 0, bytes.length);
+	}
+
+	@Test
+	public void testLongestLiteral() {
+		assertEquals("barbaz", LiteralPrefilter.create(PatternConstructor.createPattern("foo*barbaz", true, false)).getLiteral());
+		assertEquals("hello", LiteralPrefilter.create(PatternConstructor.createPattern("hello\\s+\\w+", true, true)).getLiteral());
+		assertNull(LiteralPrefilter.create(PatternConstructor.createPattern("ab", true, false)));
+		assertNull(LiteralPrefilter.create(PatternConstructor.createPattern("hello|world", true, true)));
+		assertNull(LiteralPrefilter.create(PatternConstructor.createPattern("", true, false)));
+	}
+
+	@Test
+	public void testUnicodeCaseVariants() {
+		// 'k' matches the Kelvin sign, 's' the long s and 'i' the dotless i when case is ignored
+		assertEquals("ernel", LiteralPrefilter.create(PatternConstructor.createPattern("kernel", false, false)).getLiteral());
+		assertEquals("kernel", LiteralPrefilter.create(PatternConstructor.createPattern("kernel", true, false)).getLiteral());
+		assertNull(LiteralPrefilter.create(PatternConstructor.createPattern("basis", false, false)));
+	}
+
+	@Test
+	public void testCaseSensitive() {
+		LiteralPrefilter prefilter= LiteralPrefilter.create(PatternConstructor.createPattern("Grüße", true, false));
+		assertEquals(6, indexIn(prefilter, "UTF-8", "viele Grüße"));
+		assertEquals(6, indexIn(prefilter, "ISO-8859-1", "viele Grüße"));
+		assertEquals(-1, indexIn(prefilter, "UTF-8", "viele grüße"));
+		assertEquals(-1, indexIn(prefilter, "UTF-8", "Grüß"));
+		assertNull(prefilter.getNeedle("US-ASCII"));
+		assertNull(prefilter.getNeedle("UTF-16"));
+		assertNull(prefilter.getNeedle("unknown-charset"));
+	}
+
+	@Test
+	public void testIgnoreCase() {
+		LiteralPrefilter prefilter= LiteralPrefilter.create(PatternConstructor.createPattern("Hello", false, false));
+		assertEquals(0, indexIn(prefilter, "UTF-8", "hELLO world"));
+		assertEquals(3, indexIn(prefilter, "windows-1252", "éé hello"));
+		assertEquals(-1, indexIn(prefilter, "UTF-8", "help"));
+	}
+
+	@Test
+	public void testRange() {
+		LiteralPrefilter.Needle needle= LiteralPrefilter.create(PatternConstructor.createPattern("abc", true, false)).getNeedle("UTF-8");
+		assertNotNull(needle);
+		byte[] bytes= "xxabcxxabc".getBytes(StandardCharsets.UTF_8);
+		assertEquals(2, needle.indexIn(bytes, 0, bytes.length));
+		assertEquals(7, needle.indexIn(bytes, 3, bytes.length));
+		assertEquals(-1, needle.indexIn(bytes, 3, 9));
+		assertEquals(-1, needle.indexIn(bytes, 0, 4));
+	}
+}
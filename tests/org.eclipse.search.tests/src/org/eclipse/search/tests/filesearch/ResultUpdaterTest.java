@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2006 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,19 +15,28 @@ package org.eclipse.search.tests.filesearch;
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 
 import org.eclipse.search.ui.NewSearchUI;
 import org.eclipse.search.ui.text.AbstractTextSearchResult;
 import org.eclipse.search.ui.text.FileTextSearchScope;
+import org.eclipse.search.ui.text.Match;
 
+import org.eclipse.search.internal.ui.text.FileMatch;
 import org.eclipse.search.internal.ui.text.FileSearchQuery;
+import org.eclipse.search.internal.ui.text.LineElement;
 
 import org.eclipse.search.tests.ResourceHelper;
 
@@ -66,6 +75,76 @@ public class ResultUpdaterTest {
 		assertEquals(0, result.getMatchCount(elements[0]));
 	}
 
+	@Test
+	public void testRemoveFileLineMatches() throws Exception {
+		NewSearchUI.runQueryInForeground(null, fQuery1);
+		AbstractTextSearchResult result= (AbstractTextSearchResult) fQuery1.getSearchResult();
+		Object[] elements= result.getElements();
+		Match[] matches= result.getMatches(elements[0]);
+		LineElement lineElement= ((FileMatch) matches[0]).getLineElement();
+		int lineCount= 0;
+		for (Match match : matches) {
+			assertTrue(result.contains(match));
+			if (((FileMatch) match).getLineElement() == lineElement)
+				lineCount++;
+		}
+		assertEquals(lineCount, lineElement.getNumberOfMatches(result));
+		assertEquals(lineCount, lineElement.getMatches(result).length);
+		assertTrue(lineElement.hasMatches(result));
+
+		ResourceHelper.delete((IFile)elements[0]);
+		assertFalse(result.contains(matches[0]));
+		assertEquals(0, lineElement.getNumberOfMatches(result));
+		assertFalse(lineElement.hasMatches(result));
+	}
+
+	@Test
+	public void testSearchAgainAfterChanges() throws Exception {
+		NewSearchUI.runQueryInForeground(null, fQuery1);
+		AbstractTextSearchResult result= (AbstractTextSearchResult) fQuery1.getSearchResult();
+		Object[] elements= result.getElements();
+		IFile changed= (IFile) elements[0];
+		int totalCount= result.getMatchCount();
+		int fileCount= result.getMatchCount(changed);
+
+		String content= "Test Test\nTest\n";
+		changed.setContents(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), true, false, null);
+		IFolder folder= fProject.getFolder("junit");
+		ResourceHelper.createFile(folder, "Added.java", content);
+		ResourceHelper.createFile(folder, "Added.txt", content);
+
+		NewSearchUI.runQueryInForeground(null, fQuery1);
+		assertEquals(totalCount - fileCount + 6, result.getMatchCount());
+		assertEquals(3, result.getMatchCount(changed));
+		assertEquals(3, result.getMatchCount(folder.getFile("Added.java")));
+		assertEquals(0, result.getMatchCount(folder.getFile("Added.txt")));
+
+		FileSearchQuery query= new FileSearchQuery("Test", false, true, fQuery1.getSearchScope());
+		NewSearchUI.runQueryInForeground(null, query);
+		assertEquals(((AbstractTextSearchResult) query.getSearchResult()).getMatchCount(), result.getMatchCount());
+	}
+
+	@Test
+	public void testSearchAgainAfterChangesOutOfSync() throws Exception {
+		NewSearchUI.runQueryInForeground(null, fQuery1);
+		AbstractTextSearchResult result= (AbstractTextSearchResult) fQuery1.getSearchResult();
+		IFile changed= (IFile) result.getElements()[0];
+		int totalCount= result.getMatchCount();
+		int fileCount= result.getMatchCount(changed);
+
+		// change the file without refreshing it, no resource delta reports the change
+		File file= changed.getLocation().toFile();
+		long lastModified= file.lastModified();
+		Files.write(file.toPath(), "nothing\n".getBytes(StandardCharsets.UTF_8));
+		file.setLastModified(lastModified + 10000);
+		assertFalse(changed.isSynchronized(IResource.DEPTH_ZERO));
+
+		// the file is searched again, whether it is refreshed or reported as out of sync
+		NewSearchUI.runQueryInForeground(null, fQuery1);
+		assertEquals(totalCount - fileCount, result.getMatchCount());
+		assertEquals(0, result.getMatchCount(changed));
+	}
+
 	@Test
 	public void testRemoveProject() throws Exception {
 		NewSearchUI.runQueryInForeground(null, fQuery1);
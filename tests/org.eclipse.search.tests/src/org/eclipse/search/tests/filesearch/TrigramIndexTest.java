@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import org.eclipse.search.internal.core.text.PatternConstructor;
+import org.eclipse.search.internal.core.text.TrigramIndex;
+import org.eclipse.search.internal.core.text.Trigrams;
+
+public class TrigramIndexTest {
+
+	private static int[] trigramsOf(String text) {
+		return Trigrams.of(text.toCharArray(), text.length());
+	}
+
+	private static void assertRequired(String expectedLiterals, Pattern pattern) {
+		int[] expected= new int[0];
+		for (String literal : expectedLiterals.split(",")) {
+			int[] trigrams= trigramsOf(literal);
+			int[] merged= Arrays.copyOf(expected, expected.length + trigrams.length);
+			System.arraycopy(trigrams, 0, merged, expected.length, trigrams.length);
+			expected= merged;
+		}
+		expected= Arrays.stream(expected).sorted().distinct().toArray();
+		assertEquals(pattern.pattern(), Arrays.toString(expected), Arrays.toString(Trigrams.required(pattern)));
+	}
+
+	@Test
+	public void testRequiredTrigramsOfLiterals() {
+		assertRequired("hello", PatternConstructor.createPattern("hello", false, true));
+		assertRequired("hello", PatternConstructor.createPattern("HeLLo", false, false));
+		assertRequired("foo,bar", PatternConstructor.createPattern("foo*bar", false, false));
+		assertRequired("foo,bar", PatternConstructor.createPattern("foo?bar", false, false));
+		assertRequired("a.b", PatternConstructor.createPattern("a.b", true, false));
+		assertRequired("hello", Pattern.compile("hello", Pattern.LITERAL));
+		assertRequired("", PatternConstructor.createPattern("ab", true, false));
+		assertRequired("", PatternConstructor.createPattern("", true, false));
+	}
+
+	@Test
+	public void testRequiredTrigramsOfRegularExpressions() {
+		assertRequired("abc,xyz", PatternConstructor.createPattern("abc\\d+xyz", true, true));
+		assertRequired("abc", PatternConstructor.createPattern("abcd?", true, true));
+		assertRequired("abc", PatternConstructor.createPattern("abcd*", true, true));
+		assertRequired("abcd", PatternConstructor.createPattern("abcd+", true, true));
+		assertRequired("abc", PatternConstructor.createPattern("abcd{0,2}", true, true));
+		assertRequired("abc,ghi", PatternConstructor.createPattern("abc(def)?ghi", true, true));
+		assertRequired("abc,ghi", PatternConstructor.createPattern("abc[def]ghi", true, true));
+		assertRequired("abc,ghi", PatternConstructor.createPattern("abc\\p{Lu}ghi", true, true));
+		assertRequired("a\nbc", PatternConstructor.createPattern("a\\nbc", true, true));
+		assertRequired("abc", PatternConstructor.createPattern("^abc$", true, true));
+		assertRequired("abc,def", PatternConstructor.createPattern("abc\uD83D\uDE00?def", true, true));
+		assertRequired("", PatternConstructor.createPattern("abc|def", true, true));
+		assertRequired("", PatternConstructor.createPattern("(?i)abc", true, true));
+		assertRequired("", Pattern.compile("a b c", Pattern.COMMENTS));
+	}
+
+	@Test
+	public void testCaseInsensitiveNonAsciiCharacters() {
+		assertRequired("abc", PatternConstructor.createPattern("abcéde", false, false));
+		assertRequired("abcéde", PatternConstructor.createPattern("abcéde", true, true));
+	}
+
+	@Test
+	public void testCandidates() {
+		TrigramIndex index= new TrigramIndex(null);
+		index.add("a.txt", 1, 100, 10, (byte) 0, trigramsOf("hello world"));
+		index.add("b.txt", 1, 100, 10, (byte) 0, trigramsOf("goodbye world"));
+		index.add("c.txt", 1, 100, 10, (byte) 0, trigramsOf("HELLO AGAIN"));
+
+		assertEquals(Arrays.asList("a.txt", "c.txt"), index.getCandidates(Trigrams.required(PatternConstructor.createPattern("hello", true, false))));
+		assertEquals(Arrays.asList("a.txt", "b.txt"), index.getCandidates(Trigrams.required(PatternConstructor.createPattern("world", true, false))));
+		assertEquals(Arrays.asList(), index.getCandidates(Trigrams.required(PatternConstructor.createPattern("missing", true, false))));
+
+		assertTrue(index.isUpToDate("a.txt", 1, 100, 10));
+		assertFalse(index.isUpToDate("a.txt", 2, 100, 10));
+		// a re-created file may have the same modification stamp
+		assertFalse(index.isUpToDate("a.txt", 1, 200, 10));
+		assertFalse(index.isUpToDate("a.txt", 1, 100, 20));
+		index.add("a.txt", 2, 100, 10, (byte) 0, trigramsOf("changed"));
+		assertTrue(index.isUpToDate("a.txt", 2, 100, 10));
+		assertEquals(Arrays.asList("c.txt"), index.getCandidates(Trigrams.required(PatternConstructor.createPattern("hello", true, false))));
+
+		index.remove("c.txt");
+		index.remove("b.txt");
+		assertEquals(1, index.getFileCount());
+		assertEquals(Arrays.asList(), index.getCandidates(Trigrams.required(PatternConstructor.createPattern("hello", true, false))));
+		assertEquals(Arrays.asList("a.txt"), index.getCandidates(Trigrams.required(PatternConstructor.createPattern("changed", true, false))));
+	}
+
+	@Test
+	public void testCompactionOfLargeIndex() throws Exception {
+		File storage= Files.createTempFile("trigrams", ".idx").toFile();
+		try {
+			TrigramIndex index= new TrigramIndex(storage);
+			// the gaps between files that share trigrams need more than one byte
+			for (int i= 0; i < 40000; i++)
+				index.add("file" + i + ".txt", i, i, i, (byte) 0, i % 30000 == 0 ? trigramsOf("rare " + i) : trigramsOf("common " + i % 500));
+			assertEquals(Arrays.asList("file0.txt", "file30000.txt"), index.getCandidates(trigramsOf("rare")));
+			assertEquals(80, index.getCandidates(trigramsOf("common 499")).size());
+
+			for (int i= 1; i < 30000; i++)
+				index.remove("file" + i + ".txt");
+			assertEquals(10001, index.getFileCount());
+			assertEquals(Arrays.asList("file0.txt", "file30000.txt"), index.getCandidates(trigramsOf("rare")));
+			index.save();
+
+			TrigramIndex loaded= new TrigramIndex(storage);
+			loaded.load();
+			assertEquals(10001, loaded.getFileCount());
+			assertEquals(Arrays.asList("file0.txt", "file30000.txt"), loaded.getCandidates(trigramsOf("rare")));
+			List<String> candidates= loaded.getCandidates(trigramsOf("common 499"));
+			assertEquals(20, candidates.size());
+			assertEquals("file30499.txt", candidates.get(0));
+		} finally {
+			storage.delete();
+		}
+	}
+
+	@Test
+	public void testSaveAndLoad() throws Exception {
+		File storage= Files.createTempFile("trigrams", ".idx").toFile();
+		try {
+			TrigramIndex index= new TrigramIndex(storage);
+			for (int i= 0; i < 100; i++)
+				index.add("folder/file" + i + ".txt", i, 1000 + i, 10 * i, (byte) 0, trigramsOf("content of file " + i));
+			index.add("image.png", 7, 100, 10, TrigramIndex.BINARY, new int[0]);
+			index.removeAll("folder/sub");
+			index.remove("folder/file3.txt");
+			index.save();
+
+			TrigramIndex loaded= new TrigramIndex(storage);
+			loaded.load();
+			assertEquals(100, loaded.getFileCount());
+			assertTrue(loaded.isUpToDate("folder/file42.txt", 42, 1042, 420));
+			assertFalse(loaded.isUpToDate("folder/file3.txt", 3, 1003, 30));
+			assertEquals(TrigramIndex.BINARY, loaded.getFlags("image.png"));
+			List<String> candidates= loaded.getCandidates(Trigrams.required(PatternConstructor.createPattern("file 42", true, false)));
+			assertEquals(Arrays.asList("folder/file42.txt"), candidates);
+
+			loaded.removeAll("folder");
+			assertEquals(1, loaded.getFileCount());
+		} finally {
+			storage.delete();
+		}
+	}
+}
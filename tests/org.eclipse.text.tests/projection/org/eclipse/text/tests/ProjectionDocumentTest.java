@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -2652,4 +2652,127 @@ public class ProjectionDocumentTest {
 			assertTrue(false);
 		}
 	}
+
+	@Test
+	public void test30_1() {
+		// test replacing all master ranges at once
+
+		createProjectionA();
+		try {
+			IRegion[] ranges= {
+				new Region(20, 20),
+				new Region(60, 20),
+				new Region(100, 20),
+				new Region(140, 20)
+			};
+			fSlaveDocument.replaceMasterDocumentRanges(ranges);
+		} catch (BadLocationException e) {
+			assertTrue(false);
+		}
+
+		Position[] expected= {
+			new Position(20, 20),
+			new Position(60, 20),
+			new Position(100, 20),
+			new Position(140, 20)
+		};
+		assertFragmentation(expected);
+		assertSlaveContents(getProjectionBSlaveContents());
+	}
+
+	@Test
+	public void test30_2() {
+		// test replacing all master ranges at once
+		// adjacent ranges are joined, empty ranges are ignored
+
+		createProjectionB();
+		try {
+			IRegion[] ranges= {
+				new Region(0, 20),
+				new Region(20, 20),
+				new Region(50, 0),
+				new Region(80, 20)
+			};
+			fSlaveDocument.replaceMasterDocumentRanges(ranges);
+		} catch (BadLocationException e) {
+			assertTrue(false);
+		}
+
+		Position[] expected= {
+			new Position(0, 40),
+			new Position(80, 20)
+		};
+		assertFragmentation(expected);
+		assertSlaveContents(getOriginalMasterContents().substring(0, 40) + getOriginalMasterContents().substring(80, 100));
+	}
+
+	@Test
+	public void test30_3() {
+		// test document events sent out by the slave document when replacing all master ranges at once
+
+		final List<DocumentEvent> receivedEvents= new ArrayList<>();
+
+		IDocumentListener listener= new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {}
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				receivedEvents.add(event);
+			}
+		};
+
+		createProjectionA();
+
+		fSlaveDocument.addDocumentListener(listener);
+		try {
+			fSlaveDocument.replaceMasterDocumentRanges(new IRegion[] { new Region(20, 20), new Region(60, 20) });
+		} catch (BadLocationException e) {
+			assertTrue(false);
+		}
+
+		DocumentEvent[] actual= new DocumentEvent[receivedEvents.size()];
+		receivedEvents.toArray(actual);
+		StringBuilder buffer= new StringBuilder(getOriginalMasterContents());
+		DocumentEvent[] expected= new DocumentEvent[] { new DocumentEvent(fSlaveDocument, 0, 100, buffer.substring(20, 40) + buffer.substring(60, 80)) };
+		assertSlaveEvents(expected, actual);
+	}
+
+	@Test
+	public void test30_4() {
+		// test manipulating the master document after replacing all master ranges at once
+
+		createProjectionA();
+		try {
+			fSlaveDocument.replaceMasterDocumentRanges(new IRegion[] { new Region(20, 20), new Region(60, 20) });
+			fMasterDocument.replace(65, 5, "~");
+			fSlaveDocument.addMasterDocumentRange(76, 20);
+		} catch (BadLocationException e) {
+			assertTrue(false);
+		}
+
+		Position[] expected= {
+			new Position(20, 20),
+			new Position(60, 36)
+		};
+		assertFragmentation(expected);
+
+		StringBuilder buffer= new StringBuilder(getOriginalMasterContents());
+		buffer.replace(65, 70, "~");
+		assertSlaveContents(buffer.substring(20, 40) + buffer.substring(60, 96));
+	}
+
+	@Test
+	public void test30_5() {
+		// test replacing all master ranges with overlapping ranges
+
+		createProjectionA();
+		try {
+			fSlaveDocument.replaceMasterDocumentRanges(new IRegion[] { new Region(20, 20), new Region(30, 20) });
+			assertTrue(false);
+		} catch (IllegalArgumentException e) {
+		} catch (BadLocationException e) {
+			assertTrue(false);
+		}
+		assertSlaveContents(getProjectionASlaveContents());
+	}
 }
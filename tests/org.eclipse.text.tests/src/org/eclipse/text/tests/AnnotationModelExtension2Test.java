@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2024 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.text.tests;
 
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
@@ -20,13 +21,16 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Random;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.source.Annotation;
 import org.eclipse.jface.text.source.AnnotationModel;
@@ -276,4 +280,90 @@ public class AnnotationModelExtension2Test {
 		assertPermutations(true, true, expected);
 	}
 
+	@Test
+	public void testRandomRegions() throws Exception {
+		Random random= new Random(11);
+		ArrayList<Annotation> all= new ArrayList<>();
+		for (int i= 0; i < 2000; i++) {
+			int offset= random.nextInt(fDocument.getLength() + 1);
+			int length= random.nextInt(8) == 0 ? 0 : random.nextInt(Math.min(15, fDocument.getLength() - offset) + 1);
+			Annotation annotation= new Annotation(false);
+			(i % 2 == 0 ? fAnnotationModel : fNewInnerModel).addAnnotation(annotation, new Position(offset, length));
+			all.add(annotation);
+		}
+
+		for (int i= 0; i < 300; i++) {
+			if (i % 3 == 0) {
+				int offset= random.nextInt(fDocument.getLength() + 1);
+				int length= Math.min(random.nextInt(5), fDocument.getLength() - offset);
+				fDocument.replace(offset, length, "xyz".substring(random.nextInt(4) % 3));
+			} else if (i % 3 == 1) {
+				Annotation annotation= all.remove(random.nextInt(all.size()));
+				fAnnotationModel.removeAnnotation(annotation);
+				fNewInnerModel.removeAnnotation(annotation);
+			}
+			int offset= random.nextInt(fDocument.getLength() + 1);
+			int length= random.nextInt(fDocument.getLength() - offset + 1);
+			assertRegion(offset, length, random.nextBoolean(), random.nextBoolean());
+		}
+	}
+
+	@Test
+	public void testQueryBeforeModelIsNotified() throws Exception {
+		fAnnotationModel.addAnnotation(fInside, new Position(10, 1));
+		fAnnotationModel.addAnnotation(fAfter, new Position(20, 1));
+		assertRegion(0, fDocument.getLength(), false, false);
+
+		// a prenotified listener is told about the change before the model
+		ArrayList<Annotation> found= new ArrayList<>();
+		fDocument.addPrenotifiedDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				Iterator<Annotation> iterator= fAnnotationModel.getAnnotationIterator(50, 10, false, false);
+				while (iterator.hasNext())
+					found.add(iterator.next());
+			}
+		});
+		fDocument.replace(0, 0, "x".repeat(40));
+		org.junit.Assert.assertEquals(Arrays.asList(fInside), found);
+	}
+
+	private void assertRegion(int offset, int length, boolean canStartBefore, boolean canEndAfter) {
+		Iterator<Annotation> iterator= fAnnotationModel.getAnnotationIterator(offset, length, canStartBefore, canEndAfter);
+		HashSet<Annotation> actual= new HashSet<>();
+		int previous= -1;
+		while (iterator.hasNext()) {
+			Annotation annotation= iterator.next();
+			Position position= fAnnotationModel.getPosition(annotation);
+			assertTrue("annotations not ordered by offset", previous <= position.getOffset());
+			previous= position.getOffset();
+			actual.add(annotation);
+		}
+
+		Position region= new Position(offset, length);
+		HashSet<Annotation> expected= new HashSet<>();
+		Iterator<Annotation> annotations= fAnnotationModel.getAnnotationIterator();
+		while (annotations.hasNext()) {
+			Annotation annotation= annotations.next();
+			Position position= fAnnotationModel.getPosition(annotation);
+			int start= position.getOffset();
+			int end= start + position.getLength() - 1;
+			boolean inside;
+			if (canStartBefore && canEndAfter)
+				inside= region.overlapsWith(start, position.getLength());
+			else if (canStartBefore)
+				inside= region.includes(end);
+			else if (canEndAfter)
+				inside= region.includes(start);
+			else
+				inside= region.includes(start) && region.includes(end);
+			if (inside)
+				expected.add(annotation);
+		}
+		assertEquals(expected.toArray(new Annotation[expected.size()]), actual.toArray(new Annotation[actual.size()]), fAnnotationModel, fNewInnerModel, fNewInnerModel);
+	}
 }
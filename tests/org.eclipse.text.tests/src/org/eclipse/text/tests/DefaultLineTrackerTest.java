@@ -13,13 +13,20 @@
  *******************************************************************************/
 package org.eclipse.text.tests;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.util.Random;
 
 import org.junit.Test;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.ConfigurableLineTracker;
+import org.eclipse.jface.text.DefaultLineTracker;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ILineTracker;
 
 public class DefaultLineTrackerTest {
 
@@ -37,4 +44,65 @@ public class DefaultLineTrackerTest {
 		assertEquals(document.getLineDelimiter(2), null);
 
 	}
+
+	@Test
+	public void testLargeText() throws BadLocationException {
+		// large enough to be scanned in parallel, with "\r\n" around the split points
+		StringBuilder buffer= new StringBuilder();
+		Random random= new Random(11);
+		String[] pieces= { "abc", "x", "\r", "\n", "\r\n", "\r\r\n" };
+		while (buffer.length() < 5_000_000)
+			buffer.append(pieces[random.nextInt(pieces.length)]);
+		for (int i= 1; i < 5; i++)
+			buffer.replace(i * 1_000_000 - 1, i * 1_000_000 + 1, "\r\n");
+		String text= buffer.toString();
+
+		DefaultLineTracker tracker= new DefaultLineTracker();
+		tracker.set(text);
+		ConfigurableLineTracker reference= new ConfigurableLineTracker(DefaultLineTracker.DELIMITERS);
+		reference.set(text);
+		assertSameLines(reference, tracker);
+
+		tracker.replace(0, 0, "\n");
+		reference.replace(0, 0, "\n");
+		tracker.set(text + "\r");
+		reference.set(text + "\r");
+		assertSameLines(reference, tracker);
+	}
+
+	@Test
+	public void testGetLineOffsets() throws BadLocationException {
+		DefaultLineTracker tracker= new DefaultLineTracker();
+		tracker.set("a\nbc\r\n\rdef\n");
+		int[] offsets= new int[6];
+		tracker.getLineOffsets(0, 5, offsets);
+		assertArrayEquals(new int[] { 0, 2, 6, 7, 11, 0 }, offsets);
+		tracker.getLineOffsets(4, 5, offsets);
+		assertEquals(11, offsets[0]);
+
+		// modifications switch to a different implementation
+		tracker.replace(2, 0, "x\ny");
+		offsets= new int[5];
+		tracker.getLineOffsets(1, 6, offsets);
+		assertArrayEquals(new int[] { 2, 4, 9, 10, 14 }, offsets);
+
+		tracker.set("");
+		tracker.getLineOffsets(0, 1, offsets);
+		assertEquals(0, offsets[0]);
+
+		assertThrows(BadLocationException.class, () -> tracker.getLineOffsets(0, 2, new int[2]));
+		assertThrows(BadLocationException.class, () -> tracker.getLineOffsets(-1, 0, new int[2]));
+	}
+
+	private static void assertSameLines(ILineTracker expected, DefaultLineTracker actual) throws BadLocationException {
+		int lines= expected.getNumberOfLines();
+		assertEquals(lines, actual.getNumberOfLines());
+		int[] offsets= new int[lines];
+		actual.getLineOffsets(0, lines, offsets);
+		for (int i= 0; i < lines; i++) {
+			assertEquals(expected.getLineOffset(i), offsets[i]);
+			assertEquals(expected.getLineLength(i), actual.getLineLength(i));
+			assertEquals(expected.getLineDelimiter(i), actual.getLineDelimiter(i));
+		}
+	}
 }
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.Position;
+
+/**
+ * Tests the position management of {@link org.eclipse.jface.text.AbstractDocument} with many
+ * positions.
+ */
+public class DocumentPositionsTest {
+
+	private static final String CATEGORY= "category";
+
+	private Document createDocument(String text, DefaultPositionUpdater updater) {
+		Document document= new Document(text);
+		document.addPositionCategory(CATEGORY);
+		document.addPositionUpdater(updater);
+		return document;
+	}
+
+	private void assertSorted(Document document) throws BadPositionCategoryException {
+		Position[] positions= document.getPositions(CATEGORY);
+		for (int i= 1; i < positions.length; i++)
+			assertTrue(positions[i - 1].offset <= positions[i].offset);
+	}
+
+	@Test
+	public void testAddAndRemove() throws Exception {
+		Document document= createDocument("x".repeat(10000), new DefaultPositionUpdater(CATEGORY));
+		Random random= new Random(42);
+		List<Position> added= new ArrayList<>();
+		for (int i= 0; i < 5000; i++) {
+			Position position= new Position(random.nextInt(9990), random.nextInt(10));
+			document.addPosition(CATEGORY, position);
+			added.add(position);
+		}
+		assertEquals(added.size(), document.getPositions(CATEGORY).length);
+		assertSorted(document);
+
+		for (int i= 0; i < 2500; i++)
+			document.removePosition(CATEGORY, added.remove(random.nextInt(added.size())));
+		Position[] positions= document.getPositions(CATEGORY);
+		assertEquals(added.size(), positions.length);
+		assertSorted(document);
+		for (Position position : added)
+			assertTrue(document.containsPosition(CATEGORY, position.offset, position.length));
+
+		int index= document.computeIndexInCategory(CATEGORY, 5000);
+		assertTrue(index == 0 || positions[index - 1].offset < 5000);
+		assertTrue(index == positions.length || positions[index].offset >= 5000);
+
+		for (Position position : added)
+			document.removePosition(CATEGORY, position);
+		assertEquals(0, document.getPositions(CATEGORY).length);
+	}
+
+	@Test
+	public void testAddInDocumentOrder() throws Exception {
+		Document document= createDocument("x".repeat(100000), new DefaultPositionUpdater(CATEGORY));
+		for (int i= 0; i < 100000; i++)
+			document.addPosition(CATEGORY, new Position(i, 1));
+		Position[] positions= document.getPositions(CATEGORY);
+		assertEquals(100000, positions.length);
+		for (int i= 0; i < positions.length; i++)
+			assertEquals(i, positions[i].offset);
+		assertEquals(10, document.getPositions(CATEGORY, 500, 10, false, false).length);
+	}
+
+	@Test
+	public void testEdits() throws Exception {
+		Random random= new Random(7);
+		String text= "0123456789".repeat(200);
+		Document document= createDocument(text, new DefaultPositionUpdater(CATEGORY));
+		List<Position> added= new ArrayList<>();
+		for (int i= 0; i < 500; i++) {
+			Position position= new Position(random.nextInt(text.length() - 20), random.nextInt(20));
+			document.addPosition(CATEGORY, position);
+			added.add(position);
+		}
+
+		for (int i= 0; i < 2000; i++) {
+			int offset= random.nextInt(document.getLength() + 1);
+			int length= Math.min(random.nextInt(8), document.getLength() - offset);
+			document.replace(offset, length, "abc".substring(0, random.nextInt(4)));
+			if (i % 10 == 0) {
+				Position position= new Position(offset, 0);
+				document.addPosition(CATEGORY, position);
+				added.add(position);
+			}
+		}
+
+		int remaining= 0;
+		for (Position position : added) {
+			if (!position.isDeleted())
+				remaining++;
+		}
+		assertEquals(remaining, document.getPositions(CATEGORY).length);
+		for (Position position : added)
+			document.removePosition(CATEGORY, position);
+		assertEquals(0, document.getPositions(CATEGORY).length);
+	}
+
+	@Test
+	public void testUpdaterAtPositionBoundaries() throws Exception {
+		Document document= createDocument("0123456789", new DefaultPositionUpdater(CATEGORY));
+		Position before= new Position(2, 2);
+		Position empty= new Position(4, 0);
+		Position after= new Position(6, 2);
+		document.addPosition(CATEGORY, before);
+		document.addPosition(CATEGORY, empty);
+		document.addPosition(CATEGORY, after);
+
+		document.replace(4, 0, "xx");
+		assertEquals(new Position(2, 2), before);
+		assertEquals(new Position(6, 0), empty);
+		assertEquals(new Position(8, 2), after);
+
+		document.replace(3, 0, "y");
+		assertEquals(new Position(2, 3), before);
+		assertEquals(new Position(7, 0), empty);
+		assertEquals(new Position(9, 2), after);
+
+		document.replace(5, 6, "");
+		assertEquals(new Position(2, 3), before);
+		assertTrue(empty.isDeleted());
+		assertEquals(new Position(5, 0), after);
+	}
+}
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.ConfigurableLineTracker;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextSnapshot;
+import org.eclipse.jface.text.PieceTreeTextStore;
+
+/**
+ * Tests {@link org.eclipse.jface.text.IDocumentExtension5#getSnapshot()}.
+ */
+public class DocumentSnapshotTest {
+
+	private static final String[] FRAGMENTS= { "a", "bc", "\n", "\r", "\r\n", "\n\r", "def\r", "\ngh", "" };
+	/**
+	 * Fragments that cannot form a <code>"\r\n"</code> delimiter across edits, which the line
+	 * trackers of documents do not recognize.
+	 */
+	private static final String[] LF_FRAGMENTS= { "a", "bc", "\n", "\n\n", "de\nf", "" };
+
+	private String randomText(Random random, String[] fragments, int count) {
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < count; i++)
+			text.append(fragments[random.nextInt(fragments.length)]);
+		return text.toString();
+	}
+
+	/**
+	 * Asserts that the snapshot describes the given document content.
+	 *
+	 * @param expected a copy of the document with the content the snapshot was taken of
+	 * @param snapshot the snapshot to check
+	 * @throws BadLocationException if the snapshot is inconsistent
+	 */
+	private void assertSnapshot(Document expected, ITextSnapshot snapshot) throws BadLocationException {
+		String text= expected.get();
+		assertEquals(text.length(), snapshot.length());
+		assertEquals(text, snapshot.toString());
+		for (int i= 0; i < text.length(); i++)
+			assertEquals(text.charAt(i), snapshot.charAt(i));
+		if (text.length() > 2)
+			assertEquals(text.substring(1, text.length() - 1), snapshot.subSequence(1, text.length() - 1).toString());
+
+		int lines= expected.getNumberOfLines();
+		assertEquals(lines, snapshot.getNumberOfLines());
+		for (int line= 0; line < lines; line++) {
+			assertEquals(expected.getLineOffset(line), snapshot.getLineOffset(line));
+			assertEquals(expected.getLineLength(line), snapshot.getLineLength(line));
+			IRegion expectedRegion= expected.getLineInformation(line);
+			IRegion region= snapshot.getLineInformation(line);
+			assertEquals(expectedRegion.getOffset(), region.getOffset());
+			assertEquals(expectedRegion.getLength(), region.getLength());
+		}
+		for (int offset= 0; offset <= text.length(); offset++)
+			assertEquals(text, expected.getLineOfOffset(offset), snapshot.getLineOfOffset(offset));
+
+		assertThrows(BadLocationException.class, () -> snapshot.getLineOffset(lines));
+		assertThrows(BadLocationException.class, () -> snapshot.getLineOffset(-1));
+		assertThrows(BadLocationException.class, () -> snapshot.getLineOfOffset(text.length() + 1));
+	}
+
+	private void checkEdits(Document document, String[] fragments, long seed) throws BadLocationException {
+		Random random= new Random(seed);
+		List<ITextSnapshot> snapshots= new ArrayList<>();
+		List<Document> copies= new ArrayList<>();
+		for (int i= 0; i < 300; i++) {
+			int offset= random.nextInt(document.getLength() + 1);
+			int length= Math.min(random.nextInt(6), document.getLength() - offset);
+			document.replace(offset, length, randomText(random, fragments, random.nextInt(4)));
+			if (i % 10 == 0) {
+				ITextSnapshot snapshot= document.getSnapshot();
+				assertEquals(document.getModificationStamp(), snapshot.getModificationStamp());
+				// the expected line structure is the one of the content, not the one of the edit history
+				Document copy= new Document(document.get());
+				assertSnapshot(copy, snapshot);
+				snapshots.add(snapshot);
+				copies.add(copy);
+			}
+		}
+		// earlier snapshots are not affected by later changes
+		for (int i= 0; i < snapshots.size(); i++)
+			assertSnapshot(copies.get(i), snapshots.get(i));
+	}
+
+	@Test
+	public void testPieceTreeStore() throws Exception {
+		for (int seed= 0; seed < 10; seed++) {
+			Document document= new Document(new PieceTreeTextStore());
+			document.set(randomText(new Random(seed), FRAGMENTS, 30));
+			checkEdits(document, FRAGMENTS, seed);
+		}
+	}
+
+	@Test
+	public void testDefaultStore() throws Exception {
+		Document document= new Document(randomText(new Random(3), LF_FRAGMENTS, 30));
+		checkEdits(document, LF_FRAGMENTS, 3);
+	}
+
+	@Test
+	public void testConfigurableLineDelimiters() throws Exception {
+		Document document= new Document(new PieceTreeTextStore()) {
+			{
+				setLineTracker(new ConfigurableLineTracker(new String[] { "\n", "#!" }));
+			}
+		};
+		document.set("a\r\nb#!c\nd#");
+		ITextSnapshot snapshot= document.getSnapshot();
+		document.replace(0, 1, "x#!");
+		assertEquals("a\r\nb#!c\nd#", snapshot.toString());
+		assertEquals(4, snapshot.getNumberOfLines());
+		assertEquals(3, snapshot.getLineOffset(1));
+		assertEquals(1, snapshot.getLineOfOffset(5));
+		assertEquals(2, snapshot.getLineOfOffset(6));
+		assertEquals(2, snapshot.getLineInformation(0).getLength());
+		assertEquals(1, snapshot.getLineInformation(1).getLength());
+		assertEquals(2, snapshot.getLineLength(3));
+	}
+
+	@Test
+	public void testSnapshotShared() throws Exception {
+		assertTrue(new Document(new PieceTreeTextStore()).isSnapshotShared());
+		assertFalse(new Document().isSnapshotShared());
+		Document document= new Document(new PieceTreeTextStore()) {
+			{
+				setLineTracker(new ConfigurableLineTracker(new String[] { "\n", "#!" }));
+			}
+		};
+		assertFalse(document.isSnapshotShared());
+	}
+
+	@Test
+	public void testEmpty() throws Exception {
+		Document document= new Document(new PieceTreeTextStore());
+		ITextSnapshot snapshot= document.getSnapshot();
+		document.set("abc\n");
+		assertEquals(0, snapshot.length());
+		assertEquals(1, snapshot.getNumberOfLines());
+		assertEquals(0, snapshot.getLineOffset(0));
+		assertEquals(0, snapshot.getLineOfOffset(0));
+		assertEquals(0, snapshot.getLineLength(0));
+		assertEquals(2, document.getSnapshot().getNumberOfLines());
+	}
+
+	@Test
+	public void testLargeOriginal() throws Exception {
+		String line= "line\r\n";
+		Document document= new Document(new PieceTreeTextStore());
+		document.set(line.repeat(100000));
+		document.replace(3 * line.length(), 0, "\r");
+		document.replace(50000 * line.length() + 1, 2, "new\n\n");
+		ITextSnapshot snapshot= document.getSnapshot();
+		assertEquals(document.getNumberOfLines(), snapshot.getNumberOfLines());
+		for (int l= 0; l < document.getNumberOfLines(); l+= 997) {
+			assertEquals(document.getLineOffset(l), snapshot.getLineOffset(l));
+			assertEquals(l, snapshot.getLineOfOffset(document.getLineOffset(l)));
+		}
+		assertEquals(document.getLineOfOffset(document.getLength()), snapshot.getLineOfOffset(document.getLength()));
+	}
+}
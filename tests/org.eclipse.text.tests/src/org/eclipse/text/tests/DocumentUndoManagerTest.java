@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2010 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,8 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Random;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -384,6 +386,119 @@ public class DocumentUndoManagerTest {
 
 	}
 
+	@Test
+	public void testTyping() throws ExecutionException, BadLocationException {
+		final Document document = new Document("abc");
+		createUndoManager(document);
+
+		for (int i = 0; i < 1000; i++)
+			document.replace(3 + i, 0, "x");
+		fUndoManager.undo();
+		assertEquals("abc", document.get());
+		assertFalse(fUndoManager.undoable());
+		fUndoManager.redo();
+		assertEquals("abc" + "x".repeat(1000), document.get());
+	}
+
+	@Test
+	public void testLargeChangeIsCompressed() throws ExecutionException, BadLocationException {
+		// the unpaired surrogates must survive the compression
+		final String original = "some line of text\n".repeat(10000) + "\uD800";
+		final String replacement = "\uDC00" + "another line\r\n".repeat(20000);
+		final Document document = new Document(original);
+		createUndoManager(document);
+
+		document.replace(0, document.getLength(), replacement);
+		fUndoManager.commit();
+		long memory = ((DocumentUndoManager) fUndoManager).getUndoMemory();
+		assertTrue(memory < (original.length() + replacement.length()) / 4);
+
+		fUndoManager.undo();
+		assertEquals(original, document.get());
+		fUndoManager.redo();
+		assertEquals(replacement, document.get());
+	}
+
+	@Test
+	public void testMemoryLimit() throws ExecutionException, BadLocationException {
+		final int maximalMemory = 1024 * 1024;
+		final int pasteLength = 100 * 1024;
+		final Document document = new Document("");
+		createUndoManager(document);
+		DocumentUndoManager undoManager = (DocumentUndoManager) fUndoManager;
+		undoManager.setMaximalUndoMemory(maximalMemory);
+
+		Random random = new Random(1);
+		for (int i = 0; i < 20; i++) {
+			char[] chars = new char[pasteLength];
+			for (int j = 0; j < chars.length; j++)
+				chars[j] = (char) random.nextInt(Character.MAX_VALUE + 1);
+			document.replace(document.getLength(), 0, new String(chars));
+			assertTrue(undoManager.getUndoMemory() <= maximalMemory);
+		}
+
+		int undone = 0;
+		while (fUndoManager.undoable()) {
+			fUndoManager.undo();
+			undone++;
+		}
+		assertTrue(undone > 1);
+		assertEquals((20 - undone) * pasteLength, document.getLength());
+	}
+
+	private static String createIncompressibleString(Random random, int length) {
+		char[] chars = new char[length];
+		for (int j = 0; j < chars.length; j++)
+			chars[j] = (char) random.nextInt(Character.MAX_VALUE + 1);
+		return new String(chars);
+	}
+
+	@Test
+	public void testMemoryLimitWhileChangeGrows() throws ExecutionException, BadLocationException {
+		final int maximalMemory = 1024 * 1024;
+		final int pasteLength = 100 * 1024;
+		final Document document = new Document("");
+		createUndoManager(document);
+		DocumentUndoManager undoManager = (DocumentUndoManager) fUndoManager;
+		undoManager.setMaximalUndoMemory(maximalMemory);
+
+		Random random = new Random(2);
+		for (int i = 0; i < 5; i++)
+			document.replace(document.getLength(), 0, createIncompressibleString(random, pasteLength));
+
+		// the open compound change grows without being added to the history again
+		fUndoManager.beginCompoundChange();
+		for (int i = 0; i < 4; i++) {
+			document.replace(document.getLength(), 0, createIncompressibleString(random, pasteLength));
+			assertTrue(undoManager.getUndoMemory() <= maximalMemory);
+		}
+		fUndoManager.endCompoundChange();
+
+		fUndoManager.undo();
+		assertEquals(5 * pasteLength, document.getLength());
+	}
+
+	@Test
+	public void testMemoryLimitKeepsRedoHistory() throws ExecutionException, BadLocationException {
+		final int pasteLength = 100 * 1024;
+		final Document document = new Document("");
+		createUndoManager(document);
+		DocumentUndoManager undoManager = (DocumentUndoManager) fUndoManager;
+
+		Random random = new Random(3);
+		for (int i = 0; i < 6; i++)
+			document.replace(document.getLength(), 0, createIncompressibleString(random, pasteLength));
+		fUndoManager.undo();
+		fUndoManager.undo();
+
+		undoManager.setMaximalUndoMemory(4 * 2 * pasteLength);
+		assertTrue(fUndoManager.redoable());
+		fUndoManager.redo();
+		fUndoManager.redo();
+		assertEquals(6 * pasteLength, document.getLength());
+		assertFalse(fUndoManager.redoable());
+	}
+
 	private static String createRandomString(int length) {
 		final StringBuilder buffer = new StringBuilder();
 
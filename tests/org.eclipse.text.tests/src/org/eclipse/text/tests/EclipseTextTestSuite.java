@@ -34,13 +34,18 @@ import org.eclipse.text.tests.templates.TemplatesTestSuite;
 		LineTrackerTest4.class,
 		DocumentExtensionTest.class,
 		LineTrackerTest3.class,
+		DefaultLineTrackerTest.class,
 		DocumentTest.class,
 		FindReplaceDocumentAdapterTest.class,
 		PositionUpdatingCornerCasesTest.class,
 		ExclusivePositionUpdaterTest.class,
+		DocumentPositionsTest.class,
 		TextEditTests.class,
 		GapTextTest.class,
 		GapTextStoreTest.class,
+		PieceTreeTextStoreTest.class,
+		MappedFileTextStoreTest.class,
+		DocumentSnapshotTest.class,
 		ChildDocumentTest.class,
 		ProjectionTestSuite.class,
 		LinkTestSuite.class,
@@ -24,6 +24,7 @@ import static org.junit.Assert.fail;
 
 import java.util.Arrays;
 import java.util.Locale;
+import java.util.Random;
 import java.util.regex.PatternSyntaxException;
 
 import org.junit.After;
@@ -34,7 +35,9 @@ import org.junit.Test;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.FindReplaceDocumentAdapter;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Region;
 
@@ -520,4 +523,181 @@ public class FindReplaceDocumentAdapterTest {
 		}
 		fail();
 	}
+
+
+	@Test
+	public void testFindLiteral() throws Exception {
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		int first= fDocument.get().indexOf("comment");
+		int second= fDocument.get().indexOf("comment", first + 1);
+
+		assertEquals(new Region(first, 7), adapter.find(0, "comment", true, true, false, false));
+		assertEquals(new Region(second, 7), adapter.find(first + 1, "comment", true, true, false, false));
+		assertEquals(new Region(second, 7), adapter.find(second + 6, "comment", false, true, false, false));
+		assertEquals(new Region(first, 7), adapter.find(second + 5, "comment", false, true, false, false));
+		assertNull(adapter.find(first + 5, "comment", false, true, false, false));
+
+		assertEquals(new Region(fDocument.getLength() - 6, 6), adapter.find(0, "GEL\u00D6ST", true, false, false, false));
+		assertNull(adapter.find(0, "GEL\u00D6ST", true, true, false, false));
+		assertEquals(new Region(0, 7), adapter.find(fDocument.getLength(), "package", false, true, false, false));
+		assertNull(adapter.find(fDocument.getLength(), "package", true, true, false, false));
+	}
+
+	@Test
+	public void testFindLiteralAcrossChunks() throws Exception {
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < 300000; i++)
+			text.append((char) ('a' + i % 7));
+		text.replace(65530, 65540, "0123456789");
+		text.replace(200000, 200010, "0123456789");
+		fDocument.set(text.toString());
+
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		assertEquals(new Region(65530, 10), adapter.find(0, "0123456789", true, true, false, false));
+		assertEquals(new Region(200000, 10), adapter.find(65531, "0123456789", true, true, false, false));
+		assertEquals(new Region(200000, 10), adapter.find(fDocument.getLength(), "0123456789", false, true, false, false));
+		assertEquals(new Region(65530, 10), adapter.find(200008, "0123456789", false, true, false, false));
+		assertNull(adapter.find(65538, "0123456789", false, true, false, false));
+	}
+
+	@Test
+	public void testFindLiteralMatchesRegularExpression() throws Exception {
+		Random random= new Random(17);
+		char[] chars= new char[5000];
+		for (int i= 0; i < chars.length; i++)
+			chars[i]= "aAbB\u00DF\u0130i\u03A3\u03C3\u03C2".charAt(random.nextInt(10));
+		fDocument.set(new String(chars));
+
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		for (int i= 0; i < 200; i++) {
+			int start= random.nextInt(chars.length - 3);
+			String findString= new String(chars, start, 1 + random.nextInt(3));
+			boolean caseSensitive= random.nextBoolean();
+			int offset= random.nextInt(chars.length);
+			boolean forward= random.nextBoolean();
+			String pattern= FindReplaceDocumentAdapter.escapeForRegExPattern(findString);
+			assertEquals(adapter.find(offset, pattern, forward, caseSensitive, false, true), adapter.find(offset, findString, forward, caseSensitive, false, false));
+		}
+	}
+
+	@Test
+	public void testReplaceLiteral() throws Exception {
+		fDocument.set("one two one two one");
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		assertEquals(new Region(0, 3), adapter.find(0, "one", true, true, false, false));
+		assertEquals(new Region(0, 5), adapter.replace("three", false));
+		assertEquals("three two one two one", fDocument.get());
+		assertThrows(IllegalStateException.class, () -> adapter.replace("1", false));
+		assertEquals(new Region(10, 3), adapter.find(5, "one", true, true, false, false));
+		assertEquals(new Region(10, 1), adapter.replace("1", false));
+		assertEquals(new Region(16, 3), adapter.find(11, "one", true, true, false, false));
+		assertEquals(new Region(16, 3), adapter.find(19, "one", false, true, false, false));
+		assertEquals(new Region(16, 1), adapter.replace("1", false));
+		assertEquals("three two 1 two 1", fDocument.get());
+
+		fDocument.set("one One");
+		assertEquals(new Region(0, 3), adapter.find(0, "one", true, false, false, false));
+		assertEquals(new Region(0, 1), adapter.replace("\\C1", true));
+		assertEquals("1 One", fDocument.get());
+	}
+
+	@Test
+	public void testReplaceAll() throws Exception {
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		String expected= fDocument.get().replace("public", "private");
+		assertEquals(3, adapter.replaceAll(0, fDocument.getLength(), "public", "private", true, false, false));
+		assertEquals(expected, fDocument.get());
+		assertEquals(0, adapter.replaceAll(0, fDocument.getLength(), "public", "private", true, false, false));
+
+		fDocument.set("aaaa Aa");
+		assertEquals(3, adapter.replaceAll(0, fDocument.getLength(), "aa", "b", false, false, false));
+		assertEquals("bb b", fDocument.get());
+
+		fDocument.set("int a= b; int c= d;");
+		assertEquals(2, adapter.replaceAll(0, fDocument.getLength(), "(\\w+)= (\\w+)", "$2= $1", true, false, true));
+		assertEquals("int b= a; int d= c;", fDocument.get());
+		assertEquals(2, adapter.replaceAll(0, fDocument.getLength(), "int", "long", true, true, false));
+		assertEquals("long b= a; long d= c;", fDocument.get());
+		assertThrows(IllegalStateException.class, () -> adapter.replace("x", false));
+	}
+
+	@Test
+	public void testReplaceAllInRange() throws Exception {
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		fDocument.set("ab ab ab ab");
+		assertEquals(2, adapter.replaceAll(2, 7, "ab", "x", true, false, false));
+		assertEquals("ab x x ab", fDocument.get());
+		assertEquals(1, adapter.replaceAll(3, 2, "\\w+", "y", true, false, true));
+		assertEquals("ab y x ab", fDocument.get());
+		assertThrows(BadLocationException.class, () -> adapter.replaceAll(5, 10, "ab", "x", true, false, false));
+	}
+
+	@Test
+	public void testReplaceAllContinuesAfterMatch() throws Exception {
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		// plain strings and regular expressions continue after the replaced match
+		fDocument.set("aaaa");
+		assertEquals(2, adapter.replaceAll(0, fDocument.getLength(), "aa", "aaa", true, false, false));
+		assertEquals("aaaaaa", fDocument.get());
+		fDocument.set("aaaa");
+		assertEquals(2, adapter.replaceAll(0, fDocument.getLength(), "aa", "aaa", true, false, true));
+		assertEquals("aaaaaa", fDocument.get());
+
+		// empty matches are replaced, as by Matcher.replaceAll
+		fDocument.set("bxxbx");
+		assertEquals(5, adapter.replaceAll(0, fDocument.getLength(), "x*", "y", true, false, true));
+		assertEquals("bxxbx".replaceAll("x*", "y"), fDocument.get());
+	}
+
+	@Test
+	public void testReplaceAllEmptyMatches() throws Exception {
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		fDocument.set("a\nb\n\nc");
+		assertEquals(4, adapter.replaceAll(0, fDocument.getLength(), "^", "// ", true, false, true));
+		assertEquals("// a\n// b\n// \n// c", fDocument.get());
+
+		fDocument.set("a\nb\n\nc");
+		assertEquals(4, adapter.replaceAll(0, fDocument.getLength(), "$", ";", true, false, true));
+		assertEquals("a;\nb;\n;\nc;", fDocument.get());
+
+		fDocument.set("a\r\nb");
+		assertEquals(2, adapter.replaceAll(0, fDocument.getLength(), "$", ";", true, false, true));
+		assertEquals("a;\r\nb;", fDocument.get());
+
+		// only the lines starting in the range
+		fDocument.set("a\nb\nc");
+		assertEquals(1, adapter.replaceAll(1, 2, "^", "// ", true, false, true));
+		assertEquals("a\n// b\nc", fDocument.get());
+	}
+
+	@Test
+	public void testReplaceAllLookaround() throws Exception {
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		// the replacement is computed for the match in the document, not for the matched text alone
+		fDocument.set("ab b ab");
+		assertEquals(2, adapter.replaceAll(0, fDocument.getLength(), "(?<=a)(b)", "[$1]", true, false, true));
+		assertEquals("a[b] b a[b]", fDocument.get());
+		assertThrows(PatternSyntaxException.class, () -> adapter.replaceAll(0, fDocument.getLength(), "(b)", "$2", true, false, true));
+		assertEquals("a[b] b a[b]", fDocument.get());
+	}
+
+	@Test
+	public void testReplaceAllChangesDocumentOnce() throws Exception {
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		int[] changes= new int[1];
+		fDocument.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				changes[0]++;
+			}
+		});
+		String expected= fDocument.get().replace("e", "E");
+		adapter.replaceAll(0, fDocument.getLength(), "e", "E", true, false, false);
+		assertEquals(expected, fDocument.get());
+		assertEquals(1, changes[0]);
+	}
 }
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.MappedFileTextStore;
+
+public class MappedFileTextStoreTest {
+
+	private Path fFile;
+
+	@Before
+	public void setUp() throws IOException {
+		fFile= Files.createTempFile("mapped", ".txt");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(fFile);
+	}
+
+	private static String createContent(int length, boolean ascii) {
+		Random random= new Random(17);
+		String[] samples= ascii
+				? new String[] { "a", "b", "\n", "\r\n", "x" }
+				: new String[] { "a", "ä", "€", "\n", "\r\n", "😀", "z" };
+		StringBuilder buffer= new StringBuilder(length + 2);
+		while (buffer.length() < length)
+			buffer.append(samples[random.nextInt(samples.length)]);
+		return buffer.toString();
+	}
+
+	private MappedFileTextStore map(String content, Charset charset) throws IOException {
+		Files.write(fFile, content.getBytes(charset));
+		return new MappedFileTextStore(fFile, charset, 0);
+	}
+
+	@Test
+	public void testUTF8() throws IOException {
+		String content= createContent(300 * 1024, false);
+		MappedFileTextStore store= map(content, StandardCharsets.UTF_8);
+		assertTrue(store.isMapped());
+		assertEquals(content.length(), store.getLength());
+		assertEquals(content, store.get(0, store.getLength()));
+		Random random= new Random(3);
+		for (int i= 0; i < 1000; i++) {
+			int offset= random.nextInt(content.length());
+			assertEquals(content.charAt(offset), store.get(offset));
+			int length= random.nextInt(Math.min(200 * 1024, content.length() - offset));
+			assertEquals(content.substring(offset, offset + length), store.get(offset, length));
+		}
+	}
+
+	@Test
+	public void testSingleByte() throws IOException {
+		String content= createContent(200 * 1024, true);
+		MappedFileTextStore store= map(content, StandardCharsets.ISO_8859_1);
+		assertEquals(content, store.get(0, store.getLength()));
+		assertEquals(content.charAt(65536), store.get(65536));
+	}
+
+	@Test
+	public void testOffset() throws IOException {
+		Files.write(fFile, new byte[] { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF, 'a', 'b', 'c' });
+		MappedFileTextStore store= new MappedFileTextStore(fFile, StandardCharsets.UTF_8, 3);
+		assertEquals("abc", store.get(0, store.getLength()));
+	}
+
+	@Test
+	public void testEditAndDetach() throws IOException {
+		String content= createContent(100 * 1024, false);
+		MappedFileTextStore store= map(content, StandardCharsets.UTF_8);
+		StringBuilder expected= new StringBuilder(content);
+		store.replace(10, 5, "edit");
+		expected.replace(10, 15, "edit");
+		store.replace(70000, 0, "more");
+		expected.replace(70000, 70000, "more");
+		assertTrue(store.isMapped());
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+
+		store.detach();
+		assertFalse(store.isMapped());
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+	}
+
+	@Test
+	public void testFileChangedAfterOpen() throws IOException {
+		String content= createContent(200 * 1024, false);
+		MappedFileTextStore store= map(content, StandardCharsets.UTF_8);
+		Files.write(fFile, "truncated".getBytes(StandardCharsets.UTF_8));
+		assertEquals(content, store.get(0, store.getLength()));
+		Files.delete(fFile);
+		assertEquals(content.substring(150000), store.get(150000, store.getLength() - 150000));
+	}
+
+	@Test
+	public void testDocument() throws Exception {
+		String content= createContent(150 * 1024, false);
+		Document expected= new Document(content);
+		Document document= new Document(map(content, StandardCharsets.UTF_8));
+		assertEquals(expected.getNumberOfLines(), document.getNumberOfLines());
+		for (int line= 0; line < expected.getNumberOfLines(); line+= 97) {
+			assertEquals(expected.getLineOffset(line), document.getLineOffset(line));
+			assertEquals(expected.getLineDelimiter(line), document.getLineDelimiter(line));
+		}
+		document.replace(5, 0, "x\ny");
+		expected.replace(5, 0, "x\ny");
+		assertEquals(expected.get(), document.get());
+		assertEquals(expected.getNumberOfLines(), document.getNumberOfLines());
+	}
+
+	@Test
+	public void testSupportedCharsets() {
+		assertTrue(MappedFileTextStore.isSupported(StandardCharsets.UTF_8));
+		assertTrue(MappedFileTextStore.isSupported(StandardCharsets.US_ASCII));
+		assertTrue(MappedFileTextStore.isSupported(StandardCharsets.ISO_8859_1));
+		assertFalse(MappedFileTextStore.isSupported(StandardCharsets.UTF_16));
+	}
+
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.PieceTreeTextStore;
+
+public class PieceTreeTextStoreTest extends TextStoreTest {
+
+	@Override
+	protected ITextStore createTextStore() {
+		return new PieceTreeTextStore();
+	}
+
+	@Test
+	public void testSetDoesNotCopy() {
+		String content= "abcdefghij";
+		ITextStore store= new PieceTreeTextStore();
+		store.set(content);
+		assertSame(content, store.get(0, content.length()));
+		assertEquals("cde", store.get(2, 3));
+	}
+
+	@Test
+	public void testRandomEdits() {
+		Random random= new Random(4711);
+		ITextStore store= new PieceTreeTextStore();
+		StringBuilder expected= new StringBuilder("0123456789\nabcdefghij\n");
+		store.set(expected.toString());
+		for (int i= 0; i < 2000; i++) {
+			int offset= random.nextInt(expected.length() + 1);
+			int length= random.nextInt(Math.min(10, expected.length() - offset) + 1);
+			String text= random.nextInt(4) == 0 ? "" : Integer.toString(random.nextInt(1000));
+			expected.replace(offset, offset + length, text);
+			store.replace(offset, length, text);
+			assertEquals(expected.length(), store.getLength());
+			if (expected.length() > 0) {
+				int charOffset= random.nextInt(expected.length());
+				assertEquals(expected.charAt(charOffset), store.get(charOffset));
+			}
+		}
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+	}
+
+	@Test
+	public void testDocument() throws Exception {
+		Document document= new Document(new PieceTreeTextStore());
+		document.set("line1\nline2\nline3");
+		document.replace(6, 5, "changed\nline2.5");
+		assertEquals("line1\nchanged\nline2.5\nline3", document.get());
+		assertEquals(4, document.getNumberOfLines());
+		assertEquals("line2.5", document.get(document.getLineOffset(2), document.getLineLength(2) - 1));
+	}
+
+}
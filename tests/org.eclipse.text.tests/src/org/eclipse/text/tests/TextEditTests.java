@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import static org.junit.Assert.*;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -43,6 +44,7 @@ import org.eclipse.text.edits.UndoEdit;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Position;
 
 public class TextEditTests {
 
@@ -377,6 +379,135 @@ public class TextEditTests {
 		doUndoRedo(undo, "01yyxx23456789");
 	}
 
+	@Test
+	public void testFlatEdits1() throws Exception {
+		TextEdit e1= new ReplaceEdit(1, 1, "a");
+		TextEdit e2= new DeleteEdit(3, 1);
+		TextEdit e3= new InsertEdit(5, "bb");
+		TextEdit e4= new ReplaceEdit(8, 2, "c");
+		fRoot.addChild(e1);
+		fRoot.addChild(e2);
+		fRoot.addChild(e3);
+		fRoot.addChild(e4);
+		UndoEdit undo= fRoot.apply(fDocument);
+		assertEquals(fRoot, 1, 9);
+		assertEquals(e1, 1, 1);
+		assertEquals(e2, 3, 0);
+		assertEquals(e3, 4, 2);
+		assertEquals(e4, 9, 1);
+		Assert.assertEquals("Buffer content", "0a24bb567c", fDocument.get());
+		doUndoRedo(undo, "0a24bb567c");
+	}
+
+	@Test
+	public void testFlatEdits2() throws Exception {
+		Position p1= new Position(4, 1);
+		Position p2= new Position(6, 2);
+		fDocument.addPosition(p1);
+		fDocument.addPosition(p2);
+		TextEdit e1= new ReplaceEdit(1, 1, "a");
+		TextEdit e2= new DeleteEdit(3, 1);
+		TextEdit e3= new InsertEdit(5, "bb");
+		TextEdit e4= new ReplaceEdit(8, 2, "c");
+		fRoot.addChild(e1);
+		fRoot.addChild(e2);
+		fRoot.addChild(e3);
+		fRoot.addChild(e4);
+		UndoEdit undo= fRoot.apply(fDocument);
+		Assert.assertEquals("Buffer content", "0a24bb567c", fDocument.get());
+		assertEquals(e3, 4, 2);
+		assertEquals(e4, 9, 1);
+		Assert.assertEquals("Position 1", new Position(3, 1), p1);
+		Assert.assertEquals("Position 2", new Position(7, 2), p2);
+		Assert.assertFalse(p1.isDeleted());
+		Assert.assertFalse(p2.isDeleted());
+		doUndoRedo(undo, "0a24bb567c");
+	}
+
+	@Test
+	public void testFlatEdits3() throws Exception {
+		// the end of the position moves onto the insert when the last delete is applied
+		Position p1= new Position(0, 10);
+		fDocument.addPosition(p1);
+		fRoot.addChild(new DeleteEdit(3, 3));
+		fRoot.addChild(new InsertEdit(9, "Y"));
+		fRoot.addChild(new DeleteEdit(9, 1));
+		UndoEdit undo= fRoot.apply(fDocument);
+		Assert.assertEquals("Buffer content", "012678Y", fDocument.get());
+		Assert.assertEquals("Position 1", new Position(0, 6), p1);
+		undo.apply(fDocument);
+		Assert.assertEquals("Buffer content", "0123456789", fDocument.get());
+		// the deleted 9 is inserted again behind the end of the position
+		Assert.assertEquals("Position 1", new Position(0, 9), p1);
+	}
+
+	@Test
+	public void testFlatEditsRandom() throws Exception {
+		// flat edits are combined, edits of a subclass of MultiTextEdit are applied one by one
+		for (int seed= 0; seed < 2000; seed++) {
+			Random random= new Random(seed);
+			StringBuilder text= new StringBuilder();
+			for (int i= 0, length= 5 + random.nextInt(20); i < length; i++)
+				text.append((char) ('a' + random.nextInt(26)));
+			Document expected= new Document(text.toString());
+			Document actual= new Document(text.toString());
+			List<Position> expectedPositions= new ArrayList<>();
+			List<Position> actualPositions= new ArrayList<>();
+			for (int i= 0, count= random.nextInt(5); i < count; i++) {
+				int offset= random.nextInt(text.length() + 1);
+				int length= random.nextInt(text.length() - offset + 1);
+				Position expectedPosition= new Position(offset, length);
+				Position actualPosition= new Position(offset, length);
+				expected.addPosition(expectedPosition);
+				actual.addPosition(actualPosition);
+				expectedPositions.add(expectedPosition);
+				actualPositions.add(actualPosition);
+			}
+
+			MultiTextEdit expectedRoot= new MultiTextEdit() {
+				// applied one edit after the other
+			};
+			MultiTextEdit actualRoot= new MultiTextEdit();
+			for (int i= 0, count= 2 + random.nextInt(6); i < count; i++) {
+				int offset= random.nextInt(text.length() + 1);
+				int length= random.nextInt(Math.min(4, text.length() - offset + 1));
+				String replacement= random.nextBoolean() ? "" : "XYZ".substring(random.nextInt(3)); //$NON-NLS-1$ //$NON-NLS-2$
+				TextEdit edit;
+				if (length == 0)
+					edit= new InsertEdit(offset, replacement.isEmpty() ? "Q" : replacement); //$NON-NLS-1$
+				else if (replacement.isEmpty())
+					edit= new DeleteEdit(offset, length);
+				else
+					edit= new ReplaceEdit(offset, length, replacement);
+				try {
+					expectedRoot.addChild(edit.copy());
+				} catch (MalformedTreeException e) {
+					continue; // overlaps another edit
+				}
+				actualRoot.addChild(edit);
+			}
+
+			UndoEdit expectedUndo= expectedRoot.apply(expected);
+			UndoEdit actualUndo= actualRoot.apply(actual);
+			String message= "seed " + seed; //$NON-NLS-1$
+			Assert.assertEquals(message, expected.get(), actual.get());
+			assertPositions(message, expectedPositions, actualPositions);
+
+			expectedUndo.apply(expected);
+			actualUndo.apply(actual);
+			Assert.assertEquals(message, text.toString(), actual.get());
+			Assert.assertEquals(message, expected.get(), actual.get());
+			assertPositions(message, expectedPositions, actualPositions);
+		}
+	}
+
+	private static void assertPositions(String message, List<Position> expected, List<Position> actual) {
+		for (int i= 0; i < expected.size(); i++) {
+			Assert.assertEquals(message, expected.get(i), actual.get(i));
+			Assert.assertEquals(message, expected.get(i).isDeleted(), actual.get(i).isDeleted());
+		}
+	}
+
 	@Test
 	public void testInsert3() throws Exception {
 		// [  ][][  ]
@@ -14,15 +14,21 @@
 package org.eclipse.ui.workbench.texteditor.tests;
 
 import static org.eclipse.jface.text.DocumentRewriteSessionType.SEQUENTIAL;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.source.ILineDiffInfo;
 
 import org.eclipse.ui.internal.texteditor.quickdiff.DocumentLineDiffer;
+import org.eclipse.ui.texteditor.ITextEditor;
+import org.eclipse.ui.texteditor.quickdiff.IQuickDiffReferenceProvider;
 
 /**
  * Tests for the {@link DocumentLineDiffer}.
@@ -169,4 +175,143 @@ public class DocumentLineDifferTest {
 		assertFalse(fLineDiffer.isSuspended());
 	}
 
+	/**
+	 * Test that the line infos are found for every line after many separate lines have been
+	 * changed, i.e. when the differ has many ranges to search, and after some of the changes have
+	 * been reverted.
+	 *
+	 * @throws Exception unexpected exception
+	 */
+	@Test
+	public void lineInfosOfManyChangedLines() throws Exception {
+		// given
+		connectSynchronized(100);
+
+		// when
+		for (int line= 5; line < 100; line+= 10)
+			replaceLine(line, "changed " + line); //$NON-NLS-1$
+
+		// then
+		for (int line= 0; line < 100; line++) {
+			ILineDiffInfo info= fLineDiffer.getLineInfo(line);
+			if (line % 10 == 5) {
+				assertEquals(ILineDiffInfo.CHANGED, info.getChangeType());
+				assertEquals(lineText(line), info.getOriginalText()[0]);
+			} else {
+				assertEquals(ILineDiffInfo.UNCHANGED, info.getChangeType());
+			}
+		}
+
+		// when
+		for (int line= 5; line < 100; line+= 20)
+			replaceLine(line, lineText(line));
+
+		// then
+		for (int line= 0; line < 100; line++) {
+			ILineDiffInfo info= fLineDiffer.getLineInfo(line);
+			assertEquals(line % 20 == 15 ? ILineDiffInfo.CHANGED : ILineDiffInfo.UNCHANGED, info.getChangeType());
+		}
+	}
+
+	/**
+	 * Test that the line infos of the lines around added and removed lines are found when the
+	 * differ has many ranges to search.
+	 *
+	 * @throws Exception unexpected exception
+	 */
+	@Test
+	public void lineInfosAroundAddedAndRemovedLines() throws Exception {
+		// given
+		connectSynchronized(100);
+		for (int line= 5; line < 100; line+= 10)
+			replaceLine(line, "changed " + line); //$NON-NLS-1$
+
+		// when: add a line after line 40, then remove the original line 70, so that the lines
+		// after it are back at their original numbers
+		fDocument.replace(fDocument.getLineOffset(41), 0, "added\n"); //$NON-NLS-1$
+		fDocument.replace(fDocument.getLineOffset(71), fDocument.getLineLength(71), ""); //$NON-NLS-1$
+
+		// then
+		assertEquals(ILineDiffInfo.ADDED, fLineDiffer.getLineInfo(41).getChangeType());
+		assertEquals(ILineDiffInfo.UNCHANGED, fLineDiffer.getLineInfo(40).getChangeType());
+		assertEquals(ILineDiffInfo.UNCHANGED, fLineDiffer.getLineInfo(42).getChangeType());
+		assertEquals(ILineDiffInfo.CHANGED, fLineDiffer.getLineInfo(46).getChangeType());
+		assertEquals(lineText(45), fLineDiffer.getLineInfo(46).getOriginalText()[0]);
+		assertEquals(1, fLineDiffer.getLineInfo(70).getRemovedLinesBelow());
+		assertEquals(ILineDiffInfo.UNCHANGED, fLineDiffer.getLineInfo(71).getChangeType());
+		assertEquals(ILineDiffInfo.CHANGED, fLineDiffer.getLineInfo(75).getChangeType());
+		assertEquals(lineText(95), fLineDiffer.getLineInfo(95).getOriginalText()[0]);
+		assertEquals(ILineDiffInfo.UNCHANGED, fLineDiffer.getLineInfo(99).getChangeType());
+	}
+
+	private static String lineText(int line) {
+		return "line " + line + "\n"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private void replaceLine(int line, String text) throws Exception {
+		String content= text.endsWith("\n") ? text : text + "\n"; //$NON-NLS-1$ //$NON-NLS-2$
+		fDocument.replace(fDocument.getLineOffset(line), fDocument.getLineLength(line), content);
+	}
+
+	/**
+	 * Connects the differ to a document of the given number of lines, with a reference of the same
+	 * content, and waits until the differ is synchronized.
+	 *
+	 * @param lines the number of lines
+	 * @throws Exception unexpected exception
+	 */
+	private void connectSynchronized(int lines) throws Exception {
+		StringBuilder text= new StringBuilder();
+		for (int line= 0; line < lines; line++)
+			text.append(lineText(line));
+		fDocument.set(text.toString());
+		IDocument reference= new Document(text.toString());
+
+		fLineDiffer.connect(fDocument);
+		fLineDiffer.setReferenceProvider(new TestReferenceProvider(reference));
+		long end= System.currentTimeMillis() + 10000;
+		while (!fLineDiffer.isSynchronized() && System.currentTimeMillis() < end)
+			Thread.sleep(10);
+		assertTrue(fLineDiffer.isSynchronized());
+	}
+
+	private static class TestReferenceProvider implements IQuickDiffReferenceProvider {
+
+		private final IDocument fReference;
+
+		private String fId;
+
+		TestReferenceProvider(IDocument reference) {
+			fReference= reference;
+		}
+
+		@Override
+		public IDocument getReference(IProgressMonitor monitor) {
+			return fReference;
+		}
+
+		@Override
+		public void dispose() {
+		}
+
+		@Override
+		public String getId() {
+			return fId;
+		}
+
+		@Override
+		public void setActiveEditor(ITextEditor editor) {
+		}
+
+		@Override
+		public boolean isEnabled() {
+			return true;
+		}
+
+		@Override
+		public void setId(String id) {
+			fId= id;
+		}
+	}
+
 }
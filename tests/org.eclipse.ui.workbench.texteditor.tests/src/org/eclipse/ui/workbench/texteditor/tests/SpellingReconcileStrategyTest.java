@@ -0,0 +1,274 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.workbench.texteditor.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jface.preference.PreferenceStore;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+import org.eclipse.jface.text.reconciler.DirtyRegion;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.ISourceViewer;
+
+import org.eclipse.ui.texteditor.spelling.ISpellingProblemCollector;
+import org.eclipse.ui.texteditor.spelling.SpellingAnnotation;
+import org.eclipse.ui.texteditor.spelling.SpellingContext;
+import org.eclipse.ui.texteditor.spelling.SpellingProblem;
+import org.eclipse.ui.texteditor.spelling.SpellingReconcileStrategy;
+import org.eclipse.ui.texteditor.spelling.SpellingService;
+
+/**
+ * Tests that the {@link SpellingReconcileStrategy} checks whole lines of a dirty region and only
+ * updates the spelling annotations of the checked region.
+ */
+public class SpellingReconcileStrategyTest {
+
+	/** The misspelled word reported by {@link TestSpellingService}. */
+	private static final String MISSPELLED= "wrnog"; //$NON-NLS-1$
+
+	private Document fDocument;
+
+	private AnnotationModel fModel;
+
+	private TestSpellingService fService;
+
+	private SpellingReconcileStrategy fStrategy;
+
+	@Before
+	public void setUp() {
+		fDocument= new Document("first wrnog line\nsecond line\nthird wrnog line\n"); //$NON-NLS-1$
+		fModel= new AnnotationModel();
+		fModel.connect(fDocument);
+		ISourceViewer viewer= mock(ISourceViewer.class);
+		when(viewer.getAnnotationModel()).thenReturn(fModel);
+		fService= new TestSpellingService();
+		fStrategy= new SpellingReconcileStrategy(viewer, fService);
+		fStrategy.setDocument(fDocument);
+	}
+
+	@Test
+	public void testDirtyRegionExpandedToWholeLines() throws Exception {
+		// inside a line
+		fStrategy.reconcile(new DirtyRegion(20, 2, DirtyRegion.INSERT, "co"), new Region(20, 2)); //$NON-NLS-1$
+		assertEquals(fDocument.getLineInformation(1), fService.fCheckedRegion);
+
+		// across lines
+		fStrategy.reconcile(new DirtyRegion(3, 20, DirtyRegion.INSERT, null), new Region(3, 20));
+		assertEquals(region(0, 1), fService.fCheckedRegion);
+
+		// up to the last character of a line
+		IRegion line1= fDocument.getLineInformation(1);
+		fStrategy.reconcile(new DirtyRegion(line1.getOffset() + 2, line1.getLength() - 2, DirtyRegion.INSERT, null), new Region(line1.getOffset() + 2, line1.getLength() - 2));
+		assertEquals(line1, fService.fCheckedRegion);
+
+		// up to the delimiter of a line
+		fStrategy.reconcile(new DirtyRegion(line1.getOffset(), line1.getLength() + 1, DirtyRegion.INSERT, null), new Region(line1.getOffset(), line1.getLength() + 1));
+		assertEquals(line1, fService.fCheckedRegion);
+
+		// up to the first character of the next line
+		fStrategy.reconcile(new DirtyRegion(line1.getOffset(), line1.getLength() + 2, DirtyRegion.INSERT, null), new Region(line1.getOffset(), line1.getLength() + 2));
+		assertEquals(region(1, 2), fService.fCheckedRegion);
+	}
+
+	@Test
+	public void testRemovedRegion() throws Exception {
+		// the removed text is no longer in the document, only its line is checked
+		int offset= fDocument.getLineOffset(1) + 3;
+		fDocument.replace(offset, 4, ""); //$NON-NLS-1$
+		fStrategy.reconcile(new DirtyRegion(offset, 4, DirtyRegion.REMOVE, null), new Region(offset, 4));
+		assertEquals(fDocument.getLineInformation(1), fService.fCheckedRegion);
+
+		// text removed at the end of the document
+		int length= fDocument.getLength();
+		int lastLine= fDocument.getLineOffset(2);
+		fDocument.replace(lastLine, length - lastLine, ""); //$NON-NLS-1$
+		fStrategy.reconcile(new DirtyRegion(lastLine, length - lastLine, DirtyRegion.REMOVE, null), new Region(lastLine, length - lastLine));
+		assertEquals(fDocument.getLineInformation(2), fService.fCheckedRegion);
+	}
+
+	@Test
+	public void testProblemsOutsideCheckedRegionKept() throws Exception {
+		fStrategy.initialReconcile();
+		List<Annotation> annotations= getSpellingAnnotations();
+		assertEquals(2, annotations.size());
+		Annotation first= annotationOnLine(0);
+		Annotation third= annotationOnLine(2);
+
+		// the problem of the changed line is dropped, the other one is kept
+		int offset= fDocument.getLineOffset(2) + 6;
+		fDocument.replace(offset, MISSPELLED.length(), "right"); //$NON-NLS-1$
+		fStrategy.reconcile(new DirtyRegion(offset, 5, DirtyRegion.INSERT, "right"), new Region(offset, 5)); //$NON-NLS-1$
+		assertEquals(1, getSpellingAnnotations().size());
+		assertSame(first, annotationOnLine(0));
+		assertNull(annotationOnLine(2));
+		assertNull(fModel.getPosition(third));
+
+		// a new problem is added, the other one is kept
+		offset= fDocument.getLineOffset(1);
+		fDocument.replace(offset, 0, MISSPELLED + " "); //$NON-NLS-1$
+		fStrategy.reconcile(new DirtyRegion(offset, 6, DirtyRegion.INSERT, MISSPELLED + " "), new Region(offset, 6)); //$NON-NLS-1$
+		assertEquals(2, getSpellingAnnotations().size());
+		assertSame(first, annotationOnLine(0));
+		assertEquals(fDocument.getLineOffset(1), fModel.getPosition(annotationOnLine(1)).getOffset());
+	}
+
+	@Test
+	public void testSameProblemKept() throws Exception {
+		fStrategy.initialReconcile();
+		Annotation first= annotationOnLine(0);
+
+		// an edit in the line that does not change the problem keeps the annotation
+		fDocument.replace(fDocument.getLineOffset(0), 0, "a "); //$NON-NLS-1$
+		fStrategy.reconcile(new DirtyRegion(0, 2, DirtyRegion.INSERT, "a "), new Region(0, 2)); //$NON-NLS-1$
+		assertSame(first, annotationOnLine(0));
+
+		// the whole document is checked again
+		fStrategy.initialReconcile();
+		assertSame(first, annotationOnLine(0));
+		assertEquals(2, getSpellingAnnotations().size());
+
+		// a problem with another message replaces the annotation
+		fService.fMessage= "another message"; //$NON-NLS-1$
+		IRegion line0= fDocument.getLineInformation(0);
+		fStrategy.reconcile(new DirtyRegion(line0.getOffset(), line0.getLength(), DirtyRegion.INSERT, null), line0);
+		assertNotSame(first, annotationOnLine(0));
+		assertEquals(2, getSpellingAnnotations().size());
+	}
+
+	@Test
+	public void testReconcileRegionReplacesAllProblems() throws Exception {
+		fStrategy.initialReconcile();
+		Annotation first= annotationOnLine(0);
+		assertEquals(2, getSpellingAnnotations().size());
+
+		// the problems found in the region replace all spelling annotations
+		fStrategy.reconcile(fDocument.getLineInformation(0));
+		assertEquals(fDocument.getLineInformation(0), fService.fCheckedRegion);
+		assertEquals(1, getSpellingAnnotations().size());
+		assertSame(first, annotationOnLine(0));
+		assertNull(annotationOnLine(2));
+	}
+
+	private IRegion region(int firstLine, int lastLine) throws BadLocationException {
+		int offset= fDocument.getLineOffset(firstLine);
+		IRegion last= fDocument.getLineInformation(lastLine);
+		return new Region(offset, last.getOffset() + last.getLength() - offset);
+	}
+
+	private List<Annotation> getSpellingAnnotations() {
+		List<Annotation> annotations= new ArrayList<>();
+		for (Iterator<Annotation> e= fModel.getAnnotationIterator(); e.hasNext();) {
+			Annotation annotation= e.next();
+			if (SpellingAnnotation.TYPE.equals(annotation.getType()))
+				annotations.add(annotation);
+		}
+		return annotations;
+	}
+
+	private Annotation annotationOnLine(int line) throws BadLocationException {
+		for (Annotation annotation : getSpellingAnnotations()) {
+			if (fDocument.getLineOfOffset(fModel.getPosition(annotation).getOffset()) == line)
+				return annotation;
+		}
+		return null;
+	}
+
+	/**
+	 * A spelling service that reports every occurrence of {@link #MISSPELLED} in the checked
+	 * regions and remembers the last checked region.
+	 */
+	private static class TestSpellingService extends SpellingService {
+
+		IRegion fCheckedRegion;
+
+		String fMessage= "misspelled"; //$NON-NLS-1$
+
+		TestSpellingService() {
+			super(new PreferenceStore());
+		}
+
+		@Override
+		public void check(IDocument document, IRegion[] regions, SpellingContext context, ISpellingProblemCollector collector, IProgressMonitor monitor) {
+			collector.beginCollecting();
+			try {
+				for (IRegion region : regions) {
+					fCheckedRegion= new Region(region.getOffset(), region.getLength());
+					String text= document.get(region.getOffset(), region.getLength());
+					for (int index= text.indexOf(MISSPELLED); index != -1; index= text.indexOf(MISSPELLED, index + 1))
+						collector.accept(new TestSpellingProblem(region.getOffset() + index, MISSPELLED.length(), fMessage));
+				}
+			} catch (BadLocationException e) {
+				throw new IllegalStateException(e);
+			} finally {
+				collector.endCollecting();
+			}
+		}
+	}
+
+	private static class TestSpellingProblem extends SpellingProblem {
+
+		private final int fOffset;
+
+		private final int fLength;
+
+		private final String fMessage;
+
+		TestSpellingProblem(int offset, int length, String message) {
+			fOffset= offset;
+			fLength= length;
+			fMessage= message;
+		}
+
+		@Override
+		public int getOffset() {
+			return fOffset;
+		}
+
+		@Override
+		public int getLength() {
+			return fLength;
+		}
+
+		@Override
+		public String getMessage() {
+			return fMessage;
+		}
+
+		@Override
+		public ICompletionProposal[] getProposals() {
+			return new ICompletionProposal[0];
+		}
+	}
+}